@@ -0,0 +1,85 @@
+package com.edumaster.benchmark;
+
+import com.edumaster.dto.ApiResponse;
+import com.edumaster.dto.CourseResponse;
+import com.edumaster.model.Course;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Course Detail Benchmark
+ *
+ * The response side of GET /courses/public/{courseId}: mapping the course to
+ * {@link CourseResponse} and serializing the ApiResponse to the output
+ * stream on every request, against serializing only the envelope around the
+ * course bytes rendered once by CourseDetailCache, as CourseController does. The output stream is an in-memory buffer standing in for
+ * the servlet response; allocation per request shows in gc.alloc.rate.norm.
+ *
+ * @author EduMaster Team
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseDetailBenchmark {
+
+    private ObjectWriter writer;
+    private Course course;
+    private byte[] rendered;
+    private ByteArrayOutputStream responseBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        writer = BenchmarkFixtures.objectMapper().writer();
+        course = BenchmarkFixtures.course(42);
+        rendered = writer.writeValueAsBytes(detail(course));
+        responseBody = new ByteArrayOutputStream(rendered.length * 2);
+    }
+
+    @Benchmark
+    public int serializePerRequest() throws IOException {
+        responseBody.reset();
+        writer.writeValue(responseBody, ApiResponse.success("Course retrieved successfully", detail(course)));
+        return responseBody.size();
+    }
+
+    @Benchmark
+    public int wrapCached() throws IOException {
+        responseBody.reset();
+        writer.writeValue(responseBody, ApiResponse.success("Course retrieved successfully",
+            new RawValue(new String(rendered, StandardCharsets.UTF_8))));
+        return responseBody.size();
+    }
+
+    // As CourseService.getPublishedCourseResponse builds it
+    private static CourseResponse detail(Course course) {
+        CourseResponse response = new CourseResponse(course);
+        response.setTotalLessons(36);
+        response.setTotalEnrollments(1250);
+        response.setAverageRating(4.6);
+        response.setTotalReviews(310);
+        response.setThumbnailVariants(Map.of(
+            "small", "/api/v1/media/images/0f3a-small.webp",
+            "medium", "/api/v1/media/images/0f3a-medium.webp",
+            "large", "/api/v1/media/images/0f3a-large.webp"));
+        return response;
+    }
+}
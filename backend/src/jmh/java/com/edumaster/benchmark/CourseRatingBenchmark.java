@@ -0,0 +1,92 @@
+package com.edumaster.benchmark;
+
+import com.edumaster.model.Course;
+import com.edumaster.model.Review;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Course Rating Benchmark
+ *
+ * A course's average rating and review count over its approved reviews,
+ * computed from the loaded review list as Course did before V4, against
+ * {@link Course#getAverageRating()} and {@link Course#getTotalReviews()},
+ * which read the course_rating_stats sums mapped onto the course. Loading
+ * the list or the sums (the database side of the cost) is not included.
+ *
+ * @author EduMaster Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseRatingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int reviews;
+
+    private Course course;
+    private List<Review> list;
+
+    @Setup
+    public void setUp() {
+        course = BenchmarkFixtures.course(1L);
+        Random random = new Random(42);
+        list = new ArrayList<>(reviews);
+        long approved = 0;
+        long ratingSum = 0;
+        for (int i = 0; i < reviews; i++) {
+            Review review = new Review(null, course, 1 + random.nextInt(5), null);
+            review.setIsApproved(random.nextInt(10) != 0);
+            list.add(review);
+            if (review.getIsApproved()) {
+                approved++;
+                ratingSum += review.getRating();
+            }
+        }
+        // What the @Formula columns read from the course's histogram row
+        ReflectionTestUtils.setField(course, "approvedReviewCount", approved);
+        ReflectionTestUtils.setField(course, "ratingSum", ratingSum);
+    }
+
+    @Benchmark
+    public double averageRatingFromReviews() {
+        return list.stream()
+            .filter(Review::getIsApproved)
+            .mapToInt(Review::getRating)
+            .average()
+            .orElse(0.0);
+    }
+
+    @Benchmark
+    public long totalReviewsFromReviews() {
+        return list.stream().filter(Review::getIsApproved).count();
+    }
+
+    @Benchmark
+    public double averageRatingFromStats() {
+        return course.getAverageRating();
+    }
+
+    @Benchmark
+    public int totalReviewsFromStats() {
+        return course.getTotalReviews();
+    }
+}
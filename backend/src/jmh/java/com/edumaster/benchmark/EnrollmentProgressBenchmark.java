@@ -0,0 +1,78 @@
+package com.edumaster.benchmark;
+
+import com.edumaster.model.Enrollment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enrollment Progress Benchmark
+ *
+ * {@link Enrollment#updateProgress(BigDecimal)} across the whole 0-100 range,
+ * including the completion transition, with the percentage either given
+ * (as the progress endpoint receives it) or derived from lesson counts.
+ *
+ * @author EduMaster Team
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrollmentProgressBenchmark {
+
+    private static final int TOTAL_LESSONS = 36;
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    private BigDecimal[] percentages;
+    private Enrollment enrollment;
+    private int lesson;
+
+    @Setup
+    public void setUp() {
+        percentages = new BigDecimal[TOTAL_LESSONS + 1];
+        for (int i = 0; i <= TOTAL_LESSONS; i++) {
+            percentages[i] = percentage(i);
+        }
+        enrollment = new Enrollment();
+    }
+
+    @Benchmark
+    public BigDecimal updateProgress() {
+        enrollment.updateProgress(percentages[nextLesson()]);
+        return enrollment.getProgressPercentage();
+    }
+
+    @Benchmark
+    public BigDecimal updateProgressFromLessons() {
+        enrollment.updateProgress(percentage(nextLesson()));
+        return enrollment.getProgressPercentage();
+    }
+
+    // Wraps to a fresh enrollment after completion so every transition is exercised
+    private int nextLesson() {
+        if (lesson > TOTAL_LESSONS) {
+            lesson = 0;
+            enrollment = new Enrollment();
+        }
+        return lesson++;
+    }
+
+    private static BigDecimal percentage(int completedLessons) {
+        return BigDecimal.valueOf(completedLessons)
+            .multiply(HUNDRED)
+            .divide(BigDecimal.valueOf(TOTAL_LESSONS), 2, RoundingMode.HALF_UP);
+    }
+}
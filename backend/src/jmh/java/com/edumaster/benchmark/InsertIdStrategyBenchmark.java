@@ -0,0 +1,176 @@
+package com.edumaster.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert Id Strategy Benchmark
+ *
+ * Inserting a block of notification rows in one transaction the way
+ * Hibernate does for each id strategy, over plain JDBC:
+ * - IDENTITY: one INSERT per row, each reading back the generated key, since
+ *   Hibernate needs the id before it can go on and so cannot batch
+ * - pooled sequence (V3 *_seq tables): one id block reserved per 50 rows in a
+ *   separate short transaction, and the rows sent as JDBC batches of 50
+ *   (hibernate.jdbc.batch_size)
+ *
+ * Runs against in-memory H2 by default, which has no network round trip, so
+ * the gap is a lower bound. With the JMH launcher, -p jdbcUrl=... runs it
+ * against MySQL (add rewriteBatchedStatements=true to the URL, as the
+ * application's pool does).
+ *
+ * @author EduMaster Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertIdStrategyBenchmark {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int BATCH_SIZE = 50;
+
+    private static final String IDENTITY_INSERT_SQL =
+        "INSERT INTO bench_notifications_identity (user_id, title, message, type, is_read, created_at) " +
+        "VALUES (?, ?, ?, ?, FALSE, ?)";
+    private static final String POOLED_INSERT_SQL =
+        "INSERT INTO bench_notifications_pooled (id, user_id, title, message, type, is_read, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, FALSE, ?)";
+    private static final String NOTIFICATION_COLUMNS =
+        "user_id BIGINT NOT NULL, title VARCHAR(255) NOT NULL, message TEXT NOT NULL, " +
+        "type VARCHAR(20), is_read BOOLEAN, created_at TIMESTAMP";
+
+    @Param({"jdbc:h2:mem:insert-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1"})
+    private String jdbcUrl;
+
+    @Param({"sa"})
+    private String username;
+
+    @Param({""})
+    private String password;
+
+    @Param({"50", "500"})
+    private int rows;
+
+    private Connection connection;
+    private Connection sequenceConnection;
+    private long nextId;
+    private long lastReservedId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl, username, password);
+        sequenceConnection = DriverManager.getConnection(jdbcUrl, username, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_notifications_identity");
+            statement.execute("DROP TABLE IF EXISTS bench_notifications_pooled");
+            statement.execute("DROP TABLE IF EXISTS bench_notifications_seq");
+            statement.execute("CREATE TABLE bench_notifications_identity " +
+                "(id BIGINT AUTO_INCREMENT PRIMARY KEY, " + NOTIFICATION_COLUMNS + ")");
+            statement.execute("CREATE TABLE bench_notifications_pooled " +
+                "(id BIGINT PRIMARY KEY, " + NOTIFICATION_COLUMNS + ")");
+            statement.execute("CREATE TABLE bench_notifications_seq (next_val BIGINT NOT NULL)");
+            statement.execute("INSERT INTO bench_notifications_seq (next_val) VALUES (1)");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    // Keeps the tables, and so their indexes, the same size for every iteration
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DELETE FROM bench_notifications_identity");
+            statement.execute("DELETE FROM bench_notifications_pooled");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+        sequenceConnection.close();
+    }
+
+    @Benchmark
+    public long identity() throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        long lastId = 0;
+        try (PreparedStatement insert = connection.prepareStatement(IDENTITY_INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < rows; i++) {
+                insert.setLong(1, i);
+                insert.setString(2, "Course update");
+                insert.setString(3, "New content is available in one of your courses.");
+                insert.setString(4, "INFO");
+                insert.setTimestamp(5, now);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    public long pooledSequenceBatch() throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        long lastId = 0;
+        try (PreparedStatement insert = connection.prepareStatement(POOLED_INSERT_SQL)) {
+            for (int i = 0; i < rows; i++) {
+                lastId = nextId();
+                insert.setLong(1, lastId);
+                insert.setLong(2, i);
+                insert.setString(3, "Course update");
+                insert.setString(4, "New content is available in one of your courses.");
+                insert.setString(5, "INFO");
+                insert.setTimestamp(6, now);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    // Hands out ids from the reserved block, reserving the next block when it runs out
+    private long nextId() throws SQLException {
+        if (nextId == 0 || nextId > lastReservedId) {
+            try (Statement statement = sequenceConnection.createStatement()) {
+                statement.executeUpdate("UPDATE bench_notifications_seq SET next_val = next_val + " + ALLOCATION_SIZE);
+                try (ResultSet rs = statement.executeQuery("SELECT next_val FROM bench_notifications_seq")) {
+                    rs.next();
+                    lastReservedId = rs.getLong(1) - 1;
+                    nextId = lastReservedId - ALLOCATION_SIZE + 1;
+                }
+            }
+        }
+        return nextId++;
+    }
+}
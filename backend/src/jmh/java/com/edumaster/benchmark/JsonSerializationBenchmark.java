@@ -0,0 +1,124 @@
+package com.edumaster.benchmark;
+
+import com.edumaster.dto.ApiResponse;
+import com.edumaster.dto.CourseResponse;
+import com.edumaster.dto.EnrollmentResponse;
+import com.edumaster.model.Course;
+import com.edumaster.model.Enrollment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON Serialization Benchmark
+ *
+ * Jackson serialization of the response DTOs returned by the catalog and
+ * enrollment endpoints, single and as a page wrapped in {@link ApiResponse}.
+ *
+ * @author EduMaster Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"12", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter writer;
+    private CourseResponse course;
+    private EnrollmentResponse enrollment;
+    private ApiResponse<PageImpl<CourseResponse>> coursePage;
+    private ApiResponse<List<EnrollmentResponse>> enrollmentList;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        writer = objectMapper.writer();
+
+        List<CourseResponse> courses = new ArrayList<>();
+        List<EnrollmentResponse> enrollments = new ArrayList<>();
+        for (int i = 1; i <= pageSize; i++) {
+            courses.add(courseResponse(BenchmarkFixtures.course(i)));
+            enrollments.add(enrollmentResponse(i));
+        }
+        course = courses.get(0);
+        enrollment = enrollments.get(0);
+        coursePage = ApiResponse.success("Courses retrieved successfully",
+            new PageImpl<>(courses, PageRequest.of(0, pageSize), 1000));
+        enrollmentList = ApiResponse.success("Enrollments retrieved successfully", enrollments);
+    }
+
+    @Benchmark
+    public byte[] courseResponse() throws Exception {
+        return writer.writeValueAsBytes(course);
+    }
+
+    @Benchmark
+    public byte[] enrollmentResponse() throws Exception {
+        return writer.writeValueAsBytes(enrollment);
+    }
+
+    @Benchmark
+    public byte[] coursePage() throws Exception {
+        return writer.writeValueAsBytes(coursePage);
+    }
+
+    @Benchmark
+    public byte[] enrollmentList() throws Exception {
+        return writer.writeValueAsBytes(enrollmentList);
+    }
+
+    private static CourseResponse courseResponse(Course course) {
+        CourseResponse response = new CourseResponse(course);
+        response.setInstructorEmail(course.getInstructor().getEmail());
+        response.setTotalLessons(36);
+        response.setTotalEnrollments(1250);
+        response.setAverageRating(4.6);
+        response.setTotalReviews(310);
+        return response;
+    }
+
+    private static EnrollmentResponse enrollmentResponse(long id) {
+        EnrollmentResponse response = new EnrollmentResponse();
+        response.setId(id);
+        response.setEnrollmentDate(LocalDateTime.now().minusDays(id));
+        response.setCompletionStatus(Enrollment.CompletionStatus.IN_PROGRESS);
+        response.setProgressPercentage(new BigDecimal("42.50"));
+        response.setUserId(7L);
+        response.setUserEmail("student7@edumaster.com");
+        response.setUserFullName("First7 Last7");
+        response.setCourseId(id);
+        response.setCourseTitle("Course " + id + ": Spring Boot in Practice");
+        response.setCourseDescription("A complete walk through building production services with Spring Boot.");
+        response.setCourseThumbnailUrl("https://cdn.edumaster.com/thumbnails/" + id + ".jpg");
+        response.setCoursePrice(new BigDecimal("49.99"));
+        response.setCourseDurationHours(24);
+        response.setTotalLessons(36);
+        response.setCompletedLessons(15);
+        response.setInProgress(true);
+        return response;
+    }
+}
@@ -0,0 +1,67 @@
+package com.edumaster.benchmark;
+
+import com.edumaster.security.UserPrincipal;
+import com.edumaster.util.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT Benchmark
+ *
+ * Signing and parsing of access tokens by {@link JwtUtil}. Every
+ * authenticated request parses its token three times (validateToken,
+ * extractUsername, isTokenValid); parseAndValidate measures that sequence.
+ *
+ * @author EduMaster Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = BenchmarkFixtures.jwtUtil();
+        principal = BenchmarkFixtures.principal(42L);
+        token = jwtUtil.generateToken(principal);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtUtil.generateToken(principal);
+    }
+
+    @Benchmark
+    public String parse() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validate() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Boolean parseAndValidate() {
+        return jwtUtil.validateToken(token)
+            && jwtUtil.extractUsername(token) != null
+            && jwtUtil.isTokenValid(token, principal);
+    }
+}
@@ -0,0 +1,158 @@
+package com.edumaster.benchmark;
+
+import com.edumaster.controller.MediaController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Media Range Benchmark
+ *
+ * Concurrent, seek-heavy video playback as {@link MediaController} serves
+ * it: every operation sends one byte range from a random offset of a 256MB
+ * file to a loopback socket, the way players scrub and re-buffer. Reported
+ * as ranges per second; multiply by rangeBytes for throughput.
+ *
+ * - transferTo: FileChannel.transferTo to the socket, the sendfile path
+ *   Tomcat takes for the media endpoint (zero-copy)
+ * - bufferedCopy: positional reads into a heap buffer written to the
+ *   socket, what copying through the servlet output stream costs
+ *
+ * @author EduMaster Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(8)
+@Fork(1)
+public class MediaRangeBenchmark {
+
+    private static final long FILE_SIZE = 256L * 1024 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int ALIGNMENT = 4096;
+
+    // Typical player range requests: small probes while seeking, larger ones while buffering
+    @Param({"65536", "1048576"})
+    private int rangeBytes;
+
+    private Path file;
+    private FileChannel channel;
+    private ServerSocketChannel server;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("media-range-", ".mp4");
+        byte[] block = new byte[1024 * 1024];
+        new Random(42).nextBytes(block);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (long written = 0; written < FILE_SIZE; written += block.length) {
+                out.write(block);
+            }
+        }
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    // One player connection: a socket whose far end is drained and discarded by a daemon thread
+    @State(Scope.Thread)
+    public static class Connection {
+        SocketChannel socket;
+        ByteBuffer buffer;
+        SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void connect(MediaRangeBenchmark benchmark) throws IOException {
+            socket = SocketChannel.open(benchmark.server.getLocalAddress());
+            SocketChannel peer = benchmark.server.accept();
+            Thread drain = new Thread(() -> {
+                ByteBuffer sink = ByteBuffer.allocateDirect(256 * 1024);
+                try (peer) {
+                    while (peer.read(sink) >= 0) {
+                        sink.clear();
+                    }
+                } catch (IOException ignored) {
+                    // closed at tear down
+                }
+            }, "media-drain");
+            drain.setDaemon(true);
+            drain.start();
+            buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            random = new SplittableRandom(socket.hashCode());
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    @Benchmark
+    public long transferTo(Connection connection) throws IOException {
+        long position = nextPosition(connection);
+        long remaining = rangeBytes;
+        while (remaining > 0) {
+            long sent = channel.transferTo(position, remaining, connection.socket);
+            position += sent;
+            remaining -= sent;
+        }
+        return position;
+    }
+
+    @Benchmark
+    public long bufferedCopy(Connection connection) throws IOException {
+        long position = nextPosition(connection);
+        long remaining = rangeBytes;
+        ByteBuffer buffer = connection.buffer;
+        while (remaining > 0) {
+            buffer.clear().limit((int) Math.min(BUFFER_SIZE, remaining));
+            int read = channel.read(buffer, position);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                connection.socket.write(buffer);
+            }
+            position += read;
+            remaining -= read;
+        }
+        return position;
+    }
+
+    private long nextPosition(Connection connection) {
+        long slots = (FILE_SIZE - rangeBytes) / ALIGNMENT;
+        return connection.random.nextLong(slots) * ALIGNMENT;
+    }
+}
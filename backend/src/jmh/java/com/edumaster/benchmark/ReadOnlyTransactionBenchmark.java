@@ -0,0 +1,109 @@
+package com.edumaster.benchmark;
+
+import com.edumaster.EduMasterApplication;
+import com.edumaster.model.Course;
+import com.edumaster.service.CourseService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-Only Transaction Benchmark
+ *
+ * The same service read, {@link CourseService#getAllPublishedCourses}, in the
+ * read-only transaction it declares and joined to a read-write transaction as
+ * before services defaulted to readOnly. A read-write session keeps a
+ * snapshot of every loaded entity and dirty-checks them on flush; the
+ * difference per call shows in gc.alloc.rate.norm (bytes per operation) of
+ * the gc profiler the benchmarks profile runs with.
+ *
+ * Runs the application on the h2 test profile with seeded published courses.
+ *
+ * @author EduMaster Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyTransactionBenchmark {
+
+    private static final int COURSES = 500;
+
+    @Param({"12", "100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private CourseService courseService;
+    private TransactionTemplate readWrite;
+    private PageRequest page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EduMasterApplication.class)
+            .web(WebApplicationType.NONE)
+            .profiles("h2")
+            .properties("logging.level.root=WARN", "logging.level.com.edumaster=WARN")
+            .run();
+        courseService = context.getBean(CourseService.class);
+        readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        page = PageRequest.of(0, pageSize);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Course> readOnly() {
+        return courseService.getAllPublishedCourses(page);
+    }
+
+    @Benchmark
+    public Page<Course> readWrite() {
+        return readWrite.execute(status -> courseService.getAllPublishedCourses(page));
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO users (email, password, first_name, last_name, role, is_verified, is_active, " +
+            "created_at) VALUES ('instructor@benchmark.test', 'not-used', 'Bench', 'Instructor', 'INSTRUCTOR', TRUE, TRUE, ?)",
+            now);
+        jdbcTemplate.update("INSERT INTO categories (name, created_at) VALUES ('Programming', ?)", now);
+        long instructorId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        long categoryId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM categories", Long.class);
+        String description = "A complete walk through building production services with Spring Boot. ".repeat(8);
+        for (int i = 1; i <= COURSES; i++) {
+            jdbcTemplate.update(
+                "INSERT INTO courses (title, description, short_description, price, instructor_id, category_id, " +
+                "status, level, language, duration_hours, created_at) " +
+                "VALUES (?, ?, 'Build production services', 49.99, ?, ?, 'PUBLISHED', 'INTERMEDIATE', 'English', 24, ?)",
+                "Course " + i + ": Spring Boot in Practice", description, instructorId, categoryId, now);
+        }
+    }
+}
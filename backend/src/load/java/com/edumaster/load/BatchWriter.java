@@ -0,0 +1,91 @@
+package com.edumaster.load;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Batch Writer
+ *
+ * Batched INSERTs into several tables over one connection. When any table's
+ * batch is full, every table is flushed in registration order and the
+ * transaction committed, so rows are always written after the rows they
+ * reference even with foreign key checks on.
+ *
+ * @author EduMaster Team
+ */
+class BatchWriter implements AutoCloseable {
+
+    private final Connection connection;
+    private final int batchSize;
+    private final List<Table> tables = new ArrayList<>();
+
+    BatchWriter(Connection connection, int batchSize) {
+        this.connection = connection;
+        this.batchSize = batchSize;
+    }
+
+    Table table(String name, String columns) throws SQLException {
+        int columnCount = columns.split(",").length;
+        String placeholders = String.join(", ", Collections.nCopies(columnCount, "?"));
+        Table table = new Table(name, connection.prepareStatement(
+            "INSERT INTO " + name + " (" + columns + ") VALUES (" + placeholders + ")"));
+        tables.add(table);
+        return table;
+    }
+
+    void add(Table table, Object... values) throws SQLException {
+        for (int i = 0; i < values.length; i++) {
+            table.statement.setObject(i + 1, values[i]);
+        }
+        table.statement.addBatch();
+        if (++table.pending >= batchSize) {
+            flush();
+        }
+    }
+
+    void flush() throws SQLException {
+        for (Table table : tables) {
+            if (table.pending > 0) {
+                table.statement.executeBatch();
+                table.rows += table.pending;
+                table.pending = 0;
+            }
+        }
+        connection.commit();
+    }
+
+    long getTotalRows() {
+        return tables.stream().mapToLong(table -> table.rows).sum();
+    }
+
+    String summary() {
+        StringJoiner joiner = new StringJoiner(", ");
+        tables.forEach(table -> joiner.add(table.name + "=" + table.rows));
+        return joiner.toString();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flush();
+        for (Table table : tables) {
+            table.statement.close();
+        }
+    }
+
+    static final class Table {
+        private final String name;
+        private final PreparedStatement statement;
+        private int pending;
+        private long rows;
+
+        private Table(String name, PreparedStatement statement) {
+            this.name = name;
+            this.statement = statement;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.edumaster.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Data Seeder
+ *
+ * Bulk-loads synthetic data into an existing, migrated EduMaster database
+ * (Flyway V1-V4 or later) so the system can be sized with realistic table volumes.
+ * Rows are appended after the current highest ids, the pooled id tables
+ * (*_seq) are moved past them, and the same settings always produce the
+ * same data.
+ *
+ * Key Features:
+ * - Users (students and instructors), courses, lessons, enrollments,
+ *   course_progress, payments, reviews and notifications
+ * - course_rating_stats filled from the seeded reviews, as V4 does for
+ *   existing ones
+ * - Multi-row batched INSERTs (rewriteBatchedStatements) committed per batch
+ * - Skew: course popularity and course ownership follow Zipf distributions,
+ *   so a few hot courses and power instructors dominate as in production
+ *
+ * Settings (system properties, defaults in brackets):
+ * seed.url [jdbc:mysql://localhost:3306/edumaster_db], seed.username [root],
+ * seed.password [password], seed.users [1000000], seed.instructor-ratio [0.02],
+ * seed.courses [20000], seed.min-lessons [5], seed.max-lessons [40],
+ * seed.enrollments-per-student [3], seed.course-skew [1.1],
+ * seed.instructor-skew [1.2], seed.free-course-ratio [0.2],
+ * seed.review-ratio [0.2], seed.notifications-per-user [5],
+ * seed.batch-size [1000], seed.random-seed [42], seed.fast [true].
+ *
+ * Every seeded user has the password {@link #PASSWORD}. Run it with the
+ * backend stopped: a running node may hold a reserved block of pooled ids
+ * that the seeded rows overlap.
+ *
+ * @author EduMaster Team
+ */
+public class DataSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
+
+    public static final String PASSWORD = "password123";
+    public static final String EMAIL_DOMAIN = "seed.edumaster.test";
+
+    // Course titles are built from these, so searches by topic always find courses
+    public static final String[] TOPICS = {
+        "Java", "Spring Boot", "Python", "Machine Learning", "React", "SQL", "Docker", "Kubernetes",
+        "Photography", "Marketing", "Leadership", "Design", "Guitar", "Spanish", "Yoga", "Finance"
+    };
+    private static final String[] TITLE_FORMATS = {
+        "%s for Beginners", "Mastering %s", "%s in Practice", "Complete %s Bootcamp", "Advanced %s"
+    };
+    private static final String[] LEVELS = {"BEGINNER", "INTERMEDIATE", "ADVANCED"};
+    private static final String[] NOTIFICATION_TYPES = {"INFO", "INFO", "INFO", "SUCCESS", "SUCCESS", "WARNING", "ERROR"};
+    private static final int[] RATING_WEIGHTS = {5, 5, 15, 35, 40};
+    private static final long DAY_MILLIS = 86_400_000L;
+
+    private static final String RATING_STATS_SQL =
+        "INSERT INTO course_rating_stats (course_id, stars_1, stars_2, stars_3, stars_4, stars_5) " +
+        "SELECT course_id, SUM(rating = 1), SUM(rating = 2), SUM(rating = 3), SUM(rating = 4), SUM(rating = 5) " +
+        "FROM reviews WHERE is_approved = TRUE AND course_id >= ? GROUP BY course_id";
+
+    private final Random random;
+    private final int users;
+    private final double instructorRatio;
+    private final int courses;
+    private final int minLessons;
+    private final int maxLessons;
+    private final int enrollmentsPerStudent;
+    private final double courseSkew;
+    private final double instructorSkew;
+    private final double freeCourseRatio;
+    private final double reviewRatio;
+    private final int notificationsPerUser;
+    private final int batchSize;
+    private final long now = System.currentTimeMillis();
+
+    public DataSeeder(Random random, int users, double instructorRatio, int courses, int minLessons, int maxLessons,
+                      int enrollmentsPerStudent, double courseSkew, double instructorSkew, double freeCourseRatio,
+                      double reviewRatio, int notificationsPerUser, int batchSize) {
+        this.random = random;
+        this.users = users;
+        this.instructorRatio = instructorRatio;
+        this.courses = courses;
+        this.minLessons = minLessons;
+        this.maxLessons = maxLessons;
+        this.enrollmentsPerStudent = enrollmentsPerStudent;
+        this.courseSkew = courseSkew;
+        this.instructorSkew = instructorSkew;
+        this.freeCourseRatio = freeCourseRatio;
+        this.reviewRatio = reviewRatio;
+        this.notificationsPerUser = notificationsPerUser;
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        DataSeeder seeder = new DataSeeder(
+            new Random(Long.getLong("seed.random-seed", 42)),
+            Integer.getInteger("seed.users", 1_000_000),
+            doubleProperty("seed.instructor-ratio", 0.02),
+            Integer.getInteger("seed.courses", 20_000),
+            Integer.getInteger("seed.min-lessons", 5),
+            Integer.getInteger("seed.max-lessons", 40),
+            Integer.getInteger("seed.enrollments-per-student", 3),
+            doubleProperty("seed.course-skew", 1.1),
+            doubleProperty("seed.instructor-skew", 1.2),
+            doubleProperty("seed.free-course-ratio", 0.2),
+            doubleProperty("seed.review-ratio", 0.2),
+            Integer.getInteger("seed.notifications-per-user", 5),
+            Integer.getInteger("seed.batch-size", 1000));
+
+        String url = System.getProperty("seed.url", "jdbc:mysql://localhost:3306/edumaster_db");
+        try (Connection connection = DriverManager.getConnection(withBatchRewrite(url),
+                System.getProperty("seed.username", "root"), System.getProperty("seed.password", "password"))) {
+            seeder.seed(connection, Boolean.parseBoolean(System.getProperty("seed.fast", "true")));
+        }
+    }
+
+    public void seed(Connection connection, boolean fast) throws SQLException {
+        long started = System.currentTimeMillis();
+        connection.setAutoCommit(false);
+        if (fast) {
+            // Parents are always written first, so the checks only cost time
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET unique_checks = 0");
+                statement.execute("SET foreign_key_checks = 0");
+            }
+        }
+
+        long[] categoryIds = loadIds(connection, "SELECT id FROM categories ORDER BY id");
+        if (categoryIds.length == 0) {
+            throw new IllegalStateException("No categories found; run the Flyway migrations first");
+        }
+        String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+        long firstUserId = nextId(connection, "users");
+        long firstCourseId = nextId(connection, "courses");
+        long firstLessonId = nextId(connection, "lessons");
+        long enrollmentId = nextId(connection, "enrollments") - 1;
+        long progressId = nextId(connection, "course_progress") - 1;
+        long paymentId = nextId(connection, "payments") - 1;
+        long reviewId = nextId(connection, "reviews") - 1;
+        long notificationId = Math.max(nextId(connection, "notifications"), nextId(connection, "notifications_archive")) - 1;
+
+        int instructors = Math.max(1, (int) Math.round(users * instructorRatio));
+        int students = users - instructors;
+        logger.info("Seeding {} students, {} instructors and {} courses from user id {}",
+            students, instructors, courses, firstUserId);
+
+        try (BatchWriter writer = new BatchWriter(connection, batchSize)) {
+            BatchWriter.Table userTable = writer.table("users",
+                "id, email, password, first_name, last_name, role, is_verified, is_active, created_at");
+            BatchWriter.Table courseTable = writer.table("courses",
+                "id, title, description, short_description, price, instructor_id, category_id, status, "
+                    + "duration_hours, level, language, created_at");
+            BatchWriter.Table lessonTable = writer.table("lessons",
+                "id, course_id, title, duration_minutes, order_index, is_free_preview, content_type, created_at");
+            BatchWriter.Table enrollmentTable = writer.table("enrollments",
+                "id, user_id, course_id, enrollment_date, completion_status, completion_date, progress_percentage");
+            BatchWriter.Table progressTable = writer.table("course_progress",
+                "id, enrollment_id, lesson_id, completed, completed_at, watch_time_seconds, created_at");
+            BatchWriter.Table paymentTable = writer.table("payments",
+                "id, user_id, course_id, amount, currency, stripe_payment_intent_id, status, payment_date");
+            BatchWriter.Table reviewTable = writer.table("reviews",
+                "id, user_id, course_id, rating, comment, is_approved, created_at");
+            BatchWriter.Table notificationTable = writer.table("notifications",
+                "id, user_id, title, message, type, is_read, related_entity_type, related_entity_id, created_at");
+
+            // Users: instructors first, then students
+            for (int i = 0; i < users; i++) {
+                long userId = firstUserId + i;
+                boolean instructor = i < instructors;
+                writer.add(userTable, userId, (instructor ? "instructor" : "student") + userId + "@" + EMAIL_DOMAIN,
+                    passwordHash, "First" + userId, "Last" + userId, instructor ? "INSTRUCTOR" : "STUDENT",
+                    random.nextInt(10) < 8, true, pastTimestamp(720));
+            }
+            writer.flush();
+            logger.info("Users done");
+
+            // Courses and their lessons; ownership skewed towards power instructors
+            ZipfSampler instructorSampler = new ZipfSampler(instructors, instructorSkew, random);
+            BigDecimal[] prices = new BigDecimal[courses];
+            int[] lessonCounts = new int[courses];
+            long[] lessonStarts = new long[courses];
+            long lessonId = firstLessonId;
+            for (int c = 0; c < courses; c++) {
+                long courseId = firstCourseId + c;
+                String topic = TOPICS[random.nextInt(TOPICS.length)];
+                String title = String.format(TITLE_FORMATS[random.nextInt(TITLE_FORMATS.length)], topic) + " #" + courseId;
+                prices[c] = random.nextDouble() < freeCourseRatio ? BigDecimal.ZERO
+                    : BigDecimal.valueOf(999 + random.nextInt(19_000), 2);
+                writer.add(courseTable, courseId, title,
+                    "Synthetic " + topic + " course generated for load testing. " + "Covers the essentials step by step. ".repeat(4),
+                    "Learn " + topic + " with hands-on projects", prices[c],
+                    firstUserId + instructorSampler.next(), categoryIds[random.nextInt(categoryIds.length)],
+                    random.nextInt(10) < 9 ? "PUBLISHED" : "DRAFT", 2 + random.nextInt(60),
+                    LEVELS[random.nextInt(LEVELS.length)], "English", pastTimestamp(720));
+
+                lessonCounts[c] = minLessons + random.nextInt(maxLessons - minLessons + 1);
+                lessonStarts[c] = lessonId;
+                for (int l = 0; l < lessonCounts[c]; l++) {
+                    writer.add(lessonTable, lessonId++, courseId, "Lesson " + (l + 1) + ": " + topic, 3 + random.nextInt(25),
+                        l + 1, l == 0, random.nextInt(10) < 8 ? "VIDEO" : "TEXT", pastTimestamp(720));
+                }
+            }
+            writer.flush();
+            logger.info("Courses and lessons done");
+
+            // Enrollments with progress, payments and reviews; popularity skewed towards hot courses
+            ZipfSampler courseSampler = new ZipfSampler(courses, courseSkew, random);
+            int[] picked = new int[enrollmentsPerStudent * 2];
+            for (int s = 0; s < students; s++) {
+                long userId = firstUserId + instructors + s;
+                int count = random.nextInt(enrollmentsPerStudent * 2 + 1);
+                int enrolled = 0;
+                for (int e = 0; e < count; e++) {
+                    int course = courseSampler.next();
+                    if (contains(picked, enrolled, course)) {
+                        continue;
+                    }
+                    picked[enrolled++] = course;
+                    long courseId = firstCourseId + course;
+                    long enrolledAt = now - (long) (random.nextDouble() * 365 * DAY_MILLIS);
+
+                    int completedLessons = completedLessons(lessonCounts[course]);
+                    BigDecimal progress = BigDecimal.valueOf(completedLessons * 10_000L / lessonCounts[course], 2);
+                    String status = completedLessons == 0 ? "ENROLLED"
+                        : completedLessons == lessonCounts[course] ? "COMPLETED" : "IN_PROGRESS";
+                    long completedAt = enrolledAt + (long) (random.nextDouble() * (now - enrolledAt));
+                    writer.add(enrollmentTable, ++enrollmentId, userId, courseId, new Timestamp(enrolledAt), status,
+                        "COMPLETED".equals(status) ? new Timestamp(completedAt) : null, progress);
+
+                    for (int l = 0; l < completedLessons; l++) {
+                        writer.add(progressTable, ++progressId, enrollmentId, lessonStarts[course] + l, true,
+                            new Timestamp(enrolledAt + (completedAt - enrolledAt) * (l + 1) / completedLessons),
+                            120 + random.nextInt(1500), new Timestamp(enrolledAt));
+                    }
+
+                    if (prices[course].signum() > 0) {
+                        writer.add(paymentTable, ++paymentId, userId, courseId, prices[course], "USD",
+                            "pi_seed_" + paymentId, "SUCCEEDED", new Timestamp(enrolledAt));
+                    }
+
+                    if (completedLessons > 0 && random.nextDouble() < reviewRatio) {
+                        writer.add(reviewTable, ++reviewId, userId, courseId, rating(),
+                            random.nextBoolean() ? "Great course, learned a lot." : null,
+                            random.nextInt(20) != 0, new Timestamp(completedAt));
+                    }
+                }
+                if (s % 100_000 == 0 && s > 0) {
+                    logger.info("{} students enrolled", s);
+                }
+            }
+            writer.flush();
+            logger.info("Enrollments, progress, payments and reviews done");
+
+            // Rating aggregates the course pages read instead of scanning reviews (see V4)
+            try (PreparedStatement statement = connection.prepareStatement(RATING_STATS_SQL)) {
+                statement.setLong(1, firstCourseId);
+                logger.info("Rating stats done for {} courses", statement.executeUpdate());
+            }
+
+            // Notifications, mostly read and spread over the last 90 days
+            for (int i = 0; i < users; i++) {
+                long userId = firstUserId + i;
+                int count = random.nextInt(notificationsPerUser * 2 + 1);
+                for (int n = 0; n < count; n++) {
+                    writer.add(notificationTable, ++notificationId, userId, "Course update",
+                        "New content is available in one of your courses.",
+                        NOTIFICATION_TYPES[random.nextInt(NOTIFICATION_TYPES.length)], random.nextInt(10) < 7,
+                        "COURSE", firstCourseId + random.nextInt(courses), pastTimestamp(90));
+                }
+            }
+            writer.flush();
+            logger.info("Notifications done");
+
+            // Pooled ids must start past everything inserted here (see V3__Create_id_sequence_tables.sql)
+            advanceSequence(connection, "enrollments_seq", enrollmentId);
+            advanceSequence(connection, "course_progress_seq", progressId);
+            advanceSequence(connection, "payments_seq", paymentId);
+            advanceSequence(connection, "notifications_seq", notificationId);
+            connection.commit();
+
+            logger.info("Seeded {} rows in {} s: {}", writer.getTotalRows(),
+                (System.currentTimeMillis() - started) / 1000, writer.summary());
+        }
+    }
+
+    // 30% not started, 20% finished, the rest part way through
+    private int completedLessons(int lessons) {
+        double roll = random.nextDouble();
+        if (roll < 0.3) {
+            return 0;
+        }
+        if (roll < 0.5) {
+            return lessons;
+        }
+        return 1 + random.nextInt(Math.max(1, lessons - 1));
+    }
+
+    private int rating() {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < RATING_WEIGHTS.length; i++) {
+            roll -= RATING_WEIGHTS[i];
+            if (roll < 0) {
+                return i + 1;
+            }
+        }
+        return 5;
+    }
+
+    private Timestamp pastTimestamp(int maxDaysAgo) {
+        return new Timestamp(now - (long) (random.nextDouble() * maxDaysAgo * DAY_MILLIS));
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static long[] loadIds(Connection connection, String sql) throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static void advanceSequence(Connection connection, String table, long maxId) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE " + table + " SET next_val = GREATEST(next_val, ?)")) {
+            statement.setLong(1, maxId + 100);
+            statement.executeUpdate();
+        }
+    }
+
+    private static String withBatchRewrite(String url) {
+        if (url.contains("rewriteBatchedStatements")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
@@ -0,0 +1,482 @@
+package com.edumaster.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load Scenario
+ *
+ * Scripted HTTP load against a running backend. Each virtual user repeats a
+ * journey, chosen with load.journey:
+ * - student: sign up, browse the catalog, search, open a course, enroll in
+ *   a free course, watch it (progress updates), complete it, then buy a
+ *   paid course
+ * - course-page: anonymous course page views (detail, outline and rating
+ *   summary) of catalog courses picked with Zipf skew, so hot courses are
+ *   served from the course detail cache
+ * Latency is recorded per step and reported as throughput and percentiles on
+ * the console and as JSON, with an "all" row over every request for
+ * comparing whole runs (for example the backend on platform against virtual
+ * threads; load.label names the run in the report). When load.metrics-url is reachable, the backend's
+ * heap allocation and GC pauses during the run are reported too, per request.
+ *
+ * Payments need the backend to talk to {@link StubPaymentGateway}
+ * (STRIPE_API_BASE=http://localhost:12111); load.stub-gateway=true starts
+ * one in this JVM. Seed the database with {@link DataSeeder} first so the
+ * catalog has realistic size and skew.
+ *
+ * Settings (system properties, defaults in brackets):
+ * load.base-url [http://localhost:8080/api/v1], load.users [50],
+ * load.duration-seconds [300], load.ramp-up-seconds [30],
+ * load.think-millis [0], load.payment-method [pm_card_visa],
+ * load.report [target/load-report.json], load.stub-gateway [false],
+ * load.journey [student], load.catalog-pages [10], load.course-skew [1.1],
+ * load.metrics-url [http://localhost:8081/actuator/prometheus] (empty to skip),
+ * load.label [journey name].
+ *
+ * @author EduMaster Team
+ */
+public class LoadScenario {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadScenario.class);
+
+    public enum Journey {
+        STUDENT,
+        COURSE_PAGE
+    }
+
+    private static final String[] STEPS = {
+        "signup", "browse", "search", "course", "outline", "reviews", "enroll", "watch", "complete",
+        "pay-intent", "pay-confirm"
+    };
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final int CATALOG_PAGE_SIZE = 100;
+
+    // Backend meters read from the Prometheus endpoint before and after the run
+    private static final String ALLOCATED_BYTES = "jvm_gc_memory_allocated_bytes_total";
+    private static final String GC_PAUSE_SECONDS = "jvm_gc_pause_seconds_sum";
+    private static final String GC_PAUSES = "jvm_gc_pause_seconds_count";
+    private static final List<String> SERVER_METERS = List.of(ALLOCATED_BYTES, GC_PAUSE_SECONDS, GC_PAUSES);
+
+    private final String baseUrl;
+    private final int users;
+    private final Duration duration;
+    private final Duration rampUp;
+    private final long thinkMillis;
+    private final String paymentMethod;
+    private final Journey journey;
+    private final int catalogPages;
+    private final double courseSkew;
+    private final String metricsUrl;
+    private final String label;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, StepStats> stats = new LinkedHashMap<>();
+    private final StepStats total = new StepStats();
+    private final AtomicLong journeys = new AtomicLong();
+    private final AtomicLong signups = new AtomicLong();
+    private double elapsedSeconds;
+    private long[] catalog;
+    private ZipfSampler courseSampler;
+    private Map<String, Object> serverReport = Map.of();
+
+    public LoadScenario(String baseUrl, int users, Duration duration, Duration rampUp, long thinkMillis,
+                        String paymentMethod, Journey journey, int catalogPages, double courseSkew,
+                        String metricsUrl, String label) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.duration = duration;
+        this.rampUp = rampUp;
+        this.thinkMillis = thinkMillis;
+        this.paymentMethod = paymentMethod;
+        this.journey = journey;
+        this.catalogPages = catalogPages;
+        this.courseSkew = courseSkew;
+        this.metricsUrl = metricsUrl;
+        this.label = label;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newFixedThreadPool(Math.max(4, users / 4)))
+            .build();
+        for (String step : STEPS) {
+            stats.put(step, new StepStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        StubPaymentGateway gateway = null;
+        if (Boolean.getBoolean("load.stub-gateway")) {
+            gateway = new StubPaymentGateway(Long.getLong("stub.latency-millis", 50));
+            gateway.start(Integer.getInteger("stub.port", 12111), Integer.getInteger("stub.threads", 64));
+        }
+        try {
+            LoadScenario scenario = new LoadScenario(
+                System.getProperty("load.base-url", "http://localhost:8080/api/v1"),
+                Integer.getInteger("load.users", 50),
+                Duration.ofSeconds(Long.getLong("load.duration-seconds", 300)),
+                Duration.ofSeconds(Long.getLong("load.ramp-up-seconds", 30)),
+                Long.getLong("load.think-millis", 0),
+                System.getProperty("load.payment-method", "pm_card_visa"),
+                Journey.valueOf(System.getProperty("load.journey", "student").toUpperCase().replace('-', '_')),
+                Integer.getInteger("load.catalog-pages", 10),
+                Double.parseDouble(System.getProperty("load.course-skew", "1.1")),
+                System.getProperty("load.metrics-url", "http://localhost:8081/actuator/prometheus"),
+                System.getProperty("load.label", System.getProperty("load.journey", "student")));
+            scenario.run();
+            scenario.writeReport(new File(System.getProperty("load.report", "target/load-report.json")));
+        } finally {
+            if (gateway != null) {
+                gateway.stop();
+            }
+        }
+        System.exit(0);
+    }
+
+    public void run() throws InterruptedException {
+        if (journey == Journey.COURSE_PAGE) {
+            loadCatalog();
+        }
+        logger.info("Running {} virtual users on the {} journey for {} s (ramp-up {} s) against {}",
+            users, journey, duration.toSeconds(), rampUp.toSeconds(), baseUrl);
+        Map<String, Double> serverBefore = scrapeServerMeters();
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        ExecutorService virtualUsers = Executors.newFixedThreadPool(users);
+        for (int i = 0; i < users; i++) {
+            long startDelay = rampUp.toMillis() * i / users;
+            virtualUsers.execute(() -> runVirtualUser(startDelay, deadline));
+        }
+        virtualUsers.shutdown();
+        virtualUsers.awaitTermination(duration.toSeconds() + 120, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        elapsedSeconds = seconds;
+        Map<String, Double> serverAfter = scrapeServerMeters();
+        stats.values().forEach(stepStats -> {
+            total.histogram.add(stepStats.histogram);
+            total.errors.addAndGet(stepStats.errors.get());
+        });
+
+        logger.info(String.format("%-12s %9s %7s %9s %9s %9s %9s %9s",
+            "step", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        Map<String, StepStats> rows = new LinkedHashMap<>(stats);
+        rows.put("all", total);
+        rows.forEach((step, stepStats) -> logger.info(String.format("%-12s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f",
+            step, stepStats.histogram.getTotalCount(), stepStats.errors.get(),
+            stepStats.histogram.getTotalCount() / seconds,
+            millis(stepStats.histogram, 50), millis(stepStats.histogram, 90), millis(stepStats.histogram, 99),
+            stepStats.histogram.getMaxValue() / 1000.0)));
+        logger.info("{} complete journeys in {} s ({} per s)", journeys.get(), Math.round(seconds),
+            String.format("%.2f", journeys.get() / seconds));
+
+        // The GC pause timer only appears after the first collection
+        if (serverBefore.containsKey(ALLOCATED_BYTES) && serverAfter.containsKey(ALLOCATED_BYTES)) {
+            long requests = total.histogram.getTotalCount();
+            double allocated = serverAfter.get(ALLOCATED_BYTES) - serverBefore.get(ALLOCATED_BYTES);
+            double pauseMillis = (serverAfter.getOrDefault(GC_PAUSE_SECONDS, 0.0)
+                - serverBefore.getOrDefault(GC_PAUSE_SECONDS, 0.0)) * 1000;
+            long pauses = Math.round(serverAfter.getOrDefault(GC_PAUSES, 0.0) - serverBefore.getOrDefault(GC_PAUSES, 0.0));
+            Map<String, Object> server = new LinkedHashMap<>();
+            server.put("allocatedMegabytes", allocated / (1 << 20));
+            server.put("allocatedKilobytesPerRequest", requests > 0 ? allocated / 1024 / requests : 0);
+            server.put("gcPauses", pauses);
+            server.put("gcPauseMillis", pauseMillis);
+            serverReport = server;
+            logger.info(String.format("Backend allocated %.0f MB (%.1f KB per request), %d GC pauses totalling %.0f ms",
+                allocated / (1 << 20), requests > 0 ? allocated / 1024 / requests : 0, pauses, pauseMillis));
+        }
+    }
+
+    // Ids of the first catalog pages, for the course-page journey
+    private void loadCatalog() {
+        List<Long> ids = new ArrayList<>();
+        for (int page = 0; page < catalogPages; page++) {
+            JsonNode courses = call("browse", "GET",
+                "/courses/public?size=" + CATALOG_PAGE_SIZE + "&page=" + page, null, null);
+            if (courses == null) {
+                break;
+            }
+            courses.path("content").forEach(course -> ids.add(course.path("id").asLong()));
+            if (courses.path("last").asBoolean(true)) {
+                break;
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No published courses found; seed the database first");
+        }
+        catalog = ids.stream().mapToLong(Long::longValue).toArray();
+        courseSampler = new ZipfSampler(catalog.length, courseSkew, new Random(42));
+        logger.info("Course pages are drawn from {} catalog courses", catalog.length);
+    }
+
+    private void runVirtualUser(long startDelayMillis, long deadline) {
+        try {
+            Thread.sleep(startDelayMillis);
+            while (System.nanoTime() < deadline) {
+                if (journey == Journey.COURSE_PAGE ? coursePage() : journey()) {
+                    journeys.incrementAndGet();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // One student journey; stops at the first failed step
+    private boolean journey() throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        String email = "load-" + runId + "-" + signups.incrementAndGet() + "@" + DataSeeder.EMAIL_DOMAIN;
+        ObjectNode registration = objectMapper.createObjectNode()
+            .put("firstName", "Load")
+            .put("lastName", "Tester")
+            .put("email", email)
+            .put("password", DataSeeder.PASSWORD)
+            .put("confirmPassword", DataSeeder.PASSWORD);
+        JsonNode account = call("signup", "POST", "/auth/register", null, registration);
+        if (account == null) {
+            return false;
+        }
+        String token = account.path("accessToken").asText();
+        long userId = account.path("id").asLong();
+        think();
+
+        // Most visitors stay on the first pages
+        JsonNode page = call("browse", "GET", "/courses/public?size=12&page=" + skewedPage(random), token, null);
+        if (page == null) {
+            return false;
+        }
+        List<JsonNode> listed = new ArrayList<>();
+        page.path("content").forEach(listed::add);
+        think();
+
+        String topic = DataSeeder.TOPICS[random.nextInt(DataSeeder.TOPICS.length)];
+        if (call("search", "GET", "/courses/public/search?size=12&keyword=" + encode(topic), token, null) == null) {
+            return false;
+        }
+        think();
+
+        if (!listed.isEmpty()) {
+            long courseId = listed.get(random.nextInt(listed.size())).path("id").asLong();
+            if (call("course", "GET", "/courses/public/" + courseId, token, null) == null) {
+                return false;
+            }
+            think();
+        }
+
+        JsonNode freeCourses = call("browse", "GET", "/courses/public/free?limit=50", token, null);
+        if (freeCourses == null || freeCourses.size() == 0) {
+            return false;
+        }
+        long freeCourseId = freeCourses.get(random.nextInt(freeCourses.size())).path("id").asLong();
+        JsonNode enrollment = call("enroll", "POST", "/enrollments/free/" + freeCourseId + "?userId=" + userId, token, null);
+        if (enrollment == null) {
+            return false;
+        }
+        long enrollmentId = enrollment.path("id").asLong();
+        think();
+
+        for (int progress = 25; progress < 100; progress += 25) {
+            if (call("watch", "PUT", "/enrollments/" + enrollmentId + "/progress?progressPercentage=" + progress,
+                    token, null) == null) {
+                return false;
+            }
+            think();
+        }
+
+        if (call("complete", "POST", "/enrollments/" + enrollmentId + "/complete", token, null) == null) {
+            return false;
+        }
+        think();
+
+        JsonNode paidCourse = listed.stream().filter(course -> course.path("price").asDouble() > 0).findAny().orElse(null);
+        if (paidCourse == null) {
+            return true;
+        }
+        JsonNode intent = call("pay-intent", "POST", "/payments/create-intent?userId=" + userId
+            + "&courseId=" + paidCourse.path("id").asLong(), token, null);
+        if (intent == null) {
+            return false;
+        }
+        return call("pay-confirm", "POST", "/payments/confirm?paymentIntentId="
+            + encode(intent.path("paymentIntentId").asText()) + "&paymentMethodId=" + encode(paymentMethod),
+            token, null) != null;
+    }
+
+    // One anonymous view of a course page: the detail, outline and rating summary requests it makes
+    private boolean coursePage() throws InterruptedException {
+        long courseId = catalog[courseSampler.next()];
+        boolean viewed = call("course", "GET", "/courses/public/" + courseId, null, null) != null
+            && call("outline", "GET", "/lessons/course/" + courseId + "/outline", null, null) != null
+            && call("reviews", "GET", "/reviews/course/" + courseId + "/summary", null, null) != null;
+        think();
+        return viewed;
+    }
+
+    // Timed request; returns ApiResponse.data, or null on failure
+    private JsonNode call(String step, String method, String path, String token, JsonNode body) {
+        StepStats stepStats = stats.get(step);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Accept", "application/json");
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body.toString()));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            stepStats.record(System.nanoTime() - start);
+            if (response.statusCode() >= 400) {
+                stepStats.error(response.statusCode() + " " + new String(response.body(), StandardCharsets.UTF_8));
+                return null;
+            }
+            return objectMapper.readTree(response.body()).path("data");
+        } catch (IOException e) {
+            stepStats.record(System.nanoTime() - start);
+            stepStats.error(e.toString());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    public void writeReport(File file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("baseUrl", baseUrl);
+        report.put("users", users);
+        report.put("durationSeconds", elapsedSeconds);
+        report.put("journeys", journeys.get());
+        Map<String, Object> steps = new LinkedHashMap<>();
+        stats.forEach((step, stepStats) -> steps.put(step, summary(stepStats)));
+        report.put("steps", steps);
+        report.put("all", summary(total));
+        if (!serverReport.isEmpty()) {
+            report.put("server", serverReport);
+        }
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+        logger.info("Report written to {}", file.getAbsolutePath());
+    }
+
+    private Map<String, Object> summary(StepStats stepStats) {
+        Histogram histogram = stepStats.histogram;
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("requests", histogram.getTotalCount());
+        values.put("errors", stepStats.errors.get());
+        values.put("requestsPerSecond", histogram.getTotalCount() / elapsedSeconds);
+        values.put("p50Millis", millis(histogram, 50));
+        values.put("p90Millis", millis(histogram, 90));
+        values.put("p99Millis", millis(histogram, 99));
+        values.put("maxMillis", histogram.getMaxValue() / 1000.0);
+        return values;
+    }
+
+    // Sum of each server meter over its label sets, or an empty map when the endpoint is unavailable
+    private Map<String, Double> scrapeServerMeters() {
+        if (metricsUrl.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            HttpResponse<String> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(metricsUrl)).timeout(Duration.ofSeconds(10)).build(),
+                HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                logger.warn("Backend metrics unavailable: {} returned {}", metricsUrl, response.statusCode());
+                return Map.of();
+            }
+            Map<String, Double> values = new LinkedHashMap<>();
+            for (String line : response.body().split("\n")) {
+                int nameEnd = line.indexOf('{') >= 0 ? line.indexOf('{') : line.indexOf(' ');
+                if (line.startsWith("#") || nameEnd < 0 || !SERVER_METERS.contains(line.substring(0, nameEnd))) {
+                    continue;
+                }
+                values.merge(line.substring(0, nameEnd),
+                    Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1)), Double::sum);
+            }
+            return values;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Backend metrics unavailable from {}: {}", metricsUrl, e.toString());
+            return Map.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Map.of();
+        }
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMillis > 0) {
+            Thread.sleep(thinkMillis);
+        }
+    }
+
+    private static int skewedPage(ThreadLocalRandom random) {
+        // Geometric: half the visitors see page 0, a quarter page 1, ...
+        int page = 0;
+        while (page < 20 && random.nextBoolean()) {
+            page++;
+        }
+        return page;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static final class StepStats {
+        private final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final AtomicLong errors = new AtomicLong();
+
+        void record(long nanos) {
+            histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_LATENCY_MICROS));
+        }
+
+        void error(String detail) {
+            // Log the first few failures of each step, count the rest
+            if (errors.incrementAndGet() <= 5) {
+                logger.warn("Request failed: {}", detail.length() > 300 ? detail.substring(0, 300) : detail);
+            }
+        }
+    }
+}
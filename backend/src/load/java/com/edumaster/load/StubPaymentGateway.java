@@ -0,0 +1,177 @@
+package com.edumaster.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Stub Payment Gateway
+ *
+ * Minimal stand-in for the Stripe API endpoints PaymentService calls, so load
+ * tests exercise the full payment flow without a Stripe account or network.
+ * Start it and run the backend with STRIPE_API_BASE=http://localhost:12111.
+ *
+ * Key Features:
+ * - POST /v1/payment_intents, GET /v1/payment_intents/{id},
+ *   POST /v1/payment_intents/{id}/confirm and POST /v1/refunds
+ * - Confirmation succeeds, except with payment method pm_card_chargeDeclined
+ * - Fixed simulated latency per call (stub.latency-millis, default 50)
+ *
+ * Settings (system properties): stub.port (12111), stub.latency-millis (50),
+ * stub.threads (64).
+ *
+ * @author EduMaster Team
+ */
+public class StubPaymentGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubPaymentGateway.class);
+
+    static final String DECLINED_PAYMENT_METHOD = "pm_card_chargeDeclined";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Map<String, Object>> paymentIntents = new ConcurrentHashMap<>();
+    private final long latencyMillis;
+    private HttpServer server;
+
+    public StubPaymentGateway(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    public static void main(String[] args) throws IOException {
+        StubPaymentGateway gateway = new StubPaymentGateway(Long.getLong("stub.latency-millis", 50));
+        gateway.start(Integer.getInteger("stub.port", 12111), Integer.getInteger("stub.threads", 64));
+    }
+
+    public void start(int port, int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/v1/", this::handle);
+        server.setExecutor(Executors.newFixedThreadPool(threads));
+        server.start();
+        logger.info("Stub payment gateway listening on http://localhost:{} ({} ms per call)", port, latencyMillis);
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            simulateLatency();
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+            // path: "", "v1", resource, [id], [action]
+            if (path.length == 3 && "payment_intents".equals(path[2]) && "POST".equals(method)) {
+                respond(exchange, 200, createPaymentIntent(form));
+            } else if (path.length == 4 && "payment_intents".equals(path[2]) && "GET".equals(method)) {
+                Map<String, Object> intent = paymentIntents.get(path[3]);
+                respond(exchange, intent != null ? 200 : 404, intent != null ? intent : notFound(path[3]));
+            } else if (path.length == 5 && "payment_intents".equals(path[2]) && "confirm".equals(path[4])) {
+                Map<String, Object> intent = paymentIntents.get(path[3]);
+                respond(exchange, intent != null ? 200 : 404, intent != null ? confirm(intent, form) : notFound(path[3]));
+            } else if (path.length == 3 && "refunds".equals(path[2]) && "POST".equals(method)) {
+                respond(exchange, 200, createRefund(form));
+            } else {
+                respond(exchange, 404, notFound(exchange.getRequestURI().getPath()));
+            }
+        } catch (Exception e) {
+            logger.error("Stub gateway error: {}", e.getMessage());
+            respond(exchange, 500, Map.of("error", Map.of("type", "api_error", "message", String.valueOf(e.getMessage()))));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Map<String, Object> createPaymentIntent(Map<String, String> form) {
+        String id = "pi_stub_" + UUID.randomUUID().toString().replace("-", "");
+        Map<String, Object> intent = new LinkedHashMap<>();
+        intent.put("id", id);
+        intent.put("object", "payment_intent");
+        intent.put("amount", Long.parseLong(form.getOrDefault("amount", "0")));
+        intent.put("currency", form.getOrDefault("currency", "usd"));
+        intent.put("client_secret", id + "_secret_stub");
+        intent.put("status", "requires_payment_method");
+        intent.put("livemode", false);
+        intent.put("created", System.currentTimeMillis() / 1000);
+        Map<String, String> metadata = new HashMap<>();
+        form.forEach((key, value) -> {
+            if (key.startsWith("metadata[") && key.endsWith("]")) {
+                metadata.put(key.substring(9, key.length() - 1), value);
+            }
+        });
+        intent.put("metadata", metadata);
+        paymentIntents.put(id, intent);
+        return intent;
+    }
+
+    private Map<String, Object> confirm(Map<String, Object> intent, Map<String, String> form) {
+        String paymentMethod = form.get("payment_method");
+        Map<String, Object> confirmed = new LinkedHashMap<>(intent);
+        confirmed.put("payment_method", paymentMethod);
+        confirmed.put("status", DECLINED_PAYMENT_METHOD.equals(paymentMethod) ? "requires_payment_method" : "succeeded");
+        paymentIntents.put((String) intent.get("id"), confirmed);
+        return confirmed;
+    }
+
+    private Map<String, Object> createRefund(Map<String, String> form) {
+        Map<String, Object> refund = new LinkedHashMap<>();
+        refund.put("id", "re_stub_" + UUID.randomUUID().toString().replace("-", ""));
+        refund.put("object", "refund");
+        refund.put("amount", Long.parseLong(form.getOrDefault("amount", "0")));
+        refund.put("currency", "usd");
+        refund.put("payment_intent", form.get("payment_intent"));
+        refund.put("status", "succeeded");
+        return refund;
+    }
+
+    private static Map<String, Object> notFound(String id) {
+        return Map.of("error", Map.of("type", "invalid_request_error", "message", "No such object: " + id));
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("Request-Id", "req_stub_" + UUID.randomUUID().toString().substring(0, 8));
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        if (body.isEmpty()) {
+            return form;
+        }
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            form.put(key, value);
+        }
+        return form;
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        if (latencyMillis > 0) {
+            Thread.sleep(latencyMillis);
+        }
+    }
+}
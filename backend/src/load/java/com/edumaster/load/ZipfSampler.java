@@ -0,0 +1,52 @@
+package com.edumaster.load;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf Sampler
+ *
+ * Draws indexes 0..n-1 where the k-th most popular index is chosen with
+ * probability proportional to 1/k^s. Ranks are shuffled onto indexes, so the
+ * popular ones are spread over the id range instead of being the lowest ids.
+ *
+ * @author EduMaster Team
+ */
+class ZipfSampler {
+
+    private final double[] cumulative;
+    private final int[] indexByRank;
+    private final Random random;
+
+    ZipfSampler(int n, double exponent, Random random) {
+        this.random = random;
+        this.cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+
+        indexByRank = new int[n];
+        for (int i = 0; i < n; i++) {
+            indexByRank[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexByRank[i];
+            indexByRank[i] = indexByRank[j];
+            indexByRank[j] = swap;
+        }
+    }
+
+    int next() {
+        int rank = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (rank < 0) {
+            rank = Math.min(-rank - 1, cumulative.length - 1);
+        }
+        return indexByRank[rank];
+    }
+}
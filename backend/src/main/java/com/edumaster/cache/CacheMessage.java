@@ -0,0 +1,67 @@
+package com.edumaster.cache;
+
+/**
+ * Cache Message
+ *
+ * A message broadcast to all nodes over the shared store: an eviction of a
+ * region key, or a new value of a version counter. Encoded as one tab
+ * separated line (origin, topic, key, value, timestamp); topics and keys
+ * never contain tabs.
+ *
+ * @author EduMaster Team
+ */
+public final class CacheMessage {
+
+    private final String origin;
+    private final String topic;
+    private final String key;
+    private final long value;
+    private final long timestamp;
+
+    public CacheMessage(String origin, String topic, String key, long value, long timestamp) {
+        this.origin = origin;
+        this.topic = topic;
+        this.key = key;
+        this.value = value;
+        this.timestamp = timestamp;
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getValue() {
+        return value;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String encode() {
+        return origin + '\t' + topic + '\t' + key + '\t' + value + '\t' + timestamp;
+    }
+
+    /**
+     * @return the decoded message, or null when the line is malformed
+     */
+    public static CacheMessage decode(String line) {
+        String[] parts = line.split("\t", 5);
+        if (parts.length != 5) {
+            return null;
+        }
+        try {
+            return new CacheMessage(parts[0], parts[1], parts[2], Long.parseLong(parts[3]), Long.parseLong(parts[4]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.edumaster.cache;
+
+/**
+ * Cache Regions
+ *
+ * Every cache built by {@link TwoLevelCacheManager} belongs to a region. Each
+ * region has its own near-cache size, TTLs and metrics; the defaults below can
+ * be overridden under app.cache.regions.&lt;name&gt;.*.
+ *
+ * @author EduMaster Team
+ */
+public enum CacheRegion {
+
+    // Rendered course detail responses, tagged with the course version
+    COURSES("courses", 600, 3600, 2000, true),
+
+    // Category catalog rows with published-course counts, tagged with the categories version
+    CATEGORIES("categories", 600, 3600, 16, true),
+
+    // Authenticated user principals; hold password hashes, so they never leave the node
+    PRINCIPALS("principals", 300, 0, 10000, false),
+
+    // Admin and instructor dashboard aggregates
+    DASHBOARD("dashboard", 60, 60, 1000, true),
+
+    // Ranked course IDs of each user's catalog feed; built from this node's recommendation snapshot
+    FEEDS("feeds", 600, 0, 10000, false);
+
+    private final String name;
+    private final long defaultLocalTtlSeconds;
+    private final long defaultSharedTtlSeconds;
+    private final int defaultMaxEntries;
+    private final boolean shareable;
+
+    CacheRegion(String name, long defaultLocalTtlSeconds, long defaultSharedTtlSeconds,
+                int defaultMaxEntries, boolean shareable) {
+        this.name = name;
+        this.defaultLocalTtlSeconds = defaultLocalTtlSeconds;
+        this.defaultSharedTtlSeconds = defaultSharedTtlSeconds;
+        this.defaultMaxEntries = defaultMaxEntries;
+        this.shareable = shareable;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getDefaultLocalTtlSeconds() {
+        return defaultLocalTtlSeconds;
+    }
+
+    public long getDefaultSharedTtlSeconds() {
+        return defaultSharedTtlSeconds;
+    }
+
+    public int getDefaultMaxEntries() {
+        return defaultMaxEntries;
+    }
+
+    public boolean isShareable() {
+        return shareable;
+    }
+}
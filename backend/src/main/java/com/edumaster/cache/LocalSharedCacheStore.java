@@ -0,0 +1,110 @@
+package com.edumaster.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Local Shared Cache Store
+ *
+ * In-process stand-in for the shared cache tier, used when Redis is not
+ * enabled (single-node runs, local development and tests). It behaves like
+ * the Redis store - values expire, counters are atomic and published messages
+ * reach every subscriber including the publisher - but is only shared within
+ * one JVM.
+ *
+ * Values are kept in an access-ordered map bounded by entry count.
+ *
+ * @author EduMaster Team
+ */
+public class LocalSharedCacheStore implements SharedCacheStore {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> values;
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    public LocalSharedCacheStore(int maxEntries) {
+        this.values = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public byte[] get(String key) {
+        lock.lock();
+        try {
+            Entry entry = values.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= System.currentTimeMillis()) {
+                values.remove(key);
+                return null;
+            }
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        lock.lock();
+        try {
+            values.put(key, new Entry(value, System.currentTimeMillis() + ttl.toMillis()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        lock.lock();
+        try {
+            values.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long increment(String key) {
+        return counters.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public long getCounter(String key) {
+        AtomicLong counter = counters.get(key);
+        return counter != null ? counter.get() : 0L;
+    }
+
+    @Override
+    public void publish(String message) {
+        listeners.forEach(listener -> listener.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    private static final class Entry {
+        private final byte[] value;
+        private final long expiresAt;
+
+        private Entry(byte[] value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
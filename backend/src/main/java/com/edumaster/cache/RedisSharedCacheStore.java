@@ -0,0 +1,87 @@
+package com.edumaster.cache;
+
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Redis Shared Cache Store
+ *
+ * Shared cache tier backed by Redis (or any server speaking the Redis
+ * protocol). Values are plain byte strings with a TTL, counters use INCR and
+ * cache messages go over one pub/sub channel.
+ *
+ * Pub/sub delivery is at-most-once: a node that misses a message keeps a stale
+ * near-cache entry until its local TTL expires.
+ *
+ * @author EduMaster Team
+ */
+public class RedisSharedCacheStore implements SharedCacheStore {
+
+    private final RedisTemplate<String, byte[]> values;
+    private final StringRedisTemplate strings;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChannelTopic channel;
+
+    public RedisSharedCacheStore(RedisConnectionFactory connectionFactory,
+                                 RedisMessageListenerContainer listenerContainer,
+                                 String channel) {
+        this.values = new RedisTemplate<>();
+        this.values.setConnectionFactory(connectionFactory);
+        this.values.setKeySerializer(RedisSerializer.string());
+        this.values.setValueSerializer(RedisSerializer.byteArray());
+        this.values.afterPropertiesSet();
+        this.strings = new StringRedisTemplate(connectionFactory);
+        this.listenerContainer = listenerContainer;
+        this.channel = new ChannelTopic(channel);
+    }
+
+    @Override
+    public byte[] get(String key) {
+        return values.opsForValue().get(key);
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        values.opsForValue().set(key, value, ttl);
+    }
+
+    @Override
+    public void delete(String key) {
+        values.delete(key);
+    }
+
+    @Override
+    public long increment(String key) {
+        Long value = strings.opsForValue().increment(key);
+        if (value == null) {
+            throw new IllegalStateException("INCR returned no value for " + key);
+        }
+        return value;
+    }
+
+    @Override
+    public long getCounter(String key) {
+        String value = strings.opsForValue().get(key);
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+
+    @Override
+    public void publish(String message) {
+        strings.convertAndSend(channel.getTopic(), message);
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listenerContainer.addMessageListener(
+            (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+            channel);
+    }
+}
@@ -0,0 +1,47 @@
+package com.edumaster.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Shared Cache Store
+ *
+ * The tier shared by all backend nodes: byte values with a TTL, atomic
+ * counters and a broadcast channel for cache messages. Implemented by
+ * {@link RedisSharedCacheStore} for multi-node deployments and by
+ * {@link LocalSharedCacheStore}, an in-process stand-in for single-node runs
+ * and tests.
+ *
+ * Implementations may throw runtime exceptions when the store is unreachable;
+ * callers treat the shared tier as optional.
+ *
+ * @author EduMaster Team
+ */
+public interface SharedCacheStore {
+
+    /**
+     * @return the stored value, or null when absent or expired
+     */
+    byte[] get(String key);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    void delete(String key);
+
+    /**
+     * Atomically increment a counter (starting from 0) and return the new value.
+     */
+    long increment(String key);
+
+    /**
+     * @return the current counter value, 0 when it was never incremented
+     */
+    long getCounter(String key);
+
+    /**
+     * Broadcast a message to every subscribed node, including this one.
+     */
+    void publish(String message);
+
+    void subscribe(Consumer<String> listener);
+}
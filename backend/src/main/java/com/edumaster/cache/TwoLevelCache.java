@@ -0,0 +1,249 @@
+package com.edumaster.cache;
+
+import com.edumaster.util.TransactionUtils;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Two-Level Cache
+ *
+ * The cache of one {@link CacheRegion}: a bounded near cache in this JVM in
+ * front of the {@link SharedCacheStore} shared by all nodes, in front of the
+ * loader (usually the database). Created by {@link TwoLevelCacheManager}.
+ *
+ * Key Features:
+ * - Versioned reads: get(key, version, loader) only accepts entries built at
+ *   that version or later, so caches tied to {@code CatalogVersions} need no
+ *   explicit invalidation
+ * - Explicit evictions run after commit and are broadcast, so every node drops
+ *   its near-cache copy
+ * - The shared tier is optional at runtime: store failures count as misses and
+ *   are reported through metrics rather than failing the request
+ * - Per-region hit, miss and eviction counters
+ *
+ * Concurrent misses for the same key may each run the loader; the last one
+ * wins unless an entry with a newer version is already cached.
+ *
+ * @author EduMaster Team
+ */
+public class TwoLevelCache<V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private static final long ERROR_LOG_INTERVAL_MILLIS = 60_000L;
+
+    private final CacheRegion region;
+    private final long localTtlMillis;
+    private final Duration sharedTtl;
+    private final SharedCacheStore sharedStore;
+    private final String sharedKeyPrefix;
+    private final Function<V, byte[]> encoder;
+    private final Function<byte[], V> decoder;
+    private final Consumer<String> evictionPublisher;
+    private final Metrics metrics;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry<V>> entries;
+    private volatile long lastErrorLoggedAt;
+
+    TwoLevelCache(CacheRegion region, long localTtlMillis, int maxEntries,
+                  Duration sharedTtl, SharedCacheStore sharedStore, String sharedKeyPrefix,
+                  Function<V, byte[]> encoder, Function<byte[], V> decoder,
+                  Consumer<String> evictionPublisher, Metrics metrics) {
+        this.region = region;
+        this.localTtlMillis = localTtlMillis;
+        this.sharedTtl = sharedTtl;
+        this.sharedStore = sharedStore;
+        this.sharedKeyPrefix = sharedKeyPrefix;
+        this.encoder = encoder;
+        this.decoder = decoder;
+        this.evictionPublisher = evictionPublisher;
+        this.metrics = metrics;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                if (size() > maxEntries) {
+                    metrics.evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public CacheRegion getRegion() {
+        return region;
+    }
+
+    /**
+     * Get a value, loading and caching it on a miss. Null values are not cached.
+     */
+    public V get(String key, Supplier<V> loader) {
+        return get(key, 0L, loader);
+    }
+
+    /**
+     * Get a value built at the given version or later. Read the version before
+     * loading any data, so the cached value is at least as fresh as its tag.
+     * Exceptions thrown by the loader are passed through and nothing is cached.
+     */
+    public V get(String key, long version, Supplier<V> loader) {
+        lock.lock();
+        try {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.version >= version && entry.expiresAt > System.currentTimeMillis()) {
+                metrics.nearHits.increment();
+                return entry.value;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        V value = readShared(key, version);
+        if (value != null) {
+            metrics.sharedHits.increment();
+        } else {
+            metrics.misses.increment();
+            value = loader.get();
+            if (value == null) {
+                return null;
+            }
+            writeShared(key, version, value);
+        }
+
+        putLocal(key, version, value);
+        return value;
+    }
+
+    /**
+     * Evict an unversioned entry on every node once the current transaction
+     * commits.
+     */
+    public void evict(String key) {
+        TransactionUtils.afterCommit(() -> {
+            evictLocal(key);
+            if (sharedStore != null) {
+                try {
+                    sharedStore.delete(sharedKey(key, 0L));
+                } catch (RuntimeException e) {
+                    sharedStoreFailed("delete", e);
+                }
+            }
+            evictionPublisher.accept(key);
+        });
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Near-cache eviction requested by another node
+    void evictLocal(String key) {
+        lock.lock();
+        try {
+            if (entries.remove(key) != null) {
+                metrics.invalidations.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putLocal(String key, long version, V value) {
+        lock.lock();
+        try {
+            Entry<V> existing = entries.get(key);
+            if (existing != null && existing.version > version) {
+                // A concurrent load already cached a newer value
+                return;
+            }
+            entries.put(key, new Entry<>(version, value, System.currentTimeMillis() + localTtlMillis));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private V readShared(String key, long version) {
+        if (sharedStore == null) {
+            return null;
+        }
+        try {
+            byte[] bytes = sharedStore.get(sharedKey(key, version));
+            return bytes != null ? decoder.apply(bytes) : null;
+        } catch (RuntimeException e) {
+            sharedStoreFailed("read", e);
+            return null;
+        }
+    }
+
+    private void writeShared(String key, long version, V value) {
+        if (sharedStore == null) {
+            return;
+        }
+        try {
+            sharedStore.put(sharedKey(key, version), encoder.apply(value), sharedTtl);
+        } catch (RuntimeException e) {
+            sharedStoreFailed("write", e);
+        }
+    }
+
+    private String sharedKey(String key, long version) {
+        return sharedKeyPrefix + key + "@" + version;
+    }
+
+    private void sharedStoreFailed(String operation, RuntimeException e) {
+        metrics.sharedErrors.increment();
+        long now = System.currentTimeMillis();
+        if (now - lastErrorLoggedAt > ERROR_LOG_INTERVAL_MILLIS) {
+            lastErrorLoggedAt = now;
+            logger.warn("Shared cache {} failed for region {}, falling back to the near cache: {}",
+                operation, region.getName(), e.getMessage());
+        }
+    }
+
+    private static final class Entry<V> {
+        private final long version;
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(long version, V value, long expiresAt) {
+            this.version = version;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // Per-region meters, registered by the manager
+    static final class Metrics {
+        final Counter nearHits;
+        final Counter sharedHits;
+        final Counter misses;
+        final Counter evictions;
+        final Counter invalidations;
+        final Counter sharedErrors;
+
+        Metrics(Counter nearHits, Counter sharedHits, Counter misses,
+                Counter evictions, Counter invalidations, Counter sharedErrors) {
+            this.nearHits = nearHits;
+            this.sharedHits = sharedHits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+            this.sharedErrors = sharedErrors;
+        }
+    }
+}
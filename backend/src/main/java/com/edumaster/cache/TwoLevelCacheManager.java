@@ -0,0 +1,217 @@
+package com.edumaster.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Two-Level Cache Manager
+ *
+ * Creates the {@link TwoLevelCache} of each {@link CacheRegion} and carries
+ * cache messages between nodes over the {@link SharedCacheStore}.
+ *
+ * Key Features:
+ * - Per-region settings from app.cache.regions.&lt;name&gt;.* (local-ttl-seconds,
+ *   shared-ttl-seconds, max-entries, shared), defaulting to the region's own
+ * - Values for the shared tier are serialized with Jackson; byte arrays are
+ *   stored as they are
+ * - Topic-based messages for other components (e.g. version counters);
+ *   messages published by this node are not delivered back to it
+ * - Metrics per region: edumaster.cache.gets (tier, result),
+ *   edumaster.cache.evictions (cause), edumaster.cache.shared.errors and
+ *   edumaster.cache.size
+ *
+ * @author EduMaster Team
+ */
+@Component
+public class TwoLevelCacheManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    private static final String REGION_TOPIC_PREFIX = "evict:";
+
+    @Autowired
+    private SharedCacheStore sharedCacheStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.cache.key-prefix:edumaster}")
+    private String keyPrefix;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<CacheRegion, TwoLevelCache<?>> caches = new EnumMap<>(CacheRegion.class);
+    private final ConcurrentHashMap<String, List<Consumer<CacheMessage>>> subscribers = new ConcurrentHashMap<>();
+    private ObjectMapper sharedMapper;
+
+    @PostConstruct
+    public void init() {
+        // Keep decimals exact when untyped values (e.g. Map<String, Object>) come back from the shared tier
+        sharedMapper = objectMapper.copy().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        sharedCacheStore.subscribe(this::onMessage);
+        logger.info("Two-level cache started on node {} with {}", nodeId, sharedCacheStore.getClass().getSimpleName());
+    }
+
+    public <V> TwoLevelCache<V> getCache(CacheRegion region, Class<V> type) {
+        return getCache(region, sharedMapper.constructType(type));
+    }
+
+    public <V> TwoLevelCache<V> getCache(CacheRegion region, TypeReference<V> type) {
+        return getCache(region, sharedMapper.constructType(type));
+    }
+
+    /**
+     * Broadcast a message on a topic to every other node.
+     */
+    public void publish(String topic, String key, long value) {
+        CacheMessage message = new CacheMessage(nodeId, topic, key, value, System.currentTimeMillis());
+        try {
+            sharedCacheStore.publish(message.encode());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to publish cache message {} {}: {}", topic, key, e.getMessage());
+        }
+    }
+
+    public void subscribe(String topic, Consumer<CacheMessage> listener) {
+        subscribers.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Key for entries and counters kept directly in the shared store.
+     */
+    public String sharedKey(String namespace, String key) {
+        return keyPrefix + ":" + namespace + ":" + key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <V> TwoLevelCache<V> getCache(CacheRegion region, JavaType type) {
+        TwoLevelCache<?> existing = caches.get(region);
+        if (existing != null) {
+            return (TwoLevelCache<V>) existing;
+        }
+
+        String prefix = "app.cache.regions." + region.getName() + ".";
+        long localTtlSeconds = environment.getProperty(prefix + "local-ttl-seconds", Long.class,
+            region.getDefaultLocalTtlSeconds());
+        long sharedTtlSeconds = environment.getProperty(prefix + "shared-ttl-seconds", Long.class,
+            region.getDefaultSharedTtlSeconds());
+        int maxEntries = environment.getProperty(prefix + "max-entries", Integer.class,
+            region.getDefaultMaxEntries());
+        boolean shared = region.isShareable() && sharedTtlSeconds > 0
+            && environment.getProperty(prefix + "shared", Boolean.class, true);
+
+        Function<V, byte[]> encoder = value -> encode(value);
+        Function<byte[], V> decoder = bytes -> decode(bytes, type);
+
+        TwoLevelCache<V> cache = new TwoLevelCache<>(region,
+            Duration.ofSeconds(localTtlSeconds).toMillis(), maxEntries,
+            Duration.ofSeconds(sharedTtlSeconds), shared ? sharedCacheStore : null,
+            sharedKey("cache", region.getName() + ":"), encoder, decoder,
+            key -> publish(REGION_TOPIC_PREFIX + region.getName(), key, 0L),
+            metrics(region));
+
+        subscribe(REGION_TOPIC_PREFIX + region.getName(), message -> cache.evictLocal(message.getKey()));
+        Gauge.builder("edumaster.cache.size", cache, TwoLevelCache::size)
+            .tag("region", region.getName())
+            .register(meterRegistry);
+        caches.put(region, cache);
+
+        logger.info("Cache region {}: near {} entries / {}s, shared {}", region.getName(), maxEntries,
+            localTtlSeconds, shared ? sharedTtlSeconds + "s" : "off");
+        return cache;
+    }
+
+    private void onMessage(String line) {
+        CacheMessage message = CacheMessage.decode(line);
+        if (message == null) {
+            logger.warn("Ignoring malformed cache message: {}", line);
+            return;
+        }
+        if (nodeId.equals(message.getOrigin())) {
+            return;
+        }
+        List<Consumer<CacheMessage>> listeners = subscribers.get(message.getTopic());
+        if (listeners == null) {
+            return;
+        }
+        for (Consumer<CacheMessage> listener : listeners) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                logger.error("Cache message listener failed for {}: {}", message.getTopic(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private byte[] encode(Object value) {
+        if (value instanceof byte[] bytes) {
+            return bytes;
+        }
+        try {
+            return sharedMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize cache value", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> V decode(byte[] bytes, JavaType type) {
+        if (type.getRawClass() == byte[].class) {
+            return (V) bytes;
+        }
+        try {
+            return sharedMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to deserialize cache value as " + type, e);
+        }
+    }
+
+    private TwoLevelCache.Metrics metrics(CacheRegion region) {
+        return new TwoLevelCache.Metrics(
+            gets(region, "near", "hit"),
+            gets(region, "shared", "hit"),
+            gets(region, "all", "miss"),
+            Counter.builder("edumaster.cache.evictions").tag("region", region.getName()).tag("cause", "size")
+                .register(meterRegistry),
+            Counter.builder("edumaster.cache.evictions").tag("region", region.getName()).tag("cause", "invalidated")
+                .register(meterRegistry),
+            Counter.builder("edumaster.cache.shared.errors").tag("region", region.getName())
+                .register(meterRegistry));
+    }
+
+    private Counter gets(CacheRegion region, String tier, String result) {
+        return Counter.builder("edumaster.cache.gets")
+            .tag("region", region.getName())
+            .tag("tier", tier)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
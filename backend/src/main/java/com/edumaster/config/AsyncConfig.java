@@ -0,0 +1,142 @@
+package com.edumaster.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Async Configuration
+ *
+ * Defines the background executors used for work that must not run
+ * on request threads (e.g. notification fan-out to large audiences,
+ * pushing events to open notification streams, resizing uploaded images,
+ * sending queued emails)
+ * and enables scheduled jobs.
+ *
+ * @author EduMaster Team
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+
+    @Value("${app.notifications.fanout.pool-size:2}")
+    private int fanoutPoolSize;
+
+    @Value("${app.notifications.fanout.queue-capacity:100}")
+    private int fanoutQueueCapacity;
+
+    @Value("${app.notifications.push.sender-threads:4}")
+    private int pushSenderThreads;
+
+    @Value("${app.images.workers:0}")
+    private int imageWorkers;
+
+    @Value("${app.images.queue-capacity:200}")
+    private int imageQueueCapacity;
+
+    @Value("${app.mail.workers:2}")
+    private int mailWorkers;
+
+    /**
+     * Executor for notification fan-out jobs
+     * Kept small on purpose: each job already writes in large batches,
+     * so more threads would only compete for database connections.
+     */
+    @Bean(name = "notificationFanoutExecutor")
+    public ThreadPoolTaskExecutor notificationFanoutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(fanoutPoolSize);
+        executor.setMaxPoolSize(fanoutPoolSize);
+        executor.setQueueCapacity(fanoutQueueCapacity);
+        executor.setThreadNamePrefix("notification-fanout-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that writes queued events to notification streams
+     * Only connections with pending events occupy a thread; idle streams cost none.
+     * Each connection schedules at most one drain task, so the queue is bounded
+     * by the number of open streams.
+     */
+    @Bean(name = "notificationPushExecutor")
+    public ThreadPoolTaskExecutor notificationPushExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(pushSenderThreads);
+        executor.setMaxPoolSize(pushSenderThreads);
+        executor.setQueueCapacity(Integer.MAX_VALUE);
+        executor.setThreadNamePrefix("notification-push-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that resizes uploaded images
+     * CPU-bound, so one thread per core (unless configured) and a bounded
+     * queue; rejected jobs are retried later by ImageProcessingService.
+     */
+    @Bean(name = "imageProcessingExecutor")
+    public ThreadPoolTaskExecutor imageProcessingExecutor() {
+        int workers = imageWorkers > 0 ? imageWorkers : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(imageQueueCapacity);
+        executor.setThreadNamePrefix("image-processing-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that sends email batches over pooled SMTP connections
+     * EmailDispatcher claims a batch only when a worker is free, so the queue
+     * never holds more than one batch per thread.
+     */
+    @Bean(name = "emailExecutor")
+    public ThreadPoolTaskExecutor emailExecutor() {
+        int workers = Math.max(1, mailWorkers);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("email-sender-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Default executor for @Async methods and async MVC requests
+     * Boot backs off from its own applicationTaskExecutor when any Executor
+     * bean exists, so it is declared here as Boot would build it: virtual
+     * threads when spring.threads.virtual.enabled is set on Java 21+, a pool
+     * from spring.task.execution.* otherwise.
+     */
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualThreadTaskExecutor(SimpleAsyncTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.edumaster.config;
+
+import com.edumaster.cache.LocalSharedCacheStore;
+import com.edumaster.cache.RedisSharedCacheStore;
+import com.edumaster.cache.SharedCacheStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Cache Configuration
+ *
+ * Selects the shared tier behind the two-level caches. With
+ * app.cache.redis.enabled the tier is Redis (spring.data.redis.*) and cache
+ * messages reach every node; otherwise an in-process stand-in is used, which
+ * is only correct for a single node.
+ *
+ * @author EduMaster Team
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.redis.enabled", havingValue = "true")
+    public RedisMessageListenerContainer cacheMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.redis.enabled", havingValue = "true")
+    public SharedCacheStore redisSharedCacheStore(RedisConnectionFactory connectionFactory,
+                                                  RedisMessageListenerContainer cacheMessageListenerContainer,
+                                                  @Value("${app.cache.redis.channel:edumaster:cache-messages}") String channel) {
+        return new RedisSharedCacheStore(connectionFactory, cacheMessageListenerContainer, channel);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.redis.enabled", havingValue = "false", matchIfMissing = true)
+    public SharedCacheStore localSharedCacheStore(@Value("${app.cache.local-store.max-entries:10000}") int maxEntries) {
+        return new LocalSharedCacheStore(maxEntries);
+    }
+}
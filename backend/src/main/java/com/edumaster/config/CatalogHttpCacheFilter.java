@@ -0,0 +1,172 @@
+package com.edumaster.config;
+
+import com.edumaster.service.CatalogResponseCache;
+import com.edumaster.service.CatalogVersions;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Catalog HTTP Cache Filter
+ *
+ * Adds HTTP caching to the anonymous, read-heavy public catalog endpoints
+ * (/courses/public/** and /categories/public/**).
+ *
+ * Key Features:
+ * - Strong ETag and Last-Modified derived from the {@link CatalogVersions} counters
+ *   (per course for course detail pages)
+ * - Conditional GETs answered with 304 before any controller or database work
+ * - Cache-Control: public with a configurable max-age
+ * - Serialized bodies of successful responses kept in {@link CatalogResponseCache}
+ *   and replayed without touching the database until the next catalog write
+ *
+ * Only 200 responses get validators and are cached, so errors are never
+ * revalidated or replayed. The filter runs after Spring Security, so CORS
+ * headers are already in place when a cached body is written.
+ *
+ * @author EduMaster Team
+ */
+@Component
+public class CatalogHttpCacheFilter extends OncePerRequestFilter {
+
+    private static final String COURSES_PREFIX = "/courses/public";
+    private static final String CATEGORIES_PREFIX = "/categories/public";
+    private static final Pattern COURSE_DETAIL_PATH = Pattern.compile("/courses/public/(\\d{1,18})");
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Value("${app.http-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.http-cache.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+        return resourceFor(pathOf(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String path = pathOf(request);
+        CatalogVersions.Resource resource = resourceFor(path);
+
+        // Read the version before any data: whatever is rendered below is at least this fresh
+        Long courseId = courseIdOf(path);
+        long version = courseId != null
+            ? catalogVersions.getCourseVersion(courseId)
+            : catalogVersions.getVersion(resource);
+        long lastModified = catalogVersions.getLastModified(resource);
+        String etag = "\"" + (courseId != null ? "course-" + courseId : resource.name().toLowerCase())
+            + "-" + version + "\"";
+
+        if (isNotModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            writeValidators(response, etag, lastModified);
+            return;
+        }
+
+        String key = request.getQueryString() != null ? path + "?" + request.getQueryString() : path;
+        boolean head = "HEAD".equals(request.getMethod());
+
+        CatalogResponseCache.CachedResponse cached = catalogResponseCache.get(key, version);
+        if (cached != null) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            writeValidators(response, etag, lastModified);
+            response.setContentType(cached.getContentType());
+            response.setContentLength(cached.getBody().length);
+            if (!head) {
+                response.getOutputStream().write(cached.getBody());
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(request, wrapper);
+
+            if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+                writeValidators(wrapper, etag, lastModified);
+                // Course detail bodies are already pre-serialized by CourseDetailCache
+                if (!head && courseId == null) {
+                    catalogResponseCache.put(key, version, wrapper.getContentType(), wrapper.getContentAsByteArray());
+                }
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-None-Match takes precedence; weak comparison as RFC 9110 requires for GET
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return ifModifiedSince >= 0 && (lastModified / 1000 * 1000) <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void writeValidators(HttpServletResponse response, String etag, long lastModified) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+            CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic().getHeaderValue());
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static Long courseIdOf(String path) {
+        Matcher matcher = COURSE_DETAIL_PATH.matcher(path);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    private static CatalogVersions.Resource resourceFor(String path) {
+        if (path.equals(COURSES_PREFIX) || path.startsWith(COURSES_PREFIX + "/")) {
+            return CatalogVersions.Resource.COURSES;
+        }
+        if (path.equals(CATEGORIES_PREFIX) || path.startsWith(CATEGORIES_PREFIX + "/")) {
+            return CatalogVersions.Resource.CATEGORIES;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,56 @@
+package com.edumaster.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource Concurrency Configuration
+ *
+ * When app.datasource.concurrency-limit.enabled is set (the virtual-threads
+ * profile does so), the application DataSource is wrapped in a
+ * {@link ConcurrencyLimitedDataSource}. By default the limit equals the
+ * Hikari pool size, so no more threads compete for connections than the pool
+ * can serve, and pinned carrier threads from blocking JDBC calls stay bounded
+ * by the same number.
+ *
+ * @author EduMaster Team
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.concurrency-limit.enabled", havingValue = "true")
+public class DataSourceConcurrencyConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceConcurrencyConfig.class);
+
+    private static final String APPLICATION_DATA_SOURCE = "dataSource";
+
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor dataSourceConcurrencyLimiter(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the application DataSource; pools behind a routing DataSource stay unwrapped
+                if (!APPLICATION_DATA_SOURCE.equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+
+                int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                int maxConcurrency = environment.getProperty(
+                    "app.datasource.concurrency-limit.max-concurrency", Integer.class, poolSize);
+                long acquireTimeoutMillis = environment.getProperty(
+                    "app.datasource.concurrency-limit.acquire-timeout-ms", Long.class, 30_000L);
+
+                logger.info("Limiting DataSource '{}' to {} concurrent connections", beanName, maxConcurrency);
+                return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeoutMillis);
+            }
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package com.edumaster.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read Replica Configuration
+ *
+ * Enabled with app.datasource.replica.enabled. Replaces the auto-configured
+ * DataSource with a primary pool (spring.datasource.*), a replica pool
+ * (app.datasource.replica.*) and a {@link ReadWriteRoutingDataSource} that
+ * sends @Transactional(readOnly = true) work to the replica.
+ *
+ * Both pools share the spring.datasource.hikari settings; the replica pool can
+ * override them under app.datasource.replica.hikari. Any two JDBC URLs work,
+ * e.g. two local MySQL servers or two H2 databases.
+ *
+ * @author EduMaster Team
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Autowired
+    private ObjectProvider<ReadWriteRoutingDataSource> routingDataSource;
+
+    @Value("${app.datasource.replica.max-lag-seconds:0}")
+    private int maxLagSeconds;
+
+    @Value("${app.datasource.replica.lag-query:SHOW REPLICA STATUS}")
+    private String lagQuery;
+
+    @Value("${app.datasource.replica.lag-column:Seconds_Behind_Source}")
+    private String lagColumn;
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder binder = Binder.get(environment);
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        namePool(dataSource, "primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(environment.getRequiredProperty("app.datasource.replica.url"))
+            .username(environment.getProperty("app.datasource.replica.username", properties.determineUsername()))
+            .password(environment.getProperty("app.datasource.replica.password", properties.determinePassword()))
+            .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        binder.bind("app.datasource.replica.hikari", Bindable.ofInstance(dataSource));
+        namePool(dataSource, "replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${app.datasource.replica.sticky-window-seconds:5}") long stickyWindowSeconds,
+            @Value("${app.datasource.replica.retry-after-seconds:30}") long retryAfterSeconds) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource,
+            TimeUnit.SECONDS.toMillis(stickyWindowSeconds), TimeUnit.SECONDS.toMillis(retryAfterSeconds));
+    }
+
+    /**
+     * The application DataSource. Connections are fetched lazily, on the first
+     * statement, so the routing sees the transaction's read-only flag.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    // Replica health and lag check
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval-seconds:10}", timeUnit = TimeUnit.SECONDS)
+    public void checkReplica() {
+        routingDataSource.getObject().checkReplica(maxLagSeconds, lagQuery, lagColumn);
+    }
+
+    private static void namePool(HikariDataSource dataSource, String suffix) {
+        String poolName = dataSource.getPoolName() != null ? dataSource.getPoolName() : "edumaster-pool";
+        dataSource.setPoolName(poolName + "-" + suffix);
+    }
+}
@@ -0,0 +1,174 @@
+package com.edumaster.config;
+
+import com.edumaster.security.UserPrincipal;
+import com.edumaster.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read/Write Routing DataSource
+ *
+ * Sends connections for read-only transactions to a replica pool and
+ * everything else (read-write transactions, non-transactional access) to the
+ * primary. Must be wrapped in a LazyConnectionDataSourceProxy so the
+ * connection is fetched after the transaction's read-only flag is set.
+ *
+ * Key Features:
+ * - Read-your-writes: after a user's read-write transaction commits, that
+ *   user's reads stay on the primary for a short window while the replica
+ *   catches up
+ * - Failover: a replica connection failure routes reads to the primary until
+ *   a health check succeeds again (or the retry interval passes)
+ * - Optional lag check: reads move to the primary while the replica reports
+ *   more lag than allowed
+ *
+ * @author EduMaster Team
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    // Expired stickiness entries are pruned once the map grows past this size
+    private static final int STICKY_PRUNE_THRESHOLD = 10_000;
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long stickyWindowMillis;
+    private final long retryAfterMillis;
+
+    private final ConcurrentHashMap<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+    private volatile long replicaDownUntil;
+    private volatile boolean replicaLagging;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      long stickyWindowMillis, long retryAfterMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.stickyWindowMillis = stickyWindowMillis;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (useReplica()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                markReplicaDown(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (useReplica()) {
+            try {
+                return replica.getConnection(username, password);
+            } catch (SQLException e) {
+                markReplicaDown(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Probe the replica: mark it up when reachable and, if maxLagSeconds is
+     * positive, flag it as lagging while lagQuery reports more than that.
+     */
+    public void checkReplica(int maxLagSeconds, String lagQuery, String lagColumn) {
+        try (Connection connection = replica.getConnection()) {
+            if (maxLagSeconds > 0) {
+                Long lag = readLag(connection, lagQuery, lagColumn);
+                boolean lagging = lag == null || lag > maxLagSeconds;
+                if (lagging != replicaLagging) {
+                    logger.warn("Replica lag {}s - routing reads to {}", lag, lagging ? "primary" : "replica");
+                }
+                replicaLagging = lagging;
+            } else if (!connection.isValid(2)) {
+                throw new SQLException("Replica connection is not valid");
+            }
+
+            if (replicaDownUntil != 0) {
+                logger.info("Replica is reachable again, resuming read routing");
+                replicaDownUntil = 0;
+            }
+        } catch (SQLException e) {
+            markReplicaDown(e);
+        }
+    }
+
+    public boolean isReplicaAvailable() {
+        return replicaDownUntil <= System.currentTimeMillis() && !replicaLagging;
+    }
+
+    private boolean useReplica() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && stickyWindowMillis > 0) {
+                TransactionUtils.afterCommit(() -> markSticky(userId));
+            }
+            return false;
+        }
+
+        if (!isReplicaAvailable()) {
+            return false;
+        }
+        if (userId != null) {
+            Long until = stickyUntil.get(userId);
+            if (until != null && until > System.currentTimeMillis()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void markSticky(Long userId) {
+        long now = System.currentTimeMillis();
+        stickyUntil.put(userId, now + stickyWindowMillis);
+        if (stickyUntil.size() > STICKY_PRUNE_THRESHOLD) {
+            stickyUntil.values().removeIf(until -> until <= now);
+        }
+    }
+
+    private void markReplicaDown(SQLException e) {
+        if (replicaDownUntil <= System.currentTimeMillis()) {
+            logger.warn("Replica unavailable, routing reads to primary for {}ms: {}", retryAfterMillis, e.getMessage());
+        }
+        replicaDownUntil = System.currentTimeMillis() + retryAfterMillis;
+    }
+
+    private static Long readLag(Connection connection, String lagQuery, String lagColumn) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return null;
+            }
+            long lag = rs.getLong(lagColumn);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+}
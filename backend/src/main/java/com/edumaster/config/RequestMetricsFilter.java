@@ -0,0 +1,86 @@
+package com.edumaster.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Request Metrics Filter
+ *
+ * First filter of every request. Tags the request with an id and records how
+ * many SQL statements it ran.
+ *
+ * Key Features:
+ * - Request id taken from the X-Request-Id header (when well-formed) or
+ *   generated, put in the logging MDC as requestId and echoed in the response
+ * - Per-request statement count from {@link SqlStatementCounter}, published
+ *   as the edumaster.http.sql.statements distribution by method and URI
+ *   template
+ * - Budget and N+1 check of every request by {@link SqlBudget}
+ *
+ * @author EduMaster Team
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SqlBudget sqlBudget;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || !VALID_REQUEST_ID.matcher(requestId).matches()) {
+            requestId = UUID.randomUUID().toString();
+        }
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+
+        SqlStatementCounter.RequestStatements statements = SqlStatementCounter.start(sqlBudget.isEnabled());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.stop();
+            String uri = uriTemplate(request);
+            DistributionSummary.builder("edumaster.http.sql.statements")
+                .description("SQL statements prepared per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statements.getCount());
+            sqlBudget.check(request.getMethod(), uri, statements);
+            MDC.remove(REQUEST_ID_MDC_KEY);
+        }
+    }
+
+    // Same URI tag as http.server.requests: the matched route template, never the raw path
+    static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -3,7 +3,9 @@ package com.edumaster.config;
 import com.edumaster.security.JwtAuthenticationEntryPoint;
 import com.edumaster.security.JwtAuthenticationFilter;
 import com.edumaster.security.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -110,11 +112,17 @@ public class SecurityConfig {
             
             // Configure authorization rules
             .authorizeHttpRequests(authz -> authz
+                // Async dispatches of already authorized requests (e.g. notification streams)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Public endpoints - no authentication required
                 .requestMatchers("/auth/**").permitAll()
                 .requestMatchers("/public/**").permitAll()
                 .requestMatchers("/health").permitAll()
                 
+                // Actuator endpoints served on the internal management port
+                .requestMatchers(EndpointRequest.to("health", "info", "prometheus")).permitAll()
+                
                 // Swagger/OpenAPI documentation
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                 
@@ -124,6 +132,15 @@ public class SecurityConfig {
                 // Course browsing - allow for all users (including non-authenticated)
                 .requestMatchers(HttpMethod.GET, "/courses/public/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/categories/public/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/lessons/course/*/outline").permitAll()
+                .requestMatchers(HttpMethod.GET, "/reviews/course/*", "/reviews/course/*/summary").permitAll()
+                .requestMatchers(HttpMethod.GET, "/recommendations/courses/*").permitAll()
+                
+                // Lesson media - authorized by the signed URL; processed images are public, see MediaController
+                .requestMatchers(HttpMethod.GET, "/media/*").permitAll()
+                .requestMatchers(HttpMethod.HEAD, "/media/*").permitAll()
+                .requestMatchers(HttpMethod.GET, "/media/images/*").permitAll()
+                .requestMatchers(HttpMethod.HEAD, "/media/images/*").permitAll()
                 
                 // Admin-only endpoints
                 .requestMatchers("/admin/**").hasRole("ADMIN")
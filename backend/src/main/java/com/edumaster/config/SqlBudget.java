@@ -0,0 +1,115 @@
+package com.edumaster.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * SQL Budget
+ *
+ * Per-endpoint limits on the number of SQL statements one request may run,
+ * and the N+1 query detector that checks every finished request against them.
+ *
+ * Key Features:
+ * - Default budget plus overrides per "METHOD /uri-template" under
+ *   app.sql-budget.endpoints
+ * - LOG mode warns and counts edumaster.http.sql.budget.exceeded; FAIL mode
+ *   (for test runs) also aborts the request at the first statement over budget
+ * - Any single statement repeated repeat-threshold times in one request is
+ *   logged as a suspected N+1 and counted as edumaster.http.sql.repeated
+ *
+ * @author EduMaster Team
+ */
+@Component
+public class SqlBudget {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudget.class);
+
+    public enum Mode { LOG, FAIL }
+
+    @Value("${app.sql-budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sql-budget.mode:LOG}")
+    private Mode mode;
+
+    @Value("${app.sql-budget.default-max-statements:25}")
+    private int defaultMaxStatements;
+
+    @Value("${app.sql-budget.repeat-threshold:5}")
+    private int repeatThreshold;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Map<String, Integer> endpointBudgets = Map.of();
+
+    @PostConstruct
+    public void loadEndpointBudgets() {
+        endpointBudgets = Binder.get(environment)
+            .bind("app.sql-budget.endpoints", Bindable.mapOf(String.class, Integer.class))
+            .map(Map::copyOf)
+            .orElse(Map.of());
+        if (enabled) {
+            logger.info("SQL budget {}: default {} statements, {} endpoint overrides",
+                mode, defaultMaxStatements, endpointBudgets.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isFailMode() {
+        return mode == Mode.FAIL;
+    }
+
+    /**
+     * @return the statement budget of the endpoint, e.g. ("GET", "/courses/public/{courseId}")
+     */
+    public int budgetFor(String method, String uriTemplate) {
+        return endpointBudgets.getOrDefault(method + " " + uriTemplate, defaultMaxStatements);
+    }
+
+    /**
+     * Check a finished request: over budget, or one statement repeated often
+     * enough to be an N+1.
+     */
+    public void check(String method, String uriTemplate, SqlStatementCounter.RequestStatements statements) {
+        if (!enabled) {
+            return;
+        }
+        int budget = statements.getBudget();
+        if (budget >= 0 && statements.getCount() > budget) {
+            counter("edumaster.http.sql.budget.exceeded", method, uriTemplate).increment();
+            logger.warn("SQL budget exceeded: {} {} ran {} statements, budget {}",
+                method, uriTemplate, statements.getCount(), budget);
+        }
+        Map.Entry<String, Integer> repeated = statements.getMostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatThreshold) {
+            counter("edumaster.http.sql.repeated", method, uriTemplate).increment();
+            logger.warn("Possible N+1 query: {} {} ran the same statement {} times: {}",
+                method, uriTemplate, repeated.getValue(), repeated.getKey());
+        }
+    }
+
+    private Counter counter(String name, String method, String uriTemplate) {
+        return Counter.builder(name)
+            .tag("method", method)
+            .tag("uri", uriTemplate)
+            .register(meterRegistry);
+    }
+}
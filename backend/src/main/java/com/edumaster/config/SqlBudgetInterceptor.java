@@ -0,0 +1,33 @@
+package com.edumaster.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * SQL Budget Interceptor
+ *
+ * Applies the endpoint's {@link SqlBudget} to the request's statement count
+ * once the handler, and so the URI template, is known. Statements run before
+ * this point (authentication) still count towards the total.
+ *
+ * @author EduMaster Team
+ */
+@Component
+public class SqlBudgetInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private SqlBudget sqlBudget;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementCounter.RequestStatements statements = SqlStatementCounter.current();
+        if (statements != null && sqlBudget.isEnabled()) {
+            int budget = sqlBudget.budgetFor(request.getMethod(), RequestMetricsFilter.uriTemplate(request));
+            statements.setBudget(budget, sqlBudget.isFailMode());
+        }
+        return true;
+    }
+}
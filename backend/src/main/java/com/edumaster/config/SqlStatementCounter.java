@@ -0,0 +1,119 @@
+package com.edumaster.config;
+
+import com.edumaster.exception.SqlBudgetExceededException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL Statement Counter
+ *
+ * Hibernate StatementInspector that counts the statements prepared on the
+ * current thread while a count is active. {@link RequestMetricsFilter} starts
+ * one per HTTP request, so every request knows how many database round trips
+ * it caused. A JDBC batch counts once.
+ *
+ * When tracking is on, each distinct SQL string is counted too: the same
+ * statement prepared many times in one request is the signature of an N+1
+ * query. A budget set by {@link SqlBudgetInterceptor} can make the statement
+ * that exceeds it fail.
+ *
+ * Statements issued through JdbcTemplate or on other threads (async
+ * executors) are not counted.
+ *
+ * @author EduMaster Team
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Start counting on the current thread, discarding any previous count.
+     *
+     * @param trackStatements also count per distinct SQL string
+     */
+    public static RequestStatements start(boolean trackStatements) {
+        RequestStatements statements = new RequestStatements(trackStatements);
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    /**
+     * @return the active count of the current thread, or null
+     */
+    public static RequestStatements current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop counting on the current thread.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.record(sql);
+        }
+        return sql;
+    }
+
+    // Statements of one request; only touched by the request thread
+    public static final class RequestStatements {
+        private final Map<String, Integer> bySql;
+        private int count;
+        private int budget = -1;
+        private boolean failOnExceed;
+
+        private RequestStatements(boolean trackStatements) {
+            this.bySql = trackStatements ? new HashMap<>() : null;
+        }
+
+        private void record(String sql) {
+            count++;
+            if (bySql != null) {
+                bySql.merge(sql, 1, Integer::sum);
+            }
+            if (failOnExceed && budget >= 0 && count > budget) {
+                throw new SqlBudgetExceededException(
+                    "SQL budget of " + budget + " statements exceeded by: " + sql);
+            }
+        }
+
+        public void setBudget(int budget, boolean failOnExceed) {
+            this.budget = budget;
+            this.failOnExceed = failOnExceed;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return the budget, -1 when none was set
+         */
+        public int getBudget() {
+            return budget;
+        }
+
+        /**
+         * @return the statement prepared most often, or null when not tracked
+         */
+        public Map.Entry<String, Integer> getMostRepeated() {
+            if (bySql == null) {
+                return null;
+            }
+            Map.Entry<String, Integer> top = null;
+            for (Map.Entry<String, Integer> entry : bySql.entrySet()) {
+                if (top == null || entry.getValue() > top.getValue()) {
+                    top = entry;
+                }
+            }
+            return top;
+        }
+    }
+}
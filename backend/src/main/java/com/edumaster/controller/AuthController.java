@@ -29,6 +29,7 @@ import org.springframework.web.bind.annotation.*;
  * - User registration with validation
  * - User authentication with JWT tokens
  * - Token refresh functionality
+ * - Email address verification
  * - Email availability checking
  * - Comprehensive error handling
  * - API documentation with OpenAPI
@@ -172,6 +173,38 @@ public class AuthController {
         }
     }
 
+    /**
+     * Verify email address
+     * 
+     * @param token Token from the link in the verification email
+     * @return Verification status
+     */
+    @GetMapping("/verify-email")
+    @Operation(summary = "Verify email address", description = "Confirm an email address with the link sent on registration")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Email verified"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid or expired link")
+    })
+    public ResponseEntity<ApiResponse<Void>> verifyEmail(
+            @Parameter(description = "Verification token") 
+            @RequestParam String token) {
+        
+        try {
+            authService.verifyEmail(token);
+            return ResponseEntity.ok(ApiResponse.success("Email verified successfully"));
+            
+        } catch (Exception e) {
+            logger.error("Email verification failed: {}", e.getMessage());
+            
+            ApiResponse<Void> errorResponse = ApiResponse.error(
+                "Email verification failed", 
+                e.getMessage()
+            );
+            
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
     /**
      * Check email availability
      * 
@@ -1,6 +1,7 @@
 package com.edumaster.controller;
 
 import com.edumaster.dto.ApiResponse;
+import com.edumaster.dto.CategoryResponse;
 import com.edumaster.model.Category;
 import com.edumaster.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -40,20 +41,20 @@ public class CategoryController {
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Categories retrieved successfully")
     })
-    public ResponseEntity<ApiResponse<List<Category>>> getAllCategories() {
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getAllCategories() {
         logger.info("Fetching all categories");
 
         try {
-            List<Category> categories = categoryService.getAllCategories();
+            List<CategoryResponse> categories = categoryService.getAllCategories();
 
-            ApiResponse<List<Category>> response = ApiResponse.success(
+            ApiResponse<List<CategoryResponse>> response = ApiResponse.success(
                 "Categories retrieved successfully", categories);
 
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
             logger.error("Error fetching categories: {}", e.getMessage());
-            ApiResponse<List<Category>> errorResponse = ApiResponse.error(
+            ApiResponse<List<CategoryResponse>> errorResponse = ApiResponse.error(
                 "Failed to fetch categories", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
@@ -141,20 +142,20 @@ public class CategoryController {
 
     @GetMapping("/public/with-courses")
     @Operation(summary = "Get categories with published courses", description = "Get categories that have published courses")
-    public ResponseEntity<ApiResponse<List<Category>>> getCategoriesWithCourses() {
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getCategoriesWithCourses() {
         logger.info("Fetching categories with published courses");
 
         try {
-            List<Category> categories = categoryService.getCategoriesWithPublishedCourses();
+            List<CategoryResponse> categories = categoryService.getCategoriesWithPublishedCourses();
 
-            ApiResponse<List<Category>> response = ApiResponse.success(
+            ApiResponse<List<CategoryResponse>> response = ApiResponse.success(
                 "Categories with courses retrieved successfully", categories);
 
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
             logger.error("Error fetching categories with courses: {}", e.getMessage());
-            ApiResponse<List<Category>> errorResponse = ApiResponse.error(
+            ApiResponse<List<CategoryResponse>> errorResponse = ApiResponse.error(
                 "Failed to fetch categories with courses", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
@@ -162,22 +163,22 @@ public class CategoryController {
 
     @GetMapping("/public/popular")
     @Operation(summary = "Get popular categories", description = "Get categories ordered by course count")
-    public ResponseEntity<ApiResponse<List<Category>>> getPopularCategories(
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getPopularCategories(
             @Parameter(description = "Maximum number of categories to return") @RequestParam(defaultValue = "10") int limit) {
 
         logger.info("Fetching top {} popular categories", limit);
 
         try {
-            List<Category> categories = categoryService.getPopularCategories(limit);
+            List<CategoryResponse> categories = categoryService.getPopularCategories(limit);
 
-            ApiResponse<List<Category>> response = ApiResponse.success(
+            ApiResponse<List<CategoryResponse>> response = ApiResponse.success(
                 "Popular categories retrieved successfully", categories);
 
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
             logger.error("Error fetching popular categories: {}", e.getMessage());
-            ApiResponse<List<Category>> errorResponse = ApiResponse.error(
+            ApiResponse<List<CategoryResponse>> errorResponse = ApiResponse.error(
                 "Failed to fetch popular categories", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
@@ -185,20 +186,20 @@ public class CategoryController {
 
     @GetMapping("/public/dropdown")
     @Operation(summary = "Get categories for dropdown", description = "Get all categories formatted for dropdown/select components")
-    public ResponseEntity<ApiResponse<List<Category>>> getCategoriesForDropdown() {
+    public ResponseEntity<ApiResponse<List<CategoryResponse>>> getCategoriesForDropdown() {
         logger.info("Fetching categories for dropdown");
 
         try {
-            List<Category> categories = categoryService.getCategoriesForDropdown();
+            List<CategoryResponse> categories = categoryService.getCategoriesForDropdown();
 
-            ApiResponse<List<Category>> response = ApiResponse.success(
+            ApiResponse<List<CategoryResponse>> response = ApiResponse.success(
                 "Categories for dropdown retrieved successfully", categories);
 
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
             logger.error("Error fetching categories for dropdown: {}", e.getMessage());
-            ApiResponse<List<Category>> errorResponse = ApiResponse.error(
+            ApiResponse<List<CategoryResponse>> errorResponse = ApiResponse.error(
                 "Failed to fetch categories for dropdown", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
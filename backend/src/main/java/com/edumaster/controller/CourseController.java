@@ -1,13 +1,18 @@
 package com.edumaster.controller;
 
 import com.edumaster.dto.ApiResponse;
+import com.edumaster.exception.ResourceNotFoundException;
 import com.edumaster.model.Course;
 import com.edumaster.model.CourseLevel;
+import com.edumaster.service.CourseDetailCache;
 import com.edumaster.service.CourseService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,11 +22,16 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -35,6 +45,12 @@ public class CourseController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private CourseDetailCache courseDetailCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // Public endpoints - No authentication required
 
     @GetMapping("/public")
@@ -71,31 +87,36 @@ public class CourseController {
         }
     }
 
-    @GetMapping("/public/{courseId}")
+    @GetMapping(value = "/public/{courseId}", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Get published course by ID", description = "Retrieve a published course by ID")
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Course retrieved successfully"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Course not found")
     })
-    public ResponseEntity<ApiResponse<Course>> getPublishedCourseById(
-            @Parameter(description = "Course ID") @PathVariable Long courseId) {
+    public void getPublishedCourseById(
+            @Parameter(description = "Course ID") @PathVariable Long courseId,
+            HttpServletResponse response) throws IOException {
 
         logger.info("Fetching published course with ID: {}", courseId);
 
+        byte[] body;
         try {
-            Course course = courseService.getPublishedCourseById(courseId);
-
-            ApiResponse<Course> response = ApiResponse.success(
-                "Course retrieved successfully", course);
-
-            return ResponseEntity.ok(response);
+            // Pre-serialized CourseResponse, rendered once per course version; the envelope and
+            // its timestamp are written per request
+            byte[] course = courseDetailCache.get(courseId, () -> courseService.getPublishedCourseResponse(courseId));
+            body = objectMapper.writeValueAsBytes(ApiResponse.success(
+                "Course retrieved successfully", new RawValue(new String(course, StandardCharsets.UTF_8))));
+            response.setStatus(HttpStatus.OK.value());
 
         } catch (Exception e) {
             logger.error("Error fetching course with ID {}: {}", courseId, e.getMessage());
-            ApiResponse<Course> errorResponse = ApiResponse.error(
-                "Course not found", e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+            body = objectMapper.writeValueAsBytes(ApiResponse.error("Course not found", e.getMessage()));
+            response.setStatus(HttpStatus.NOT_FOUND.value());
         }
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
     }
 
     @GetMapping("/public/search")
@@ -289,6 +310,42 @@ public class CourseController {
         }
     }
 
+    @PostMapping(value = "/{courseId}/thumbnail", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Upload course thumbnail", description = "Upload a JPEG or PNG thumbnail; smaller sizes are generated in the background (Instructor/Admin only)")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Thumbnail uploaded successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Missing file or unsupported image type"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<ApiResponse<Course>> uploadThumbnail(
+            @Parameter(description = "Course ID") @PathVariable Long courseId,
+            @RequestParam("file") MultipartFile file) {
+
+        logger.info("Uploading thumbnail for course {}: {} ({} bytes)", courseId, file.getOriginalFilename(), file.getSize());
+
+        try {
+            if (file.isEmpty()) {
+                throw new IllegalArgumentException("A non-empty image file is required");
+            }
+            Course updatedCourse = courseService.updateThumbnail(courseId, file.getInputStream(), file.getOriginalFilename());
+
+            ApiResponse<Course> response = ApiResponse.success(
+                "Thumbnail uploaded successfully", updatedCourse);
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error uploading thumbnail for course {}: {}", courseId, e.getMessage());
+            HttpStatus status = e instanceof ResourceNotFoundException ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            ApiResponse<Course> errorResponse = ApiResponse.error(
+                "Failed to upload thumbnail", e.getMessage());
+            return ResponseEntity.status(status).body(errorResponse);
+        }
+    }
+
     @PostMapping("/{courseId}/publish")
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
     @Operation(summary = "Publish course", description = "Publish a draft course (Instructor/Admin only)")
@@ -0,0 +1,68 @@
+package com.edumaster.controller;
+
+import com.edumaster.dto.ApiResponse;
+import com.edumaster.dto.CourseResponse;
+import com.edumaster.security.UserPrincipal;
+import com.edumaster.service.FeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Feed Controller
+ *
+ * The signed-in user's personalized catalog feed, ranked from category
+ * affinity, co-enrollment recommendations and trending courses.
+ *
+ * @author EduMaster Team
+ */
+@RestController
+@RequestMapping("/feed")
+@Tag(name = "Feed", description = "Personalized course feed")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class FeedController {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedController.class);
+
+    @Autowired
+    private FeedService feedService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Get feed", description = "Courses picked for the current user, best match first; excludes courses already enrolled in")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Feed retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Not signed in")
+    })
+    public ResponseEntity<ApiResponse<List<CourseResponse>>> getFeed(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 50)") @RequestParam(defaultValue = "12") int size) {
+
+        try {
+            List<CourseResponse> courses = feedService.getFeed(currentUser.getId(), page, size);
+
+            ApiResponse<List<CourseResponse>> response = ApiResponse.success(
+                "Feed retrieved successfully", courses);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error building feed for user {}: {}", currentUser.getId(), e.getMessage());
+            ApiResponse<List<CourseResponse>> errorResponse = ApiResponse.error(
+                "Failed to fetch feed", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.edumaster.controller;
+
+import com.edumaster.dto.ApiResponse;
+import com.edumaster.dto.LessonOrderRequest;
+import com.edumaster.dto.LessonOutlineResponse;
+import com.edumaster.dto.LessonRequest;
+import com.edumaster.dto.LessonResponse;
+import com.edumaster.exception.ResourceNotFoundException;
+import com.edumaster.security.UserPrincipal;
+import com.edumaster.service.LessonService;
+import com.edumaster.service.MediaStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/lessons")
+@Tag(name = "Lesson Management", description = "Lesson outline and authoring API endpoints")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class LessonController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LessonController.class);
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    // Outline endpoint - No authentication required, personalized when signed in
+
+    @GetMapping("/course/{courseId}/outline")
+    @Operation(summary = "Get course outline", description = "Ordered lessons of a course, with the caller's completion per lesson when signed in")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Outline retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Course not found")
+    })
+    public ResponseEntity<ApiResponse<LessonOutlineResponse>> getCourseOutline(
+            @Parameter(description = "Course ID") @PathVariable Long courseId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        logger.info("Fetching lesson outline for course {}", courseId);
+
+        try {
+            LessonOutlineResponse outline = lessonService.getCourseOutline(courseId, currentUser);
+
+            ApiResponse<LessonOutlineResponse> response = ApiResponse.success(
+                "Outline retrieved successfully", outline);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error fetching outline for course {}: {}", courseId, e.getMessage());
+            ApiResponse<LessonOutlineResponse> errorResponse = ApiResponse.error(
+                "Course not found", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+
+    // Authenticated endpoints
+
+    @GetMapping("/{lessonId}")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Get lesson by ID", description = "Lesson content; free previews or enrollment required")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lesson retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Not enrolled in the course"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Lesson not found")
+    })
+    public ResponseEntity<ApiResponse<LessonResponse>> getLessonById(
+            @Parameter(description = "Lesson ID") @PathVariable Long lessonId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        logger.info("Fetching lesson with ID: {}", lessonId);
+
+        try {
+            LessonResponse lesson = lessonService.getLesson(lessonId, currentUser);
+
+            ApiResponse<LessonResponse> response = ApiResponse.success(
+                "Lesson retrieved successfully", lesson);
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error fetching lesson with ID {}: {}", lessonId, e.getMessage());
+            ApiResponse<LessonResponse> errorResponse = ApiResponse.error(
+                "Lesson not found", e.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+        }
+    }
+
+    @PostMapping("/course/{courseId}")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Create lesson", description = "Add a lesson to a course (Instructor/Admin only)")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Lesson created successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input data"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<ApiResponse<LessonResponse>> createLesson(
+            @Parameter(description = "Course ID") @PathVariable Long courseId,
+            @Valid @RequestBody LessonRequest request) {
+
+        logger.info("Creating lesson '{}' in course {}", request.getTitle(), courseId);
+
+        try {
+            LessonResponse lesson = lessonService.createLesson(courseId, request);
+
+            ApiResponse<LessonResponse> response = ApiResponse.success(
+                "Lesson created successfully", lesson);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error creating lesson in course {}: {}", courseId, e.getMessage());
+            HttpStatus status = e instanceof ResourceNotFoundException ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            ApiResponse<LessonResponse> errorResponse = ApiResponse.error(
+                "Failed to create lesson", e.getMessage());
+            return ResponseEntity.status(status).body(errorResponse);
+        }
+    }
+
+    @PutMapping("/{lessonId}")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Update lesson", description = "Update a lesson (Instructor/Admin only)")
+    public ResponseEntity<ApiResponse<LessonResponse>> updateLesson(
+            @Parameter(description = "Lesson ID") @PathVariable Long lessonId,
+            @Valid @RequestBody LessonRequest request) {
+
+        logger.info("Updating lesson with ID: {}", lessonId);
+
+        try {
+            LessonResponse lesson = lessonService.updateLesson(lessonId, request);
+
+            ApiResponse<LessonResponse> response = ApiResponse.success(
+                "Lesson updated successfully", lesson);
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error updating lesson with ID {}: {}", lessonId, e.getMessage());
+            HttpStatus status = e instanceof ResourceNotFoundException ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            ApiResponse<LessonResponse> errorResponse = ApiResponse.error(
+                "Failed to update lesson", e.getMessage());
+            return ResponseEntity.status(status).body(errorResponse);
+        }
+    }
+
+    @PostMapping(value = "/{lessonId}/media/{slot}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Upload lesson media", description = "Upload the video or content file of a lesson (Instructor/Admin only)")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Media uploaded successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Missing file or file type not allowed"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<ApiResponse<LessonResponse>> uploadLessonMedia(
+            @Parameter(description = "Lesson ID") @PathVariable Long lessonId,
+            @Parameter(description = "video or content") @PathVariable String slot,
+            @RequestParam("file") MultipartFile file) {
+
+        logger.info("Uploading {} media for lesson {}: {} ({} bytes)", slot, lessonId, file.getOriginalFilename(), file.getSize());
+
+        try {
+            LessonService.MediaSlot mediaSlot = LessonService.MediaSlot.valueOf(slot.toUpperCase(Locale.ROOT));
+            if (file.isEmpty() || !mediaStore.isAllowed(file.getOriginalFilename())) {
+                throw new IllegalArgumentException("A non-empty file of an allowed type is required");
+            }
+
+            // Checked before anything is written: unreferenced media are never cleaned up
+            lessonService.checkCanManageLesson(lessonId);
+            MediaStore.StoredMedia media = mediaStore.store(file.getInputStream(), file.getOriginalFilename());
+            LessonResponse lesson = lessonService.attachMedia(lessonId, mediaSlot, media.name());
+
+            ApiResponse<LessonResponse> response = ApiResponse.success(
+                "Media uploaded successfully", lesson);
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error uploading media for lesson {}: {}", lessonId, e.getMessage());
+            HttpStatus status = e instanceof ResourceNotFoundException ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            ApiResponse<LessonResponse> errorResponse = ApiResponse.error(
+                "Failed to upload media", e.getMessage());
+            return ResponseEntity.status(status).body(errorResponse);
+        }
+    }
+
+    @PutMapping("/course/{courseId}/order")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Reorder lessons", description = "Set the order of all lessons of a course in one update (Instructor/Admin only)")
+    public ResponseEntity<ApiResponse<String>> reorderLessons(
+            @Parameter(description = "Course ID") @PathVariable Long courseId,
+            @Valid @RequestBody LessonOrderRequest request) {
+
+        logger.info("Reordering lessons of course {}", courseId);
+
+        try {
+            lessonService.reorderLessons(courseId, request.getLessonIds());
+
+            ApiResponse<String> response = ApiResponse.success(
+                "Lessons reordered successfully", request.getLessonIds().size() + " lessons reordered");
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error reordering lessons of course {}: {}", courseId, e.getMessage());
+            HttpStatus status = e instanceof ResourceNotFoundException ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            ApiResponse<String> errorResponse = ApiResponse.error(
+                "Failed to reorder lessons", e.getMessage());
+            return ResponseEntity.status(status).body(errorResponse);
+        }
+    }
+
+    @DeleteMapping("/{lessonId}")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Delete lesson", description = "Delete a lesson and its progress records (Instructor/Admin only)")
+    public ResponseEntity<ApiResponse<String>> deleteLesson(
+            @Parameter(description = "Lesson ID") @PathVariable Long lessonId) {
+
+        logger.info("Deleting lesson with ID: {}", lessonId);
+
+        try {
+            lessonService.deleteLesson(lessonId);
+
+            ApiResponse<String> response = ApiResponse.success(
+                "Lesson deleted successfully", "Lesson with ID " + lessonId + " has been deleted");
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error deleting lesson with ID {}: {}", lessonId, e.getMessage());
+            ApiResponse<String> errorResponse = ApiResponse.error(
+                "Failed to delete lesson", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.edumaster.controller;
+
+import com.edumaster.dto.ApiResponse;
+import com.edumaster.service.ImageProcessingService;
+import com.edumaster.service.MediaStore;
+import com.edumaster.util.MediaUrlSigner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Media Controller
+ *
+ * Serves stored lesson media from signed URLs handed out by the lesson API.
+ *
+ * Key Features:
+ * - Authorized by the URL signature alone: no JWT parsing, no principal
+ *   lookup and no database query per request, which matters because a
+ *   video player issues many range requests per playback
+ * - Single byte ranges (206), If-Range and If-None-Match against the
+ *   content hash, 416 for unsatisfiable ranges
+ * - Bodies go out through Tomcat's sendfile support, a zero-copy
+ *   FileChannel.transferTo from the page cache to the socket; without it
+ *   they fall back to transferTo into the response stream
+ * - Processed course thumbnails and profile pictures are public catalog
+ *   assets: /media/images serves them unsigned and cacheable for a year,
+ *   since a content-addressed name never changes
+ *
+ * @author EduMaster Team
+ */
+@RestController
+@RequestMapping("/media")
+@Tag(name = "Media", description = "Signed lesson media and public image downloads")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class MediaController {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaController.class);
+
+    // Tomcat request attributes for sendfile (org.apache.coyote.Constants / Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String IMAGE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Autowired
+    private MediaUrlSigner mediaUrlSigner;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter sendfileBytes;
+    private Counter copiedBytes;
+
+    @PostConstruct
+    public void init() {
+        sendfileBytes = Counter.builder("edumaster.media.bytes").tag("mode", "sendfile")
+            .description("Media bytes served").baseUnit("bytes").register(meterRegistry);
+        copiedBytes = Counter.builder("edumaster.media.bytes").tag("mode", "copy")
+            .description("Media bytes served").baseUnit("bytes").register(meterRegistry);
+    }
+
+    @GetMapping("/{name}")
+    @Operation(summary = "Stream media", description = "Download or stream a stored media file from a signed URL, with HTTP Range support")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Whole file"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "206", description = "Requested byte range"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Missing, invalid or expired signature"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Media not found"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "416", description = "Range not satisfiable")
+    })
+    public void streamMedia(
+            @Parameter(description = "Media name") @PathVariable String name,
+            @Parameter(description = "Expiry, epoch seconds") @RequestParam(defaultValue = "0") long expires,
+            @Parameter(description = "URL signature") @RequestParam(required = false) String signature,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        if (!mediaUrlSigner.verify(name, expires, signature)) {
+            writeError(response, HttpStatus.FORBIDDEN, "Access denied", "Invalid or expired media URL");
+            return;
+        }
+        MediaStore.StoredMedia media = mediaStore.find(name).orElse(null);
+        if (media == null) {
+            writeError(response, HttpStatus.NOT_FOUND, "Media not found", "No media named " + name);
+            return;
+        }
+
+        long maxAge = Math.max(0, expires - System.currentTimeMillis() / 1000);
+        serve(media, "private, max-age=" + maxAge, request, response);
+    }
+
+    @GetMapping("/images/{name}")
+    @Operation(summary = "Get image", description = "Download a processed course thumbnail or profile picture, original or resized")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Image"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Image not found")
+    })
+    public void getImage(
+            @Parameter(description = "Image name") @PathVariable String name,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        // Lesson media are never stored under a variant name, so they stay behind their signed URLs
+        MediaStore.StoredMedia media = ImageProcessingService.isPublicImage(name)
+            ? mediaStore.find(name).orElse(null) : null;
+        if (media == null) {
+            writeError(response, HttpStatus.NOT_FOUND, "Image not found", "No image named " + name);
+            return;
+        }
+        serve(media, IMAGE_CACHE_CONTROL, request, response);
+    }
+
+    private void serve(MediaStore.StoredMedia media, String cacheControl,
+                       HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String name = media.name();
+        long length = media.size();
+        String etag = "\"" + media.hash() + "\"";
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Players ask for one range at a time; multipart/byteranges is not worth its cost, send it all
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    if (start >= length || start > end) {
+                        throw new IllegalArgumentException("Range starts after the end of the file");
+                    }
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(media.contentType().toString());
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        Path path = mediaStore.pathOf(name);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat writes the file after this method returns; it only accepts canonical paths
+            request.setAttribute(SENDFILE_FILENAME, path.toFile().getCanonicalPath());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            sendfileBytes.increment(count);
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = file.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+            copiedBytes.increment(count - remaining);
+        } catch (IOException e) {
+            // Usually the player seeking away and closing the connection
+            logger.debug("Media {} transfer aborted: {}", name, e.getMessage());
+        }
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message, String error) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(ApiResponse.error(message, error));
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -1,12 +1,23 @@
 package com.edumaster.controller;
 
+import com.edumaster.dto.AnnouncementRequest;
 import com.edumaster.dto.ApiResponse;
+import com.edumaster.model.ArchivedNotification;
 import com.edumaster.model.Notification;
+import com.edumaster.security.UserPrincipal;
+import com.edumaster.service.NotificationCounterCache;
+import com.edumaster.service.NotificationFanoutService;
+import com.edumaster.service.NotificationPushHub;
+import com.edumaster.service.NotificationRetentionService;
 import com.edumaster.service.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,9 +26,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -32,6 +48,15 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private NotificationFanoutService notificationFanoutService;
+
+    @Autowired
+    private NotificationPushHub notificationPushHub;
+
+    @Autowired
+    private NotificationRetentionService notificationRetentionService;
+
     // Read Operations
 
     @GetMapping("/user/{userId}")
@@ -113,6 +138,54 @@ public class NotificationController {
         }
     }
 
+    @GetMapping("/user/{userId}/archive")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Get archived notifications", description = "Get older, already read notifications moved to the archive")
+    public ResponseEntity<ApiResponse<Page<ArchivedNotification>>> getArchivedNotifications(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+
+        logger.info("Fetching archived notifications for user {}", userId);
+
+        try {
+            Pageable pageable = PageRequest.of(page, size);
+            Page<ArchivedNotification> notifications =
+                notificationRetentionService.getArchivedNotificationsByUser(userId, pageable);
+
+            ApiResponse<Page<ArchivedNotification>> response = ApiResponse.success(
+                "Archived notifications retrieved successfully", notifications);
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error fetching archived notifications for user {}: {}", userId, e.getMessage());
+            ApiResponse<Page<ArchivedNotification>> errorResponse = ApiResponse.error(
+                "Failed to fetch archived notifications", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Stream notifications", description = "Server-Sent Events stream of new notifications and unread counts for the current user")
+    public SseEmitter streamNotifications(@AuthenticationPrincipal UserPrincipal currentUser,
+                                          HttpServletResponse response) {
+
+        logger.info("Opening notification stream for user {}", currentUser.getId());
+
+        try {
+            // Stop reverse proxies from buffering the stream
+            response.setHeader("X-Accel-Buffering", "no");
+            return notificationPushHub.subscribe(currentUser.getId());
+        } catch (IllegalStateException e) {
+            logger.warn("Rejected notification stream for user {}: {}", currentUser.getId(), e.getMessage());
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
     // Mark as Read Operations
 
     @PutMapping("/{notificationId}/read")
@@ -151,27 +224,54 @@ public class NotificationController {
     @PutMapping("/user/{userId}/read-all")
     @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
     @Operation(summary = "Mark all notifications as read", description = "Mark all notifications as read for a user")
-    public ResponseEntity<ApiResponse<String>> markAllAsRead(
+    public ResponseEntity<ApiResponse<Integer>> markAllAsRead(
             @Parameter(description = "User ID") @PathVariable Long userId) {
 
         logger.info("Marking all notifications as read for user {}", userId);
 
         try {
-            notificationService.markAllAsRead(userId);
+            int updated = notificationService.markAllAsRead(userId);
 
-            ApiResponse<String> response = ApiResponse.success(
-                "All notifications marked as read", "Success");
+            ApiResponse<Integer> response = ApiResponse.success(
+                "All notifications marked as read", updated);
 
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
             logger.error("Error marking all notifications as read for user {}: {}", userId, e.getMessage());
-            ApiResponse<String> errorResponse = ApiResponse.error(
+            ApiResponse<Integer> errorResponse = ApiResponse.error(
                 "Failed to mark all notifications as read", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
 
+    @PutMapping("/user/{userId}/read-selected")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Mark selected notifications as read", description = "Mark several notifications of a user as read in one update")
+    public ResponseEntity<ApiResponse<Integer>> markSelectedAsRead(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Notification IDs") @Valid @RequestBody NotificationIdsRequest request) {
+
+        logger.info("Marking {} selected notifications as read for user {}", request.getIds().size(), userId);
+
+        try {
+            int updated = notificationService.markAsRead(userId, request.getIds());
+
+            ApiResponse<Integer> response = ApiResponse.success(
+                "Selected notifications marked as read", updated);
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error marking selected notifications as read for user {}: {}", userId, e.getMessage());
+            ApiResponse<Integer> errorResponse = ApiResponse.error(
+                "Failed to mark selected notifications as read", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     // Delete Operations
 
     @DeleteMapping("/{notificationId}")
@@ -210,27 +310,54 @@ public class NotificationController {
     @DeleteMapping("/user/{userId}/all")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete all user notifications", description = "Delete all notifications for a user (Admin only)")
-    public ResponseEntity<ApiResponse<String>> deleteAllUserNotifications(
+    public ResponseEntity<ApiResponse<Integer>> deleteAllUserNotifications(
             @Parameter(description = "User ID") @PathVariable Long userId) {
 
         logger.info("Deleting all notifications for user {}", userId);
 
         try {
-            notificationService.deleteAllNotificationsForUser(userId);
+            int deleted = notificationService.deleteAllNotificationsForUser(userId);
 
-            ApiResponse<String> response = ApiResponse.success(
-                "All user notifications deleted successfully", "Deleted");
+            ApiResponse<Integer> response = ApiResponse.success(
+                "All user notifications deleted successfully", deleted);
 
             return ResponseEntity.ok(response);
 
         } catch (Exception e) {
             logger.error("Error deleting all notifications for user {}: {}", userId, e.getMessage());
-            ApiResponse<String> errorResponse = ApiResponse.error(
+            ApiResponse<Integer> errorResponse = ApiResponse.error(
                 "Failed to delete all user notifications", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
 
+    @PostMapping("/user/{userId}/delete-selected")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Delete selected notifications", description = "Delete several notifications of a user in one statement")
+    public ResponseEntity<ApiResponse<Integer>> deleteSelectedNotifications(
+            @Parameter(description = "User ID") @PathVariable Long userId,
+            @Parameter(description = "Notification IDs") @Valid @RequestBody NotificationIdsRequest request) {
+
+        logger.info("Deleting {} selected notifications for user {}", request.getIds().size(), userId);
+
+        try {
+            int deleted = notificationService.deleteNotifications(userId, request.getIds());
+
+            ApiResponse<Integer> response = ApiResponse.success(
+                "Selected notifications deleted successfully", deleted);
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error deleting selected notifications for user {}: {}", userId, e.getMessage());
+            ApiResponse<Integer> errorResponse = ApiResponse.error(
+                "Failed to delete selected notifications", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     // Create Notification (Admin/System use)
 
     @PostMapping
@@ -264,6 +391,93 @@ public class NotificationController {
         }
     }
 
+    // Announcements (bulk fan-out)
+
+    @PostMapping("/announcements")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Send announcement", description = "Send a notification to every user in an audience in the background")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Announcement accepted for delivery"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid audience"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<ApiResponse<NotificationFanoutService.FanoutJob>> sendAnnouncement(
+            @Parameter(description = "Announcement details") @Valid @RequestBody AnnouncementRequest request) {
+
+        logger.info("Submitting announcement '{}' to audience {}", request.getTitle(), request.getAudience());
+
+        try {
+            NotificationFanoutService.FanoutJob job = notificationFanoutService.submitAnnouncement(request);
+
+            ApiResponse<NotificationFanoutService.FanoutJob> response = ApiResponse.success(
+                "Announcement accepted for delivery", job);
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error submitting announcement: {}", e.getMessage());
+            HttpStatus status = e instanceof IllegalStateException ?
+                               HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.BAD_REQUEST;
+            ApiResponse<NotificationFanoutService.FanoutJob> errorResponse = ApiResponse.error(
+                "Failed to submit announcement", e.getMessage());
+            return ResponseEntity.status(status).body(errorResponse);
+        }
+    }
+
+    @GetMapping("/announcements/{jobId}")
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Get announcement progress", description = "Get delivery progress of an announcement")
+    public ResponseEntity<ApiResponse<NotificationFanoutService.FanoutJob>> getAnnouncementProgress(
+            @Parameter(description = "Announcement job ID") @PathVariable String jobId) {
+
+        return notificationFanoutService.getJob(jobId)
+            .map(job -> ResponseEntity.ok(ApiResponse.success("Announcement progress retrieved successfully", job)))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Announcement not found", "No announcement job with ID: " + jobId)));
+    }
+
+    @DeleteMapping("/announcements/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Cancel announcement", description = "Stop delivering an announcement after the current chunk (Admin only)")
+    public ResponseEntity<ApiResponse<NotificationFanoutService.FanoutJob>> cancelAnnouncement(
+            @Parameter(description = "Announcement job ID") @PathVariable String jobId) {
+
+        logger.info("Cancelling announcement job {}", jobId);
+
+        return notificationFanoutService.getJob(jobId)
+            .map(job -> {
+                job.cancel();
+                return ResponseEntity.ok(ApiResponse.success("Announcement cancelled", job));
+            })
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error("Announcement not found", "No announcement job with ID: " + jobId)));
+    }
+
+    @PostMapping("/retention/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Run notification retention", description = "Archive or delete expired read notifications now (Admin only)")
+    public ResponseEntity<ApiResponse<Long>> runRetention() {
+
+        logger.info("Running notification retention on demand");
+
+        try {
+            long expired = notificationRetentionService.runRetention();
+
+            ApiResponse<Long> response = ApiResponse.success(
+                "Notification retention completed", expired);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error running notification retention: {}", e.getMessage());
+            ApiResponse<Long> errorResponse = ApiResponse.error(
+                "Failed to run notification retention", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     // Notification Statistics (Admin)
 
     @GetMapping("/stats/user/{userId}")
@@ -275,17 +489,17 @@ public class NotificationController {
         logger.info("Fetching notification statistics for user {}", userId);
 
         try {
-            List<Notification> allNotifications = notificationService.getNotificationsByUser(userId);
-            long unreadCount = notificationService.getUnreadNotificationsCount(userId);
+            NotificationCounterCache.Counts counts = notificationService.getNotificationCounts(userId);
+            long unreadCount = counts.getUnread();
             
-            long totalNotifications = allNotifications.size();
+            long totalNotifications = counts.getTotal();
             long readCount = totalNotifications - unreadCount;
             
             // Count by type
-            long infoCount = allNotifications.stream().mapToInt(n -> n.isInfo() ? 1 : 0).sum();
-            long successCount = allNotifications.stream().mapToInt(n -> n.isSuccess() ? 1 : 0).sum();
-            long warningCount = allNotifications.stream().mapToInt(n -> n.isWarning() ? 1 : 0).sum();
-            long errorCount = allNotifications.stream().mapToInt(n -> n.isError() ? 1 : 0).sum();
+            long infoCount = counts.getTotal(Notification.NotificationType.INFO);
+            long successCount = counts.getTotal(Notification.NotificationType.SUCCESS);
+            long warningCount = counts.getTotal(Notification.NotificationType.WARNING);
+            long errorCount = counts.getTotal(Notification.NotificationType.ERROR);
 
             NotificationStats stats = new NotificationStats(
                 totalNotifications, readCount, unreadCount, 
@@ -338,6 +552,19 @@ public class NotificationController {
         public void setRelatedEntityId(Long relatedEntityId) { this.relatedEntityId = relatedEntityId; }
     }
 
+    public static class NotificationIdsRequest {
+        @NotEmpty(message = "At least one notification ID is required")
+        @Size(max = 500, message = "At most 500 notifications can be updated at once")
+        private List<Long> ids;
+
+        // Constructors
+        public NotificationIdsRequest() {}
+
+        // Getters and Setters
+        public List<Long> getIds() { return ids; }
+        public void setIds(List<Long> ids) { this.ids = ids; }
+    }
+
     public static class NotificationStats {
         private long totalNotifications;
         private long readNotifications;
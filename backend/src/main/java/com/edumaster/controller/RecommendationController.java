@@ -0,0 +1,94 @@
+package com.edumaster.controller;
+
+import com.edumaster.dto.ApiResponse;
+import com.edumaster.dto.CourseResponse;
+import com.edumaster.service.CourseRecommendationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Recommendation Controller
+ *
+ * "Students who took this course also took" lists, served from the
+ * in-memory co-enrollment snapshot. Kept outside /courses/public because
+ * the snapshot changes without a catalog write, which the catalog HTTP
+ * cache would not notice.
+ *
+ * @author EduMaster Team
+ */
+@RestController
+@RequestMapping("/recommendations")
+@Tag(name = "Recommendations", description = "Course recommendations from co-enrollment")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class RecommendationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationController.class);
+
+    @Autowired
+    private CourseRecommendationService courseRecommendationService;
+
+    @GetMapping("/courses/{courseId}")
+    @Operation(summary = "Get related courses", description = "Published courses most often taken by students of this course")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Recommendations retrieved successfully")
+    })
+    public ResponseEntity<ApiResponse<List<CourseResponse>>> getRecommendedCourses(
+            @Parameter(description = "Course ID") @PathVariable Long courseId,
+            @Parameter(description = "Maximum number of courses") @RequestParam(defaultValue = "10") int limit) {
+
+        try {
+            List<CourseResponse> courses = courseRecommendationService.getRecommendedCourses(courseId, limit);
+
+            ApiResponse<List<CourseResponse>> response = ApiResponse.success(
+                "Recommendations retrieved successfully", courses);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error fetching recommendations for course {}: {}", courseId, e.getMessage());
+            ApiResponse<List<CourseResponse>> errorResponse = ApiResponse.error(
+                "Failed to fetch recommendations", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild recommendations", description = "Recompute the co-enrollment snapshot now (Admin only)")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Snapshot rebuilt"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "A rebuild is already running"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Rebuild failed, previous snapshot kept")
+    })
+    public ResponseEntity<ApiResponse<String>> rebuild() {
+        logger.info("Rebuilding recommendation snapshot on request");
+
+        CourseRecommendationService.RebuildResult result = courseRecommendationService.rebuild();
+        if (result == CourseRecommendationService.RebuildResult.ALREADY_RUNNING) {
+            ApiResponse<String> errorResponse = ApiResponse.error(
+                "Rebuild not started", "A rebuild is already running");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+        }
+        if (result == CourseRecommendationService.RebuildResult.FAILED) {
+            ApiResponse<String> errorResponse = ApiResponse.error(
+                "Rebuild failed", "Keeping the snapshot built at " + courseRecommendationService.getSnapshotBuiltAt());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+
+        ApiResponse<String> response = ApiResponse.success(
+            "Recommendations rebuilt", "Snapshot built at " + courseRecommendationService.getSnapshotBuiltAt());
+
+        return ResponseEntity.ok(response);
+    }
+}
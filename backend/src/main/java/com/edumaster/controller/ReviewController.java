@@ -0,0 +1,253 @@
+package com.edumaster.controller;
+
+import com.edumaster.dto.ApiResponse;
+import com.edumaster.dto.CursorPage;
+import com.edumaster.dto.RatingSummaryResponse;
+import com.edumaster.dto.ReviewRequest;
+import com.edumaster.dto.ReviewResponse;
+import com.edumaster.exception.ResourceNotFoundException;
+import com.edumaster.service.ReviewService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Review Controller
+ *
+ * Course reviews: public listings and rating summaries, reviews by enrolled
+ * students, helpful votes and admin moderation.
+ *
+ * @author EduMaster Team
+ */
+@RestController
+@RequestMapping("/reviews")
+@Tag(name = "Reviews", description = "Course reviews and ratings")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ReviewController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewController.class);
+
+    @Autowired
+    private ReviewService reviewService;
+
+    // Public endpoints - No authentication required
+
+    @GetMapping("/course/{courseId}")
+    @Operation(summary = "Get course reviews", description = "Approved reviews of a course, most helpful or most recent first, paged with a cursor")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Reviews retrieved successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid sort or cursor")
+    })
+    public ResponseEntity<ApiResponse<CursorPage<ReviewResponse>>> getCourseReviews(
+            @Parameter(description = "Course ID") @PathVariable Long courseId,
+            @Parameter(description = "Order: helpful or recent") @RequestParam(defaultValue = "helpful") String sort,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (max 50)") @RequestParam(defaultValue = "10") int size) {
+
+        try {
+            ReviewService.ReviewSort order = ReviewService.ReviewSort.valueOf(sort.toUpperCase());
+            CursorPage<ReviewResponse> reviews = reviewService.getCourseReviews(courseId, order, cursor, size);
+
+            ApiResponse<CursorPage<ReviewResponse>> response = ApiResponse.success(
+                "Reviews retrieved successfully", reviews);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error fetching reviews of course {}: {}", courseId, e.getMessage());
+            return error("Failed to retrieve reviews", e);
+        }
+    }
+
+    @GetMapping("/course/{courseId}/summary")
+    @Operation(summary = "Get rating summary", description = "Average rating, review count and star distribution of a course")
+    public ResponseEntity<ApiResponse<RatingSummaryResponse>> getRatingSummary(
+            @Parameter(description = "Course ID") @PathVariable Long courseId) {
+
+        try {
+            RatingSummaryResponse summary = reviewService.getRatingSummary(courseId);
+
+            ApiResponse<RatingSummaryResponse> response = ApiResponse.success(
+                "Rating summary retrieved successfully", summary);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error fetching rating summary of course {}: {}", courseId, e.getMessage());
+            return error("Failed to retrieve rating summary", e);
+        }
+    }
+
+    // Authenticated endpoints
+
+    @PostMapping("/course/{courseId}")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Review course", description = "Rate and review a course you are enrolled in")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Review created"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Not enrolled in the course"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Course already reviewed")
+    })
+    public ResponseEntity<ApiResponse<ReviewResponse>> createReview(
+            @Parameter(description = "Course ID") @PathVariable Long courseId,
+            @Valid @RequestBody ReviewRequest request) {
+
+        try {
+            ReviewResponse review = reviewService.createReview(courseId, request);
+
+            ApiResponse<ReviewResponse> response = ApiResponse.success(
+                "Review created successfully", review);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (org.springframework.dao.DataIntegrityViolationException e) {
+            // Lost a race with a concurrent review by the same user
+            return error("Failed to create review", new IllegalStateException("You have already reviewed this course"));
+        } catch (Exception e) {
+            logger.error("Error creating review for course {}: {}", courseId, e.getMessage());
+            return error("Failed to create review", e);
+        }
+    }
+
+    @PutMapping("/{reviewId}")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Update review", description = "Change the rating or comment of your review")
+    public ResponseEntity<ApiResponse<ReviewResponse>> updateReview(
+            @Parameter(description = "Review ID") @PathVariable Long reviewId,
+            @Valid @RequestBody ReviewRequest request) {
+
+        try {
+            ReviewResponse review = reviewService.updateReview(reviewId, request);
+
+            ApiResponse<ReviewResponse> response = ApiResponse.success(
+                "Review updated successfully", review);
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error updating review {}: {}", reviewId, e.getMessage());
+            return error("Failed to update review", e);
+        }
+    }
+
+    @DeleteMapping("/{reviewId}")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Delete review", description = "Delete your review; admins can delete any review")
+    public ResponseEntity<ApiResponse<String>> deleteReview(
+            @Parameter(description = "Review ID") @PathVariable Long reviewId) {
+
+        try {
+            reviewService.deleteReview(reviewId);
+
+            ApiResponse<String> response = ApiResponse.success(
+                "Review deleted successfully", "Review " + reviewId + " has been deleted");
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error deleting review {}: {}", reviewId, e.getMessage());
+            return error("Failed to delete review", e);
+        }
+    }
+
+    @PostMapping("/{reviewId}/helpful")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Mark review helpful", description = "Vote for a review; voting twice has no effect")
+    public ResponseEntity<ApiResponse<Boolean>> markHelpful(
+            @Parameter(description = "Review ID") @PathVariable Long reviewId) {
+
+        return setHelpful(reviewId, true);
+    }
+
+    @DeleteMapping("/{reviewId}/helpful")
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Operation(summary = "Unmark review helpful", description = "Withdraw your helpful vote")
+    public ResponseEntity<ApiResponse<Boolean>> unmarkHelpful(
+            @Parameter(description = "Review ID") @PathVariable Long reviewId) {
+
+        return setHelpful(reviewId, false);
+    }
+
+    // Admin endpoints
+
+    @PostMapping("/{reviewId}/approve")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Approve review", description = "Show a review and count it in the course rating (Admin only)")
+    public ResponseEntity<ApiResponse<ReviewResponse>> approveReview(
+            @Parameter(description = "Review ID") @PathVariable Long reviewId) {
+
+        return setApproved(reviewId, true);
+    }
+
+    @PostMapping("/{reviewId}/reject")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reject review", description = "Hide a review and remove it from the course rating (Admin only)")
+    public ResponseEntity<ApiResponse<ReviewResponse>> rejectReview(
+            @Parameter(description = "Review ID") @PathVariable Long reviewId) {
+
+        return setApproved(reviewId, false);
+    }
+
+    private ResponseEntity<ApiResponse<Boolean>> setHelpful(Long reviewId, boolean helpful) {
+        try {
+            boolean changed = reviewService.setHelpful(reviewId, helpful);
+
+            ApiResponse<Boolean> response = ApiResponse.success(
+                helpful ? "Review marked helpful" : "Helpful vote removed", changed);
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error voting on review {}: {}", reviewId, e.getMessage());
+            return error("Failed to record vote", e);
+        }
+    }
+
+    private ResponseEntity<ApiResponse<ReviewResponse>> setApproved(Long reviewId, boolean approved) {
+        try {
+            ReviewResponse review = reviewService.setApproved(reviewId, approved);
+
+            ApiResponse<ReviewResponse> response = ApiResponse.success(
+                approved ? "Review approved" : "Review rejected", review);
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error moderating review {}: {}", reviewId, e.getMessage());
+            return error("Failed to moderate review", e);
+        }
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> error(String message, Exception e) {
+        HttpStatus status;
+        if (e instanceof ResourceNotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (e instanceof IllegalStateException) {
+            status = HttpStatus.CONFLICT;
+        } else {
+            status = HttpStatus.BAD_REQUEST;
+        }
+        ApiResponse<T> errorResponse = ApiResponse.error(message, e.getMessage());
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
@@ -0,0 +1,189 @@
+package com.edumaster.controller;
+
+import com.edumaster.dto.ApiResponse;
+import com.edumaster.dto.UploadInitRequest;
+import com.edumaster.dto.UploadSessionResponse;
+import com.edumaster.exception.ResourceNotFoundException;
+import com.edumaster.exception.UploadLimitExceededException;
+import com.edumaster.security.UserPrincipal;
+import com.edumaster.service.ChunkedUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Upload Controller
+ *
+ * Resumable chunked uploads of large lesson media:
+ * POST /uploads, PUT /uploads/{id}/chunks/{index} (raw bytes with an
+ * X-Chunk-Sha256 header, any order, in parallel), GET /uploads/{id} to see
+ * the missing chunks after an interruption, POST /uploads/{id}/complete.
+ *
+ * @author EduMaster Team
+ */
+@RestController
+@RequestMapping("/uploads")
+@Tag(name = "Uploads", description = "Resumable chunked uploads of lesson media")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+public class UploadController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadController.class);
+
+    public static final String CHUNK_SHA256_HEADER = "X-Chunk-Sha256";
+
+    @Autowired
+    private ChunkedUploadService chunkedUploadService;
+
+    @PostMapping
+    @Operation(summary = "Start upload", description = "Open a chunked upload session; the response gives the chunk size and count")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Upload started"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid file name, type or size"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Upload limits reached")
+    })
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> startUpload(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Valid @RequestBody UploadInitRequest request) {
+
+        logger.info("User {} starting upload of {} ({} bytes)", currentUser.getId(), request.getFileName(), request.getTotalSize());
+
+        try {
+            UploadSessionResponse upload = chunkedUploadService.startUpload(currentUser.getId(), request);
+
+            ApiResponse<UploadSessionResponse> response = ApiResponse.success(
+                "Upload started", upload);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error starting upload for user {}: {}", currentUser.getId(), e.getMessage());
+            return error("Failed to start upload", e);
+        }
+    }
+
+    @GetMapping("/{uploadId}")
+    @Operation(summary = "Get upload status", description = "Received and missing chunks of an upload, used to resume it")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> getUpload(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Parameter(description = "Upload ID") @PathVariable String uploadId) {
+
+        try {
+            UploadSessionResponse upload = chunkedUploadService.getUpload(currentUser.getId(), uploadId);
+
+            ApiResponse<UploadSessionResponse> response = ApiResponse.success(
+                "Upload retrieved successfully", upload);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error fetching upload {}: {}", uploadId, e.getMessage());
+            return error("Upload not found", e);
+        }
+    }
+
+    @PutMapping(value = "/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Upload chunk", description = "Write one chunk at offset index * chunkSize; the body is the raw chunk")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Chunk stored"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Wrong length or checksum mismatch, send the chunk again"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Upload not found or expired"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Chunk is being uploaded by another request"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "429", description = "Too many chunks in flight")
+    })
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> uploadChunk(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Parameter(description = "Upload ID") @PathVariable String uploadId,
+            @Parameter(description = "Chunk index (0-based)") @PathVariable int index,
+            @Parameter(description = "Hex SHA-256 of the chunk") @RequestHeader(value = CHUNK_SHA256_HEADER, required = false) String sha256,
+            HttpServletRequest request) {
+
+        try {
+            UploadSessionResponse upload = chunkedUploadService.writeChunk(
+                currentUser.getId(), uploadId, index, sha256, request.getInputStream());
+
+            ApiResponse<UploadSessionResponse> response = ApiResponse.success(
+                "Chunk stored", upload);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.warn("Chunk {} of upload {} rejected: {}", index, uploadId, e.getMessage());
+            return error("Failed to store chunk", e);
+        }
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    @Operation(summary = "Complete upload", description = "Finish an upload whose chunks have all been received and attach it to its lesson")
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> completeUpload(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Parameter(description = "Upload ID") @PathVariable String uploadId) {
+
+        logger.info("Completing upload {}", uploadId);
+
+        try {
+            UploadSessionResponse upload = chunkedUploadService.completeUpload(currentUser.getId(), uploadId);
+
+            ApiResponse<UploadSessionResponse> response = ApiResponse.success(
+                "Upload completed", upload);
+
+            return ResponseEntity.ok(response);
+
+        } catch (AccessDeniedException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error completing upload {}: {}", uploadId, e.getMessage());
+            return error("Failed to complete upload", e);
+        }
+    }
+
+    @DeleteMapping("/{uploadId}")
+    @Operation(summary = "Abort upload", description = "Discard an upload and free its reserved space")
+    public ResponseEntity<ApiResponse<String>> abortUpload(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @Parameter(description = "Upload ID") @PathVariable String uploadId) {
+
+        try {
+            chunkedUploadService.abortUpload(currentUser.getId(), uploadId);
+
+            ApiResponse<String> response = ApiResponse.success(
+                "Upload aborted", "Upload " + uploadId + " has been discarded");
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error aborting upload {}: {}", uploadId, e.getMessage());
+            return error("Upload not found", e);
+        }
+    }
+
+    private <T> ResponseEntity<ApiResponse<T>> error(String message, Exception e) {
+        HttpStatus status;
+        if (e instanceof ResourceNotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (e instanceof UploadLimitExceededException) {
+            status = HttpStatus.TOO_MANY_REQUESTS;
+        } else if (e instanceof IllegalStateException) {
+            status = HttpStatus.CONFLICT;
+        } else {
+            status = HttpStatus.BAD_REQUEST;
+        }
+        ApiResponse<T> errorResponse = ApiResponse.error(message, e.getMessage());
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+}
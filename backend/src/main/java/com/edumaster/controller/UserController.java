@@ -0,0 +1,86 @@
+package com.edumaster.controller;
+
+import com.edumaster.dto.ApiResponse;
+import com.edumaster.dto.UserProfileResponse;
+import com.edumaster.service.UserProfileService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * User Controller
+ *
+ * Profile of the signed-in user.
+ *
+ * @author EduMaster Team
+ */
+@RestController
+@RequestMapping("/users")
+@Tag(name = "Users", description = "User profile endpoints")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+public class UserController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
+    @Autowired
+    private UserProfileService userProfileService;
+
+    @GetMapping("/me")
+    @Operation(summary = "Get my profile", description = "Profile of the current user, with profile picture sizes once generated")
+    public ResponseEntity<ApiResponse<UserProfileResponse>> getMyProfile() {
+        try {
+            UserProfileResponse profile = userProfileService.getCurrentUserProfile();
+
+            ApiResponse<UserProfileResponse> response = ApiResponse.success(
+                "Profile retrieved successfully", profile);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error fetching profile: {}", e.getMessage());
+            ApiResponse<UserProfileResponse> errorResponse = ApiResponse.error(
+                "Failed to retrieve profile", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+
+    @PostMapping(value = "/me/avatar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Upload profile picture", description = "Upload a JPEG or PNG profile picture; smaller sizes are generated in the background")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Profile picture uploaded successfully"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Missing file or unsupported image type")
+    })
+    public ResponseEntity<ApiResponse<UserProfileResponse>> uploadAvatar(@RequestParam("file") MultipartFile file) {
+
+        logger.info("Uploading profile picture: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+
+        try {
+            if (file.isEmpty()) {
+                throw new IllegalArgumentException("A non-empty image file is required");
+            }
+            UserProfileResponse profile = userProfileService.updateProfilePicture(
+                file.getInputStream(), file.getOriginalFilename());
+
+            ApiResponse<UserProfileResponse> response = ApiResponse.success(
+                "Profile picture uploaded successfully", profile);
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            logger.error("Error uploading profile picture: {}", e.getMessage());
+            ApiResponse<UserProfileResponse> errorResponse = ApiResponse.error(
+                "Failed to upload profile picture", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.edumaster.dto;
+
+import com.edumaster.model.Notification;
+import com.edumaster.model.Role;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class AnnouncementRequest {
+
+    public enum Audience {
+        COURSE_ENROLLEES,
+        CATEGORY_ENROLLEES,
+        ROLE
+    }
+
+    @NotNull(message = "Audience is required")
+    private Audience audience;
+
+    // Course ID for COURSE_ENROLLEES, category ID for CATEGORY_ENROLLEES
+    private Long targetId;
+
+    // Required for ROLE audience
+    private Role role;
+
+    @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title must not exceed 255 characters")
+    private String title;
+
+    @NotBlank(message = "Message is required")
+    private String message;
+
+    private Notification.NotificationType type = Notification.NotificationType.INFO;
+
+    @Size(max = 50, message = "Related entity type must not exceed 50 characters")
+    private String relatedEntityType;
+
+    private Long relatedEntityId;
+
+    // Constructors
+    public AnnouncementRequest() {}
+
+    // Getters and Setters
+    public Audience getAudience() {
+        return audience;
+    }
+
+    public void setAudience(Audience audience) {
+        this.audience = audience;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(Long targetId) {
+        this.targetId = targetId;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Notification.NotificationType getType() {
+        return type;
+    }
+
+    public void setType(Notification.NotificationType type) {
+        this.type = type;
+    }
+
+    public String getRelatedEntityType() {
+        return relatedEntityType;
+    }
+
+    public void setRelatedEntityType(String relatedEntityType) {
+        this.relatedEntityType = relatedEntityType;
+    }
+
+    public Long getRelatedEntityId() {
+        return relatedEntityId;
+    }
+
+    public void setRelatedEntityId(Long relatedEntityId) {
+        this.relatedEntityId = relatedEntityId;
+    }
+}
@@ -0,0 +1,76 @@
+package com.edumaster.dto;
+
+import com.edumaster.model.Category;
+
+import java.time.LocalDateTime;
+
+public class CategoryResponse {
+
+    private Long id;
+    private String name;
+    private String description;
+    private long publishedCourses;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public CategoryResponse() {}
+
+    public CategoryResponse(Category category, long publishedCourses) {
+        this.id = category.getId();
+        this.name = category.getName();
+        this.description = category.getDescription();
+        this.publishedCourses = publishedCourses;
+        this.createdAt = category.getCreatedAt();
+        this.updatedAt = category.getUpdatedAt();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public long getPublishedCourses() {
+        return publishedCourses;
+    }
+
+    public void setPublishedCourses(long publishedCourses) {
+        this.publishedCourses = publishedCourses;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
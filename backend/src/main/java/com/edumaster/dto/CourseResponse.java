@@ -1,10 +1,13 @@
 package com.edumaster.dto;
 
+import com.edumaster.model.Course;
 import com.edumaster.model.CourseLevel;
 import com.edumaster.model.CourseStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public class CourseResponse {
 
@@ -15,6 +18,7 @@ public class CourseResponse {
     private BigDecimal price;
     private CourseStatus status;
     private String thumbnailUrl;
+    private Map<String, String> thumbnailVariants; // size label -> URL, once generated
     private Integer durationHours;
     private CourseLevel level;
     private String language;
@@ -42,6 +46,29 @@ public class CourseResponse {
     // Constructors
     public CourseResponse() {}
 
+    // Copies course, instructor and category fields; statistics are set separately
+    public CourseResponse(Course course) {
+        this.id = course.getId();
+        this.title = course.getTitle();
+        this.description = course.getDescription();
+        this.shortDescription = course.getShortDescription();
+        this.price = course.getPrice();
+        this.status = course.getStatus();
+        this.thumbnailUrl = course.getThumbnailUrl();
+        this.durationHours = course.getDurationHours();
+        this.level = course.getLevel();
+        this.language = course.getLanguage();
+        this.requirements = course.getRequirements();
+        this.learningOutcomes = course.getLearningOutcomes();
+        this.createdAt = course.getCreatedAt();
+        this.updatedAt = course.getUpdatedAt();
+        this.instructorId = course.getInstructor().getId();
+        this.instructorName = course.getInstructor().getFullName();
+        this.categoryId = course.getCategory().getId();
+        this.categoryName = course.getCategory().getName();
+        this.isFree = course.isFree();
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -99,6 +126,14 @@ public class CourseResponse {
         this.thumbnailUrl = thumbnailUrl;
     }
 
+    public Map<String, String> getThumbnailVariants() {
+        return thumbnailVariants;
+    }
+
+    public void setThumbnailVariants(Map<String, String> thumbnailVariants) {
+        this.thumbnailVariants = thumbnailVariants;
+    }
+
     public Integer getDurationHours() {
         return durationHours;
     }
@@ -227,6 +262,7 @@ public class CourseResponse {
         this.totalReviews = totalReviews;
     }
 
+    @JsonProperty("isFree")
     public boolean isFree() {
         return isFree;
     }
@@ -0,0 +1,29 @@
+package com.edumaster.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class LessonOrderRequest {
+
+    // Every lesson of the course, in the new order
+    @NotEmpty(message = "Lesson IDs are required")
+    private List<@NotNull Long> lessonIds;
+
+    // Constructors
+    public LessonOrderRequest() {}
+
+    public LessonOrderRequest(List<Long> lessonIds) {
+        this.lessonIds = lessonIds;
+    }
+
+    // Getters and Setters
+    public List<Long> getLessonIds() {
+        return lessonIds;
+    }
+
+    public void setLessonIds(List<Long> lessonIds) {
+        this.lessonIds = lessonIds;
+    }
+}
@@ -0,0 +1,131 @@
+package com.edumaster.dto;
+
+import com.edumaster.model.Lesson;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+public class LessonOutlineItem {
+
+    private Long id;
+    private String title;
+    private int durationMinutes;
+    private int orderIndex;
+    private boolean isFreePreview;
+    private Lesson.ContentType contentType;
+
+    // Caller's progress, only filled in for enrolled users
+    private Long enrollmentId;
+    private boolean completed;
+    private int watchTimeSeconds;
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public LessonOutlineItem() {}
+
+    // Lesson columns only (JPQL constructor expression)
+    public LessonOutlineItem(Long id, String title, Integer durationMinutes, Integer orderIndex,
+                             Boolean isFreePreview, Lesson.ContentType contentType) {
+        this.id = id;
+        this.title = title;
+        this.durationMinutes = durationMinutes != null ? durationMinutes : 0;
+        this.orderIndex = orderIndex != null ? orderIndex : 0;
+        this.isFreePreview = Boolean.TRUE.equals(isFreePreview);
+        this.contentType = contentType;
+    }
+
+    // Lesson columns plus the left-joined enrollment and progress (JPQL constructor expression)
+    public LessonOutlineItem(Long id, String title, Integer durationMinutes, Integer orderIndex,
+                             Boolean isFreePreview, Lesson.ContentType contentType, Long enrollmentId,
+                             Boolean completed, Integer watchTimeSeconds, LocalDateTime completedAt) {
+        this(id, title, durationMinutes, orderIndex, isFreePreview, contentType);
+        this.enrollmentId = enrollmentId;
+        this.completed = Boolean.TRUE.equals(completed);
+        this.watchTimeSeconds = watchTimeSeconds != null ? watchTimeSeconds : 0;
+        this.completedAt = completedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public int getOrderIndex() {
+        return orderIndex;
+    }
+
+    public void setOrderIndex(int orderIndex) {
+        this.orderIndex = orderIndex;
+    }
+
+    @JsonProperty("isFreePreview")
+    public boolean isFreePreview() {
+        return isFreePreview;
+    }
+
+    public void setFreePreview(boolean freePreview) {
+        isFreePreview = freePreview;
+    }
+
+    public Lesson.ContentType getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(Lesson.ContentType contentType) {
+        this.contentType = contentType;
+    }
+
+    @JsonIgnore
+    public Long getEnrollmentId() {
+        return enrollmentId;
+    }
+
+    public void setEnrollmentId(Long enrollmentId) {
+        this.enrollmentId = enrollmentId;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public int getWatchTimeSeconds() {
+        return watchTimeSeconds;
+    }
+
+    public void setWatchTimeSeconds(int watchTimeSeconds) {
+        this.watchTimeSeconds = watchTimeSeconds;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
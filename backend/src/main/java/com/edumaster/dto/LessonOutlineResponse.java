@@ -0,0 +1,110 @@
+package com.edumaster.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public class LessonOutlineResponse {
+
+    private Long courseId;
+    private Long instructorId;
+    private boolean isPublished;
+    private int totalLessons;
+    private int totalDurationMinutes;
+
+    // Caller's progress; false and 0 for anonymous or not enrolled callers
+    private boolean isEnrolled;
+    private int completedLessons;
+
+    private List<LessonOutlineItem> lessons;
+
+    // Constructors
+    public LessonOutlineResponse() {}
+
+    public LessonOutlineResponse(Long courseId, Long instructorId, boolean isPublished,
+                                 List<LessonOutlineItem> lessons) {
+        this.courseId = courseId;
+        this.instructorId = instructorId;
+        this.isPublished = isPublished;
+        setLessons(lessons);
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getInstructorId() {
+        return instructorId;
+    }
+
+    public void setInstructorId(Long instructorId) {
+        this.instructorId = instructorId;
+    }
+
+    @JsonProperty("isPublished")
+    public boolean isPublished() {
+        return isPublished;
+    }
+
+    public void setPublished(boolean published) {
+        isPublished = published;
+    }
+
+    public int getTotalLessons() {
+        return totalLessons;
+    }
+
+    public void setTotalLessons(int totalLessons) {
+        this.totalLessons = totalLessons;
+    }
+
+    public int getTotalDurationMinutes() {
+        return totalDurationMinutes;
+    }
+
+    public void setTotalDurationMinutes(int totalDurationMinutes) {
+        this.totalDurationMinutes = totalDurationMinutes;
+    }
+
+    @JsonProperty("isEnrolled")
+    public boolean isEnrolled() {
+        return isEnrolled;
+    }
+
+    public void setEnrolled(boolean enrolled) {
+        isEnrolled = enrolled;
+    }
+
+    public int getCompletedLessons() {
+        return completedLessons;
+    }
+
+    public void setCompletedLessons(int completedLessons) {
+        this.completedLessons = completedLessons;
+    }
+
+    public List<LessonOutlineItem> getLessons() {
+        return lessons;
+    }
+
+    // Also recomputes the totals
+    public void setLessons(List<LessonOutlineItem> lessons) {
+        this.lessons = lessons;
+        this.totalLessons = lessons != null ? lessons.size() : 0;
+        this.totalDurationMinutes = 0;
+        this.completedLessons = 0;
+        if (lessons != null) {
+            for (LessonOutlineItem lesson : lessons) {
+                totalDurationMinutes += lesson.getDurationMinutes();
+                if (lesson.isCompleted()) {
+                    completedLessons++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.edumaster.dto;
+
+import com.edumaster.model.Lesson;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class LessonRequest {
+
+    @NotBlank(message = "Lesson title is required")
+    @Size(max = 255, message = "Lesson title must not exceed 255 characters")
+    private String title;
+
+    private String description;
+
+    @Size(max = 500, message = "Video URL must not exceed 500 characters")
+    private String videoUrl;
+
+    @Min(value = 0, message = "Duration cannot be negative")
+    private Integer durationMinutes = 0;
+
+    // Appended after the last lesson when not given
+    @Min(value = 0, message = "Order index cannot be negative")
+    private Integer orderIndex;
+
+    private Boolean isFreePreview = false;
+
+    private Lesson.ContentType contentType = Lesson.ContentType.VIDEO;
+
+    @Size(max = 500, message = "Content URL must not exceed 500 characters")
+    private String contentUrl;
+
+    // Constructors
+    public LessonRequest() {}
+
+    public LessonRequest(String title, Integer durationMinutes) {
+        this.title = title;
+        this.durationMinutes = durationMinutes;
+    }
+
+    // Getters and Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getVideoUrl() {
+        return videoUrl;
+    }
+
+    public void setVideoUrl(String videoUrl) {
+        this.videoUrl = videoUrl;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public Integer getOrderIndex() {
+        return orderIndex;
+    }
+
+    public void setOrderIndex(Integer orderIndex) {
+        this.orderIndex = orderIndex;
+    }
+
+    public Boolean getIsFreePreview() {
+        return isFreePreview;
+    }
+
+    public void setIsFreePreview(Boolean isFreePreview) {
+        this.isFreePreview = isFreePreview;
+    }
+
+    public Lesson.ContentType getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(Lesson.ContentType contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentUrl() {
+        return contentUrl;
+    }
+
+    public void setContentUrl(String contentUrl) {
+        this.contentUrl = contentUrl;
+    }
+}
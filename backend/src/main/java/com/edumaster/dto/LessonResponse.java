@@ -0,0 +1,138 @@
+package com.edumaster.dto;
+
+import com.edumaster.model.Lesson;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+public class LessonResponse {
+
+    private Long id;
+    private Long courseId;
+    private String title;
+    private String description;
+    private String videoUrl;
+    private Integer durationMinutes;
+    private Integer orderIndex;
+    private boolean isFreePreview;
+    private Lesson.ContentType contentType;
+    private String contentUrl;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public LessonResponse() {}
+
+    public LessonResponse(Lesson lesson) {
+        this.id = lesson.getId();
+        this.courseId = lesson.getCourse().getId();
+        this.title = lesson.getTitle();
+        this.description = lesson.getDescription();
+        this.videoUrl = lesson.getVideoUrl();
+        this.durationMinutes = lesson.getDurationMinutes();
+        this.orderIndex = lesson.getOrderIndex();
+        this.isFreePreview = Boolean.TRUE.equals(lesson.getIsFreePreview());
+        this.contentType = lesson.getContentType();
+        this.contentUrl = lesson.getContentUrl();
+        this.createdAt = lesson.getCreatedAt();
+        this.updatedAt = lesson.getUpdatedAt();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getVideoUrl() {
+        return videoUrl;
+    }
+
+    public void setVideoUrl(String videoUrl) {
+        this.videoUrl = videoUrl;
+    }
+
+    public Integer getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(Integer durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public Integer getOrderIndex() {
+        return orderIndex;
+    }
+
+    public void setOrderIndex(Integer orderIndex) {
+        this.orderIndex = orderIndex;
+    }
+
+    @JsonProperty("isFreePreview")
+    public boolean isFreePreview() {
+        return isFreePreview;
+    }
+
+    public void setFreePreview(boolean freePreview) {
+        isFreePreview = freePreview;
+    }
+
+    public Lesson.ContentType getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(Lesson.ContentType contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentUrl() {
+        return contentUrl;
+    }
+
+    public void setContentUrl(String contentUrl) {
+        this.contentUrl = contentUrl;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
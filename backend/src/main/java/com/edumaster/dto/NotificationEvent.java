@@ -0,0 +1,106 @@
+package com.edumaster.dto;
+
+import com.edumaster.model.Notification;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification pushed to connected clients over Server-Sent Events.
+ * The ID is null for announcements written in bulk.
+ */
+public class NotificationEvent {
+
+    private Long id;
+    private String title;
+    private String message;
+    private Notification.NotificationType type;
+    private String relatedEntityType;
+    private Long relatedEntityId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public NotificationEvent() {}
+
+    public NotificationEvent(Long id, String title, String message, Notification.NotificationType type,
+                             String relatedEntityType, Long relatedEntityId, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.message = message;
+        this.type = type;
+        this.relatedEntityType = relatedEntityType;
+        this.relatedEntityId = relatedEntityId;
+        this.createdAt = createdAt;
+    }
+
+    public static NotificationEvent from(Notification notification) {
+        return new NotificationEvent(
+            notification.getId(),
+            notification.getTitle(),
+            notification.getMessage(),
+            notification.getType(),
+            notification.getRelatedEntityType(),
+            notification.getRelatedEntityId(),
+            notification.getCreatedAt() != null ? notification.getCreatedAt() : LocalDateTime.now()
+        );
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Notification.NotificationType getType() {
+        return type;
+    }
+
+    public void setType(Notification.NotificationType type) {
+        this.type = type;
+    }
+
+    public String getRelatedEntityType() {
+        return relatedEntityType;
+    }
+
+    public void setRelatedEntityType(String relatedEntityType) {
+        this.relatedEntityType = relatedEntityType;
+    }
+
+    public Long getRelatedEntityId() {
+        return relatedEntityId;
+    }
+
+    public void setRelatedEntityId(Long relatedEntityId) {
+        this.relatedEntityId = relatedEntityId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,64 @@
+package com.edumaster.dto;
+
+import com.edumaster.model.CourseRatingStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class RatingSummaryResponse {
+
+    private Long courseId;
+    private long totalReviews;
+    private double averageRating;
+
+    // Star rating (5 down to 1) -> number of approved reviews
+    private Map<Integer, Long> distribution;
+
+    // Constructors
+    public RatingSummaryResponse() {}
+
+    // A course nobody has reviewed yet has no stats row
+    public RatingSummaryResponse(Long courseId, CourseRatingStats stats) {
+        this.courseId = courseId;
+        long[] counts = stats != null ? stats.getDistribution() : new long[5];
+        this.distribution = new LinkedHashMap<>();
+        for (int stars = 5; stars >= 1; stars--) {
+            distribution.put(stars, counts[stars - 1]);
+        }
+        this.totalReviews = stats != null ? stats.getTotalReviews() : 0;
+        this.averageRating = stats != null ? stats.getAverageRating() : 0.0;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public long getTotalReviews() {
+        return totalReviews;
+    }
+
+    public void setTotalReviews(long totalReviews) {
+        this.totalReviews = totalReviews;
+    }
+
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    public void setAverageRating(double averageRating) {
+        this.averageRating = averageRating;
+    }
+
+    public Map<Integer, Long> getDistribution() {
+        return distribution;
+    }
+
+    public void setDistribution(Map<Integer, Long> distribution) {
+        this.distribution = distribution;
+    }
+}
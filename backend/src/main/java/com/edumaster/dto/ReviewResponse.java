@@ -0,0 +1,135 @@
+package com.edumaster.dto;
+
+import com.edumaster.model.Review;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+public class ReviewResponse {
+
+    private Long id;
+    private Long courseId;
+    private Long userId;
+    private String userName;
+    private Integer rating;
+    private String comment;
+    private int helpfulCount;
+    private boolean isApproved;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public ReviewResponse() {}
+
+    // Listing projection (ReviewRepository); only approved reviews are listed
+    public ReviewResponse(Long id, Long courseId, Long userId, String firstName, String lastName,
+                          Integer rating, String comment, Integer helpfulCount,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.courseId = courseId;
+        this.userId = userId;
+        this.userName = firstName + " " + lastName;
+        this.rating = rating;
+        this.comment = comment;
+        this.helpfulCount = helpfulCount != null ? helpfulCount : 0;
+        this.isApproved = true;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    // Expects the user to be loaded
+    public ReviewResponse(Review review) {
+        this.id = review.getId();
+        this.courseId = review.getCourse().getId();
+        this.userId = review.getUser().getId();
+        this.userName = review.getUser().getFullName();
+        this.rating = review.getRating();
+        this.comment = review.getComment();
+        this.helpfulCount = review.getHelpfulCount() != null ? review.getHelpfulCount() : 0;
+        this.isApproved = Boolean.TRUE.equals(review.getIsApproved());
+        this.createdAt = review.getCreatedAt();
+        this.updatedAt = review.getUpdatedAt();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+
+    public int getHelpfulCount() {
+        return helpfulCount;
+    }
+
+    public void setHelpfulCount(int helpfulCount) {
+        this.helpfulCount = helpfulCount;
+    }
+
+    @JsonProperty("isApproved")
+    public boolean isApproved() {
+        return isApproved;
+    }
+
+    public void setApproved(boolean approved) {
+        isApproved = approved;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -5,6 +5,7 @@ import com.edumaster.model.User;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * User Profile Response DTO
@@ -24,6 +25,7 @@ public class UserProfileResponse {
     private Boolean isVerified;
     private Boolean isActive;
     private String profilePictureUrl;
+    private Map<String, String> profilePictureVariants; // size label -> URL, once generated
     private String phone;
     private String bio;
 
@@ -143,6 +145,14 @@ public class UserProfileResponse {
         this.profilePictureUrl = profilePictureUrl;
     }
 
+    public Map<String, String> getProfilePictureVariants() {
+        return profilePictureVariants;
+    }
+
+    public void setProfilePictureVariants(Map<String, String> profilePictureVariants) {
+        this.profilePictureVariants = profilePictureVariants;
+    }
+
     public String getPhone() {
         return phone;
     }
@@ -0,0 +1,17 @@
+package com.edumaster.exception;
+
+/**
+ * SQL Budget Exceeded Exception
+ * 
+ * Thrown when a request runs more SQL statements than its endpoint's budget
+ * while app.sql-budget.mode is FAIL (meant for test runs). Usually points at
+ * an N+1 query introduced by a lazy association.
+ * 
+ * @author EduMaster Team
+ */
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.edumaster.exception;
+
+/**
+ * Upload Limit Exceeded Exception
+ * 
+ * Thrown when a chunked upload would go over one of the per-user or global
+ * limits (open sessions, reserved disk space, chunks in flight). The client
+ * should retry later or finish or abort an earlier upload first.
+ * 
+ * @author EduMaster Team
+ */
+public class UploadLimitExceededException extends RuntimeException {
+
+    public UploadLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,106 @@
+package com.edumaster.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Archived Notification Entity - Read notifications moved out of the hot
+ * notifications table by the retention job. Rows are written in bulk by SQL
+ * and only ever read through JPA, so the entity is immutable.
+ *
+ * @author EduMaster Team
+ */
+@Entity
+@Immutable
+@Table(name = "notifications_archive", indexes = {
+    @Index(name = "idx_notifications_archive_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_notifications_archive_archived", columnList = "archived_at")
+})
+public class ArchivedNotification {
+
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Lob
+    @Column(nullable = false)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Notification.NotificationType type;
+
+    @Column(name = "related_entity_type", length = 50)
+    private String relatedEntityType;
+
+    @Column(name = "related_entity_id")
+    private Long relatedEntityId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+
+    public ArchivedNotification() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Notification.NotificationType getType() {
+        return type;
+    }
+
+    public Boolean getIsRead() {
+        return true;
+    }
+
+    public String getRelatedEntityType() {
+        return relatedEntityType;
+    }
+
+    public Long getRelatedEntityId() {
+        return relatedEntityId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedNotification{" +
+                "id=" + id +
+                ", userId=" + userId +
+                ", title='" + title + '\'' +
+                ", type=" + type +
+                ", createdAt=" + createdAt +
+                ", archivedAt=" + archivedAt +
+                '}';
+    }
+}
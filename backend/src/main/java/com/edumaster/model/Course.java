@@ -1,11 +1,14 @@
 package com.edumaster.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -18,6 +21,7 @@ import java.util.List;
  * @author EduMaster Team
  */
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "courses", indexes = {
     @Index(name = "idx_courses_instructor", columnList = "instructor_id"),
     @Index(name = "idx_courses_category", columnList = "category_id"),
@@ -93,19 +97,34 @@ public class Course {
     private LocalDateTime updatedAt;
 
     // Relationships
+    @JsonIgnore
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @OrderBy("orderIndex ASC")
     private List<Lesson> lessons;
 
+    @JsonIgnore
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Enrollment> enrollments;
 
+    @JsonIgnore
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Payment> payments;
 
+    @JsonIgnore
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Review> reviews;
 
+    // Approved review count and rating sum, read from course_rating_stats with the course row
+    @JsonIgnore
+    @Formula("(SELECT s.stars_1 + s.stars_2 + s.stars_3 + s.stars_4 + s.stars_5 " +
+             "FROM course_rating_stats s WHERE s.course_id = id)")
+    private Long approvedReviewCount;
+
+    @JsonIgnore
+    @Formula("(SELECT s.stars_1 + 2 * s.stars_2 + 3 * s.stars_3 + 4 * s.stars_4 + 5 * s.stars_5 " +
+             "FROM course_rating_stats s WHERE s.course_id = id)")
+    private Long ratingSum;
+
     // Constructors
     public Course() {}
 
@@ -146,18 +165,16 @@ public class Course {
         return enrollments != null ? enrollments.size() : 0;
     }
 
+    // Both over approved reviews only, without loading them
     public double getAverageRating() {
-        if (reviews == null || reviews.isEmpty()) {
+        if (approvedReviewCount == null || approvedReviewCount == 0) {
             return 0.0;
         }
-        return reviews.stream()
-                .mapToInt(Review::getRating)
-                .average()
-                .orElse(0.0);
+        return ratingSum / (double) approvedReviewCount;
     }
 
     public int getTotalReviews() {
-        return reviews != null ? (int) reviews.stream().filter(Review::getIsApproved).count() : 0;
+        return approvedReviewCount != null ? approvedReviewCount.intValue() : 0;
     }
 
     // Getters and Setters
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -18,7 +20,8 @@ import java.time.LocalDateTime;
 public class CourseProgress {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "course_progress_id_generator")
+    @SequenceGenerator(name = "course_progress_id_generator", sequenceName = "course_progress_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Enrollment is required")
@@ -29,6 +32,7 @@ public class CourseProgress {
     @NotNull(message = "Lesson is required")
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "lesson_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Lesson lesson;
 
     @Column(nullable = false)
@@ -0,0 +1,85 @@
+package com.edumaster.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Star histogram of a course's approved reviews.
+ *
+ * Read-only here: rows are only changed by the atomic upsert in ReviewService,
+ * in the same transaction as the review write that moves a rating.
+ */
+@Entity
+@Immutable
+@Table(name = "course_rating_stats")
+public class CourseRatingStats {
+
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "stars_1", nullable = false)
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private long stars5;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public CourseRatingStats() {}
+
+    // Business Methods
+    public long[] getDistribution() {
+        return new long[] {stars1, stars2, stars3, stars4, stars5};
+    }
+
+    public long getTotalReviews() {
+        return stars1 + stars2 + stars3 + stars4 + stars5;
+    }
+
+    public double getAverageRating() {
+        long total = getTotalReviews();
+        return total == 0 ? 0.0 : (stars1 + 2 * stars2 + 3 * stars3 + 4 * stars4 + 5 * stars5) / (double) total;
+    }
+
+    // Getters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public long getStars1() {
+        return stars1;
+    }
+
+    public long getStars2() {
+        return stars2;
+    }
+
+    public long getStars3() {
+        return stars3;
+    }
+
+    public long getStars4() {
+        return stars4;
+    }
+
+    public long getStars5() {
+        return stars5;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
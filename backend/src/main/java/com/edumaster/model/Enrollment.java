@@ -1,5 +1,7 @@
 package com.edumaster.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
@@ -12,17 +14,20 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "enrollments", 
        uniqueConstraints = @UniqueConstraint(name = "unique_enrollment", columnNames = {"user_id", "course_id"}),
        indexes = {
            @Index(name = "idx_enrollments_user", columnList = "user_id"),
            @Index(name = "idx_enrollments_course", columnList = "course_id"),
-           @Index(name = "idx_enrollments_status", columnList = "completion_status")
+           @Index(name = "idx_enrollments_status", columnList = "completion_status"),
+           @Index(name = "idx_enrollments_date_course", columnList = "enrollment_date, course_id")
        })
 public class Enrollment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollment_id_generator")
+    @SequenceGenerator(name = "enrollment_id_generator", sequenceName = "enrollments_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "User is required")
@@ -51,6 +56,7 @@ public class Enrollment {
     @Column(name = "progress_percentage", precision = 5, scale = 2)
     private BigDecimal progressPercentage = BigDecimal.ZERO;
 
+    @JsonIgnore
     @OneToMany(mappedBy = "enrollment", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<CourseProgress> courseProgress;
 
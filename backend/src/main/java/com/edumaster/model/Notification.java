@@ -13,12 +13,21 @@ import java.time.LocalDateTime;
     @Index(name = "idx_notifications_user", columnList = "user_id"),
     @Index(name = "idx_notifications_read", columnList = "is_read"),
     @Index(name = "idx_notifications_type", columnList = "type"),
-    @Index(name = "idx_notifications_created", columnList = "created_at")
+    @Index(name = "idx_notifications_created", columnList = "created_at"),
+    @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_notifications_retention", columnList = "type, is_read, created_at")
 })
 public class Notification {
 
+    // Ids are handed out from the notifications_seq table in blocks of this size;
+    // bulk SQL inserts reserve theirs from the same table
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled ids (table-backed on MySQL) so inserts can be JDBC-batched; IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_id_generator")
+    @SequenceGenerator(name = "notification_id_generator", sequenceName = "notifications_seq",
+                       allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotNull(message = "User is required")
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_id_generator")
+    @SequenceGenerator(name = "payment_id_generator", sequenceName = "payments_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "User is required")
@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
        indexes = {
            @Index(name = "idx_reviews_course", columnList = "course_id"),
            @Index(name = "idx_reviews_rating", columnList = "rating"),
-           @Index(name = "idx_reviews_approved", columnList = "is_approved")
+           @Index(name = "idx_reviews_approved", columnList = "is_approved"),
+           @Index(name = "idx_reviews_course_recent", columnList = "course_id, is_approved"),
+           @Index(name = "idx_reviews_course_helpful", columnList = "course_id, is_approved, helpful_count")
        })
 public class Review {
 
@@ -45,6 +47,10 @@ public class Review {
     @Column(name = "is_approved")
     private Boolean isApproved = true;
 
+    // Maintained with review_votes by ReviewService
+    @Column(name = "helpful_count", nullable = false)
+    private Integer helpfulCount = 0;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -138,6 +144,14 @@ public class Review {
         this.isApproved = isApproved;
     }
 
+    public Integer getHelpfulCount() {
+        return helpfulCount;
+    }
+
+    public void setHelpfulCount(Integer helpfulCount) {
+        this.helpfulCount = helpfulCount;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
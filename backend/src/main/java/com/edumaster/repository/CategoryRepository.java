@@ -42,21 +42,28 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
         return findByNameContainingIgnoreCase(searchTerm, pageable);
     }
     
-    // Simplified - will return all categories for now, service layer can filter
-    default List<Category> findCategoriesHavingPublishedCourses() {
-        return findAllByOrderByNameAsc();
-    }
+    // Published-course aggregates
+    @Query("SELECT cat FROM Category cat WHERE EXISTS (" +
+           "SELECT c.id FROM Course c WHERE c.category = cat AND c.status = com.edumaster.model.CourseStatus.PUBLISHED) " +
+           "ORDER BY cat.name ASC")
+    List<Category> findCategoriesHavingPublishedCourses();
     
-    default Page<Category> findCategoriesHavingPublishedCourses(Pageable pageable) {
-        return findAllByOrderByNameAsc(pageable);
-    }
+    @Query(value = "SELECT cat FROM Category cat WHERE EXISTS (" +
+                   "SELECT c.id FROM Course c WHERE c.category = cat AND c.status = com.edumaster.model.CourseStatus.PUBLISHED)",
+           countQuery = "SELECT COUNT(cat) FROM Category cat WHERE EXISTS (" +
+                   "SELECT c.id FROM Course c WHERE c.category = cat AND c.status = com.edumaster.model.CourseStatus.PUBLISHED)")
+    Page<Category> findCategoriesHavingPublishedCourses(Pageable pageable);
     
-    default List<Category> findCategoriesOrderedByCourseCount() {
-        return findAllByOrderByNameAsc();
-    }
+    @Query("SELECT cat FROM Category cat LEFT JOIN cat.courses c ON c.status = com.edumaster.model.CourseStatus.PUBLISHED " +
+           "GROUP BY cat ORDER BY COUNT(c) DESC, cat.name ASC")
+    List<Category> findCategoriesOrderedByCourseCount();
     
-    // Simplified count method - return 0 for now, can be implemented later
-    default Long countPublishedCoursesByCategoryId(Long categoryId) {
-        return 0L;
-    }
+    @Query("SELECT COUNT(c) FROM Course c WHERE c.category.id = :categoryId " +
+           "AND c.status = com.edumaster.model.CourseStatus.PUBLISHED")
+    Long countPublishedCoursesByCategoryId(@Param("categoryId") Long categoryId);
+    
+    // One grouped pass over courses: [categoryId, publishedCourseCount] for every category with published courses
+    @Query("SELECT c.category.id, COUNT(c) FROM Course c " +
+           "WHERE c.status = com.edumaster.model.CourseStatus.PUBLISHED GROUP BY c.category.id")
+    List<Object[]> countPublishedCoursesGroupedByCategory();
 }
\ No newline at end of file
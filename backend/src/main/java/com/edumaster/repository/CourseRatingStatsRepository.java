@@ -0,0 +1,9 @@
+package com.edumaster.repository;
+
+import com.edumaster.model.CourseRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CourseRatingStatsRepository extends JpaRepository<CourseRatingStats, Long> {
+}
@@ -12,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -100,13 +101,48 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
         return findByStatusAndPrice(CourseStatus.PUBLISHED, BigDecimal.ZERO, pageable);
     }
     
-    // Courses with minimum rating - for now just return all published courses
-    default Page<Course> findCoursesWithMinRating(Double minRating, Pageable pageable) {
-        return findByStatus(CourseStatus.PUBLISHED, pageable);
-    }
+    // Courses with minimum average rating, from the rating histograms rather than the reviews
+    @Query("SELECT c FROM Course c, CourseRatingStats s WHERE s.courseId = c.id " +
+           "AND c.status = com.edumaster.model.CourseStatus.PUBLISHED " +
+           "AND s.stars1 + s.stars2 + s.stars3 + s.stars4 + s.stars5 > 0 " +
+           "AND s.stars1 + 2 * s.stars2 + 3 * s.stars3 + 4 * s.stars4 + 5 * s.stars5 " +
+           "    >= :minRating * (s.stars1 + s.stars2 + s.stars3 + s.stars4 + s.stars5) " +
+           "ORDER BY (s.stars1 + 2 * s.stars2 + 3 * s.stars3 + 4 * s.stars4 + 5 * s.stars5) " +
+           "    / (1.0 * (s.stars1 + s.stars2 + s.stars3 + s.stars4 + s.stars5)) DESC, c.id DESC")
+    Page<Course> findCoursesWithMinRating(@Param("minRating") Double minRating, Pageable pageable);
     
     long countByInstructorIdAndStatus(Long instructorId, CourseStatus status);
     
+    // Course detail page - instructor and category in the same query
+    @Query("SELECT c FROM Course c JOIN FETCH c.instructor JOIN FETCH c.category " +
+           "WHERE c.id = :courseId AND c.status = com.edumaster.model.CourseStatus.PUBLISHED")
+    Optional<Course> findPublishedByIdWithInstructorAndCategory(@Param("courseId") Long courseId);
+
+    @Query("SELECT c FROM Course c JOIN FETCH c.instructor JOIN FETCH c.category " +
+           "WHERE c.id IN :courseIds AND c.status = com.edumaster.model.CourseStatus.PUBLISHED")
+    List<Course> findPublishedByIdInWithInstructorAndCategory(@Param("courseIds") Collection<Long> courseIds);
+
+    // Rows of {courseId, categoryId}, newest first
+    @Query("SELECT c.id, c.category.id FROM Course c " +
+           "WHERE c.category.id IN :categoryIds AND c.status = com.edumaster.model.CourseStatus.PUBLISHED " +
+           "ORDER BY c.createdAt DESC")
+    List<Object[]> findPublishedIdsByCategoryIdIn(@Param("categoryIds") Collection<Long> categoryIds, Pageable pageable);
+
+    @Query("SELECT c.id FROM Course c WHERE c.status = com.edumaster.model.CourseStatus.PUBLISHED " +
+           "ORDER BY c.createdAt DESC")
+    List<Long> findRecentPublishedIds(Pageable pageable);
+
+    // Lesson and enrollment counts in one round trip; ratings come with the course (see Course.getAverageRating)
+    @Query("SELECT (SELECT COUNT(l) FROM Lesson l WHERE l.course.id = c.id), " +
+           "(SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = c.id) " +
+           "FROM Course c WHERE c.id = :courseId")
+    List<Object[]> findCourseStatistics(@Param("courseId") Long courseId);
+
+    @Query("SELECT c.id, (SELECT COUNT(l) FROM Lesson l WHERE l.course.id = c.id), " +
+           "(SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = c.id) " +
+           "FROM Course c WHERE c.id IN :courseIds")
+    List<Object[]> findCourseStatisticsByIdIn(@Param("courseIds") Collection<Long> courseIds);
+
     boolean existsByIdAndStatus(Long courseId, CourseStatus status);
     default boolean existsByIdAndPublished(Long courseId) {
         return existsByIdAndStatus(courseId, CourseStatus.PUBLISHED);
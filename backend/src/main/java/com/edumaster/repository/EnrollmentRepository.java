@@ -30,6 +30,8 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     
     boolean existsByUserAndCourse(User user, Course course);
     
+    boolean existsByUserIdAndCourseId(Long userId, Long courseId);
+    
     // User-specific queries
     @Query("SELECT e FROM Enrollment e WHERE e.user.id = :userId")
     List<Enrollment> findByUserId(@Param("userId") Long userId);
@@ -37,6 +39,19 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     @Query("SELECT e FROM Enrollment e WHERE e.user.id = :userId")
     Page<Enrollment> findByUserId(@Param("userId") Long userId, Pageable pageable);
     
+    @Query("SELECT e.course.id FROM Enrollment e WHERE e.user.id = :userId")
+    List<Long> findCourseIdsByUserId(@Param("userId") Long userId);
+    
+    // Rows of {courseId, categoryId}
+    @Query("SELECT e.course.id, e.course.category.id FROM Enrollment e WHERE e.user.id = :userId")
+    List<Object[]> findCourseAndCategoryIdsByUserId(@Param("userId") Long userId);
+    
+    // Rows of {courseId, enrollments} for published courses, most enrolled first (idx_enrollments_date_course)
+    @Query("SELECT e.course.id, COUNT(e) FROM Enrollment e " +
+           "WHERE e.enrollmentDate >= :since AND e.course.status = com.edumaster.model.CourseStatus.PUBLISHED " +
+           "GROUP BY e.course.id ORDER BY COUNT(e) DESC")
+    List<Object[]> findTrendingCourseIds(@Param("since") LocalDateTime since, Pageable pageable);
+    
     @Query("SELECT e FROM Enrollment e WHERE e.user.id = :userId AND e.completionStatus = :status")
     List<Enrollment> findByUserIdAndCompletionStatus(@Param("userId") Long userId, 
                                                     @Param("status") Enrollment.CompletionStatus status);
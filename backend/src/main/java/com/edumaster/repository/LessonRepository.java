@@ -0,0 +1,51 @@
+package com.edumaster.repository;
+
+import com.edumaster.dto.LessonOutlineItem;
+import com.edumaster.model.Lesson;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LessonRepository extends JpaRepository<Lesson, Long> {
+
+    // Basic queries
+    List<Lesson> findByCourseIdOrderByOrderIndexAsc(Long courseId);
+
+    long countByCourseId(Long courseId);
+
+    @Query("SELECT l FROM Lesson l JOIN FETCH l.course WHERE l.id = :lessonId")
+    Optional<Lesson> findByIdWithCourse(@Param("lessonId") Long lessonId);
+
+    @Query("SELECT l.id FROM Lesson l WHERE l.course.id = :courseId")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("SELECT COALESCE(MAX(l.orderIndex), -1) FROM Lesson l WHERE l.course.id = :courseId")
+    int findMaxOrderIndexByCourseId(@Param("courseId") Long courseId);
+
+    // Outline queries - projections served by idx_lessons_order (course_id, order_index)
+    @Query("SELECT new com.edumaster.dto.LessonOutlineItem(l.id, l.title, l.durationMinutes, l.orderIndex, " +
+           "l.isFreePreview, l.contentType) " +
+           "FROM Lesson l WHERE l.course.id = :courseId ORDER BY l.orderIndex ASC, l.id ASC")
+    List<LessonOutlineItem> findOutlineByCourseId(@Param("courseId") Long courseId);
+
+    // Outline plus the user's progress in one statement; enrollmentId is null on every row when not enrolled
+    @Query("SELECT new com.edumaster.dto.LessonOutlineItem(l.id, l.title, l.durationMinutes, l.orderIndex, " +
+           "l.isFreePreview, l.contentType, e.id, cp.completed, cp.watchTimeSeconds, cp.completedAt) " +
+           "FROM Lesson l " +
+           "LEFT JOIN Enrollment e ON e.course.id = l.course.id AND e.user.id = :userId " +
+           "LEFT JOIN CourseProgress cp ON cp.enrollment.id = e.id AND cp.lesson.id = l.id " +
+           "WHERE l.course.id = :courseId ORDER BY l.orderIndex ASC, l.id ASC")
+    List<LessonOutlineItem> findOutlineWithProgress(@Param("courseId") Long courseId,
+                                                    @Param("userId") Long userId);
+
+    // Progress rows go with the lesson through ON DELETE CASCADE, without loading them
+    @Modifying
+    @Query("DELETE FROM Lesson l WHERE l.id = :lessonId")
+    int deleteLessonById(@Param("lessonId") Long lessonId);
+}
@@ -10,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -29,6 +30,9 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     
     long countByUserId(Long userId);
     
+    @Query("SELECT n.type, n.isRead, COUNT(n) FROM Notification n WHERE n.user.id = :userId GROUP BY n.type, n.isRead")
+    List<Object[]> countByUserIdGroupByTypeAndReadStatus(@Param("userId") Long userId);
+    
     // Type-based queries
     List<Notification> findByUserIdAndTypeOrderByCreatedAtDesc(Long userId, Notification.NotificationType type);
     
@@ -43,12 +47,22 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findByUserIdAndRelatedEntityTypeAndRelatedEntityIdOrderByCreatedAtDesc(
         Long userId, String relatedEntityType, Long relatedEntityId);
     
-    // Bulk operations
-    @Modifying
+    // Bulk operations - single set-based statements that return affected row counts
+    // and clear the persistence context so no stale managed entities survive them
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("DELETE FROM Notification n WHERE n.user.id = :userId")
-    void deleteByUserId(@Param("userId") Long userId);
+    int deleteByUserId(@Param("userId") Long userId);
     
-    @Modifying
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
     @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
-    void markAllAsReadByUserId(@Param("userId") Long userId);
+    int markAllAsReadByUserId(@Param("userId") Long userId);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true " +
+           "WHERE n.user.id = :userId AND n.id IN :ids AND n.isRead = false")
+    int markAsReadByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId AND n.id IN :ids")
+    int deleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
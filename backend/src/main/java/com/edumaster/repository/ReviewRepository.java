@@ -0,0 +1,43 @@
+package com.edumaster.repository;
+
+import com.edumaster.dto.ReviewResponse;
+import com.edumaster.model.Review;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    boolean existsByUserIdAndCourseId(Long userId, Long courseId);
+
+    // Serializes changes to one review, so rating deltas are computed from its current state
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.id = :reviewId")
+    Optional<Review> findByIdForUpdate(@Param("reviewId") Long reviewId);
+
+    // Keyset pages of approved reviews, read along idx_reviews_course_recent / idx_reviews_course_helpful
+    @Query("SELECT new com.edumaster.dto.ReviewResponse(r.id, r.course.id, u.id, u.firstName, u.lastName, " +
+           "r.rating, r.comment, r.helpfulCount, r.createdAt, r.updatedAt) " +
+           "FROM Review r JOIN r.user u " +
+           "WHERE r.course.id = :courseId AND r.isApproved = true AND r.id < :beforeId " +
+           "ORDER BY r.id DESC")
+    List<ReviewResponse> findRecentPage(@Param("courseId") Long courseId,
+                                        @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("SELECT new com.edumaster.dto.ReviewResponse(r.id, r.course.id, u.id, u.firstName, u.lastName, " +
+           "r.rating, r.comment, r.helpfulCount, r.createdAt, r.updatedAt) " +
+           "FROM Review r JOIN r.user u " +
+           "WHERE r.course.id = :courseId AND r.isApproved = true " +
+           "AND (r.helpfulCount < :helpfulCount OR (r.helpfulCount = :helpfulCount AND r.id < :beforeId)) " +
+           "ORDER BY r.helpfulCount DESC, r.id DESC")
+    List<ReviewResponse> findHelpfulPage(@Param("courseId") Long courseId, @Param("helpfulCount") Integer helpfulCount,
+                                         @Param("beforeId") Long beforeId, Pageable pageable);
+}
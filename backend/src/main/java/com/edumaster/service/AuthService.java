@@ -8,7 +8,9 @@ import com.edumaster.exception.InvalidCredentialsException;
 import com.edumaster.model.Role;
 import com.edumaster.model.User;
 import com.edumaster.repository.UserRepository;
+import com.edumaster.security.UserDetailsServiceImpl;
 import com.edumaster.security.UserPrincipal;
+import com.edumaster.util.EmailVerificationTokens;
 import com.edumaster.util.JwtUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +35,7 @@ import org.springframework.transaction.annotation.Transactional;
  * - Password encryption using BCrypt
  * - Email uniqueness validation
  * - Role assignment during registration
+ * - Email verification links, queued in the registration transaction
  * 
  * @author EduMaster Team
  */
@@ -54,6 +57,15 @@ public class AuthService {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailVerificationTokens verificationTokens;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
     /**
      * Register a new user
      * 
@@ -91,6 +103,9 @@ public class AuthService {
         User savedUser = userRepository.save(user);
         logger.info("User registered successfully with ID: {}", savedUser.getId());
 
+        // Sent after commit by EmailDispatcher; no email for a registration that rolls back
+        emailOutboxService.enqueueVerificationEmail(savedUser);
+
         // Create UserPrincipal for JWT generation
         UserPrincipal userPrincipal = UserPrincipal.create(savedUser);
 
@@ -216,6 +231,28 @@ public class AuthService {
         }
     }
 
+    /**
+     * Mark the user's email address as verified
+     * 
+     * @param token Token from the verification email
+     * @throws IllegalArgumentException if the token is invalid, expired or for a previous address
+     */
+    public void verifyEmail(String token) {
+        Long userId = verificationTokens.userId(token);
+        User user = userId != null ? userRepository.findById(userId).orElse(null) : null;
+        if (user == null || !verificationTokens.verify(token, user.getId(), user.getEmail())) {
+            throw new IllegalArgumentException("Invalid or expired verification link");
+        }
+
+        if (!Boolean.TRUE.equals(user.getIsVerified())) {
+            user.setIsVerified(true);
+            userRepository.save(user);
+            // Cached principals are disabled until verified; drop them so login works right away
+            userDetailsService.evictUser(user.getEmail());
+            logger.info("Email verified for user: {}", user.getEmail());
+        }
+    }
+
     /**
      * Check if email is available for registration
      * 
@@ -0,0 +1,129 @@
+package com.edumaster.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Catalog Response Cache
+ *
+ * Serialized response bodies of the hottest public catalog requests, keyed by
+ * request path and query. Each entry remembers the catalog version it was
+ * rendered at and is ignored once that version moves on, so writes never need
+ * to find and remove entries.
+ *
+ * The cache is bounded by total body size: the least recently used entries
+ * are evicted once the budget is exceeded, and bodies larger than the
+ * per-entry limit are never stored.
+ *
+ * @author EduMaster Team
+ */
+@Component
+public class CatalogResponseCache {
+
+    private final long maxBytes;
+    private final int maxEntryBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CatalogResponseCache(@Value("${app.http-cache.max-bytes:16777216}") long maxBytes,
+                                @Value("${app.http-cache.max-entry-bytes:262144}") int maxEntryBytes,
+                                MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        this.maxEntryBytes = maxEntryBytes;
+        this.hits = Counter.builder("edumaster.cache.gets").tag("region", "catalog-responses")
+            .tag("tier", "near").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("edumaster.cache.gets").tag("region", "catalog-responses")
+            .tag("tier", "all").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("edumaster.cache.size", this, CatalogResponseCache::size)
+            .tag("region", "catalog-responses").register(meterRegistry);
+    }
+
+    /**
+     * @return the cached response for the key if it was rendered at the given
+     *         version, otherwise null
+     */
+    public CachedResponse get(String key, long version) {
+        lock.lock();
+        try {
+            CachedResponse cached = entries.get(key);
+            if (cached != null && cached.getVersion() == version) {
+                hits.increment();
+                return cached;
+            }
+            misses.increment();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String key, long version, String contentType, byte[] body) {
+        if (body.length == 0 || body.length > maxEntryBytes) {
+            return;
+        }
+
+        CachedResponse cached = new CachedResponse(version, contentType, body);
+        lock.lock();
+        try {
+            CachedResponse previous = entries.put(key, cached);
+            if (previous != null) {
+                totalBytes -= previous.getBody().length;
+            }
+            totalBytes += body.length;
+
+            Iterator<CachedResponse> eldest = entries.values().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                totalBytes -= eldest.next().getBody().length;
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Immutable cached response body
+    public static final class CachedResponse {
+        private final long version;
+        private final String contentType;
+        private final byte[] body;
+
+        private CachedResponse(long version, String contentType, byte[] body) {
+            this.version = version;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.edumaster.service;
+
+import com.edumaster.cache.CacheMessage;
+import com.edumaster.cache.SharedCacheStore;
+import com.edumaster.cache.TwoLevelCacheManager;
+import com.edumaster.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalog Versions
+ *
+ * Version counters for the public catalog. Every write that can change a
+ * public course or category response bumps the matching counters once its
+ * transaction commits. Caches compare the counter with the version they were
+ * built at, and HTTP responses derive their ETag and Last-Modified from it.
+ *
+ * Besides the two listing counters, each course has its own version so a
+ * course detail page stays cached while other courses change. Course versions
+ * are drawn from one sequence and raised together by catalog-wide changes
+ * (category renames, instructor profiles), so they only ever move forward.
+ *
+ * All counters are cluster-wide: new values are drawn from the shared cache
+ * store and broadcast to the other nodes, so every node serves the same ETags
+ * and drops the same cached responses after a write on any node. A node that
+ * starts later treats every course as changed at the current sequence value
+ * until the next catalog-wide change.
+ *
+ * @author EduMaster Team
+ */
+@Component
+public class CatalogVersions {
+
+    public enum Resource {
+        COURSES,
+        CATEGORIES
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersions.class);
+
+    private static final String TOPIC = "catalog-versions";
+    private static final String COURSE_SEQUENCE = "course-sequence";
+    private static final String ALL_COURSES = "all-courses";
+    private static final String COURSE_PREFIX = "course:";
+
+    @Autowired
+    private SharedCacheStore sharedCacheStore;
+
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
+    private final Counter courses = new Counter("courses");
+    private final Counter categories = new Counter("categories");
+
+    private final AtomicLong courseSequence = new AtomicLong();
+    private final ConcurrentHashMap<Long, Long> courseStamps = new ConcurrentHashMap<>();
+    private final AtomicLong allCoursesStamp = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        long now = System.currentTimeMillis();
+        courses.advance(readCounter(courses.name), now);
+        categories.advance(readCounter(categories.name), now);
+
+        // Per-course stamps from before this node started are unknown; every course is at most this fresh
+        long sequence = readCounter(COURSE_SEQUENCE);
+        courseSequence.accumulateAndGet(sequence, Math::max);
+        applyAllCourses(sequence);
+
+        cacheManager.subscribe(TOPIC, this::onMessage);
+    }
+
+    public long getVersion(Resource resource) {
+        return counter(resource).version.get();
+    }
+
+    /**
+     * Time of the last change, in epoch milliseconds (application start until
+     * the first write).
+     */
+    public long getLastModified(Resource resource) {
+        return counter(resource).lastModified;
+    }
+
+    /**
+     * Version of a single course's detail response.
+     */
+    public long getCourseVersion(Long courseId) {
+        return Math.max(courseStamps.getOrDefault(courseId, 0L), allCoursesStamp.get());
+    }
+
+    /**
+     * A course was created, edited, deleted or changed status. Category course
+     * counts depend on published courses, so categories change too.
+     */
+    public void courseChanged(Long courseId) {
+        TransactionUtils.afterCommit(() -> {
+            bumpCourse(courseId);
+            bump(courses);
+            bump(categories);
+        });
+    }
+
+    /**
+     * Statistics embedded in a course response changed (enrollments, lessons,
+     * reviews); category listings are unaffected.
+     */
+    public void courseDetailsChanged(Long courseId) {
+        TransactionUtils.afterCommit(() -> {
+            bumpCourse(courseId);
+            bump(courses);
+        });
+    }
+
+    /**
+     * Instructor details shown on course responses changed.
+     */
+    public void instructorChanged() {
+        TransactionUtils.afterCommit(() -> {
+            bumpAllCourses();
+            bump(courses);
+        });
+    }
+
+    /**
+     * A category was created, renamed or deleted. Course responses embed the
+     * category, so courses change too.
+     */
+    public void categoriesChanged() {
+        TransactionUtils.afterCommit(() -> {
+            bumpAllCourses();
+            bump(categories);
+            bump(courses);
+        });
+    }
+
+    private void bump(Counter counter) {
+        // Publish the timestamp first so a reader of the new version never sees an older time
+        long now = System.currentTimeMillis();
+        counter.lastModified = now;
+        long version = nextValue(counter.name, counter.version);
+        counter.version.accumulateAndGet(version, Math::max);
+        cacheManager.publish(TOPIC, counter.name, version);
+    }
+
+    private void bumpCourse(Long courseId) {
+        long stamp = nextValue(COURSE_SEQUENCE, courseSequence);
+        applyCourse(courseId, stamp);
+        cacheManager.publish(TOPIC, COURSE_PREFIX + courseId, stamp);
+    }
+
+    private void bumpAllCourses() {
+        long stamp = nextValue(COURSE_SEQUENCE, courseSequence);
+        applyAllCourses(stamp);
+        cacheManager.publish(TOPIC, ALL_COURSES, stamp);
+    }
+
+    private void applyCourse(Long courseId, long stamp) {
+        courseStamps.merge(courseId, stamp, Math::max);
+    }
+
+    private void applyAllCourses(long stamp) {
+        allCoursesStamp.accumulateAndGet(stamp, Math::max);
+        // Every course is now at least at this stamp; older per-course stamps are redundant
+        courseStamps.values().removeIf(courseStamp -> courseStamp < stamp);
+    }
+
+    // A version change made on another node
+    private void onMessage(CacheMessage message) {
+        String key = message.getKey();
+        long value = message.getValue();
+        if (key.startsWith(COURSE_PREFIX)) {
+            courseSequence.accumulateAndGet(value, Math::max);
+            applyCourse(Long.valueOf(key.substring(COURSE_PREFIX.length())), value);
+        } else if (ALL_COURSES.equals(key)) {
+            courseSequence.accumulateAndGet(value, Math::max);
+            applyAllCourses(value);
+        } else if (courses.name.equals(key)) {
+            courses.advance(value, message.getTimestamp());
+        } else if (categories.name.equals(key)) {
+            categories.advance(value, message.getTimestamp());
+        }
+    }
+
+    /**
+     * Next value of a cluster-wide counter. While the shared store is
+     * unreachable versions continue from the highest value seen locally, so
+     * this node's caches still move forward.
+     */
+    private long nextValue(String name, AtomicLong highestSeen) {
+        try {
+            long value = sharedCacheStore.increment(cacheManager.sharedKey("catalog", name));
+            highestSeen.accumulateAndGet(value, Math::max);
+            return value;
+        } catch (RuntimeException e) {
+            logger.warn("Shared catalog counter {} unavailable, continuing locally: {}", name, e.getMessage());
+            return highestSeen.incrementAndGet();
+        }
+    }
+
+    private long readCounter(String name) {
+        try {
+            return sharedCacheStore.getCounter(cacheManager.sharedKey("catalog", name));
+        } catch (RuntimeException e) {
+            logger.warn("Shared catalog counter {} unavailable at startup: {}", name, e.getMessage());
+            return 0L;
+        }
+    }
+
+    private Counter counter(Resource resource) {
+        return resource == Resource.COURSES ? courses : categories;
+    }
+
+    private static final class Counter {
+        private final String name;
+        private final AtomicLong version = new AtomicLong();
+        private volatile long lastModified = System.currentTimeMillis();
+
+        private Counter(String name) {
+            this.name = name;
+        }
+
+        // Move to a version reached elsewhere; never backwards
+        private void advance(long newVersion, long timestamp) {
+            if (newVersion > version.get()) {
+                lastModified = Math.max(lastModified, timestamp);
+                version.accumulateAndGet(newVersion, Math::max);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.edumaster.service;
+
+import com.edumaster.cache.CacheRegion;
+import com.edumaster.cache.TwoLevelCache;
+import com.edumaster.cache.TwoLevelCacheManager;
+import com.edumaster.dto.CategoryResponse;
+import com.edumaster.repository.CategoryRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Category Catalog Cache
+ *
+ * Holds an immutable snapshot of all categories together with their
+ * published-course counts, pre-sorted for every public listing (by name,
+ * by course count, only categories with courses). The snapshot is built
+ * from two queries - the category list and one grouped count over courses -
+ * and readers never touch the database while it is valid.
+ *
+ * The snapshot is tagged with the {@link CatalogVersions} categories version
+ * it was built at; the first read after a course or category write commits
+ * rebuilds it. The rows behind the snapshot go through the
+ * {@link CacheRegion#CATEGORIES} two-level cache, so after a write only one
+ * node runs the queries and the others rebuild from the shared tier.
+ *
+ * @author EduMaster Team
+ */
+@Component
+public class CategoryCatalogCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryCatalogCache.class);
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
+    // Category rows by name, shared between nodes through the CATEGORIES region
+    private TwoLevelCache<List<CategoryResponse>> rows;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    public void init() {
+        rows = cacheManager.getCache(CacheRegion.CATEGORIES, new TypeReference<List<CategoryResponse>>() {});
+    }
+
+    public Snapshot get() {
+        Snapshot current = snapshot;
+        if (current != null && current.version == currentVersion()) {
+            return current;
+        }
+        return rebuild();
+    }
+
+    private long currentVersion() {
+        return catalogVersions.getVersion(CatalogVersions.Resource.CATEGORIES);
+    }
+
+    // ReentrantLock rather than synchronized: a virtual thread blocked on the queries below must not pin its carrier
+    private Snapshot rebuild() {
+        rebuildLock.lock();
+        try {
+            return rebuildLocked();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private List<CategoryResponse> loadRows() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : categoryRepository.countPublishedCoursesGroupedByCategory()) {
+            counts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+
+        return categoryRepository.findAllByOrderByNameAsc().stream()
+            .map(category -> new CategoryResponse(category, counts.getOrDefault(category.getId(), 0L)))
+            .toList();
+    }
+
+    private Snapshot rebuildLocked() {
+        long targetVersion = currentVersion();
+        Snapshot current = snapshot;
+        if (current != null && current.version == targetVersion) {
+            return current;
+        }
+
+        List<CategoryResponse> byName = rows.get("all", targetVersion, this::loadRows);
+
+        Snapshot rebuilt = new Snapshot(targetVersion, byName);
+        snapshot = rebuilt;
+        logger.debug("Rebuilt category catalog snapshot v{} with {} categories", targetVersion, byName.size());
+        return rebuilt;
+    }
+
+    // Immutable view of the category catalog
+    public static final class Snapshot {
+        private final long version;
+        private final List<CategoryResponse> byName;
+        private final List<CategoryResponse> byCourseCount;
+        private final List<CategoryResponse> withCourses;
+        private final Map<Long, CategoryResponse> byId;
+
+        private Snapshot(long version, List<CategoryResponse> byName) {
+            this.version = version;
+            this.byName = List.copyOf(byName);
+            this.byCourseCount = byName.stream()
+                .sorted(Comparator.comparingLong(CategoryResponse::getPublishedCourses).reversed()
+                    .thenComparing(CategoryResponse::getName))
+                .toList();
+            this.withCourses = byName.stream()
+                .filter(category -> category.getPublishedCourses() > 0)
+                .toList();
+            Map<Long, CategoryResponse> index = new HashMap<>();
+            byName.forEach(category -> index.put(category.getId(), category));
+            this.byId = Map.copyOf(index);
+        }
+
+        public List<CategoryResponse> getAll() {
+            return byName;
+        }
+
+        public List<CategoryResponse> getWithPublishedCourses() {
+            return withCourses;
+        }
+
+        public List<CategoryResponse> getPopular(int limit) {
+            return byCourseCount.size() > limit ? byCourseCount.subList(0, limit) : byCourseCount;
+        }
+
+        public Optional<CategoryResponse> getById(Long categoryId) {
+            return Optional.ofNullable(byId.get(categoryId));
+        }
+
+        public long getPublishedCourses(Long categoryId) {
+            CategoryResponse category = byId.get(categoryId);
+            return category != null ? category.getPublishedCourses() : 0L;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.edumaster.service;
 
+import com.edumaster.dto.CategoryResponse;
 import com.edumaster.exception.ResourceNotFoundException;
 import com.edumaster.exception.UserAlreadyExistsException;
 import com.edumaster.model.Category;
 import com.edumaster.repository.CategoryRepository;
+import com.edumaster.repository.CourseRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,7 +19,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class CategoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(CategoryService.class);
@@ -25,8 +27,18 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CategoryCatalogCache categoryCatalogCache;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
     // Create Operations
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public Category createCategory(Category category) {
         logger.info("Creating new category: {}", category.getName());
         
@@ -36,15 +48,16 @@ public class CategoryService {
         }
         
         Category savedCategory = categoryRepository.save(category);
+        catalogVersions.categoriesChanged();
         logger.info("Category created successfully with ID: {}", savedCategory.getId());
         
         return savedCategory;
     }
 
     // Read Operations
-    public List<Category> getAllCategories() {
+    public List<CategoryResponse> getAllCategories() {
         logger.info("Fetching all categories");
-        return categoryRepository.findAllByOrderByNameAsc();
+        return categoryCatalogCache.get().getAll();
     }
 
     public Page<Category> getAllCategories(Pageable pageable) {
@@ -84,9 +97,9 @@ public class CategoryService {
     }
 
     // Categories with published courses
-    public List<Category> getCategoriesWithPublishedCourses() {
+    public List<CategoryResponse> getCategoriesWithPublishedCourses() {
         logger.info("Fetching categories that have published courses");
-        return categoryRepository.findCategoriesHavingPublishedCourses();
+        return categoryCatalogCache.get().getWithPublishedCourses();
     }
 
     public Page<Category> getCategoriesWithPublishedCourses(Pageable pageable) {
@@ -94,13 +107,14 @@ public class CategoryService {
         return categoryRepository.findCategoriesHavingPublishedCourses(pageable);
     }
 
-    public List<Category> getCategoriesOrderedByCourseCount() {
+    public List<CategoryResponse> getCategoriesOrderedByCourseCount() {
         logger.info("Fetching categories ordered by course count");
-        return categoryRepository.findCategoriesOrderedByCourseCount();
+        return categoryCatalogCache.get().getPopular(Integer.MAX_VALUE);
     }
 
     // Update Operations
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public Category updateCategory(Long categoryId, Category categoryDetails) {
         logger.info("Updating category with ID: {}", categoryId);
         
@@ -117,6 +131,7 @@ public class CategoryService {
         existingCategory.setDescription(categoryDetails.getDescription());
         
         Category updatedCategory = categoryRepository.save(existingCategory);
+        catalogVersions.categoriesChanged();
         logger.info("Category updated successfully: {}", updatedCategory.getName());
         
         return updatedCategory;
@@ -124,19 +139,21 @@ public class CategoryService {
 
     // Delete Operations
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public void deleteCategory(Long categoryId) {
         logger.info("Deleting category with ID: {}", categoryId);
         
         Category category = getCategoryByIdOrThrow(categoryId);
         
-        // Check if category has courses
-        long courseCount = categoryRepository.countPublishedCoursesByCategoryId(categoryId);
+        // Check if category has courses (in any status - deleting would cascade to them)
+        long courseCount = courseRepository.countByCategoryId(categoryId);
         if (courseCount > 0) {
             throw new IllegalStateException("Cannot delete category with existing courses. " +
                                           "Please reassign or delete the courses first.");
         }
         
         categoryRepository.delete(category);
+        catalogVersions.categoriesChanged();
         logger.info("Category deleted successfully with ID: {}", categoryId);
     }
 
@@ -146,11 +163,11 @@ public class CategoryService {
     }
 
     public long getPublishedCoursesCountByCategory(Long categoryId) {
-        return categoryRepository.countPublishedCoursesByCategoryId(categoryId);
+        return categoryCatalogCache.get().getPublishedCourses(categoryId);
     }
 
     public long getCategoriesWithCoursesCount() {
-        return categoryRepository.findCategoriesHavingPublishedCourses().size();
+        return categoryCatalogCache.get().getWithPublishedCourses().size();
     }
 
     // Validation Methods
@@ -163,6 +180,7 @@ public class CategoryService {
     }
 
     // Utility Methods
+    @Transactional
     public Category getOrCreateCategory(String categoryName, String description) {
         Optional<Category> existingCategory = categoryRepository.findByName(categoryName);
         
@@ -174,20 +192,20 @@ public class CategoryService {
         newCategory.setName(categoryName);
         newCategory.setDescription(description);
         
-        return categoryRepository.save(newCategory);
+        Category savedCategory = categoryRepository.save(newCategory);
+        catalogVersions.categoriesChanged();
+        return savedCategory;
     }
 
     // Popular categories (categories with most published courses)
-    public List<Category> getPopularCategories(int limit) {
+    public List<CategoryResponse> getPopularCategories(int limit) {
         logger.info("Fetching top {} popular categories", limit);
-        List<Category> categories = categoryRepository.findCategoriesOrderedByCourseCount();
-        
-        return categories.size() > limit ? categories.subList(0, limit) : categories;
+        return categoryCatalogCache.get().getPopular(limit);
     }
 
     // Categories for dropdown/select components
-    public List<Category> getCategoriesForDropdown() {
+    public List<CategoryResponse> getCategoriesForDropdown() {
         logger.info("Fetching categories for dropdown");
-        return categoryRepository.findAllByOrderByNameAsc();
+        return categoryCatalogCache.get().getAll();
     }
 }
\ No newline at end of file
@@ -0,0 +1,448 @@
+package com.edumaster.service;
+
+import com.edumaster.dto.LessonResponse;
+import com.edumaster.dto.UploadInitRequest;
+import com.edumaster.dto.UploadSessionResponse;
+import com.edumaster.exception.ResourceNotFoundException;
+import com.edumaster.exception.UploadLimitExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Chunked Upload Service
+ *
+ * Resumable uploads for lecture videos larger than the multipart limit.
+ * A client opens a session, sends fixed-size chunks in any order and in
+ * parallel, asks which chunks are missing after a failure, and completes.
+ *
+ * Key Features:
+ * - Each chunk is streamed straight from the request into its offset of the
+ *   session's part file with positional FileChannel writes; nothing is
+ *   assembled or read back afterwards
+ * - Every chunk carries a SHA-256 that is checked while it is written; a
+ *   chunk that fails the check is simply sent again
+ * - The finished file is named by the SHA-256 of its chunk hashes and moved
+ *   into the {@link MediaStore} with a rename
+ * - Per instructor: limited open sessions, reserved disk space and chunks in
+ *   flight (each holds one 64KB buffer), plus a global disk reservation
+ * - Idle sessions expire and their part files are deleted
+ *
+ * Sessions live in memory on the node that opened them, so uploads need
+ * sticky routing when several nodes run.
+ *
+ * @author EduMaster Team
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    // Chunk states
+    private static final int MISSING = 0;
+    private static final int WRITING = 1;
+    private static final int RECEIVED = 2;
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Value("${app.uploads.chunk-size:8388608}")
+    private long chunkSize;
+
+    @Value("${app.uploads.max-file-size:10737418240}")
+    private long maxFileSize;
+
+    @Value("${app.uploads.max-sessions-per-user:3}")
+    private int maxSessionsPerUser;
+
+    @Value("${app.uploads.max-reserved-bytes-per-user:21474836480}")
+    private long maxReservedBytesPerUser;
+
+    @Value("${app.uploads.max-reserved-bytes:107374182400}")
+    private long maxReservedBytes;
+
+    @Value("${app.uploads.max-chunks-in-flight-per-user:4}")
+    private int maxChunksInFlightPerUser;
+
+    @Value("${app.uploads.session-ttl-minutes:60}")
+    private long sessionTtlMinutes;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, UserUploads> users = new ConcurrentHashMap<>();
+
+    // Guards the session counts and byte reservations below and in UserUploads
+    private final ReentrantLock reservationLock = new ReentrantLock();
+    private long reservedBytes;
+
+    /**
+     * Open an upload session and reserve its size against the limits.
+     */
+    public UploadSessionResponse startUpload(Long userId, UploadInitRequest request) throws IOException {
+        long totalSize = request.getTotalSize();
+        if (totalSize > maxFileSize) {
+            throw new IllegalArgumentException("File exceeds the maximum upload size of " + maxFileSize + " bytes");
+        }
+        if (!mediaStore.isAllowed(request.getFileName())) {
+            throw new IllegalArgumentException("File type not allowed: " + request.getFileName());
+        }
+        LessonService.MediaSlot slot = LessonService.MediaSlot.valueOf(request.getSlot().toUpperCase(Locale.ROOT));
+        if (request.getLessonId() != null) {
+            lessonService.checkCanManageLesson(request.getLessonId());
+        }
+
+        reserve(userId, totalSize);
+        UploadSession session;
+        try {
+            Path partFile = mediaStore.createTempFile("chunked-");
+            if (Files.getFileStore(partFile).getUsableSpace() < totalSize) {
+                Files.deleteIfExists(partFile);
+                throw new UploadLimitExceededException("Not enough disk space for this upload");
+            }
+            session = new UploadSession(UUID.randomUUID().toString(), userId, request.getLessonId(), slot,
+                request.getFileName(), totalSize, chunkSize, partFile);
+        } catch (IOException | RuntimeException e) {
+            release(userId, totalSize);
+            throw e;
+        }
+
+        sessions.put(session.id, session);
+        logger.info("User {} started upload {} of {} ({} bytes, {} chunks)",
+            userId, session.id, session.fileName, totalSize, session.totalChunks);
+        return toResponse(session);
+    }
+
+    public UploadSessionResponse getUpload(Long userId, String uploadId) {
+        return toResponse(getSession(userId, uploadId));
+    }
+
+    /**
+     * Write one chunk at its offset (index * chunkSize), checking its length
+     * and SHA-256. Chunks may arrive in any order and in parallel; sending a
+     * received chunk again with the same checksum is a no-op.
+     *
+     * @param sha256 lowercase hex SHA-256 of the chunk
+     * @param body the chunk bytes, read to the end
+     */
+    public UploadSessionResponse writeChunk(Long userId, String uploadId, int index, String sha256,
+                                            InputStream body) throws IOException {
+        UploadSession session = getSession(userId, uploadId);
+        if (index < 0 || index >= session.totalChunks) {
+            throw new IllegalArgumentException("Chunk index must be between 0 and " + (session.totalChunks - 1));
+        }
+        String expectedHash = sha256 != null ? sha256.toLowerCase(Locale.ROOT) : "";
+        if (!SHA256_HEX.matcher(expectedHash).matches()) {
+            throw new IllegalArgumentException("A hex SHA-256 checksum of the chunk is required");
+        }
+
+        if (!session.states.compareAndSet(index, MISSING, WRITING)) {
+            if (session.states.get(index) == RECEIVED
+                    && HexFormat.of().formatHex(session.hashes.get(index)).equals(expectedHash)) {
+                return toResponse(session);
+            }
+            throw new IllegalStateException("Chunk " + index + " is already being uploaded or was received with a different checksum");
+        }
+
+        Semaphore inFlight = userUploads(userId).inFlight;
+        if (!inFlight.tryAcquire()) {
+            session.states.set(index, MISSING);
+            throw new UploadLimitExceededException("Too many chunks in flight, at most " + maxChunksInFlightPerUser);
+        }
+        try {
+            long offset = index * session.chunkSize;
+            long length = Math.min(session.chunkSize, session.totalSize - offset);
+            byte[] hash = transfer(body, session.channel, offset, length);
+            if (!HexFormat.of().formatHex(hash).equals(expectedHash)) {
+                throw new IllegalArgumentException("Checksum mismatch for chunk " + index);
+            }
+            session.hashes.set(index, hash);
+            session.states.set(index, RECEIVED);
+            session.received.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            session.states.set(index, MISSING);
+            throw e;
+        } finally {
+            inFlight.release();
+            session.touch();
+        }
+        return toResponse(session);
+    }
+
+    /**
+     * Finish an upload whose chunks have all been received: move the part
+     * file into the media store and attach it to the lesson, if any.
+     */
+    public UploadSessionResponse completeUpload(Long userId, String uploadId) throws IOException {
+        UploadSession session = getSession(userId, uploadId);
+        if (session.received.get() != session.totalChunks) {
+            throw new IllegalStateException("Upload incomplete, " + (session.totalChunks - session.received.get()) + " chunks missing");
+        }
+        if (!sessions.remove(uploadId, session)) {
+            throw new ResourceNotFoundException("Upload not found: " + uploadId);
+        }
+
+        MediaStore.StoredMedia media;
+        try {
+            // One flush per upload: a hash-named file must never turn out torn after a crash
+            session.channel.force(false);
+            session.channel.close();
+            media = mediaStore.adopt(session.partFile, treeHash(session), session.fileName, session.totalSize);
+        } finally {
+            session.discard();
+            release(userId, session.totalSize);
+        }
+        logger.info("Upload {} completed as media {}", uploadId, media.name());
+
+        UploadSessionResponse response = toResponse(session);
+        response.setMediaName(media.name());
+        if (session.lessonId != null) {
+            LessonResponse lesson = lessonService.attachMedia(session.lessonId, session.slot, media.name());
+            response.setLesson(lesson);
+        }
+        return response;
+    }
+
+    public void abortUpload(Long userId, String uploadId) {
+        UploadSession session = getSession(userId, uploadId);
+        if (sessions.remove(uploadId, session)) {
+            session.discard();
+            release(userId, session.totalSize);
+            logger.info("Upload {} aborted", uploadId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.uploads.cleanup-interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void expireIdleSessions() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(sessionTtlMinutes);
+        for (UploadSession session : sessions.values()) {
+            if (session.lastActivity < cutoff && !session.hasChunkInFlight() && sessions.remove(session.id, session)) {
+                session.discard();
+                release(session.userId, session.totalSize);
+                logger.info("Upload {} of user {} expired", session.id, session.userId);
+            }
+        }
+    }
+
+    // Streams exactly length bytes from the body to the given offset, returning their SHA-256
+    private static byte[] transfer(InputStream body, FileChannel channel, long offset, long length) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long position = offset;
+        long remaining = length;
+        while (true) {
+            // Ask for one byte more than expected so an oversized chunk is noticed
+            int read = body.read(buffer.array(), 0, (int) Math.min(BUFFER_SIZE, remaining + 1));
+            if (read == -1) {
+                break;
+            }
+            if (read > remaining) {
+                throw new IllegalArgumentException("Chunk is larger than " + length + " bytes");
+            }
+            digest.update(buffer.array(), 0, read);
+            buffer.clear().limit(read);
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            remaining -= read;
+        }
+        if (remaining != 0) {
+            throw new IllegalArgumentException("Chunk is shorter than " + length + " bytes");
+        }
+        return digest.digest();
+    }
+
+    // SHA-256 over the chunk hashes in order; depends only on content and the fixed chunk size.
+    // The prefix keeps tree hashes apart from plain content hashes, which share the media store's
+    // names: otherwise a file whose bytes are the concatenated chunk hashes would take this name.
+    private static String treeHash(UploadSession session) {
+        MessageDigest digest = sha256();
+        digest.update(("chunked:" + session.chunkSize + "\n").getBytes(StandardCharsets.US_ASCII));
+        for (int i = 0; i < session.totalChunks; i++) {
+            digest.update(session.hashes.get(i));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private UploadSession getSession(Long userId, String uploadId) {
+        UploadSession session = sessions.get(uploadId);
+        if (session == null || !session.userId.equals(userId)) {
+            throw new ResourceNotFoundException("Upload not found: " + uploadId);
+        }
+        return session;
+    }
+
+    private UserUploads userUploads(Long userId) {
+        return users.computeIfAbsent(userId, id -> new UserUploads(maxChunksInFlightPerUser));
+    }
+
+    private void reserve(Long userId, long bytes) {
+        UserUploads user = userUploads(userId);
+        reservationLock.lock();
+        try {
+            if (user.sessions >= maxSessionsPerUser) {
+                throw new UploadLimitExceededException("At most " + maxSessionsPerUser + " uploads can be open at once");
+            }
+            if (user.reservedBytes + bytes > maxReservedBytesPerUser) {
+                throw new UploadLimitExceededException("Open uploads would exceed your limit of " + maxReservedBytesPerUser + " bytes");
+            }
+            if (reservedBytes + bytes > maxReservedBytes) {
+                throw new UploadLimitExceededException("Upload storage is full, try again later");
+            }
+            user.sessions++;
+            user.reservedBytes += bytes;
+            reservedBytes += bytes;
+        } finally {
+            reservationLock.unlock();
+        }
+    }
+
+    private void release(Long userId, long bytes) {
+        UserUploads user = userUploads(userId);
+        reservationLock.lock();
+        try {
+            user.sessions--;
+            user.reservedBytes -= bytes;
+            reservedBytes -= bytes;
+        } finally {
+            reservationLock.unlock();
+        }
+    }
+
+    private UploadSessionResponse toResponse(UploadSession session) {
+        UploadSessionResponse response = new UploadSessionResponse();
+        response.setUploadId(session.id);
+        response.setFileName(session.fileName);
+        response.setTotalSize(session.totalSize);
+        response.setChunkSize(session.chunkSize);
+        response.setTotalChunks(session.totalChunks);
+        response.setReceivedChunks(session.received.get());
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < session.totalChunks; i++) {
+            if (session.states.get(i) != RECEIVED) {
+                missing.add(i);
+            }
+        }
+        response.setMissingChunks(missing);
+        response.setExpiresAt(LocalDateTime.ofInstant(
+            Instant.ofEpochMilli(session.lastActivity + TimeUnit.MINUTES.toMillis(sessionTtlMinutes)), ZoneId.systemDefault()));
+        return response;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Limits of one user; counters guarded by reservationLock
+    private static final class UserUploads {
+        private final Semaphore inFlight;
+        private int sessions;
+        private long reservedBytes;
+
+        private UserUploads(int maxChunksInFlight) {
+            this.inFlight = new Semaphore(maxChunksInFlight);
+        }
+    }
+
+    private static final class UploadSession {
+        private final String id;
+        private final Long userId;
+        private final Long lessonId;
+        private final LessonService.MediaSlot slot;
+        private final String fileName;
+        private final long totalSize;
+        private final long chunkSize;
+        private final int totalChunks;
+        private final Path partFile;
+        private final FileChannel channel;
+        private final AtomicIntegerArray states;
+        private final AtomicReferenceArray<byte[]> hashes;
+        private final AtomicInteger received = new AtomicInteger();
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        private UploadSession(String id, Long userId, Long lessonId, LessonService.MediaSlot slot, String fileName,
+                              long totalSize, long chunkSize, Path partFile) throws IOException {
+            this.id = id;
+            this.userId = userId;
+            this.lessonId = lessonId;
+            this.slot = slot;
+            this.fileName = fileName;
+            this.totalSize = totalSize;
+            this.chunkSize = chunkSize;
+            this.totalChunks = (int) ((totalSize + chunkSize - 1) / chunkSize);
+            this.partFile = partFile;
+            this.channel = FileChannel.open(partFile, StandardOpenOption.WRITE);
+            try {
+                // Full length up front, so chunks arriving out of order never extend the file
+                channel.write(ByteBuffer.wrap(new byte[1]), totalSize - 1);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+            this.states = new AtomicIntegerArray(totalChunks);
+            this.hashes = new AtomicReferenceArray<>(totalChunks);
+        }
+
+        private void touch() {
+            lastActivity = System.currentTimeMillis();
+        }
+
+        private boolean hasChunkInFlight() {
+            for (int i = 0; i < totalChunks; i++) {
+                if (states.get(i) == WRITING) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Close and delete the part file; a completed upload has already been moved away
+        private void discard() {
+            try {
+                channel.close();
+                Files.deleteIfExists(partFile);
+            } catch (IOException e) {
+                logger.warn("Failed to delete upload part file {}: {}", partFile, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.edumaster.service;
+
+import com.edumaster.cache.CacheRegion;
+import com.edumaster.cache.TwoLevelCache;
+import com.edumaster.cache.TwoLevelCacheManager;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Course Detail Cache
+ *
+ * Rendered course details (the CourseResponse in a course detail response) as
+ * UTF-8 JSON bytes, embedded as-is in each response's envelope. A hit costs
+ * no database query, no entity mapping and no serialization of the course;
+ * only the small envelope, with its per-request timestamp, is serialized.
+ *
+ * Entries live in the {@link CacheRegion#COURSES} two-level cache, tagged with
+ * the course's {@link CatalogVersions} version at render time, and are
+ * re-rendered once it moves on, so course, enrollment, lesson and review
+ * writes only invalidate the courses they touch. A course rendered on one
+ * node is served from the shared tier by the others.
+ *
+ * @author EduMaster Team
+ */
+@Component
+public class CourseDetailCache {
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TwoLevelCache<byte[]> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = cacheManager.getCache(CacheRegion.COURSES, byte[].class);
+    }
+
+    /**
+     * Get the serialized course details, rendering and caching them on a
+     * miss. Exceptions thrown by the renderer (e.g. course not found) are
+     * passed through and nothing is cached.
+     */
+    public byte[] get(Long courseId, Supplier<?> renderer) {
+        // Read the version before any data: the rendered body is at least this fresh
+        long version = catalogVersions.getCourseVersion(courseId);
+        return cache.get("detail-data:" + courseId, version, () -> render(courseId, renderer));
+    }
+
+    private byte[] render(Long courseId, Supplier<?> renderer) {
+        try {
+            return objectMapper.writeValueAsBytes(renderer.get());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize course " + courseId, e);
+        }
+    }
+}
@@ -0,0 +1,688 @@
+package com.edumaster.service;
+
+import com.edumaster.dto.CourseResponse;
+import com.edumaster.util.LongIntHashMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Course Recommendation Service
+ *
+ * "Students who took this course also took" recommendations, item to item
+ * from co-enrollment counts.
+ *
+ * Key Features:
+ * - A periodic rebuild streams (user_id, course_id) from enrollments in one
+ *   index-ordered scan into flat int arrays: courses renumbered densely,
+ *   each student's courses stored back to back
+ * - Top-K neighbours of every course are computed in parallel on a
+ *   fork-join pool; a task counts co-enrollments in a dense scratch array
+ *   plus a list of the courses it touched, so there are no boxed keys and
+ *   no per-pair objects
+ * - Neighbours are ranked by cosine similarity, co / sqrt(n_a * n_b), so
+ *   courses everyone takes do not top every list
+ * - The result is an immutable snapshot swapped in atomically; readers
+ *   never lock it and never see a half-built model
+ * - Enrollments between rebuilds go into a small overlay of
+ *   primitive-keyed counters that is merged in at read time
+ *
+ * Snapshots are built per node, so between rebuilds a node only overlays
+ * the enrollments it handled itself. Students enrolled in more than
+ * max-courses-per-student courses (test and bulk accounts) are left out:
+ * they would add a quadratic number of pairs and little signal.
+ *
+ * @author EduMaster Team
+ */
+@Service
+public class CourseRecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseRecommendationService.class);
+
+    private static final String ENROLLMENTS_SQL =
+        "SELECT user_id, course_id FROM enrollments ORDER BY user_id";
+
+    // Courses per fork-join leaf; small, since popular courses cost far more than the rest
+    private static final int LEAF_COURSES = 16;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public enum RebuildResult {
+        REBUILT,
+        ALREADY_RUNNING,
+        FAILED
+    }
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.recommendations.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.recommendations.top-k:20}")
+    private int topK;
+
+    @Value("${app.recommendations.min-co-enrollments:2}")
+    private int minCoEnrollments;
+
+    @Value("${app.recommendations.max-courses-per-student:200}")
+    private int maxCoursesPerStudent;
+
+    @Value("${app.recommendations.parallelism:0}")
+    private int parallelism;
+
+    @Value("${app.recommendations.fetch-size:10000}")
+    private int fetchSize;
+
+    @Value("${app.recommendations.overlay-max-pairs:500000}")
+    private int overlayMaxPairs;
+
+    private final AtomicReference<State> state =
+        new AtomicReference<>(new State(Snapshot.EMPTY, List.of(new Overlay())));
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private ForkJoinPool pool;
+    private Timer rebuildTimer;
+
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        rebuildTimer = Timer.builder("edumaster.recommendations.rebuild")
+            .description("Co-enrollment model rebuilds").register(meterRegistry);
+        Gauge.builder("edumaster.recommendations.courses", state, s -> s.get().snapshot().courseIds.length)
+            .description("Courses in the current recommendation snapshot").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (enabled) {
+            taskScheduler.schedule(this::rebuild, Instant.now());
+        }
+    }
+
+    // Scheduled job
+    @Scheduled(cron = "${app.recommendations.rebuild-cron:0 15 * * * *}")
+    public void runScheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // Read Operations
+
+    /**
+     * Published courses most often taken together with the given one, best first.
+     */
+    public List<CourseResponse> getRecommendedCourses(Long courseId, int limit) {
+        // All K candidates, so unpublished ones can be dropped without coming up short
+        List<CourseResponse> courses = courseService.getPublishedCourseResponses(recommend(courseId, topK));
+        return courses.size() > limit ? courses.subList(0, Math.max(1, limit)) : courses;
+    }
+
+    /**
+     * IDs of the courses most often taken together with the given one, best
+     * first: the snapshot's neighbours with the overlay's new co-enrollments
+     * added. A course that only became a neighbour since the last rebuild is
+     * scored on its new co-enrollments alone until the next one.
+     */
+    public List<Long> recommend(Long courseId, int limit) {
+        State current = state.get();
+        Snapshot snapshot = current.snapshot();
+
+        LongIntHashMap coEnrollments = new LongIntHashMap(topK);
+        int index = snapshot.courseIndex.get(courseId, -1);
+        if (index >= 0) {
+            int[] neighbours = snapshot.neighbours[index];
+            for (int k = 0; k < neighbours.length; k++) {
+                coEnrollments.put(snapshot.courseIds[neighbours[k]], snapshot.coCounts[index][k]);
+            }
+        }
+        for (Overlay overlay : current.overlays()) {
+            overlay.addCoEnrollments(courseId, coEnrollments);
+        }
+        if (coEnrollments.isEmpty()) {
+            return List.of();
+        }
+
+        double enrolled = enrollments(current, courseId);
+        List<long[]> candidates = new ArrayList<>(coEnrollments.size());
+        coEnrollments.forEach((neighbour, count) -> {
+            if (count >= minCoEnrollments) {
+                candidates.add(new long[] {neighbour, count});
+            }
+        });
+        double[] scores = new double[candidates.size()];
+        Integer[] order = new Integer[candidates.size()];
+        for (int i = 0; i < order.length; i++) {
+            long[] candidate = candidates.get(i);
+            scores[i] = candidate[1] / Math.sqrt(enrolled * enrollments(current, candidate[0]));
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingDouble(i -> -scores[i])
+            .thenComparingLong(i -> candidates.get(i)[0]));
+
+        List<Long> ids = new ArrayList<>(Math.min(limit, order.length));
+        for (int i = 0; i < order.length && ids.size() < limit; i++) {
+            ids.add(candidates.get(order[i])[0]);
+        }
+        return ids;
+    }
+
+    public LocalDateTime getSnapshotBuiltAt() {
+        return state.get().snapshot().builtAt;
+    }
+
+    // Write Operations
+
+    /**
+     * Count a committed enrollment until the next rebuild picks it up.
+     *
+     * @param coursesTaken all courses the student is enrolled in, including this one
+     */
+    public void recordEnrollment(Long courseId, List<Long> coursesTaken) {
+        if (!enabled || coursesTaken.size() > maxCoursesPerStudent) {
+            return;
+        }
+        List<Overlay> overlays = state.get().overlays();
+        if (!overlays.get(overlays.size() - 1).record(courseId, coursesTaken, overlayMaxPairs)) {
+            logger.warn("Recommendation overlay full, enrollment in course {} waits for the next rebuild", courseId);
+        }
+    }
+
+    /**
+     * Rebuild the snapshot from the enrollments table.
+     *
+     * @return FAILED when the rebuild threw and the previous snapshot was kept
+     */
+    public RebuildResult rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            logger.info("Recommendation rebuild already running, skipping");
+            return RebuildResult.ALREADY_RUNNING;
+        }
+
+        long start = System.nanoTime();
+        try {
+            // Enrollments recorded so far committed before the scan below starts, so the scan covers them;
+            // the fresh overlay collects the ones that may not be in it
+            Overlay fresh = new Overlay();
+            State previous = state.get();
+            List<Overlay> overlays = new ArrayList<>(previous.overlays());
+            overlays.add(fresh);
+            state.set(new State(previous.snapshot(), List.copyOf(overlays)));
+
+            Snapshot snapshot = build(load());
+            state.set(new State(snapshot, List.of(fresh)));
+
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            logger.info("Recommendation snapshot rebuilt: {} courses in {} ms",
+                       snapshot.courseIds.length, elapsed / 1_000_000);
+            return RebuildResult.REBUILT;
+
+        } catch (RuntimeException e) {
+            logger.error("Recommendation rebuild failed, keeping the previous snapshot: {}", e.getMessage(), e);
+            return RebuildResult.FAILED;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    // Helper methods
+
+    private static double enrollments(State current, long courseId) {
+        Snapshot snapshot = current.snapshot();
+        int index = snapshot.courseIndex.get(courseId, -1);
+        int total = index >= 0 ? snapshot.popularity[index] : 0;
+        for (Overlay overlay : current.overlays()) {
+            total += overlay.enrollments(courseId);
+        }
+        return Math.max(total, 1);
+    }
+
+    private Baskets load() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> {
+            Baskets baskets = new Baskets(maxCoursesPerStudent);
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(ENROLLMENTS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // Fetched in blocks by a server-side cursor (useCursorFetch in the datasource properties);
+                // without it Connector/J ignores the fetch size and buffers every enrollment
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, baskets);
+            baskets.finish();
+            return baskets;
+        });
+    }
+
+    private Snapshot build(Baskets baskets) {
+        int courses = baskets.courseCount;
+        int[] entries = baskets.entries;
+        int[] basketStart = baskets.basketStart;
+
+        int[] popularity = new int[courses];
+        for (int p = 0; p < baskets.entryCount; p++) {
+            popularity[entries[p]]++;
+        }
+
+        // Inverted index: the baskets each course appears in
+        int[] courseStart = new int[courses + 1];
+        for (int c = 0; c < courses; c++) {
+            courseStart[c + 1] = courseStart[c] + popularity[c];
+        }
+        int[] courseBaskets = new int[baskets.entryCount];
+        int[] cursor = Arrays.copyOf(courseStart, courses);
+        for (int b = 0; b < baskets.basketCount; b++) {
+            for (int p = basketStart[b]; p < basketStart[b + 1]; p++) {
+                courseBaskets[cursor[entries[p]]++] = b;
+            }
+        }
+
+        int[][] neighbours = new int[courses][];
+        int[][] coCounts = new int[courses][];
+        pool.invoke(new NeighbourTask(entries, basketStart, courseStart, courseBaskets, popularity,
+            neighbours, coCounts, topK, minCoEnrollments, 0, courses));
+
+        long[] courseIds = Arrays.copyOf(baskets.courseIds, courses);
+        return new Snapshot(baskets.courseIndex, courseIds, popularity, neighbours, coCounts, LocalDateTime.now());
+    }
+
+    // Model
+
+    private record State(Snapshot snapshot, List<Overlay> overlays) {
+    }
+
+    /**
+     * Immutable result of a rebuild. Courses are addressed by dense index;
+     * neighbours[i] and coCounts[i] are parallel arrays, best neighbour first.
+     */
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new LongIntHashMap(), new long[0], new int[0],
+            new int[0][], new int[0][], null);
+
+        final LongIntHashMap courseIndex;
+        final long[] courseIds;
+        final int[] popularity;
+        final int[][] neighbours;
+        final int[][] coCounts;
+        final LocalDateTime builtAt;
+
+        Snapshot(LongIntHashMap courseIndex, long[] courseIds, int[] popularity,
+                 int[][] neighbours, int[][] coCounts, LocalDateTime builtAt) {
+            this.courseIndex = courseIndex;
+            this.courseIds = courseIds;
+            this.popularity = popularity;
+            this.neighbours = neighbours;
+            this.coCounts = coCounts;
+            this.builtAt = builtAt;
+        }
+    }
+
+    /**
+     * Co-enrollments and enrollments recorded since a rebuild, keyed by course ID.
+     */
+    private static final class Overlay {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LongIntHashMap slots = new LongIntHashMap();
+        private final List<LongIntHashMap> coEnrollments = new ArrayList<>();
+        private final LongIntHashMap enrollments = new LongIntHashMap();
+        private int pairs;
+
+        boolean record(long courseId, List<Long> coursesTaken, int maxPairs) {
+            lock.lock();
+            try {
+                if (pairs + 2L * coursesTaken.size() > maxPairs) {
+                    return false;
+                }
+                enrollments.addTo(courseId, 1);
+                for (Long other : coursesTaken) {
+                    if (other != courseId) {
+                        addPair(courseId, other);
+                        addPair(other, courseId);
+                    }
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void addCoEnrollments(long courseId, LongIntHashMap into) {
+            lock.lock();
+            try {
+                int slot = slots.get(courseId, -1);
+                if (slot >= 0) {
+                    coEnrollments.get(slot).forEach(into::addTo);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int enrollments(long courseId) {
+            lock.lock();
+            try {
+                return enrollments.get(courseId, 0);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void addPair(long courseId, long other) {
+            int slot = slots.get(courseId, -1);
+            if (slot < 0) {
+                slot = coEnrollments.size();
+                slots.put(courseId, slot);
+                coEnrollments.add(new LongIntHashMap());
+            }
+            if (coEnrollments.get(slot).addTo(other, 1) == 1) {
+                pairs++;
+            }
+        }
+    }
+
+    /**
+     * Enrollments grouped by student as one flat array of dense course
+     * indexes: basket b is entries[basketStart[b] .. basketStart[b + 1]).
+     * Relies on the scan returning each student's rows together.
+     */
+    private static final class Baskets implements RowCallbackHandler {
+
+        private final int maxBasketSize;
+
+        final LongIntHashMap courseIndex = new LongIntHashMap(1024);
+        long[] courseIds = new long[1024];
+        int courseCount;
+
+        int[] entries = new int[1 << 16];
+        int entryCount;
+
+        int[] basketStart = new int[1 << 12];
+        int basketCount;
+
+        private long currentUser = Long.MIN_VALUE;
+        private int currentStart;
+        private int skippedStudents;
+
+        Baskets(int maxBasketSize) {
+            this.maxBasketSize = maxBasketSize;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long userId = rs.getLong(1);
+            long courseId = rs.getLong(2);
+            if (userId != currentUser) {
+                closeBasket();
+                currentUser = userId;
+                currentStart = entryCount;
+            }
+
+            int index = courseIndex.get(courseId, -1);
+            if (index < 0) {
+                if (courseCount == courseIds.length) {
+                    courseIds = Arrays.copyOf(courseIds, courseCount * 2);
+                }
+                index = courseCount++;
+                courseIds[index] = courseId;
+                courseIndex.put(courseId, index);
+            }
+            if (entryCount == entries.length) {
+                entries = Arrays.copyOf(entries, entryCount * 2);
+            }
+            entries[entryCount++] = index;
+        }
+
+        void finish() {
+            closeBasket();
+            if (basketCount == basketStart.length) {
+                basketStart = Arrays.copyOf(basketStart, basketCount + 1);
+            }
+            basketStart[basketCount] = entryCount;
+            if (skippedStudents > 0) {
+                logger.info("Recommendation rebuild skipped {} students with more than {} courses",
+                           skippedStudents, maxBasketSize);
+            }
+        }
+
+        private void closeBasket() {
+            int size = entryCount - currentStart;
+            if (size == 0) {
+                return;
+            }
+            if (size > maxBasketSize) {
+                entryCount = currentStart;
+                skippedStudents++;
+                return;
+            }
+            if (basketCount == basketStart.length) {
+                basketStart = Arrays.copyOf(basketStart, basketCount * 2);
+            }
+            basketStart[basketCount++] = currentStart;
+        }
+    }
+
+    /**
+     * Top-K neighbours for the courses in [from, to), split in halves until
+     * a range is small enough to compute directly.
+     */
+    private static final class NeighbourTask extends RecursiveAction {
+
+        private final int[] entries;
+        private final int[] basketStart;
+        private final int[] courseStart;
+        private final int[] courseBaskets;
+        private final int[] popularity;
+        private final int[][] neighbours;
+        private final int[][] coCounts;
+        private final int topK;
+        private final int minCoEnrollments;
+        private final int from;
+        private final int to;
+
+        NeighbourTask(int[] entries, int[] basketStart, int[] courseStart, int[] courseBaskets, int[] popularity,
+                      int[][] neighbours, int[][] coCounts, int topK, int minCoEnrollments, int from, int to) {
+            this.entries = entries;
+            this.basketStart = basketStart;
+            this.courseStart = courseStart;
+            this.courseBaskets = courseBaskets;
+            this.popularity = popularity;
+            this.neighbours = neighbours;
+            this.coCounts = coCounts;
+            this.topK = topK;
+            this.minCoEnrollments = minCoEnrollments;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_COURSES) {
+                int middle = (from + to) >>> 1;
+                invokeAll(split(from, middle), split(middle, to));
+                return;
+            }
+
+            // Sparse accumulator: counts indexed by course, plus the list of non-zero ones to read and reset
+            int[] counts = new int[popularity.length];
+            int[] touched = new int[popularity.length];
+            TopK best = new TopK(topK);
+            for (int course = from; course < to; course++) {
+                int touchedCount = 0;
+                for (int q = courseStart[course]; q < courseStart[course + 1]; q++) {
+                    int basket = courseBaskets[q];
+                    for (int p = basketStart[basket]; p < basketStart[basket + 1]; p++) {
+                        int other = entries[p];
+                        if (other != course && counts[other]++ == 0) {
+                            touched[touchedCount++] = other;
+                        }
+                    }
+                }
+
+                best.clear();
+                for (int t = 0; t < touchedCount; t++) {
+                    int other = touched[t];
+                    int count = counts[other];
+                    counts[other] = 0;
+                    if (count >= minCoEnrollments) {
+                        best.offer(other, count, count / Math.sqrt((double) popularity[course] * popularity[other]));
+                    }
+                }
+                neighbours[course] = best.indexesBestFirst();
+                coCounts[course] = best.countsBestFirst();
+            }
+        }
+
+        private NeighbourTask split(int from, int to) {
+            return new NeighbourTask(entries, basketStart, courseStart, courseBaskets, popularity,
+                neighbours, coCounts, topK, minCoEnrollments, from, to);
+        }
+    }
+
+    /**
+     * Bounded min-heap keeping the k highest scores; ties go to the lower index.
+     */
+    private static final class TopK {
+
+        private final int[] indexes;
+        private final int[] counts;
+        private final double[] scores;
+        private int size;
+
+        TopK(int k) {
+            indexes = new int[k];
+            counts = new int[k];
+            scores = new double[k];
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        void offer(int index, int count, double score) {
+            if (size < indexes.length) {
+                set(size, index, count, score);
+                siftUp(size++);
+            } else if (size > 0 && better(score, index, 0)) {
+                set(0, index, count, score);
+                siftDown(0);
+            }
+        }
+
+        // Sorts the heap in place, then copies it out; call countsBestFirst() right after
+        int[] indexesBestFirst() {
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            return Arrays.copyOf(indexes, size);
+        }
+
+        int[] countsBestFirst() {
+            return Arrays.copyOf(counts, size);
+        }
+
+        private boolean better(double score, int index, int slot) {
+            return score > scores[slot] || (score == scores[slot] && index < indexes[slot]);
+        }
+
+        private void siftUp(int slot) {
+            while (slot > 0) {
+                int parent = (slot - 1) >>> 1;
+                if (!better(scores[parent], indexes[parent], slot)) {
+                    return;
+                }
+                swap(slot, parent);
+                slot = parent;
+            }
+        }
+
+        private void siftDown(int slot) {
+            siftDown(slot, size);
+        }
+
+        private void siftDown(int slot, int limit) {
+            while (true) {
+                int smallest = slot;
+                int left = 2 * slot + 1;
+                int right = left + 1;
+                if (left < limit && better(scores[smallest], indexes[smallest], left)) {
+                    smallest = left;
+                }
+                if (right < limit && better(scores[smallest], indexes[smallest], right)) {
+                    smallest = right;
+                }
+                if (smallest == slot) {
+                    return;
+                }
+                swap(slot, smallest);
+                slot = smallest;
+            }
+        }
+
+        private void set(int slot, int index, int count, double score) {
+            indexes[slot] = index;
+            counts[slot] = count;
+            scores[slot] = score;
+        }
+
+        private void swap(int a, int b) {
+            int index = indexes[a];
+            int count = counts[a];
+            double score = scores[a];
+            set(a, indexes[b], counts[b], scores[b]);
+            set(b, index, count, score);
+        }
+    }
+}
@@ -1,24 +1,35 @@
 package com.edumaster.service;
 
+import com.edumaster.dto.CourseResponse;
 import com.edumaster.exception.ResourceNotFoundException;
 import com.edumaster.model.*;
 import com.edumaster.repository.CourseRepository;
 import com.edumaster.repository.UserRepository;
+import com.edumaster.security.UserPrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class CourseService {
 
     private static final Logger logger = LoggerFactory.getLogger(CourseService.class);
@@ -29,8 +40,18 @@ public class CourseService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private NotificationFanoutService notificationFanoutService;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private ImageProcessingService imageProcessingService;
+
     // Create and Update Operations
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
     public Course createCourse(Course course) {
         logger.info("Creating new course: {}", course.getTitle());
         
@@ -39,12 +60,14 @@ public class CourseService {
         }
         
         Course savedCourse = courseRepository.save(course);
+        catalogVersions.courseChanged(savedCourse.getId());
         logger.info("Course created successfully with ID: {}", savedCourse.getId());
         
         return savedCourse;
     }
 
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
     public Course updateCourse(Long courseId, Course courseDetails) {
         logger.info("Updating course with ID: {}", courseId);
         
@@ -65,11 +88,36 @@ public class CourseService {
         existingCourse.setDurationHours(courseDetails.getDurationHours());
         
         Course updatedCourse = courseRepository.save(existingCourse);
+        catalogVersions.courseChanged(courseId);
         logger.info("Course updated successfully: {}", updatedCourse.getTitle());
         
         return updatedCourse;
     }
 
+    /**
+     * Replace the course thumbnail with an uploaded image. Its smaller sizes
+     * are generated in the background and appear in the course response
+     * once they exist.
+     */
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
+    public Course updateThumbnail(Long courseId, InputStream image, String filename) throws IOException {
+        logger.info("Updating thumbnail of course with ID: {}", courseId);
+
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new ResourceNotFoundException("Course not found with ID: " + courseId));
+        checkCourseOwner(course);
+
+        MediaStore.StoredMedia original = imageProcessingService.storeOriginal(image, filename);
+        course.setThumbnailUrl(imageProcessingService.publicUrl(original.name()));
+        Course updatedCourse = courseRepository.save(course);
+        catalogVersions.courseChanged(courseId);
+        imageProcessingService.process(original.name(), ImageProcessingService.ImageKind.COURSE_THUMBNAIL,
+            () -> catalogVersions.courseDetailsChanged(courseId));
+
+        return updatedCourse;
+    }
+
     // Read Operations
     public Page<Course> getAllPublishedCourses(Pageable pageable) {
         logger.info("Fetching all published courses with pagination");
@@ -99,6 +147,56 @@ public class CourseService {
         return course;
     }
 
+    public CourseResponse getPublishedCourseResponse(Long courseId) {
+        Course course = courseRepository.findPublishedByIdWithInstructorAndCategory(courseId)
+            .orElseThrow(() -> new ResourceNotFoundException("Published course not found with ID: " + courseId));
+
+        CourseResponse response = new CourseResponse(course);
+        Object[] stats = courseRepository.findCourseStatistics(courseId).get(0);
+        response.setTotalLessons(((Number) stats[0]).intValue());
+        response.setTotalEnrollments(((Number) stats[1]).intValue());
+        response.setAverageRating(course.getAverageRating());
+        response.setTotalReviews(course.getTotalReviews());
+        response.setThumbnailVariants(imageProcessingService.variantUrls(
+            course.getThumbnailUrl(), ImageProcessingService.ImageKind.COURSE_THUMBNAIL));
+        return response;
+    }
+
+    /**
+     * Responses for the given courses in the given order, skipping any that
+     * are not published. Two queries however many courses are asked for.
+     */
+    public List<CourseResponse> getPublishedCourseResponses(List<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Course> courses = courseRepository.findPublishedByIdInWithInstructorAndCategory(courseIds).stream()
+            .collect(Collectors.toMap(Course::getId, Function.identity()));
+        if (courses.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Object[]> statistics = courseRepository.findCourseStatisticsByIdIn(courses.keySet()).stream()
+            .collect(Collectors.toMap(row -> ((Number) row[0]).longValue(), Function.identity()));
+        List<CourseResponse> responses = new ArrayList<>(courses.size());
+        for (Long courseId : courseIds) {
+            Course course = courses.get(courseId);
+            if (course == null) {
+                continue;
+            }
+            CourseResponse response = new CourseResponse(course);
+            Object[] stats = statistics.get(courseId);
+            response.setTotalLessons(((Number) stats[1]).intValue());
+            response.setTotalEnrollments(((Number) stats[2]).intValue());
+            response.setAverageRating(course.getAverageRating());
+            response.setTotalReviews(course.getTotalReviews());
+            response.setThumbnailVariants(imageProcessingService.variantUrls(
+                course.getThumbnailUrl(), ImageProcessingService.ImageKind.COURSE_THUMBNAIL));
+            responses.add(response);
+        }
+        return responses;
+    }
+
     public Course getCourseWithFullDetails(Long courseId) {
         // For now, use regular findById - can be enhanced later with JOIN FETCH if needed
         return courseRepository.findById(courseId)
@@ -168,6 +266,7 @@ public class CourseService {
 
     // Status Management Operations
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
     public Course publishCourse(Long courseId) {
         logger.info("Publishing course with ID: {}", courseId);
         
@@ -178,12 +277,15 @@ public class CourseService {
         
         course.setStatus(CourseStatus.PUBLISHED);
         Course publishedCourse = courseRepository.save(course);
+        catalogVersions.courseChanged(courseId);
+        notificationFanoutService.announceNewCourse(publishedCourse);
         
         logger.info("Course published successfully: {}", publishedCourse.getTitle());
         return publishedCourse;
     }
 
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
     public Course submitForApproval(Long courseId) {
         logger.info("Submitting course for approval with ID: {}", courseId);
         
@@ -204,6 +306,7 @@ public class CourseService {
     }
 
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public Course approveCourse(Long courseId) {
         logger.info("Approving course with ID: {}", courseId);
         
@@ -215,12 +318,15 @@ public class CourseService {
         
         course.setStatus(CourseStatus.PUBLISHED);
         Course approvedCourse = courseRepository.save(course);
+        catalogVersions.courseChanged(courseId);
+        notificationFanoutService.announceNewCourse(approvedCourse);
         
         logger.info("Course approved and published: {}", approvedCourse.getTitle());
         return approvedCourse;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public Course suspendCourse(Long courseId, String reason) {
         logger.info("Suspending course with ID: {} for reason: {}", courseId, reason);
         
@@ -228,6 +334,7 @@ public class CourseService {
         course.setStatus(CourseStatus.SUSPENDED);
         
         Course suspendedCourse = courseRepository.save(course);
+        catalogVersions.courseChanged(courseId);
         logger.info("Course suspended: {}", suspendedCourse.getTitle());
         
         return suspendedCourse;
@@ -235,6 +342,7 @@ public class CourseService {
 
     // Delete Operations
     @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
     public void deleteCourse(Long courseId) {
         logger.info("Deleting course with ID: {}", courseId);
         
@@ -246,6 +354,7 @@ public class CourseService {
         }
         
         courseRepository.delete(course);
+        catalogVersions.courseChanged(courseId);
         logger.info("Course deleted successfully with ID: {}", courseId);
     }
 
@@ -298,4 +407,15 @@ public class CourseService {
     public boolean isPublishedCourse(Long courseId) {
         return courseRepository.existsByIdAndPublished(courseId);
     }
+
+    // Instructors may only change their own courses
+    private void checkCourseOwner(Course course) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserPrincipal principal = authentication != null && authentication.getPrincipal() instanceof UserPrincipal p
+            ? p : null;
+        if (principal == null
+                || (principal.getRole() != Role.ADMIN && !principal.getId().equals(course.getInstructor().getId()))) {
+            throw new AccessDeniedException("Instructors can only manage their own courses");
+        }
+    }
 }
\ No newline at end of file
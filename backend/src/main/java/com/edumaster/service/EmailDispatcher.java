@@ -0,0 +1,416 @@
+package com.edumaster.service;
+
+import com.edumaster.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Email Dispatcher
+ *
+ * Sends the emails queued in email_outbox by {@link EmailOutboxService}.
+ *
+ * Key Features:
+ * - Due messages are claimed in batches with a conditional UPDATE, so any
+ *   number of nodes can drain the outbox without sending a message twice;
+ *   a claim is a lease, and messages of a node that died mid-batch are
+ *   reclaimed once it expires
+ * - Each batch goes to one worker, which sends it over one pooled SMTP
+ *   connection (see {@link SmtpConnectionPool}) and records the results in
+ *   one transaction
+ * - A token bucket caps messages per second across all workers of a node,
+ *   to stay under the provider's sending limits
+ * - Failures the server reports as temporary (4xx) or lost connections are
+ *   retried with exponential backoff; rejections (5xx) and messages out of
+ *   attempts are marked FAILED
+ * - Woken after each enqueue commit, with a poll every few seconds as a
+ *   fallback, and sent messages are purged after a retention period
+ *
+ * Delivery is at least once: a node that stops between sending a message and
+ * recording it sends that message again after the lease expires.
+ *
+ * @author EduMaster Team
+ */
+@Service
+public class EmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private static final String SELECT_DUE_SQL =
+        "SELECT id FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= ? " +
+        "ORDER BY next_attempt_at, id LIMIT ?";
+    private static final String CLAIM_SQL =
+        "UPDATE email_outbox SET status = 'SENDING', claimed_by = :claim, attempts = attempts + 1, " +
+        "next_attempt_at = :leaseUntil WHERE id IN (:ids) AND status = 'PENDING'";
+    private static final String SELECT_CLAIMED_SQL =
+        "SELECT id, recipient, subject, body, attempts FROM email_outbox " +
+        "WHERE claimed_by = ? AND status = 'SENDING' ORDER BY id";
+    private static final String MARK_SENT_SQL =
+        "UPDATE email_outbox SET status = 'SENT', sent_at = :sentAt, claimed_by = NULL, last_error = NULL " +
+        "WHERE id IN (:ids)";
+    private static final String RESCHEDULE_SQL =
+        "UPDATE email_outbox SET status = ?, next_attempt_at = ?, claimed_by = NULL, last_error = ? WHERE id = ?";
+    private static final String RECLAIM_SQL =
+        "UPDATE email_outbox SET status = CASE WHEN attempts >= ? THEN 'FAILED' ELSE 'PENDING' END, " +
+        "claimed_by = NULL, last_error = 'Lease expired while sending' " +
+        "WHERE status = 'SENDING' AND next_attempt_at < ?";
+    private static final String SELECT_EXPIRED_SQL =
+        "SELECT id FROM email_outbox WHERE status = 'SENT' AND sent_at < ? ORDER BY id LIMIT ?";
+    private static final String DELETE_SQL =
+        "DELETE FROM email_outbox WHERE id IN (:ids)";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private SmtpConnectionPool connectionPool;
+
+    @Autowired
+    @Qualifier("emailExecutor")
+    private TaskExecutor emailExecutor;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.mail.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.mail.from}")
+    private String from;
+
+    @Value("${app.mail.workers:2}")
+    private int workers;
+
+    @Value("${app.mail.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.rate-per-second:10}")
+    private double ratePerSecond;
+
+    @Value("${app.mail.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.retry-delay-seconds:30}")
+    private long retryDelaySeconds;
+
+    @Value("${app.mail.max-retry-delay-seconds:3600}")
+    private long maxRetryDelaySeconds;
+
+    @Value("${app.mail.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${app.mail.sent-retention-days:7}")
+    private int sentRetentionDays;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong claimSequence = new AtomicLong();
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+
+    private InternetAddress fromAddress;
+    private TokenBucket rateLimiter;
+    private Semaphore freeWorkers;
+
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter failedCounter;
+    private Timer batchTimer;
+
+    @PostConstruct
+    public void init() throws MessagingException {
+        fromAddress = new InternetAddress(from, true);
+        rateLimiter = new TokenBucket(ratePerSecond, Math.max(1, (int) ratePerSecond));
+        freeWorkers = new Semaphore(Math.max(1, workers));
+
+        sentCounter = Counter.builder("edumaster.email.messages").tag("result", "sent").register(meterRegistry);
+        retriedCounter = Counter.builder("edumaster.email.messages").tag("result", "retried").register(meterRegistry);
+        failedCounter = Counter.builder("edumaster.email.messages").tag("result", "failed").register(meterRegistry);
+        batchTimer = Timer.builder("edumaster.email.batches")
+            .description("Time to send one claimed batch over one SMTP connection")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Look for due messages soon, e.g. after a transaction queued one.
+     */
+    public void wakeUp() {
+        if (enabled && wakeRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::poll, Instant.now());
+        }
+    }
+
+    // Fallback for wake-ups that raced with a running poll, and for retries coming due
+    @Scheduled(fixedDelayString = "${app.mail.poll-interval-millis:2000}")
+    public void runScheduledPoll() {
+        if (enabled) {
+            poll();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.maintenance-interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void runMaintenance() {
+        if (!enabled) {
+            return;
+        }
+        int reclaimed = jdbcTemplate.update(RECLAIM_SQL, maxAttempts, Timestamp.valueOf(LocalDateTime.now()));
+        if (reclaimed > 0) {
+            logger.warn("Reclaimed {} emails whose sending lease expired", reclaimed);
+        }
+        connectionPool.evictIdle();
+        purgeSent(LocalDateTime.now().minusDays(sentRetentionDays));
+    }
+
+    /**
+     * Claim due messages and hand them to free workers, one batch per worker,
+     * until the outbox has nothing due or every worker is busy.
+     */
+    public void poll() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            wakeRequested.set(false);
+            while (freeWorkers.tryAcquire()) {
+                List<OutboxEmail> batch;
+                try {
+                    batch = claim();
+                } catch (RuntimeException e) {
+                    freeWorkers.release();
+                    throw e;
+                }
+                if (batch.isEmpty()) {
+                    freeWorkers.release();
+                    break;
+                }
+                emailExecutor.execute(() -> sendBatch(batch));
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Email outbox poll failed: {}", e.getMessage());
+        } finally {
+            polling.set(false);
+        }
+    }
+
+    // Helper methods
+
+    private List<OutboxEmail> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_DUE_SQL, Long.class, Timestamp.valueOf(now), batchSize);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Another node may claim some of the same rows first; the status condition makes each row go to one claim
+        String claim = nodeId + "-" + claimSequence.incrementAndGet();
+        int claimed = namedParameterJdbcTemplate.update(CLAIM_SQL, new MapSqlParameterSource()
+            .addValue("claim", claim)
+            .addValue("leaseUntil", Timestamp.valueOf(now.plusSeconds(leaseSeconds)))
+            .addValue("ids", ids));
+        if (claimed == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_CLAIMED_SQL,
+            (rs, rowNum) -> new OutboxEmail(rs.getLong(1), rs.getString(2), rs.getString(3),
+                                            rs.getString(4), rs.getInt(5)),
+            claim);
+    }
+
+    private void sendBatch(List<OutboxEmail> batch) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<Long> sent = new ArrayList<>(batch.size());
+        List<Object[]> unsent = new ArrayList<>();
+        MessagingException connectionError = null;
+        int next = 0;
+        try {
+            // A connection that breaks mid-batch is replaced once; after that the rest waits for a retry
+            for (int connections = 0; next < batch.size() && connections < 2; connections++) {
+                SmtpConnectionPool.SmtpConnection connection;
+                try {
+                    connection = connectionPool.borrow();
+                } catch (MessagingException e) {
+                    logger.warn("Could not connect to the SMTP server: {}", e.getMessage());
+                    connectionError = e;
+                    break;
+                }
+
+                boolean healthy = true;
+                try {
+                    while (next < batch.size() && healthy) {
+                        OutboxEmail email = batch.get(next++);
+                        MimeMessage message;
+                        try {
+                            message = toMimeMessage(connection, email);
+                        } catch (MessagingException e) {
+                            unsent.add(failure(email, e, true));
+                            continue;
+                        }
+
+                        rateLimiter.acquire();
+                        try {
+                            connection.send(message);
+                            sent.add(email.id());
+                        } catch (SendFailedException e) {
+                            // The server answered, so the connection is still usable
+                            unsent.add(failure(email, e, smtpReturnCode(e) >= 500));
+                        } catch (MessagingException e) {
+                            unsent.add(failure(email, e, false));
+                            connectionError = e;
+                            healthy = false;
+                        }
+                    }
+                } finally {
+                    if (healthy) {
+                        connectionPool.release(connection);
+                    } else {
+                        connectionPool.discard(connection);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (; next < batch.size(); next++) {
+                unsent.add(failure(batch.get(next), connectionError, false));
+            }
+            try {
+                record(sent, unsent);
+            } catch (RuntimeException e) {
+                // The lease expires and the batch is reclaimed; sent messages may go out again
+                logger.error("Failed to record results of {} emails: {}", batch.size(), e.getMessage());
+            }
+            sample.stop(batchTimer);
+            freeWorkers.release();
+        }
+
+        if (batch.size() == batchSize && !Thread.currentThread().isInterrupted()) {
+            taskScheduler.schedule(this::poll, Instant.now());
+        }
+    }
+
+    private MimeMessage toMimeMessage(SmtpConnectionPool.SmtpConnection connection, OutboxEmail email)
+            throws MessagingException {
+        MimeMessage message = connection.createMessage();
+        message.setFrom(fromAddress);
+        message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(email.recipient(), true));
+        message.setSubject(email.subject(), "UTF-8");
+        message.setText(email.body(), "UTF-8");
+        message.setSentDate(new Date());
+        return message;
+    }
+
+    // Row for RESCHEDULE_SQL: back off, or give up when rejected or out of attempts
+    private Object[] failure(OutboxEmail email, MessagingException error, boolean permanent) {
+        String message = error != null ? error.getMessage() : "Not sent before shutdown";
+        if (permanent || email.attempts() >= maxAttempts) {
+            failedCounter.increment();
+            logger.warn("Giving up on email {} to {} after {} attempts: {}",
+                       email.id(), email.recipient(), email.attempts(), message);
+            return new Object[] { "FAILED", Timestamp.valueOf(LocalDateTime.now()), truncate(message), email.id() };
+        }
+
+        retriedCounter.increment();
+        long delay = Math.min(retryDelaySeconds << Math.min(email.attempts() - 1, 20), maxRetryDelaySeconds);
+        return new Object[] { "PENDING", Timestamp.valueOf(LocalDateTime.now().plusSeconds(delay)),
+                              truncate(message), email.id() };
+    }
+
+    private void record(List<Long> sent, List<Object[]> unsent) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                namedParameterJdbcTemplate.update(MARK_SENT_SQL, new MapSqlParameterSource()
+                    .addValue("sentAt", Timestamp.valueOf(LocalDateTime.now()))
+                    .addValue("ids", sent));
+            }
+            if (!unsent.isEmpty()) {
+                jdbcTemplate.batchUpdate(RESCHEDULE_SQL, unsent);
+            }
+        });
+        sentCounter.increment(sent.size());
+    }
+
+    private void purgeSent(LocalDateTime cutoff) {
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList(SELECT_EXPIRED_SQL, Long.class, Timestamp.valueOf(cutoff), 1000);
+            if (!ids.isEmpty()) {
+                namedParameterJdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids", ids));
+            }
+        } while (ids.size() == 1000);
+    }
+
+    // SMTP reply code of a rejected message or recipient, -1 when the server gave none
+    private static int smtpReturnCode(MessagingException error) {
+        Exception current = error;
+        while (current instanceof MessagingException messagingException) {
+            if (current instanceof SMTPSendFailedException e) {
+                return e.getReturnCode();
+            }
+            if (current instanceof SMTPAddressFailedException e) {
+                return e.getReturnCode();
+            }
+            if (current instanceof SMTPSenderFailedException e) {
+                return e.getReturnCode();
+            }
+            current = messagingException.getNextException();
+        }
+        return -1;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private record OutboxEmail(long id, String recipient, String subject, String body, int attempts) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.edumaster.service;
+
+import com.edumaster.model.Payment;
+import com.edumaster.model.User;
+import com.edumaster.util.EmailVerificationTokens;
+import com.edumaster.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Email Outbox Service
+ *
+ * Queues transactional emails. An email is a row in email_outbox written in
+ * the caller's transaction, so it exists exactly when the change it reports
+ * was committed; {@link EmailDispatcher} sends it afterwards, off the request
+ * thread.
+ *
+ * Key Features:
+ * - One INSERT on the request path instead of an SMTP conversation
+ * - The dispatcher is woken after commit, so emails usually leave within
+ *   moments rather than at the next poll
+ * - Plain-text templates for the verification email sent on registration
+ *   and the receipt sent when a payment succeeds
+ *
+ * @author EduMaster Team
+ */
+@Service
+@Transactional
+public class EmailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO email_outbox (kind, recipient, subject, body, status, attempts, next_attempt_at, created_at) " +
+        "VALUES (?, ?, ?, ?, 'PENDING', 0, ?, ?)";
+
+    private static final DateTimeFormatter RECEIPT_DATE = DateTimeFormatter.ofPattern("MMMM d, yyyy HH:mm");
+
+    public enum EmailKind {
+        VERIFICATION,
+        PAYMENT_RECEIPT
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private EmailVerificationTokens verificationTokens;
+
+    @Value("${app.mail.verification.url}")
+    private String verificationUrl;
+
+    /**
+     * Queue an email in the current transaction.
+     */
+    public void enqueue(EmailKind kind, String recipient, String subject, String body) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(INSERT_SQL, kind.name(), recipient, subject, body, now, now);
+        TransactionUtils.afterCommit(emailDispatcher::wakeUp);
+        logger.debug("Queued {} email to {}", kind, recipient);
+    }
+
+    /**
+     * Queue the email with the link that confirms the user's address.
+     */
+    public void enqueueVerificationEmail(User user) {
+        String link = UriComponentsBuilder.fromUriString(verificationUrl)
+            .queryParam("token", verificationTokens.issue(user.getId(), user.getEmail()))
+            .toUriString();
+
+        String body = "Hi " + user.getFirstName() + ",\n\n" +
+            "Welcome to EduMaster Pro! Please confirm your email address by opening this link:\n\n" +
+            link + "\n\n" +
+            "The link is valid for " + verificationTokens.getTtlHours() + " hours. " +
+            "If you did not create an account, you can ignore this email.\n\n" +
+            "The EduMaster Pro Team\n";
+        enqueue(EmailKind.VERIFICATION, user.getEmail(), "Confirm your EduMaster Pro email address", body);
+    }
+
+    /**
+     * Queue the receipt of a succeeded payment.
+     */
+    public void enqueuePaymentReceipt(Payment payment) {
+        User user = payment.getUser();
+        String courseTitle = payment.getCourse().getTitle();
+        LocalDateTime paidAt = payment.getPaymentDate() != null ? payment.getPaymentDate() : LocalDateTime.now();
+
+        String body = "Hi " + user.getFirstName() + ",\n\n" +
+            "Thank you for your purchase. You are now enrolled in \"" + courseTitle + "\".\n\n" +
+            "Receipt\n" +
+            "  Course:     " + courseTitle + "\n" +
+            "  Amount:     " + payment.getAmount().toPlainString() + " " + payment.getCurrency() + "\n" +
+            "  Date:       " + paidAt.format(RECEIPT_DATE) + "\n" +
+            "  Payment ID: " + payment.getId() + "\n" +
+            "  Reference:  " + payment.getStripePaymentIntentId() + "\n\n" +
+            "Happy learning!\n" +
+            "The EduMaster Pro Team\n";
+        enqueue(EmailKind.PAYMENT_RECEIPT, user.getEmail(), "Your EduMaster Pro receipt: " + courseTitle, body);
+    }
+}
@@ -5,6 +5,7 @@ import com.edumaster.model.*;
 import com.edumaster.repository.EnrollmentRepository;
 import com.edumaster.repository.CourseRepository;
 import com.edumaster.repository.UserRepository;
+import com.edumaster.util.TransactionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,7 +21,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class EnrollmentService {
 
     private static final Logger logger = LoggerFactory.getLogger(EnrollmentService.class);
@@ -37,8 +38,18 @@ public class EnrollmentService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private CourseRecommendationService courseRecommendationService;
+
+    @Autowired
+    private FeedService feedService;
+
     // Enrollment Operations
     @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
     public Enrollment enrollUserInCourse(Long userId, Long courseId) {
         logger.info("Enrolling user {} in course {}", userId, courseId);
 
@@ -67,6 +78,8 @@ public class EnrollmentService {
         // Create enrollment
         Enrollment enrollment = new Enrollment(user, course);
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        catalogVersions.courseDetailsChanged(course.getId());
+        recordForRecommendations(userId, course.getId());
 
         // Send notification
         notificationService.sendEnrollmentNotification(user, course);
@@ -75,6 +88,7 @@ public class EnrollmentService {
         return savedEnrollment;
     }
 
+    @Transactional
     public Enrollment enrollUserInFreeCourse(Long userId, Long courseId) {
         logger.info("Enrolling user {} in free course {}", userId, courseId);
 
@@ -101,6 +115,8 @@ public class EnrollmentService {
         // Create enrollment
         Enrollment enrollment = new Enrollment(user, course);
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        catalogVersions.courseDetailsChanged(course.getId());
+        recordForRecommendations(userId, course.getId());
 
         // Send notification
         notificationService.sendEnrollmentNotification(user, course);
@@ -175,6 +191,7 @@ public class EnrollmentService {
 
     // Progress Management
     @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
     public Enrollment updateEnrollmentProgress(Long enrollmentId, BigDecimal progressPercentage) {
         logger.info("Updating progress for enrollment {} to {}%", enrollmentId, progressPercentage);
 
@@ -198,6 +215,7 @@ public class EnrollmentService {
     }
 
     @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
     public Enrollment markCourseAsCompleted(Long enrollmentId) {
         logger.info("Marking enrollment {} as completed", enrollmentId);
 
@@ -294,6 +312,7 @@ public class EnrollmentService {
 
     // Unenrollment (if needed)
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public void unenrollUser(Long enrollmentId, String reason) {
         logger.info("Unenrolling user - enrollment ID: {}, reason: {}", enrollmentId, reason);
 
@@ -306,6 +325,7 @@ public class EnrollmentService {
                    reason);
 
         enrollmentRepository.delete(enrollment);
+        catalogVersions.courseDetailsChanged(enrollment.getCourse().getId());
 
         // Send notification about unenrollment
         notificationService.sendUnenrollmentNotification(
@@ -327,4 +347,11 @@ public class EnrollmentService {
     public long getEnrollmentsByCategory(Long categoryId) {
         return enrollmentRepository.countByCategoryId(categoryId);
     }
-}
\ No newline at end of file
+
+    // Once the enrollment commits: co-enrollments reach the recommender and the user's feed is rebuilt
+    private void recordForRecommendations(Long userId, Long courseId) {
+        List<Long> coursesTaken = enrollmentRepository.findCourseIdsByUserId(userId);
+        TransactionUtils.afterCommit(() -> courseRecommendationService.recordEnrollment(courseId, coursesTaken));
+        feedService.evictFeed(userId);
+    }
+}
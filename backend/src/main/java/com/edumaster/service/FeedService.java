@@ -0,0 +1,285 @@
+package com.edumaster.service;
+
+import com.edumaster.cache.CacheRegion;
+import com.edumaster.cache.TwoLevelCache;
+import com.edumaster.cache.TwoLevelCacheManager;
+import com.edumaster.dto.CourseResponse;
+import com.edumaster.repository.CourseRepository;
+import com.edumaster.repository.EnrollmentRepository;
+import com.edumaster.util.LongIntHashMap;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Feed Service
+ *
+ * The personalized catalog feed for a student's homepage: one ranked list in
+ * place of the popular, recent and free lists that are the same for everyone.
+ *
+ * Key Features:
+ * - Candidates come from three sources, each scored from 0 to 1 and weighted:
+ *   category affinity (how many of the student's enrollments share the
+ *   course's category), co-enrollment recommendations for the courses the
+ *   student took, and courses trending over the last few days
+ * - Courses the student is already enrolled in are dropped with a membership
+ *   check against a primitive set built once per feed
+ * - Built lazily on the first request and kept as an array of course IDs in
+ *   the bounded {@link CacheRegion#FEEDS} cache, evicted when the student
+ *   enrolls; pages are rendered from it with two queries
+ * - Trending is the same for everyone, so it is recomputed once per refresh
+ *   interval per node rather than once per student
+ * - Students without enrollments get trending and then the newest courses
+ *
+ * @author EduMaster Team
+ */
+@Service
+@Transactional(readOnly = true)
+public class FeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedService.class);
+
+    public static final int MAX_PAGE_SIZE = 50;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseRecommendationService courseRecommendationService;
+
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
+    @Value("${app.feed.max-items:100}")
+    private int maxItems;
+
+    @Value("${app.feed.affinity-candidates:200}")
+    private int affinityCandidates;
+
+    @Value("${app.feed.recommendation-seeds:20}")
+    private int recommendationSeeds;
+
+    @Value("${app.feed.weights.affinity:0.4}")
+    private double affinityWeight;
+
+    @Value("${app.feed.weights.recommendations:0.4}")
+    private double recommendationWeight;
+
+    @Value("${app.feed.weights.trending:0.2}")
+    private double trendingWeight;
+
+    @Value("${app.feed.trending.days:7}")
+    private int trendingDays;
+
+    @Value("${app.feed.trending.size:100}")
+    private int trendingSize;
+
+    @Value("${app.feed.trending.refresh-seconds:300}")
+    private long trendingRefreshSeconds;
+
+    private TwoLevelCache<long[]> cache;
+
+    private final ReentrantLock trendingLock = new ReentrantLock();
+    private volatile Trending trending = new Trending(new long[0], new double[0], 0L);
+
+    @PostConstruct
+    public void init() {
+        cache = cacheManager.getCache(CacheRegion.FEEDS, long[].class);
+    }
+
+    // Read Operations
+
+    /**
+     * One page of the user's feed, best match first.
+     */
+    public List<CourseResponse> getFeed(Long userId, int page, int size) {
+        long[] feed = cache.get(cacheKey(userId), () -> buildFeed(userId));
+
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int from = (int) Math.min((long) Math.max(page, 0) * limit, feed.length);
+        int to = Math.min(from + limit, feed.length);
+        List<Long> courseIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            courseIds.add(feed[i]);
+        }
+        return courseService.getPublishedCourseResponses(courseIds);
+    }
+
+    // Write Operations
+
+    /**
+     * Drop the user's feed once the current transaction commits, e.g. after
+     * an enrollment; the next request builds it again.
+     */
+    public void evictFeed(Long userId) {
+        cache.evict(cacheKey(userId));
+    }
+
+    // Helper methods
+
+    private long[] buildFeed(Long userId) {
+        List<Object[]> enrollments = enrollmentRepository.findCourseAndCategoryIdsByUserId(userId);
+        LongIntHashMap enrolled = new LongIntHashMap(enrollments.size());
+        LongIntHashMap categoryEnrollments = new LongIntHashMap();
+        List<Long> categoryIds = new ArrayList<>();
+        int topCategoryEnrollments = 0;
+        for (Object[] row : enrollments) {
+            enrolled.put(((Number) row[0]).longValue(), 1);
+            long categoryId = ((Number) row[1]).longValue();
+            int count = categoryEnrollments.addTo(categoryId, 1);
+            if (count == 1) {
+                categoryIds.add(categoryId);
+            }
+            topCategoryEnrollments = Math.max(topCategoryEnrollments, count);
+        }
+
+        Candidates candidates = new Candidates(enrolled);
+
+        // Category affinity: the student's most enrolled category scores 1
+        if (!categoryIds.isEmpty()) {
+            for (Object[] row : courseRepository.findPublishedIdsByCategoryIdIn(
+                    categoryIds, PageRequest.of(0, affinityCandidates))) {
+                int count = categoryEnrollments.get(((Number) row[1]).longValue(), 0);
+                candidates.add(((Number) row[0]).longValue(), affinityWeight * count / topCategoryEnrollments);
+            }
+        }
+
+        // Recommendations: reciprocal rank summed over the courses taken, the best total scores 1
+        Candidates recommended = new Candidates(enrolled);
+        for (int i = 0; i < enrollments.size() && i < recommendationSeeds; i++) {
+            List<Long> courseIds = courseRecommendationService.recommend(((Number) enrollments.get(i)[0]).longValue(), maxItems);
+            for (int rank = 0; rank < courseIds.size(); rank++) {
+                recommended.add(courseIds.get(rank), 1.0 / (rank + 1));
+            }
+        }
+        double topRecommendation = recommended.maxScore();
+        for (int i = 0; i < recommended.size; i++) {
+            candidates.add(recommended.courseIds[i], recommendationWeight * recommended.scores[i] / topRecommendation);
+        }
+
+        Trending current = trending();
+        for (int i = 0; i < current.courseIds.length; i++) {
+            candidates.add(current.courseIds[i], trendingWeight * current.scores[i]);
+        }
+
+        // Too little signal (new student, quiet catalog): fill up with the newest courses
+        if (candidates.size < maxItems) {
+            List<Long> recent = courseRepository.findRecentPublishedIds(PageRequest.of(0, maxItems + enrollments.size()));
+            for (int i = 0; i < recent.size(); i++) {
+                candidates.add(recent.get(i), 1e-6 * (recent.size() - i) / recent.size());
+            }
+        }
+
+        long[] feed = candidates.ranked(maxItems);
+        logger.debug("Built feed of {} courses for user {}", feed.length, userId);
+        return feed;
+    }
+
+    private Trending trending() {
+        Trending current = trending;
+        if (System.currentTimeMillis() - current.computedAt < trendingRefreshSeconds * 1000) {
+            return current;
+        }
+        // One thread refreshes; the others keep using the previous list meanwhile
+        if (!trendingLock.tryLock()) {
+            return current;
+        }
+        try {
+            List<Object[]> rows = enrollmentRepository.findTrendingCourseIds(
+                LocalDateTime.now().minusDays(trendingDays), PageRequest.of(0, trendingSize));
+            long[] courseIds = new long[rows.size()];
+            double[] scores = new double[rows.size()];
+            double top = rows.isEmpty() ? 1 : ((Number) rows.get(0)[1]).doubleValue();
+            for (int i = 0; i < rows.size(); i++) {
+                courseIds[i] = ((Number) rows.get(i)[0]).longValue();
+                scores[i] = ((Number) rows.get(i)[1]).doubleValue() / top;
+            }
+            trending = new Trending(courseIds, scores, System.currentTimeMillis());
+            return trending;
+        } finally {
+            trendingLock.unlock();
+        }
+    }
+
+    private static String cacheKey(Long userId) {
+        return "user:" + userId;
+    }
+
+    private record Trending(long[] courseIds, double[] scores, long computedAt) {
+    }
+
+    /**
+     * Scores summed per course, skipping the courses in excluded.
+     */
+    private static final class Candidates {
+
+        private final LongIntHashMap excluded;
+        private final LongIntHashMap slots = new LongIntHashMap(256);
+        private long[] courseIds = new long[256];
+        private double[] scores = new double[256];
+        private int size;
+
+        Candidates(LongIntHashMap excluded) {
+            this.excluded = excluded;
+        }
+
+        void add(long courseId, double score) {
+            if (excluded.containsKey(courseId)) {
+                return;
+            }
+            int slot = slots.get(courseId, -1);
+            if (slot < 0) {
+                if (size == courseIds.length) {
+                    courseIds = Arrays.copyOf(courseIds, size * 2);
+                    scores = Arrays.copyOf(scores, size * 2);
+                }
+                slot = size++;
+                slots.put(courseId, slot);
+                courseIds[slot] = courseId;
+            }
+            scores[slot] += score;
+        }
+
+        double maxScore() {
+            double max = 0;
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, scores[i]);
+            }
+            return max;
+        }
+
+        // Highest score first, newer (higher) IDs first on ties
+        long[] ranked(int limit) {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> scores[a] != scores[b]
+                ? Double.compare(scores[b], scores[a])
+                : Long.compare(courseIds[b], courseIds[a]));
+
+            long[] ranked = new long[Math.min(limit, size)];
+            for (int i = 0; i < ranked.length; i++) {
+                ranked[i] = courseIds[order[i]];
+            }
+            return ranked;
+        }
+    }
+}
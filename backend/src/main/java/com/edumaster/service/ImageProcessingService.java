@@ -0,0 +1,386 @@
+package com.edumaster.service;
+
+import com.edumaster.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Image Processing Service
+ *
+ * Turns uploaded course thumbnails and profile pictures into the fixed
+ * sizes the clients display, so catalog pages stop downloading full-size
+ * originals.
+ *
+ * Key Features:
+ * - Originals are stored content-addressed in the {@link MediaStore} as
+ *   {@code <hash>-original.<ext>}; every size is stored next to them as
+ *   {@code <hash>-<width>x<height>.<ext>} and served publicly with
+ *   immutable caching from /media/images
+ * - Resizing runs after commit on a bounded worker pool sized to the CPU
+ *   count; a full queue or a failed attempt is retried with exponential
+ *   backoff, an image that cannot be decoded is not
+ * - Huge photos are decoded subsampled, at no more than twice the largest
+ *   size, and every size is scaled down from the previous one with
+ *   progressive bilinear halving (pure Java2D/ImageIO, no native code)
+ * - Variant URLs are only reported once the file exists, so responses
+ *   never point at a size that is still being generated
+ *
+ * @author EduMaster Team
+ */
+@Service
+public class ImageProcessingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageProcessingService.class);
+
+    public static final String IMAGE_URL_PREFIX = "/media/images/";
+    public static final String ORIGINAL_VARIANT = "original";
+
+    // Only formats ImageIO can both read and write without plugins
+    private static final List<String> IMAGE_EXTENSIONS = List.of("jpg", "jpeg", "png");
+
+    private static final byte[] JPEG_MAGIC = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    private static final Pattern ORIGINAL_NAME = Pattern.compile("([0-9a-f]{64})-" + ORIGINAL_VARIANT + "\\.([a-z0-9]{1,8})");
+
+    /**
+     * What an image is used for, and the sizes generated for it (largest first).
+     */
+    public enum ImageKind {
+        COURSE_THUMBNAIL(List.of(
+            new ImageSize("large", 1280, 720),
+            new ImageSize("medium", 640, 360),
+            new ImageSize("small", 320, 180))),
+        AVATAR(List.of(
+            new ImageSize("large", 256, 256),
+            new ImageSize("medium", 128, 128),
+            new ImageSize("small", 64, 64)));
+
+        private final List<ImageSize> sizes;
+
+        ImageKind(List<ImageSize> sizes) {
+            this.sizes = sizes;
+        }
+
+        public List<ImageSize> getSizes() {
+            return sizes;
+        }
+    }
+
+    /**
+     * A generated size: the image is scaled to cover the box and center-cropped.
+     */
+    public record ImageSize(String label, int width, int height) {
+        public String variant() {
+            return width + "x" + height;
+        }
+    }
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Autowired
+    @Qualifier("imageProcessingExecutor")
+    private TaskExecutor imageExecutor;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Value("${app.images.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${app.images.retry-delay-seconds:5}")
+    private long retryDelaySeconds;
+
+    @Value("${app.images.max-source-pixels:50000000}")
+    private long maxSourcePixels;
+
+    @Value("${app.images.jpeg-quality:0.85}")
+    private float jpegQuality;
+
+    // Source name + kind of jobs queued or running, so repeated uploads of one image are processed once
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Store an uploaded image as an original; its sizes are generated by {@link #process}.
+     *
+     * @return the stored original
+     */
+    public MediaStore.StoredMedia storeOriginal(InputStream in, String originalFilename) throws IOException {
+        String extension = StringUtils.getFilenameExtension(originalFilename);
+        if (extension == null || !IMAGE_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Image type not supported, expected one of: " + IMAGE_EXTENSIONS);
+        }
+        // Reject anything that is not a JPEG or PNG up front instead of failing later on a worker
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(PNG_MAGIC.length);
+        byte[] header = buffered.readNBytes(PNG_MAGIC.length);
+        buffered.reset();
+        if (!startsWith(header, JPEG_MAGIC) && !startsWith(header, PNG_MAGIC)) {
+            throw new IllegalArgumentException("File is not a JPEG or PNG image");
+        }
+        return mediaStore.store(buffered, originalFilename, ORIGINAL_VARIANT);
+    }
+
+    /**
+     * @return the public URL of a stored image
+     */
+    public String publicUrl(String name) {
+        return contextPath + IMAGE_URL_PREFIX + name;
+    }
+
+    /**
+     * Queue generation of all sizes of a stored original. Inside a transaction
+     * the job is queued after commit.
+     *
+     * @param onComplete run on the worker once every size exists, e.g. to refresh cached responses
+     */
+    public void process(String originalName, ImageKind kind, Runnable onComplete) {
+        if (!ORIGINAL_NAME.matcher(originalName).matches()) {
+            throw new IllegalArgumentException("Not a stored original image: " + originalName);
+        }
+        TransactionUtils.afterCommit(() -> submit(new ImageJob(originalName, kind, onComplete, 1)));
+    }
+
+    /**
+     * Size label to URL of the generated sizes of an image.
+     *
+     * @param url an image URL as stored on a course or user
+     * @return the sizes generated so far, or null when the URL is not a processed upload
+     */
+    public Map<String, String> variantUrls(String url, ImageKind kind) {
+        String prefix = contextPath + IMAGE_URL_PREFIX;
+        if (url == null || !url.startsWith(prefix)) {
+            return null;
+        }
+        Matcher original = ORIGINAL_NAME.matcher(url.substring(prefix.length()));
+        if (!original.matches()) {
+            return null;
+        }
+        String extension = outputExtension(original.group(2));
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (ImageSize size : kind.getSizes()) {
+            String name = MediaStore.variantName(original.group(1), size.variant(), extension);
+            if (mediaStore.exists(name)) {
+                urls.put(size.label(), publicUrl(name));
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * @return whether a stored name is a processed image, which may be served without a signature
+     */
+    public static boolean isPublicImage(String name) {
+        int dash = name.indexOf('-');
+        int dot = name.lastIndexOf('.');
+        return dash == 64 && dot > dash && IMAGE_EXTENSIONS.contains(name.substring(dot + 1));
+    }
+
+    private void submit(ImageJob job) {
+        if (!pending.add(job.key())) {
+            return;
+        }
+        try {
+            imageExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            pending.remove(job.key());
+            retryLater(job, "queue full");
+        }
+    }
+
+    private void run(ImageJob job) {
+        try {
+            generate(job.originalName, job.kind);
+            pending.remove(job.key());
+        } catch (IllegalArgumentException e) {
+            pending.remove(job.key());
+            logger.error("Image {} cannot be processed: {}", job.originalName, e.getMessage());
+            return;
+        } catch (Exception e) {
+            pending.remove(job.key());
+            retryLater(job, e.getMessage());
+            return;
+        }
+        if (job.onComplete != null) {
+            job.onComplete.run();
+        }
+    }
+
+    private void retryLater(ImageJob job, String reason) {
+        if (job.attempt >= maxAttempts) {
+            logger.error("Giving up on image {} after {} attempts: {}", job.originalName, job.attempt, reason);
+            return;
+        }
+        long delay = retryDelaySeconds << (job.attempt - 1);
+        logger.warn("Image {} attempt {} failed ({}), retrying in {}s", job.originalName, job.attempt, reason, delay);
+        taskScheduler.schedule(() -> submit(job.nextAttempt()), Instant.now().plusSeconds(delay));
+    }
+
+    // Write every missing size of an original; sizes already stored are skipped
+    private void generate(String originalName, ImageKind kind) throws IOException {
+        Matcher original = ORIGINAL_NAME.matcher(originalName);
+        if (!original.matches()) {
+            throw new IllegalArgumentException("Not a stored original image: " + originalName);
+        }
+        String hash = original.group(1);
+        String extension = outputExtension(original.group(2));
+        List<ImageSize> sizes = kind.getSizes();
+        if (sizes.stream().allMatch(size -> mediaStore.exists(MediaStore.variantName(hash, size.variant(), extension)))) {
+            return;
+        }
+
+        long started = System.currentTimeMillis();
+        BufferedImage current = decode(mediaStore.pathOf(originalName), sizes.get(0));
+        boolean alpha = "png".equals(extension);
+        for (ImageSize size : sizes) {
+            // Sizes are largest first, so each one is scaled down from the previous result
+            current = scale(current, size.width(), size.height(), alpha);
+            String name = MediaStore.variantName(hash, size.variant(), extension);
+            if (!mediaStore.exists(name)) {
+                Path temp = mediaStore.createTempFile("image-");
+                try {
+                    write(current, "png".equals(extension) ? "png" : "jpeg", temp);
+                    mediaStore.adoptVariant(temp, hash, size.variant(), extension);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        }
+        logger.info("Generated {} sizes of {} in {}ms", kind, originalName, System.currentTimeMillis() - started);
+    }
+
+    // Decode, skipping source pixels that the largest size cannot use
+    private BufferedImage decode(Path file, ImageSize largest) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported or corrupt image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    throw new IllegalArgumentException("Image has " + width + "x" + height + " pixels, more than " + maxSourcePixels);
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.min(width / (2 * largest.width()), height / (2 * largest.height()));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } catch (IIOException e) {
+                // Corrupt data or an unsupported variant such as CMYK JPEG; retrying cannot help
+                throw new IllegalArgumentException("Image cannot be decoded: " + e.getMessage());
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Scale to cover width x height and crop the center, halving first so large reductions keep their detail
+    private static BufferedImage scale(BufferedImage source, int width, int height, boolean alpha) {
+        double cover = Math.max((double) width / source.getWidth(), (double) height / source.getHeight());
+        int cropWidth = Math.min(source.getWidth(), (int) Math.round(width / cover));
+        int cropHeight = Math.min(source.getHeight(), (int) Math.round(height / cover));
+        BufferedImage current = source.getSubimage(
+            (source.getWidth() - cropWidth) / 2, (source.getHeight() - cropHeight) / 2, cropWidth, cropHeight);
+
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int currentWidth = cropWidth;
+        int currentHeight = cropHeight;
+        do {
+            int nextWidth = currentWidth >= width * 2 ? currentWidth / 2 : width;
+            int nextHeight = currentHeight >= height * 2 ? currentHeight / 2 : height;
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        return data.length >= prefix.length && Arrays.equals(data, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    // PNG keeps transparency; JPEG originals stay JPEG under one extension
+    private static String outputExtension(String originalExtension) {
+        return "png".equals(originalExtension) ? "png" : "jpg";
+    }
+
+    private record ImageJob(String originalName, ImageKind kind, Runnable onComplete, int attempt) {
+        String key() {
+            return originalName + ":" + kind;
+        }
+
+        ImageJob nextAttempt() {
+            return new ImageJob(originalName, kind, onComplete, attempt + 1);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.edumaster.service;
+
+import com.edumaster.cache.CacheRegion;
+import com.edumaster.cache.TwoLevelCache;
+import com.edumaster.cache.TwoLevelCacheManager;
+import com.edumaster.dto.LessonOutlineItem;
+import com.edumaster.dto.LessonOutlineResponse;
+import com.edumaster.dto.LessonRequest;
+import com.edumaster.dto.LessonResponse;
+import com.edumaster.exception.ResourceNotFoundException;
+import com.edumaster.model.Course;
+import com.edumaster.model.Lesson;
+import com.edumaster.model.Role;
+import com.edumaster.repository.CourseRepository;
+import com.edumaster.repository.EnrollmentRepository;
+import com.edumaster.repository.LessonRepository;
+import com.edumaster.security.UserPrincipal;
+import com.edumaster.util.MediaUrlSigner;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lesson Service
+ *
+ * Lesson authoring and the course player outline.
+ *
+ * Key Features:
+ * - Outline rows are projections read through idx_lessons_order; no lesson
+ *   or course entities are loaded to render it
+ * - The course outline is cached in the {@link CacheRegion#COURSES}
+ *   two-level cache at the course's {@link CatalogVersions} version, so
+ *   anonymous callers cost no query on a hit
+ * - Signed-in callers get their completion per lesson from one statement:
+ *   lessons LEFT JOIN their enrollment LEFT JOIN course_progress
+ * - Reordering rewrites every order_index of a course with a single
+ *   UPDATE ... CASE statement
+ * - Every lesson write moves the course version, so the cached outline and
+ *   course detail are re-rendered after commit
+ * - Media uploaded to the {@link MediaStore} is referenced as /media/{name}
+ *   and handed out as a signed URL once lesson access has been checked
+ *
+ * @author EduMaster Team
+ */
+@Service
+@Transactional(readOnly = true)
+public class LessonService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LessonService.class);
+
+    // Stored form of a MediaStore reference in videoUrl / contentUrl
+    private static final String MEDIA_URL_PREFIX = "/media/";
+
+    public enum MediaSlot {
+        VIDEO,
+        CONTENT
+    }
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MediaUrlSigner mediaUrlSigner;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    private TwoLevelCache<LessonOutlineResponse> outlines;
+
+    @PostConstruct
+    public void init() {
+        outlines = cacheManager.getCache(CacheRegion.COURSES, LessonOutlineResponse.class);
+    }
+
+    // Outline Operations
+
+    /**
+     * Ordered outline of a course with the caller's progress when given.
+     * Unpublished courses are only visible to their instructor and admins.
+     *
+     * @param caller the signed-in user, or null for anonymous callers
+     */
+    public LessonOutlineResponse getCourseOutline(Long courseId, UserPrincipal caller) {
+        LessonOutlineResponse outline = getCachedOutline(courseId);
+        if (!outline.isPublished() && !canManage(outline.getInstructorId(), caller)) {
+            throw new ResourceNotFoundException("Published course not found with ID: " + courseId);
+        }
+        if (caller == null) {
+            return outline;
+        }
+
+        List<LessonOutlineItem> rows = lessonRepository.findOutlineWithProgress(courseId, caller.getId());
+        LessonOutlineResponse personal = new LessonOutlineResponse(
+            courseId, outline.getInstructorId(), outline.isPublished(), rows);
+        personal.setEnrolled(!rows.isEmpty() && rows.get(0).getEnrollmentId() != null);
+        return personal;
+    }
+
+    private LessonOutlineResponse getCachedOutline(Long courseId) {
+        // Read the version before any data: the cached outline is at least this fresh
+        long version = catalogVersions.getCourseVersion(courseId);
+        return outlines.get("outline:" + courseId, version, () -> loadOutline(courseId));
+    }
+
+    private LessonOutlineResponse loadOutline(Long courseId) {
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new ResourceNotFoundException("Course not found with ID: " + courseId));
+        return new LessonOutlineResponse(courseId, course.getInstructor().getId(), course.isPublished(),
+            lessonRepository.findOutlineByCourseId(courseId));
+    }
+
+    // Read Operations
+
+    /**
+     * Full lesson content. Free previews of published courses are open to
+     * every signed-in user, other lessons need an enrollment.
+     */
+    public LessonResponse getLesson(Long lessonId, UserPrincipal caller) {
+        Lesson lesson = getLessonWithCourseOrThrow(lessonId);
+        Course course = lesson.getCourse();
+
+        boolean allowed = canManage(course.getInstructor().getId(), caller)
+            || (course.isPublished() && (Boolean.TRUE.equals(lesson.getIsFreePreview())
+                || (caller != null && enrollmentRepository.existsByUserIdAndCourseId(caller.getId(), course.getId()))));
+        if (!allowed) {
+            throw new AccessDeniedException("Enroll in the course to access this lesson");
+        }
+
+        LessonResponse response = new LessonResponse(lesson);
+        response.setVideoUrl(signMediaUrl(lesson.getVideoUrl()));
+        response.setContentUrl(signMediaUrl(lesson.getContentUrl()));
+        return response;
+    }
+
+    // Create and Update Operations
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
+    public LessonResponse createLesson(Long courseId, LessonRequest request) {
+        logger.info("Creating lesson '{}' in course {}", request.getTitle(), courseId);
+
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new ResourceNotFoundException("Course not found with ID: " + courseId));
+        checkCourseOwner(course);
+
+        Lesson lesson = new Lesson();
+        lesson.setCourse(course);
+        applyRequest(lesson, request);
+        if (request.getOrderIndex() == null) {
+            lesson.setOrderIndex(lessonRepository.findMaxOrderIndexByCourseId(courseId) + 1);
+        }
+
+        Lesson savedLesson = lessonRepository.save(lesson);
+        catalogVersions.courseDetailsChanged(courseId);
+        logger.info("Lesson created successfully with ID: {}", savedLesson.getId());
+
+        return new LessonResponse(savedLesson);
+    }
+
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
+    public LessonResponse updateLesson(Long lessonId, LessonRequest request) {
+        logger.info("Updating lesson with ID: {}", lessonId);
+
+        Lesson lesson = getLessonWithCourseOrThrow(lessonId);
+        checkCourseOwner(lesson.getCourse());
+
+        Integer orderIndex = lesson.getOrderIndex();
+        applyRequest(lesson, request);
+        if (request.getOrderIndex() == null) {
+            lesson.setOrderIndex(orderIndex);
+        }
+
+        Lesson updatedLesson = lessonRepository.save(lesson);
+        catalogVersions.courseDetailsChanged(lesson.getCourse().getId());
+        logger.info("Lesson updated successfully: {}", updatedLesson.getTitle());
+
+        return new LessonResponse(updatedLesson);
+    }
+
+    /**
+     * Put the lessons of a course in the given order, with one UPDATE
+     * statement. The list must name every lesson of the course exactly once.
+     */
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
+    public void reorderLessons(Long courseId, List<Long> lessonIds) {
+        logger.info("Reordering {} lessons of course {}", lessonIds.size(), courseId);
+
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new ResourceNotFoundException("Course not found with ID: " + courseId));
+        checkCourseOwner(course);
+
+        Set<Long> requested = new HashSet<>(lessonIds);
+        Set<Long> existing = new HashSet<>(lessonRepository.findIdsByCourseId(courseId));
+        if (requested.size() != lessonIds.size() || !requested.equals(existing)) {
+            throw new IllegalArgumentException("Lesson order must list every lesson of the course exactly once");
+        }
+
+        // UPDATE lessons SET order_index = CASE id WHEN ? THEN ? ... END WHERE course_id = ? AND id IN (?, ...)
+        StringBuilder sql = new StringBuilder("UPDATE lessons SET order_index = CASE id");
+        StringBuilder in = new StringBuilder();
+        List<Object> params = new ArrayList<>(lessonIds.size() * 3 + 1);
+        for (int i = 0; i < lessonIds.size(); i++) {
+            sql.append(" WHEN ? THEN ?");
+            params.add(lessonIds.get(i));
+            params.add(i);
+            in.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(" END, updated_at = CURRENT_TIMESTAMP WHERE course_id = ? AND id IN (").append(in).append(')');
+        params.add(courseId);
+        params.addAll(lessonIds);
+
+        int updated = jdbcTemplate.update(sql.toString(), params.toArray());
+        catalogVersions.courseDetailsChanged(courseId);
+        logger.info("Reordered {} lessons of course {}", updated, courseId);
+    }
+
+    /**
+     * Point a lesson's video or content at a file in the {@link MediaStore}.
+     */
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
+    public LessonResponse attachMedia(Long lessonId, MediaSlot slot, String mediaName) {
+        logger.info("Attaching media {} as {} of lesson {}", mediaName, slot, lessonId);
+
+        Lesson lesson = getLessonWithCourseOrThrow(lessonId);
+        checkCourseOwner(lesson.getCourse());
+
+        if (slot == MediaSlot.VIDEO) {
+            lesson.setVideoUrl(MEDIA_URL_PREFIX + mediaName);
+        } else {
+            lesson.setContentUrl(MEDIA_URL_PREFIX + mediaName);
+        }
+
+        Lesson updatedLesson = lessonRepository.save(lesson);
+        catalogVersions.courseDetailsChanged(lesson.getCourse().getId());
+
+        LessonResponse response = new LessonResponse(updatedLesson);
+        response.setVideoUrl(signMediaUrl(updatedLesson.getVideoUrl()));
+        response.setContentUrl(signMediaUrl(updatedLesson.getContentUrl()));
+        return response;
+    }
+
+    /**
+     * Fail unless the current user may change the given lesson.
+     */
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    public void checkCanManageLesson(Long lessonId) {
+        checkCourseOwner(getLessonWithCourseOrThrow(lessonId).getCourse());
+    }
+
+    // Delete Operations
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
+    public void deleteLesson(Long lessonId) {
+        logger.info("Deleting lesson with ID: {}", lessonId);
+
+        Lesson lesson = getLessonWithCourseOrThrow(lessonId);
+        Long courseId = lesson.getCourse().getId();
+        checkCourseOwner(lesson.getCourse());
+
+        lessonRepository.deleteLessonById(lessonId);
+        catalogVersions.courseDetailsChanged(courseId);
+        logger.info("Lesson deleted successfully with ID: {}", lessonId);
+    }
+
+    // Helper Methods
+    private Lesson getLessonWithCourseOrThrow(Long lessonId) {
+        return lessonRepository.findByIdWithCourse(lessonId)
+            .orElseThrow(() -> new ResourceNotFoundException("Lesson not found with ID: " + lessonId));
+    }
+
+    private void applyRequest(Lesson lesson, LessonRequest request) {
+        lesson.setTitle(request.getTitle());
+        lesson.setDescription(request.getDescription());
+        lesson.setVideoUrl(unsignMediaUrl(request.getVideoUrl()));
+        lesson.setDurationMinutes(request.getDurationMinutes() != null ? request.getDurationMinutes() : 0);
+        lesson.setOrderIndex(request.getOrderIndex());
+        lesson.setIsFreePreview(Boolean.TRUE.equals(request.getIsFreePreview()));
+        lesson.setContentType(request.getContentType() != null ? request.getContentType() : Lesson.ContentType.VIDEO);
+        lesson.setContentUrl(unsignMediaUrl(request.getContentUrl()));
+    }
+
+    // Stored media references become signed URLs; external URLs pass through
+    private String signMediaUrl(String url) {
+        if (url == null || !url.startsWith(MEDIA_URL_PREFIX)) {
+            return url;
+        }
+        String name = url.substring(MEDIA_URL_PREFIX.length());
+        long expires = mediaUrlSigner.expiresAt();
+        return contextPath + url + "?expires=" + expires + "&signature=" + mediaUrlSigner.sign(name, expires);
+    }
+
+    // Signed URLs sent back by an editor are stored as the plain media reference again
+    private String unsignMediaUrl(String url) {
+        String signedPrefix = contextPath + MEDIA_URL_PREFIX;
+        if (url == null || !url.startsWith(signedPrefix)) {
+            return url;
+        }
+        int query = url.indexOf('?');
+        return url.substring(contextPath.length(), query >= 0 ? query : url.length());
+    }
+
+    // Instructors may only change the lessons of their own courses
+    private void checkCourseOwner(Course course) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserPrincipal principal = authentication != null && authentication.getPrincipal() instanceof UserPrincipal p
+            ? p : null;
+        if (!canManage(course.getInstructor().getId(), principal)) {
+            throw new AccessDeniedException("Instructors can only manage lessons of their own courses");
+        }
+    }
+
+    private boolean canManage(Long instructorId, UserPrincipal caller) {
+        return caller != null && (caller.getRole() == Role.ADMIN || caller.getId().equals(instructorId));
+    }
+}
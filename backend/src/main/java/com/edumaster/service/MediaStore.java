@@ -0,0 +1,250 @@
+package com.edumaster.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Media Store
+ *
+ * Content-addressed store for uploaded lesson media on the local filesystem,
+ * under {@code app.file-upload-path}/media.
+ *
+ * Key Features:
+ * - Uploads are streamed to a temp file through a SHA-256 digest with a
+ *   fixed buffer; no upload is ever held in memory
+ * - Files are named after their hash, so uploading the same video twice
+ *   stores it once and a stored file never changes. Chunked uploads are
+ *   named after the hash of their chunk hashes instead (see
+ *   {@link ChunkedUploadService}), which needs no second read of the file
+ * - The hash doubles as a strong ETag for range requests
+ * - Processed images are stored as variants of their source, next to it:
+ *   {@code <hash>-<variant>.<ext>} (see {@link ImageProcessingService})
+ * - Only configured extensions are accepted and names are validated before
+ *   they touch the filesystem
+ *
+ * @author EduMaster Team
+ */
+@Component
+public class MediaStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaStore.class);
+
+    // <64 hex chars>[-<variant>].<extension>, nothing else resolves to a file
+    private static final Pattern NAME = Pattern.compile("[0-9a-f]{64}(-[a-z0-9]{1,16})?\\.[a-z0-9]{1,8}");
+    private static final Pattern VARIANT = Pattern.compile("[a-z0-9]{1,16}");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Value("${app.file-upload-path}")
+    private String uploadPath;
+
+    @Value("${app.media.allowed-extensions:mp4,webm,m4v,mov,pdf,png,jpg,jpeg,webp}")
+    private List<String> allowedExtensions;
+
+    private Path mediaDir;
+    private Path tempDir;
+
+    @PostConstruct
+    public void init() throws IOException {
+        mediaDir = Paths.get(uploadPath, "media").toAbsolutePath().normalize();
+        tempDir = mediaDir.resolve("tmp");
+        Files.createDirectories(tempDir);
+        logger.info("Media store at {}", mediaDir);
+    }
+
+    /**
+     * @return a new empty file on the same file system as the store, so it can be adopted with a rename
+     */
+    public Path createTempFile(String prefix) throws IOException {
+        return Files.createTempFile(tempDir, prefix, ".part");
+    }
+
+    /**
+     * Store an upload, hashing it while it is written.
+     *
+     * @param in the upload, read to the end and closed
+     * @param originalFilename used for its extension only
+     * @return the stored media; an existing file when the content was already stored
+     */
+    public StoredMedia store(InputStream in, String originalFilename) throws IOException {
+        return store(in, originalFilename, null);
+    }
+
+    /**
+     * Store an upload under a variant name, {@code <hash>-<variant>.<ext>}.
+     * Used for source images, whose derived sizes are stored next to them.
+     */
+    public StoredMedia store(InputStream in, String originalFilename, String variant) throws IOException {
+        String extension = extensionOf(originalFilename);
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream digestIn = new DigestInputStream(in, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                size = transfer(digestIn, out);
+            }
+            return commit(temp, variantName(HexFormat.of().formatHex(digest.digest()), variant, extension), size);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Take over a file written elsewhere in the store's temp directory whose
+     * content hash is already known. The file is moved, never copied or read.
+     */
+    public StoredMedia adopt(Path file, String hash, String originalFilename, long size) throws IOException {
+        if (!file.toAbsolutePath().normalize().startsWith(tempDir)) {
+            throw new IllegalArgumentException("Only files in the media temp directory can be adopted");
+        }
+        try {
+            return commit(file, variantName(hash, null, extensionOf(originalFilename)), size);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Move a file derived from a stored source (e.g. a resized image) from
+     * the temp directory to {@code <hash>-<variant>.<extension>}.
+     */
+    public StoredMedia adoptVariant(Path file, String hash, String variant, String extension) throws IOException {
+        if (!file.toAbsolutePath().normalize().startsWith(tempDir)) {
+            throw new IllegalArgumentException("Only files in the media temp directory can be adopted");
+        }
+        try {
+            return commit(file, variantName(hash, variant, extension), Files.size(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * @return the name a variant of a stored source has, whether or not it exists yet
+     */
+    public static String variantName(String hash, String variant, String extension) {
+        if (variant == null) {
+            return hash + "." + extension;
+        }
+        if (!VARIANT.matcher(variant).matches()) {
+            throw new IllegalArgumentException("Invalid media variant: " + variant);
+        }
+        return hash + "-" + variant + "." + extension;
+    }
+
+    // Move a fully written temp file to its content address, or drop it when the content is already there
+    private StoredMedia commit(Path temp, String name, long size) throws IOException {
+        Path target = pathOf(name);
+        if (Files.exists(target)) {
+            logger.info("Media {} already stored, upload deduplicated", name);
+        } else {
+            Files.createDirectories(target.getParent());
+            // Same name means same bytes, so losing a race to a concurrent upload is harmless
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            logger.info("Stored media {} ({} bytes)", name, size);
+        }
+        return new StoredMedia(name, tagOf(name), size, contentTypeOf(name));
+    }
+
+    /**
+     * Look up a stored file by name.
+     *
+     * @return the file, empty for invalid or unknown names
+     */
+    public Optional<StoredMedia> find(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(name);
+        try {
+            return Optional.of(new StoredMedia(name, tagOf(name), Files.size(path), contentTypeOf(name)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return the absolute, normalized path of a valid media name
+     */
+    public Path pathOf(String name) {
+        if (!NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid media name: " + name);
+        }
+        // Two levels of fan-out keep directories small: ab/cd/abcd....mp4
+        return mediaDir.resolve(name.substring(0, 2)).resolve(name.substring(2, 4)).resolve(name);
+    }
+
+    public boolean exists(String name) {
+        return NAME.matcher(name).matches() && Files.isRegularFile(pathOf(name));
+    }
+
+    public boolean isAllowed(String originalFilename) {
+        String extension = StringUtils.getFilenameExtension(originalFilename);
+        return extension != null && allowedExtensions.contains(extension.toLowerCase(Locale.ROOT));
+    }
+
+    private String extensionOf(String originalFilename) {
+        if (!isAllowed(originalFilename)) {
+            throw new IllegalArgumentException("File type not allowed, expected one of: " + allowedExtensions);
+        }
+        return StringUtils.getFilenameExtension(originalFilename).toLowerCase(Locale.ROOT);
+    }
+
+    // The content hash, plus the variant for derived files, which differ in content from their source
+    private static String tagOf(String name) {
+        return name.substring(0, name.lastIndexOf('.'));
+    }
+
+    private static MediaType contentTypeOf(String name) {
+        return MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+
+    private static long transfer(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        return total;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * A stored file: its name is the SHA-256 of its content plus the extension.
+     * For variants, hash is {@code <source hash>-<variant>}, still unique per content.
+     */
+    public record StoredMedia(String name, String hash, long size, MediaType contentType) {
+    }
+}
@@ -0,0 +1,408 @@
+package com.edumaster.service;
+
+import com.edumaster.cache.CacheMessage;
+import com.edumaster.cache.TwoLevelCacheManager;
+import com.edumaster.model.Notification;
+import com.edumaster.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Notification Counter Cache
+ *
+ * Keeps per-user notification counts (total and unread, broken down by type)
+ * in memory so polling the unread badge costs no database query.
+ *
+ * Users are spread over a fixed number of stripes, each guarded by its own
+ * lock and holding an access-ordered map that evicts the least recently used
+ * user once the stripe is full. Counts are loaded lazily with one grouped
+ * query, run outside the stripe lock, and kept up to date by the notification
+ * write paths; a load that overlaps a committing write is used once but not
+ * cached, so the write's delta is never counted twice. Entries expire
+ * after a configurable TTL so any drift (e.g. rows changed outside the
+ * application) corrects itself on the next load.
+ *
+ * With several nodes, every change is also broadcast through the
+ * {@link TwoLevelCacheManager} and the other nodes drop their copy of the
+ * affected users' counts.
+ *
+ * @author EduMaster Team
+ */
+@Component
+public class NotificationCounterCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationCounterCache.class);
+
+    private static final int STRIPES = 64;
+    private static final String TOPIC = "notification-counters";
+    private static final int MESSAGE_BATCH_SIZE = 500;
+    private static final Notification.NotificationType[] TYPES = Notification.NotificationType.values();
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
+    private final Stripe[] stripes;
+    private final long ttlMillis;
+    private final Counter hits;
+    private final Counter misses;
+
+    public NotificationCounterCache(@Value("${app.notifications.counters.max-users:100000}") int maxUsers,
+                                    @Value("${app.notifications.counters.ttl-minutes:10}") long ttlMinutes,
+                                    MeterRegistry meterRegistry) {
+        int perStripe = Math.max(1, maxUsers / STRIPES);
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(perStripe);
+        }
+        this.ttlMillis = ttlMinutes * 60_000L;
+        this.hits = Counter.builder("edumaster.cache.gets").tag("region", "notification-counters")
+            .tag("tier", "near").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("edumaster.cache.gets").tag("region", "notification-counters")
+            .tag("tier", "all").tag("result", "miss").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        cacheManager.subscribe(TOPIC, this::onMessage);
+    }
+
+    // Read operations
+    public long getUnreadCount(Long userId) {
+        return getCounts(userId).getUnread();
+    }
+
+    public Counts getCounts(Long userId) {
+        return getOrLoad(userId);
+    }
+
+    // Write-path updates, applied once the transaction commits. Users that are not cached are
+    // skipped: they load fresh counts on next access.
+    public void onCreated(Long userId, Notification.NotificationType type) {
+        onChange(List.of(userId), entry -> {
+            entry.total[type.ordinal()]++;
+            entry.unread[type.ordinal()]++;
+        });
+    }
+
+    public void onCreated(Collection<Long> userIds, Notification.NotificationType type) {
+        onChange(userIds, entry -> {
+            entry.total[type.ordinal()]++;
+            entry.unread[type.ordinal()]++;
+        });
+    }
+
+    public void onRead(Long userId, Notification.NotificationType type) {
+        onChange(List.of(userId), entry -> {
+            if (entry.unread[type.ordinal()] > 0) {
+                entry.unread[type.ordinal()]--;
+            }
+        });
+    }
+
+    public void onAllRead(Long userId) {
+        onChange(List.of(userId), entry -> Arrays.fill(entry.unread, 0L));
+    }
+
+    public void onDeleted(Long userId, Notification.NotificationType type, boolean wasRead) {
+        onChange(List.of(userId), entry -> {
+            if (entry.total[type.ordinal()] > 0) {
+                entry.total[type.ordinal()]--;
+            }
+            if (!wasRead && entry.unread[type.ordinal()] > 0) {
+                entry.unread[type.ordinal()]--;
+            }
+        });
+    }
+
+    public void evict(Long userId) {
+        onChange(List.of(userId), null);
+    }
+
+    /**
+     * Apply a change to the cached counts of the given users when the current
+     * transaction commits, or drop their counts when change is null.
+     *
+     * From just before the commit until the change is applied, the users are
+     * marked as being written: a load running meanwhile may or may not see the
+     * new rows, so its result is returned to its caller but not cached. Without
+     * this, a load between the commit and the delta would count a new
+     * notification twice until the entry expires.
+     *
+     * The delta is applied in afterCommit, ahead of every other afterCommit
+     * callback, so the unread counts pushed from those callbacks already
+     * include the write; afterCompletion only clears the mark after a
+     * rollback.
+     */
+    private void onChange(Collection<Long> userIds, Consumer<Entry> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            beginWrite(userIds);
+            finishWrite(userIds, change, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean begun;
+            private boolean finished;
+
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                beginWrite(userIds);
+                begun = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                finished = true;
+                finishWrite(userIds, change, true);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (begun && !finished) {
+                    finishWrite(userIds, change, false);
+                }
+            }
+        });
+    }
+
+    private void beginWrite(Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            Stripe stripe = stripeFor(userId);
+            stripe.lock.lock();
+            try {
+                stripe.writing.merge(userId, 1, Integer::sum);
+                stripe.markLoadStale(userId);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private void finishWrite(Collection<Long> userIds, Consumer<Entry> change, boolean committed) {
+        for (Long userId : userIds) {
+            Stripe stripe = stripeFor(userId);
+            stripe.lock.lock();
+            try {
+                stripe.writing.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+                stripe.markLoadStale(userId);
+                if (committed) {
+                    if (change == null) {
+                        stripe.entries.remove(userId);
+                    } else {
+                        Entry entry = stripe.entries.get(userId);
+                        if (entry != null) {
+                            change.accept(entry);
+                        }
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        if (committed) {
+            publishChanged(userIds);
+        }
+    }
+
+    private void remove(Long userId) {
+        Stripe stripe = stripeFor(userId);
+        stripe.lock.lock();
+        try {
+            stripe.entries.remove(userId);
+            stripe.markLoadStale(userId);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    // Other nodes cannot apply the delta to counts they loaded themselves, so they drop them
+    private void publishChanged(Collection<Long> userIds) {
+        StringJoiner batch = new StringJoiner(",");
+        int size = 0;
+        for (Long userId : userIds) {
+            batch.add(userId.toString());
+            if (++size == MESSAGE_BATCH_SIZE) {
+                cacheManager.publish(TOPIC, batch.toString(), 0L);
+                batch = new StringJoiner(",");
+                size = 0;
+            }
+        }
+        if (size > 0) {
+            cacheManager.publish(TOPIC, batch.toString(), 0L);
+        }
+    }
+
+    private void onMessage(CacheMessage message) {
+        for (String userId : message.getKey().split(",")) {
+            remove(Long.valueOf(userId));
+        }
+    }
+
+    // Cached counts, or counts loaded without holding the stripe lock (so a slow query stalls
+    // only its own caller), cached unless a write to the user overlapped the load
+    private Counts getOrLoad(Long userId) {
+        Stripe stripe = stripeFor(userId);
+        PendingLoad pending;
+        stripe.lock.lock();
+        try {
+            Entry entry = stripe.fresh(userId);
+            if (entry != null) {
+                hits.increment();
+                return entry.snapshot();
+            }
+            pending = stripe.loads.computeIfAbsent(userId, id -> new PendingLoad());
+            pending.loaders++;
+        } finally {
+            stripe.lock.unlock();
+        }
+
+        misses.increment();
+        Entry loaded = null;
+        try {
+            loaded = load(userId);
+            return loaded.snapshot();
+        } finally {
+            stripe.lock.lock();
+            try {
+                if (--pending.loaders == 0) {
+                    stripe.loads.remove(userId);
+                }
+                if (loaded != null && !pending.stale && !stripe.writing.containsKey(userId)) {
+                    stripe.entries.put(userId, loaded);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private Stripe stripeFor(Long userId) {
+        return stripes[(Long.hashCode(userId) & 0x7fffffff) % STRIPES];
+    }
+
+    private Entry load(Long userId) {
+        Entry entry = new Entry(System.currentTimeMillis());
+        List<Object[]> rows = notificationRepository.countByUserIdGroupByTypeAndReadStatus(userId);
+        for (Object[] row : rows) {
+            Notification.NotificationType type = (Notification.NotificationType) row[0];
+            boolean isRead = Boolean.TRUE.equals(row[1]);
+            long count = ((Number) row[2]).longValue();
+            entry.total[type.ordinal()] += count;
+            if (!isRead) {
+                entry.unread[type.ordinal()] += count;
+            }
+        }
+        logger.debug("Loaded notification counters for user {}", userId);
+        return entry;
+    }
+
+    private final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, Entry> entries;
+        // Users with committing writes whose delta is not applied yet, and loads in progress
+        private final Map<Long, Integer> writing = new HashMap<>();
+        private final Map<Long, PendingLoad> loads = new HashMap<>();
+
+        Stripe(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        Entry fresh(Long userId) {
+            Entry entry = entries.get(userId);
+            return entry != null && System.currentTimeMillis() - entry.loadedAt <= ttlMillis ? entry : null;
+        }
+
+        void markLoadStale(Long userId) {
+            PendingLoad pending = loads.get(userId);
+            if (pending != null) {
+                pending.stale = true;
+            }
+        }
+    }
+
+    // Loads of one user in progress; stale once a write to the user overlapped them
+    private static final class PendingLoad {
+        private int loaders;
+        private boolean stale;
+    }
+
+    private static final class Entry {
+        private final long loadedAt;
+        private final long[] total = new long[TYPES.length];
+        private final long[] unread = new long[TYPES.length];
+
+        Entry(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        Counts snapshot() {
+            return new Counts(total.clone(), unread.clone());
+        }
+    }
+
+    // Immutable per-user snapshot returned to callers
+    public static final class Counts {
+        private final long[] total;
+        private final long[] unread;
+
+        private Counts(long[] total, long[] unread) {
+            this.total = total;
+            this.unread = unread;
+        }
+
+        public long getTotal() {
+            long sum = 0;
+            for (long count : total) {
+                sum += count;
+            }
+            return sum;
+        }
+
+        public long getUnread() {
+            long sum = 0;
+            for (long count : unread) {
+                sum += count;
+            }
+            return sum;
+        }
+
+        public long getTotal(Notification.NotificationType type) {
+            return total[type.ordinal()];
+        }
+
+        public long getUnread(Notification.NotificationType type) {
+            return unread[type.ordinal()];
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package com.edumaster.service;
+
+import com.edumaster.dto.AnnouncementRequest;
+import com.edumaster.dto.NotificationEvent;
+import com.edumaster.model.Course;
+import com.edumaster.model.Notification;
+import com.edumaster.model.Role;
+import com.edumaster.security.UserPrincipal;
+import com.edumaster.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Notification Fan-out Service
+ *
+ * Delivers one notification to a whole audience (students of a course,
+ * students of a category, or every active user with a role) without
+ * loading users or entities into memory.
+ *
+ * Recipients are read with keyset pagination over user IDs and written
+ * with multi-row INSERT statements, one short transaction per chunk, on a
+ * dedicated background executor. The chunk's unread counter deltas are
+ * registered in the same transaction, so a concurrent counter load cannot
+ * cache the new rows and then receive the delta again. Each job exposes its
+ * progress so callers can poll it.
+ *
+ * @author EduMaster Team
+ */
+@Service
+public class NotificationFanoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationFanoutService.class);
+
+    private static final String INSERT_PREFIX =
+        "INSERT INTO notifications (id, user_id, title, message, type, is_read, related_entity_type, related_entity_id) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, FALSE, ?, ?)";
+    private static final int PARAMS_PER_ROW = 7;
+
+    // Reserves ids from the table backing Notification's pooled id generator
+    private static final String RESERVE_IDS_SQL =
+        "UPDATE notifications_seq SET next_val = LAST_INSERT_ID(next_val) + ?";
+
+    private static final String COURSE_ENROLLEES_SQL =
+        "SELECT e.user_id FROM enrollments e " +
+        "WHERE e.course_id = ? AND e.user_id > ? ORDER BY e.user_id LIMIT ?";
+    private static final String CATEGORY_ENROLLEES_SQL =
+        "SELECT DISTINCT e.user_id FROM enrollments e JOIN courses c ON c.id = e.course_id " +
+        "WHERE c.category_id = ? AND e.user_id > ? ORDER BY e.user_id LIMIT ?";
+    private static final String ROLE_SQL =
+        "SELECT u.id FROM users u " +
+        "WHERE u.role = ? AND u.is_active = TRUE AND u.id > ? ORDER BY u.id LIMIT ?";
+
+    // Finished jobs are kept this long so clients can read the final status
+    private static final long FINISHED_JOB_RETENTION_MINUTES = 60;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationCounterCache notificationCounterCache;
+
+    @Autowired
+    private NotificationPushHub notificationPushHub;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("notificationFanoutExecutor")
+    private TaskExecutor fanoutExecutor;
+
+    @Value("${app.notifications.fanout.chunk-size:500}")
+    private int chunkSize;
+
+    private final Map<String, FanoutJob> jobs = new ConcurrentHashMap<>();
+
+    // Submit operations
+    @PreAuthorize("hasRole('ADMIN') or hasRole('INSTRUCTOR')")
+    public FanoutJob submitAnnouncement(AnnouncementRequest request) {
+        validateAudience(request);
+        checkInstructorScope(request);
+        return submit(request);
+    }
+
+    /**
+     * Announce a newly published course to students already learning in its category.
+     * When called inside a transaction the job starts only after commit, so a rolled
+     * back publish never produces notifications.
+     */
+    public void announceNewCourse(Course course) {
+        AnnouncementRequest request = new AnnouncementRequest();
+        request.setAudience(AnnouncementRequest.Audience.CATEGORY_ENROLLEES);
+        request.setTargetId(course.getCategory().getId());
+        request.setTitle("New Course Available");
+        request.setMessage("A new course " + course.getTitle() + " is now available");
+        request.setType(Notification.NotificationType.INFO);
+        request.setRelatedEntityType("COURSE");
+        request.setRelatedEntityId(course.getId());
+
+        TransactionUtils.afterCommit(() -> submit(request));
+    }
+
+    // Progress tracking
+    public Optional<FanoutJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public Collection<FanoutJob> getJobs() {
+        return jobs.values();
+    }
+
+    private FanoutJob submit(AnnouncementRequest request) {
+        pruneFinishedJobs();
+
+        FanoutJob job = new FanoutJob(UUID.randomUUID().toString(), request.getAudience(),
+                                      request.getTargetId(), request.getTitle());
+        jobs.put(job.getId(), job);
+
+        try {
+            fanoutExecutor.execute(() -> run(job, request));
+        } catch (RuntimeException e) {
+            job.fail("Fan-out executor rejected the job: " + e.getMessage());
+            throw new IllegalStateException("Too many announcements in progress, try again later", e);
+        }
+
+        logger.info("Submitted notification fan-out job {} for audience {} ({})",
+                   job.getId(), request.getAudience(), request.getTargetId());
+        return job;
+    }
+
+    private void run(FanoutJob job, AnnouncementRequest request) {
+        if (job.isCancelled()) {
+            return;
+        }
+        job.start();
+        try {
+            NotificationEvent event = new NotificationEvent(null, request.getTitle(), request.getMessage(),
+                request.getType(), request.getRelatedEntityType(), request.getRelatedEntityId(), LocalDateTime.now());
+            long lastUserId = 0L;
+            List<Long> recipients;
+            do {
+                recipients = fetchRecipients(request, lastUserId);
+                if (recipients.isEmpty()) {
+                    break;
+                }
+                insertChunk(recipients, request);
+                notificationPushHub.publish(recipients, event);
+                job.addDelivered(recipients.size());
+                lastUserId = recipients.get(recipients.size() - 1);
+            } while (recipients.size() == chunkSize && !job.isCancelled());
+
+            job.complete();
+            logger.info("Notification fan-out job {} finished: {} notifications written",
+                       job.getId(), job.getDelivered());
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+            logger.error("Notification fan-out job {} failed after {} notifications: {}",
+                        job.getId(), job.getDelivered(), e.getMessage());
+        }
+    }
+
+    private List<Long> fetchRecipients(AnnouncementRequest request, long afterUserId) {
+        return switch (request.getAudience()) {
+            case COURSE_ENROLLEES -> jdbcTemplate.queryForList(
+                COURSE_ENROLLEES_SQL, Long.class, request.getTargetId(), afterUserId, chunkSize);
+            case CATEGORY_ENROLLEES -> jdbcTemplate.queryForList(
+                CATEGORY_ENROLLEES_SQL, Long.class, request.getTargetId(), afterUserId, chunkSize);
+            case ROLE -> jdbcTemplate.queryForList(
+                ROLE_SQL, Long.class, request.getRole().name(), afterUserId, chunkSize);
+        };
+    }
+
+    private void insertChunk(List<Long> userIds, AnnouncementRequest request) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX.length() + userIds.size() * (INSERT_ROW.length() + 2));
+        sql.append(INSERT_PREFIX);
+        List<Object> params = new ArrayList<>(userIds.size() * PARAMS_PER_ROW);
+        String type = request.getType().name();
+        long nextId = reserveNotificationIds(userIds.size());
+
+        for (int i = 0; i < userIds.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(INSERT_ROW);
+            params.add(nextId++);
+            params.add(userIds.get(i));
+            params.add(request.getTitle());
+            params.add(request.getMessage());
+            params.add(type);
+            params.add(request.getRelatedEntityType());
+            params.add(request.getRelatedEntityId());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(sql.toString(), params.toArray());
+            notificationCounterCache.onCreated(userIds, request.getType());
+        });
+    }
+
+    /**
+     * Reserve a contiguous block of notification ids in one auto-committed
+     * statement. Hibernate reads a stored value V as the block V-49..V and
+     * moves it on by the allocation size; moving it on by count instead hands
+     * this caller V-49..V-50+count without overlapping any Hibernate block.
+     *
+     * @return the first reserved id
+     */
+    private long reserveNotificationIds(int count) {
+        Long first = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try (PreparedStatement update = connection.prepareStatement(RESERVE_IDS_SQL);
+                 Statement select = connection.createStatement()) {
+                update.setInt(1, count);
+                update.executeUpdate();
+                try (ResultSet rs = select.executeQuery("SELECT LAST_INSERT_ID()")) {
+                    rs.next();
+                    return rs.getLong(1) - (Notification.ID_ALLOCATION_SIZE - 1);
+                }
+            }
+        });
+        return first;
+    }
+
+    private void validateAudience(AnnouncementRequest request) {
+        if (request.getAudience() == null) {
+            throw new IllegalArgumentException("Audience is required");
+        }
+        if (request.getAudience() == AnnouncementRequest.Audience.ROLE && request.getRole() == null) {
+            throw new IllegalArgumentException("Role is required for role audience");
+        }
+        if (request.getAudience() != AnnouncementRequest.Audience.ROLE && request.getTargetId() == null) {
+            throw new IllegalArgumentException("Target ID is required for " + request.getAudience() + " audience");
+        }
+        if (request.getType() == null) {
+            request.setType(Notification.NotificationType.INFO);
+        }
+    }
+
+    // Instructors may only announce to the students of their own courses
+    private void checkInstructorScope(AnnouncementRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal principal)
+                || principal.getRole() == Role.ADMIN) {
+            return;
+        }
+
+        boolean ownsCourse = request.getAudience() == AnnouncementRequest.Audience.COURSE_ENROLLEES
+            && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) > 0 FROM courses WHERE id = ? AND instructor_id = ?",
+                Boolean.class, request.getTargetId(), principal.getId()));
+        if (!ownsCourse) {
+            throw new AccessDeniedException("Instructors can only announce to students of their own courses");
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(FINISHED_JOB_RETENTION_MINUTES);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    // Job progress holder, safe to read from request threads while the worker updates it
+    public static class FanoutJob {
+
+        public enum Status {
+            QUEUED,
+            RUNNING,
+            COMPLETED,
+            FAILED,
+            CANCELLED
+        }
+
+        private final String id;
+        private final AnnouncementRequest.Audience audience;
+        private final Long targetId;
+        private final String title;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicLong delivered = new AtomicLong();
+        private volatile Status status = Status.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        public FanoutJob(String id, AnnouncementRequest.Audience audience, Long targetId, String title) {
+            this.id = id;
+            this.audience = audience;
+            this.targetId = targetId;
+            this.title = title;
+        }
+
+        void start() {
+            if (status == Status.QUEUED) {
+                status = Status.RUNNING;
+                startedAt = LocalDateTime.now();
+            }
+        }
+
+        void addDelivered(int count) {
+            delivered.addAndGet(count);
+        }
+
+        void complete() {
+            if (status == Status.RUNNING) {
+                status = Status.COMPLETED;
+            }
+            finishedAt = LocalDateTime.now();
+        }
+
+        void fail(String error) {
+            this.error = error;
+            // A cancelled job that then throws stays cancelled
+            if (status != Status.CANCELLED) {
+                status = Status.FAILED;
+            }
+            finishedAt = LocalDateTime.now();
+        }
+
+        public void cancel() {
+            if (status == Status.QUEUED) {
+                // run() returns without touching a cancelled job, so it is finished (and prunable) now
+                status = Status.CANCELLED;
+                finishedAt = LocalDateTime.now();
+            } else if (status == Status.RUNNING) {
+                // Finished by the worker once the current chunk is written
+                status = Status.CANCELLED;
+            }
+        }
+
+        public boolean isCancelled() {
+            return status == Status.CANCELLED;
+        }
+
+        // Getters
+        public String getId() { return id; }
+        public AnnouncementRequest.Audience getAudience() { return audience; }
+        public Long getTargetId() { return targetId; }
+        public String getTitle() { return title; }
+        public Status getStatus() { return status; }
+        public long getDelivered() { return delivered.get(); }
+        public LocalDateTime getSubmittedAt() { return submittedAt; }
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public LocalDateTime getFinishedAt() { return finishedAt; }
+        public String getError() { return error; }
+    }
+}
@@ -0,0 +1,278 @@
+package com.edumaster.service;
+
+import com.edumaster.dto.NotificationEvent;
+import com.edumaster.model.Notification;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Notification Push Hub
+ *
+ * In-process publish/subscribe hub that pushes notifications and unread
+ * counts to connected clients over Server-Sent Events, replacing polling.
+ *
+ * Key Features:
+ * - Per-user cap on open connections (oldest connection is closed first)
+ * - Global connection cap
+ * - Bounded per-connection buffer; a slow client loses its oldest events
+ *   instead of growing memory or blocking publishers
+ * - Sends happen on a small shared sender pool, never on the publishing thread
+ * - Periodic heartbeats keep proxies from closing idle streams
+ *
+ * Idle streams hold no thread: they are async servlet requests, so only
+ * connections with pending events use a sender thread.
+ *
+ * @author EduMaster Team
+ */
+@Component
+public class NotificationPushHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPushHub.class);
+
+    private static final String NOTIFICATION_EVENT = "notification";
+    private static final String UNREAD_COUNT_EVENT = "unread-count";
+
+    @Autowired
+    private NotificationCounterCache notificationCounterCache;
+
+    @Autowired
+    @Qualifier("notificationPushExecutor")
+    private TaskExecutor pushExecutor;
+
+    @Value("${app.notifications.push.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${app.notifications.push.max-connections:20000}")
+    private int maxConnections;
+
+    @Value("${app.notifications.push.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${app.notifications.push.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    private final Map<Long, List<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger openConnections = new AtomicInteger();
+
+    // Subscription
+    public SseEmitter subscribe(Long userId) {
+        if (openConnections.incrementAndGet() > maxConnections) {
+            openConnections.decrementAndGet();
+            throw new IllegalStateException("Too many open notification streams");
+        }
+
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        List<Connection> evicted = new ArrayList<>();
+        connections.compute(userId, (id, list) -> {
+            List<Connection> userConnections = list != null ? list : new CopyOnWriteArrayList<>();
+            userConnections.add(connection);
+            while (userConnections.size() > maxConnectionsPerUser) {
+                evicted.add(userConnections.remove(0));
+            }
+            return userConnections;
+        });
+        evicted.forEach(evictedConnection -> {
+            evictedConnection.close();
+            remove(evictedConnection);
+        });
+
+        logger.debug("Opened notification stream for user {} ({} open)", userId, openConnections.get());
+        connection.enqueue(unreadCountEvent(userId));
+        return emitter;
+    }
+
+    public int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    public boolean isConnected(Long userId) {
+        return connections.containsKey(userId);
+    }
+
+    // Publishing
+    public void publish(Notification notification) {
+        Long userId = notification.getUser().getId();
+        if (!isConnected(userId)) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> event = notificationEvent(NotificationEvent.from(notification));
+        Set<ResponseBodyEmitter.DataWithMediaType> count = unreadCountEvent(userId);
+        forEachConnection(userId, connection -> {
+            connection.enqueue(event);
+            connection.enqueue(count);
+        });
+    }
+
+    public void publish(Collection<Long> userIds, NotificationEvent notification) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> event = null;
+        for (Long userId : userIds) {
+            if (!isConnected(userId)) {
+                continue;
+            }
+            if (event == null) {
+                event = notificationEvent(notification);
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> shared = event;
+            Set<ResponseBodyEmitter.DataWithMediaType> count = unreadCountEvent(userId);
+            forEachConnection(userId, connection -> {
+                connection.enqueue(shared);
+                connection.enqueue(count);
+            });
+        }
+    }
+
+    public void publishUnreadCount(Long userId) {
+        if (!isConnected(userId)) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> count = unreadCountEvent(userId);
+        forEachConnection(userId, connection -> connection.enqueue(count));
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.push.heartbeat-seconds:25}", timeUnit = TimeUnit.SECONDS)
+    public void sendHeartbeats() {
+        if (connections.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        connections.values().forEach(list -> list.forEach(connection -> connection.enqueue(heartbeat)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(list -> list.forEach(Connection::close));
+        connections.clear();
+    }
+
+    // Helper methods
+    private void forEachConnection(Long userId, Consumer<Connection> action) {
+        List<Connection> userConnections = connections.get(userId);
+        if (userConnections != null) {
+            userConnections.forEach(action);
+        }
+    }
+
+    private void remove(Connection connection) {
+        if (!connection.removed.compareAndSet(false, true)) {
+            return;
+        }
+        openConnections.decrementAndGet();
+        connections.computeIfPresent(connection.userId, (id, list) -> {
+            list.remove(connection);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> notificationEvent(NotificationEvent notification) {
+        return SseEmitter.event()
+            .name(NOTIFICATION_EVENT)
+            .data(notification, MediaType.APPLICATION_JSON)
+            .build();
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> unreadCountEvent(Long userId) {
+        return SseEmitter.event()
+            .name(UNREAD_COUNT_EVENT)
+            .data(notificationCounterCache.getUnreadCount(userId))
+            .build();
+    }
+
+    private final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final ArrayBlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void enqueue(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (closed) {
+                return;
+            }
+            while (!buffer.offer(event)) {
+                buffer.poll(); // drop the oldest event for slow clients
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    pushExecutor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    draining.set(false);
+                    logger.warn("Notification push executor rejected a send for user {}", userId);
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> event = buffer.poll();
+                if (event == null) {
+                    draining.set(false);
+                    // An event may have arrived after poll() but before the flag was cleared
+                    if (buffer.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    logger.debug("Notification stream for user {} closed: {}", userId, e.getMessage());
+                    close();
+                    remove(this);
+                    draining.set(false);
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                buffer.clear();
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.edumaster.service;
+
+import com.edumaster.model.ArchivedNotification;
+import com.edumaster.model.Notification;
+import com.edumaster.repository.ArchivedNotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Notification Retention Service
+ *
+ * Keeps the notifications table small so per-user lookups stay on a hot table.
+ * Read notifications older than their type's TTL are either moved to
+ * notifications_archive or deleted, depending on the configured mode.
+ *
+ * The job works in small chunks read in index order, each in its own
+ * short transaction, and pauses between chunks so it never holds long locks
+ * or saturates the database. Archived rows keep their original ID and are
+ * inserted with INSERT IGNORE, so a chunk interrupted between its insert and
+ * delete (or run twice by two nodes) is safe to repeat.
+ *
+ * @author EduMaster Team
+ */
+@Service
+public class NotificationRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    public enum Mode {
+        ARCHIVE,
+        DELETE
+    }
+
+    // Ordered along idx_notifications_retention (type, is_read, created_at, then the primary
+    // key), so each chunk is a range read of the index instead of a scan and sort of every match
+    private static final String SELECT_EXPIRED_SQL =
+        "SELECT id, user_id FROM notifications " +
+        "WHERE type = ? AND is_read = TRUE AND created_at < ? ORDER BY created_at, id LIMIT ?";
+    private static final String ARCHIVE_SQL =
+        "INSERT IGNORE INTO notifications_archive " +
+        "(id, user_id, title, message, type, related_entity_type, related_entity_id, created_at) " +
+        "SELECT id, user_id, title, message, type, related_entity_type, related_entity_id, created_at " +
+        "FROM notifications WHERE id IN (:ids)";
+    private static final String DELETE_SQL =
+        "DELETE FROM notifications WHERE id IN (:ids)";
+    private static final String SELECT_EXPIRED_ARCHIVE_SQL =
+        "SELECT id FROM notifications_archive WHERE archived_at < ? ORDER BY archived_at, id LIMIT ?";
+    private static final String DELETE_ARCHIVE_SQL =
+        "DELETE FROM notifications_archive WHERE id IN (:ids)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ArchivedNotificationRepository archivedNotificationRepository;
+
+    @Autowired
+    private NotificationCounterCache notificationCounterCache;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.notifications.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.notifications.retention.mode:ARCHIVE}")
+    private Mode mode;
+
+    @Value("${app.notifications.retention.default-ttl-days:30}")
+    private int defaultTtlDays;
+
+    @Value("${app.notifications.retention.archive-ttl-days:365}")
+    private int archiveTtlDays;
+
+    @Value("${app.notifications.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.notifications.retention.pause-millis:200}")
+    private long pauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Scheduled job
+    @Scheduled(cron = "${app.notifications.retention.cron:0 30 3 * * *}")
+    public void runScheduledRetention() {
+        if (enabled) {
+            runRetention();
+        }
+    }
+
+    /**
+     * Run one retention pass over every notification type.
+     *
+     * @return number of notifications removed from the hot table
+     */
+    public long runRetention() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Notification retention already running, skipping");
+            return 0;
+        }
+
+        try {
+            long total = 0;
+            for (Notification.NotificationType type : Notification.NotificationType.values()) {
+                LocalDateTime cutoff = LocalDateTime.now().minusDays(getTtlDays(type));
+                long moved = expireType(type, cutoff);
+                if (moved > 0) {
+                    logger.info("Notification retention {} {} read {} notifications older than {}",
+                               mode == Mode.ARCHIVE ? "archived" : "deleted", moved, type, cutoff);
+                }
+                total += moved;
+            }
+            if (mode == Mode.ARCHIVE && archiveTtlDays > 0) {
+                purgeArchive(LocalDateTime.now().minusDays(archiveTtlDays));
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Notification retention interrupted");
+            return 0;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Archive read path
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    public Page<ArchivedNotification> getArchivedNotificationsByUser(Long userId, Pageable pageable) {
+        return archivedNotificationRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+    }
+
+    public int getTtlDays(Notification.NotificationType type) {
+        String key = "app.notifications.retention.ttl-days." + type.name().toLowerCase();
+        return environment.getProperty(key, Integer.class, defaultTtlDays);
+    }
+
+    private long expireType(Notification.NotificationType type, LocalDateTime cutoff) throws InterruptedException {
+        long total = 0;
+        List<Long[]> chunk;
+        do {
+            chunk = jdbcTemplate.query(SELECT_EXPIRED_SQL,
+                (rs, rowNum) -> new Long[] { rs.getLong(1), rs.getLong(2) },
+                type.name(), Timestamp.valueOf(cutoff), chunkSize);
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            total += expireChunk(chunk);
+            pause();
+        } while (chunk.size() == chunkSize);
+        return total;
+    }
+
+    private int expireChunk(List<Long[]> rows) {
+        List<Long> ids = rows.stream().map(row -> row[0]).toList();
+        Set<Long> userIds = new HashSet<>();
+        rows.forEach(row -> userIds.add(row[1]));
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+
+        Integer deleted = transactionTemplate.execute(status -> {
+            if (mode == Mode.ARCHIVE) {
+                namedParameterJdbcTemplate.update(ARCHIVE_SQL, params);
+            }
+            return namedParameterJdbcTemplate.update(DELETE_SQL, params);
+        });
+
+        // Totals of affected users changed; reload their counts on next access
+        userIds.forEach(notificationCounterCache::evict);
+        return deleted != null ? deleted : 0;
+    }
+
+    private void purgeArchive(LocalDateTime cutoff) throws InterruptedException {
+        long total = 0;
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList(SELECT_EXPIRED_ARCHIVE_SQL, Long.class,
+                                            Timestamp.valueOf(cutoff), chunkSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            total += namedParameterJdbcTemplate.update(DELETE_ARCHIVE_SQL, new MapSqlParameterSource("ids", ids));
+            pause();
+        } while (ids.size() == chunkSize);
+
+        if (total > 0) {
+            logger.info("Notification retention purged {} archived notifications older than {}", total, cutoff);
+        }
+    }
+
+    private void pause() throws InterruptedException {
+        if (pauseMillis > 0) {
+            Thread.sleep(pauseMillis);
+        }
+    }
+}
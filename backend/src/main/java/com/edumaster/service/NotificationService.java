@@ -4,6 +4,7 @@ import com.edumaster.model.Course;
 import com.edumaster.model.Notification;
 import com.edumaster.model.User;
 import com.edumaster.repository.NotificationRepository;
+import com.edumaster.util.TransactionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,10 +14,11 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class NotificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
@@ -24,61 +26,74 @@ public class NotificationService {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private NotificationCounterCache notificationCounterCache;
+
+    @Autowired
+    private NotificationPushHub notificationPushHub;
+
     // Create notifications
+    @Transactional
     public Notification createNotification(User user, String title, String message, 
                                          Notification.NotificationType type) {
         logger.info("Creating notification for user {}: {}", user.getEmail(), title);
         
         Notification notification = new Notification(user, title, message, type);
-        return notificationRepository.save(notification);
+        return save(notification);
     }
 
+    @Transactional
     public Notification createNotification(User user, String title, String message, 
                                          Notification.NotificationType type,
                                          String relatedEntityType, Long relatedEntityId) {
         logger.info("Creating notification with related entity for user {}: {}", user.getEmail(), title);
         
         Notification notification = new Notification(user, title, message, type, relatedEntityType, relatedEntityId);
-        return notificationRepository.save(notification);
+        return save(notification);
     }
 
     // Specific notification types
+    @Transactional
     public void sendEnrollmentNotification(User user, Course course) {
         Notification notification = Notification.courseEnrollment(user, course.getTitle());
         notification.setRelatedEntityId(course.getId());
-        notificationRepository.save(notification);
+        save(notification);
         
         logger.info("Enrollment notification sent to user {}", user.getEmail());
     }
 
+    @Transactional
     public void sendCourseCompletionNotification(User user, Course course) {
         Notification notification = Notification.courseCompleted(user, course.getTitle(), course.getId());
-        notificationRepository.save(notification);
+        save(notification);
         
         logger.info("Course completion notification sent to user {}", user.getEmail());
     }
 
+    @Transactional
     public void sendPaymentSuccessNotification(User user, Course course) {
         Notification notification = Notification.paymentSuccess(user, course.getTitle(), course.getId());
-        notificationRepository.save(notification);
+        save(notification);
         
         logger.info("Payment success notification sent to user {}", user.getEmail());
     }
 
+    @Transactional
     public void sendNewCourseNotification(User user, Course course) {
         Notification notification = Notification.newCourse(user, course.getTitle(), course.getId());
-        notificationRepository.save(notification);
+        save(notification);
         
         logger.info("New course notification sent to user {}", user.getEmail());
     }
 
+    @Transactional
     public void sendUnenrollmentNotification(User user, Course course, String reason) {
         String message = "You have been unenrolled from " + course.getTitle() + ". Reason: " + reason;
         Notification notification = new Notification(
             user, "Course Unenrollment", message, Notification.NotificationType.WARNING,
             "ENROLLMENT", course.getId()
         );
-        notificationRepository.save(notification);
+        save(notification);
         
         logger.info("Unenrollment notification sent to user {}", user.getEmail());
     }
@@ -97,38 +112,105 @@ public class NotificationService {
     }
 
     public long getUnreadNotificationsCount(Long userId) {
-        return notificationRepository.countByUserIdAndIsReadFalse(userId);
+        return notificationCounterCache.getUnreadCount(userId);
+    }
+
+    public NotificationCounterCache.Counts getNotificationCounts(Long userId) {
+        return notificationCounterCache.getCounts(userId);
     }
 
     // Mark as read/unread
     @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
     public Notification markAsRead(Long notificationId) {
         Notification notification = notificationRepository.findById(notificationId)
             .orElseThrow(() -> new RuntimeException("Notification not found"));
         
-        notification.markAsRead();
+        if (!Boolean.TRUE.equals(notification.getIsRead())) {
+            notification.markAsRead();
+            notificationCounterCache.onRead(notification.getUser().getId(), notification.getType());
+            TransactionUtils.afterCommit(() -> notificationPushHub.publishUnreadCount(notification.getUser().getId()));
+        }
         return notificationRepository.save(notification);
     }
 
     @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
-    public void markAllAsRead(Long userId) {
-        List<Notification> unreadNotifications = getUnreadNotificationsByUser(userId);
-        unreadNotifications.forEach(Notification::markAsRead);
-        notificationRepository.saveAll(unreadNotifications);
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllAsReadByUserId(userId);
+        notificationCounterCache.onAllRead(userId);
+        TransactionUtils.afterCommit(() -> notificationPushHub.publishUnreadCount(userId));
         
-        logger.info("Marked all notifications as read for user ID: {}", userId);
+        logger.info("Marked {} notifications as read for user ID: {}", updated, userId);
+        return updated;
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    @Transactional
+    public int markAsRead(Long userId, Collection<Long> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            return 0;
+        }
+        
+        int updated = notificationRepository.markAsReadByUserIdAndIdIn(userId, notificationIds);
+        if (updated > 0) {
+            // Types of the updated rows are unknown here, so reload counts on next access
+            notificationCounterCache.evict(userId);
+            TransactionUtils.afterCommit(() -> notificationPushHub.publishUnreadCount(userId));
+        }
+        
+        logger.info("Marked {} of {} selected notifications as read for user ID: {}", 
+                   updated, notificationIds.size(), userId);
+        return updated;
     }
 
     // Delete operations
     @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
     public void deleteNotification(Long notificationId) {
-        notificationRepository.deleteById(notificationId);
+        Notification notification = notificationRepository.findById(notificationId)
+            .orElseThrow(() -> new RuntimeException("Notification not found"));
+        
+        notificationRepository.delete(notification);
+        notificationCounterCache.onDeleted(notification.getUser().getId(), notification.getType(),
+                                           Boolean.TRUE.equals(notification.getIsRead()));
+        TransactionUtils.afterCommit(() -> notificationPushHub.publishUnreadCount(notification.getUser().getId()));
         logger.info("Deleted notification with ID: {}", notificationId);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
-    public void deleteAllNotificationsForUser(Long userId) {
-        notificationRepository.deleteByUserId(userId);
-        logger.info("Deleted all notifications for user ID: {}", userId);
+    @Transactional
+    public int deleteAllNotificationsForUser(Long userId) {
+        int deleted = notificationRepository.deleteByUserId(userId);
+        notificationCounterCache.evict(userId);
+        TransactionUtils.afterCommit(() -> notificationPushHub.publishUnreadCount(userId));
+        logger.info("Deleted {} notifications for user ID: {}", deleted, userId);
+        return deleted;
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    @Transactional
+    public int deleteNotifications(Long userId, Collection<Long> notificationIds) {
+        if (notificationIds == null || notificationIds.isEmpty()) {
+            return 0;
+        }
+        
+        int deleted = notificationRepository.deleteByUserIdAndIdIn(userId, notificationIds);
+        if (deleted > 0) {
+            notificationCounterCache.evict(userId);
+            TransactionUtils.afterCommit(() -> notificationPushHub.publishUnreadCount(userId));
+        }
+        
+        logger.info("Deleted {} of {} selected notifications for user ID: {}", 
+                   deleted, notificationIds.size(), userId);
+        return deleted;
+    }
+
+    // Helper methods
+    private Notification save(Notification notification) {
+        Notification saved = notificationRepository.save(notification);
+        notificationCounterCache.onCreated(saved.getUser().getId(), saved.getType());
+        TransactionUtils.afterCommit(() -> notificationPushHub.publish(saved));
+        return saved;
     }
-}
\ No newline at end of file
+}
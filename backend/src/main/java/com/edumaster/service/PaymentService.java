@@ -1,11 +1,17 @@
 package com.edumaster.service;
 
+import com.edumaster.cache.CacheRegion;
+import com.edumaster.cache.TwoLevelCache;
+import com.edumaster.cache.TwoLevelCacheManager;
 import com.edumaster.exception.ResourceNotFoundException;
 import com.edumaster.model.*;
 import com.edumaster.repository.PaymentRepository;
 import com.edumaster.repository.CourseRepository;
 import com.edumaster.repository.UserRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.stripe.Stripe;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.model.PaymentMethod;
@@ -22,6 +28,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
@@ -32,7 +39,7 @@ import java.util.Map;
 import java.util.Optional;
 
 @Service
-@Transactional
+@Transactional(readOnly = true)
 public class PaymentService {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentService.class);
@@ -40,6 +47,9 @@ public class PaymentService {
     @Value("${stripe.secret-key}")
     private String stripeSecretKey;
 
+    @Value("${stripe.api-base:}")
+    private String stripeApiBase;
+
     @Autowired
     private PaymentRepository paymentRepository;
 
@@ -55,14 +65,32 @@ public class PaymentService {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private TwoLevelCacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TwoLevelCache<Map<String, Object>> dashboardCache;
+
     @PostConstruct
     public void init() {
+        dashboardCache = cacheManager.getCache(CacheRegion.DASHBOARD, new TypeReference<Map<String, Object>>() {});
         Stripe.apiKey = stripeSecretKey;
+        if (StringUtils.hasText(stripeApiBase)) {
+            // Stub gateway for load tests; never set in production
+            Stripe.overrideApiBase(stripeApiBase);
+            logger.warn("Stripe API calls go to {} instead of Stripe", stripeApiBase);
+        }
         logger.info("Stripe API initialized");
     }
 
     // Payment Intent Creation
     @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
     public PaymentIntent createPaymentIntent(Long userId, Long courseId) throws StripeException {
         logger.info("Creating payment intent for user {} and course {}", userId, courseId);
 
@@ -105,13 +133,14 @@ public class PaymentService {
             .setDescription("Payment for course: " + course.getTitle())
             .build();
 
-        PaymentIntent paymentIntent = PaymentIntent.create(params);
+        PaymentIntent paymentIntent = stripeCall("create_payment_intent", () -> PaymentIntent.create(params));
 
         // Create payment record
         Payment payment = new Payment(user, course, course.getPrice());
         payment.setStripePaymentIntentId(paymentIntent.getId());
         payment.setStatus(Payment.PaymentStatus.PENDING);
         paymentRepository.save(payment);
+        paymentAnalyticsChanged(payment);
 
         logger.info("Payment intent created: {} for user {} and course {}", 
                    paymentIntent.getId(), userId, courseId);
@@ -121,6 +150,7 @@ public class PaymentService {
 
     // Payment Confirmation
     @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
     public Payment confirmPayment(String paymentIntentId, String paymentMethodId) throws StripeException {
         logger.info("Confirming payment intent: {}", paymentIntentId);
 
@@ -130,14 +160,16 @@ public class PaymentService {
 
         try {
             // Confirm payment intent with Stripe
-            PaymentIntent paymentIntent = PaymentIntent.retrieve(paymentIntentId);
+            PaymentIntent retrievedIntent = stripeCall("retrieve_payment_intent",
+                () -> PaymentIntent.retrieve(paymentIntentId));
             
             PaymentIntentConfirmParams confirmParams = PaymentIntentConfirmParams.builder()
                 .setPaymentMethod(paymentMethodId)
                 .setReturnUrl("https://your-domain.com/return") // Configure this URL
                 .build();
 
-            paymentIntent = paymentIntent.confirm(confirmParams);
+            PaymentIntent paymentIntent = stripeCall("confirm_payment_intent",
+                () -> retrievedIntent.confirm(confirmParams));
 
             // Update payment record
             payment.setStripePaymentMethodId(paymentMethodId);
@@ -145,12 +177,14 @@ public class PaymentService {
             if ("succeeded".equals(paymentIntent.getStatus())) {
                 payment.markAsSucceeded();
                 Payment savedPayment = paymentRepository.save(payment);
+                paymentAnalyticsChanged(payment);
 
                 // Enroll user in course
                 enrollmentService.enrollUserInCourse(payment.getUser().getId(), payment.getCourse().getId());
 
-                // Send notifications
+                // Send notifications; the receipt is queued and emailed after commit
                 notificationService.sendPaymentSuccessNotification(payment.getUser(), payment.getCourse());
+                emailOutboxService.enqueuePaymentReceipt(savedPayment);
 
                 logger.info("Payment confirmed and user enrolled - Payment ID: {}", savedPayment.getId());
                 return savedPayment;
@@ -163,6 +197,7 @@ public class PaymentService {
             } else {
                 payment.markAsFailed();
                 paymentRepository.save(payment);
+                paymentAnalyticsChanged(payment);
                 throw new RuntimeException("Payment failed with status: " + paymentIntent.getStatus());
             }
 
@@ -170,11 +205,13 @@ public class PaymentService {
             logger.error("Stripe error confirming payment {}: {}", paymentIntentId, e.getMessage());
             payment.markAsFailed();
             paymentRepository.save(payment);
+            paymentAnalyticsChanged(payment);
             throw e;
         }
     }
 
     // Webhook Handler for Stripe Events
+    @Transactional
     public void handleStripeWebhook(String paymentIntentId, String eventType) {
         logger.info("Handling Stripe webhook - Payment Intent: {}, Event: {}", paymentIntentId, eventType);
 
@@ -209,14 +246,16 @@ public class PaymentService {
         if (!payment.isSuccessful()) {
             payment.markAsSucceeded();
             paymentRepository.save(payment);
+            paymentAnalyticsChanged(payment);
 
             // Enroll user in course if not already enrolled
             if (!enrollmentService.isUserEnrolledInCourse(payment.getUser().getId(), payment.getCourse().getId())) {
                 enrollmentService.enrollUserInCourse(payment.getUser().getId(), payment.getCourse().getId());
             }
 
-            // Send notification
+            // Send notification and receipt
             notificationService.sendPaymentSuccessNotification(payment.getUser(), payment.getCourse());
+            emailOutboxService.enqueuePaymentReceipt(payment);
 
             logger.info("Payment succeeded via webhook - Payment ID: {}", payment.getId());
         }
@@ -225,12 +264,14 @@ public class PaymentService {
     private void handlePaymentFailed(Payment payment) {
         payment.markAsFailed();
         paymentRepository.save(payment);
+        paymentAnalyticsChanged(payment);
         logger.info("Payment failed via webhook - Payment ID: {}", payment.getId());
     }
 
     private void handlePaymentCanceled(Payment payment) {
         payment.setStatus(Payment.PaymentStatus.CANCELED);
         paymentRepository.save(payment);
+        paymentAnalyticsChanged(payment);
         logger.info("Payment canceled via webhook - Payment ID: {}", payment.getId());
     }
 
@@ -272,6 +313,7 @@ public class PaymentService {
 
     // Refund Operations
     @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
     public Payment refundPayment(Long paymentId, BigDecimal refundAmount, String reason) throws StripeException {
         logger.info("Processing refund for payment {} - Amount: {}, Reason: {}", paymentId, refundAmount, reason);
 
@@ -302,12 +344,13 @@ public class PaymentService {
                 .putMetadata("reason", reason)
                 .build();
 
-            Refund stripeRefund = Refund.create(refundParams);
+            Refund stripeRefund = stripeCall("create_refund", () -> Refund.create(refundParams));
 
             if ("succeeded".equals(stripeRefund.getStatus())) {
                 // Update payment record
                 payment.refund(refundAmount, reason);
                 Payment refundedPayment = paymentRepository.save(payment);
+                paymentAnalyticsChanged(payment);
 
                 logger.info("Refund processed successfully - Payment ID: {}, Refund Amount: {}", 
                            paymentId, refundAmount);
@@ -413,8 +456,18 @@ public class PaymentService {
         return paymentRepository.findByPaymentDateBetweenAndStatus(startDate, endDate, Payment.PaymentStatus.SUCCEEDED);
     }
 
-    // Payment analytics
+    // Payment analytics (dashboard aggregates, cached in the DASHBOARD region)
     public Map<String, Object> getPaymentAnalytics() {
+        return dashboardCache.get("payments", this::computePaymentAnalytics);
+    }
+
+    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    public Map<String, Object> getInstructorPaymentAnalytics(Long instructorId) {
+        return dashboardCache.get("payments:instructor:" + instructorId,
+            () -> computeInstructorPaymentAnalytics(instructorId));
+    }
+
+    private Map<String, Object> computePaymentAnalytics() {
         Map<String, Object> analytics = new HashMap<>();
         
         analytics.put("totalRevenue", getTotalRevenue());
@@ -427,8 +480,7 @@ public class PaymentService {
         return analytics;
     }
 
-    @PreAuthorize("hasRole('INSTRUCTOR') or hasRole('ADMIN')")
-    public Map<String, Object> getInstructorPaymentAnalytics(Long instructorId) {
+    private Map<String, Object> computeInstructorPaymentAnalytics(Long instructorId) {
         Map<String, Object> analytics = new HashMap<>();
         
         BigDecimal totalRevenue = getTotalRevenueByInstructor(instructorId);
@@ -442,4 +494,32 @@ public class PaymentService {
         
         return analytics;
     }
-}
\ No newline at end of file
+
+    // Stripe API call with its latency recorded as edumaster.stripe.requests
+    private <T> T stripeCall(String operation, StripeCall<T> call) throws StripeException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return call.execute();
+        } catch (StripeException | RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("edumaster.stripe.requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
+    }
+
+    @FunctionalInterface
+    private interface StripeCall<T> {
+        T execute() throws StripeException;
+    }
+
+    // Drop the cached aggregates a payment contributes to, on every node, once the transaction commits
+    private void paymentAnalyticsChanged(Payment payment) {
+        dashboardCache.evict("payments");
+        dashboardCache.evict("payments:instructor:" + payment.getCourse().getInstructor().getId());
+    }
+}
@@ -0,0 +1,282 @@
+package com.edumaster.service;
+
+import com.edumaster.dto.CursorPage;
+import com.edumaster.dto.RatingSummaryResponse;
+import com.edumaster.dto.ReviewRequest;
+import com.edumaster.dto.ReviewResponse;
+import com.edumaster.exception.ResourceNotFoundException;
+import com.edumaster.model.Course;
+import com.edumaster.model.Review;
+import com.edumaster.model.Role;
+import com.edumaster.model.User;
+import com.edumaster.repository.CourseRatingStatsRepository;
+import com.edumaster.repository.CourseRepository;
+import com.edumaster.repository.EnrollmentRepository;
+import com.edumaster.repository.ReviewRepository;
+import com.edumaster.repository.UserRepository;
+import com.edumaster.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Review Service
+ *
+ * Course reviews, their moderation and helpful votes.
+ *
+ * Key Features:
+ * - Every write that moves a rating in or out of the approved set applies
+ *   the difference to the course's star histogram (course_rating_stats)
+ *   with one upsert in the same transaction, under a row lock on the
+ *   review, so the histogram always equals the approved reviews
+ * - Averages, counts and distributions are read from the histogram; no
+ *   endpoint scans reviews to aggregate them
+ * - Listings use keyset pagination by recency or helpfulness, so deep
+ *   pages cost the same as the first one
+ *
+ * @author EduMaster Team
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewService.class);
+
+    public static final int MAX_PAGE_SIZE = 50;
+
+    public enum ReviewSort { RECENT, HELPFUL }
+
+    // Adds a signed delta per star column; creates the row on a course's first review
+    private static final String APPLY_RATING_DELTA_SQL =
+        "INSERT INTO course_rating_stats (course_id, stars_1, stars_2, stars_3, stars_4, stars_5, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+        "ON DUPLICATE KEY UPDATE stars_1 = stars_1 + VALUES(stars_1), stars_2 = stars_2 + VALUES(stars_2), " +
+        "stars_3 = stars_3 + VALUES(stars_3), stars_4 = stars_4 + VALUES(stars_4), " +
+        "stars_5 = stars_5 + VALUES(stars_5), updated_at = CURRENT_TIMESTAMP";
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private CourseRatingStatsRepository courseRatingStatsRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    // Read Operations
+    public RatingSummaryResponse getRatingSummary(Long courseId) {
+        return new RatingSummaryResponse(courseId, courseRatingStatsRepository.findById(courseId).orElse(null));
+    }
+
+    /**
+     * One page of a course's approved reviews.
+     *
+     * @param cursor nextCursor of the previous page, null for the first page
+     */
+    public CursorPage<ReviewResponse> getCourseReviews(Long courseId, ReviewSort sort, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long[] after = decodeCursor(cursor, sort);
+        // One extra row tells whether there is a next page
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<ReviewResponse> rows = sort == ReviewSort.HELPFUL
+            ? reviewRepository.findHelpfulPage(courseId, (int) after[0], after[1], page)
+            : reviewRepository.findRecentPage(courseId, after[1], page);
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = encodeCursor(rows.get(limit - 1), sort);
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    // Write Operations
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
+    public ReviewResponse createReview(Long courseId, ReviewRequest request) {
+        UserPrincipal currentUser = getCurrentUser();
+        logger.info("User {} reviewing course {}", currentUser.getId(), courseId);
+
+        Course course = courseRepository.findById(courseId)
+            .orElseThrow(() -> new ResourceNotFoundException("Course not found with ID: " + courseId));
+        if (!enrollmentRepository.existsByUserIdAndCourseId(currentUser.getId(), courseId)) {
+            throw new AccessDeniedException("Only students enrolled in the course can review it");
+        }
+        if (reviewRepository.existsByUserIdAndCourseId(currentUser.getId(), courseId)) {
+            throw new IllegalStateException("You have already reviewed this course");
+        }
+        User user = userRepository.findById(currentUser.getId())
+            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + currentUser.getId()));
+
+        Review review = new Review(user, course, request.getRating(), request.getComment());
+        // The unique (user_id, course_id) key still rejects a concurrent second review
+        Review savedReview = reviewRepository.saveAndFlush(review);
+        applyRatingChange(courseId, null, contribution(savedReview));
+
+        return new ReviewResponse(savedReview);
+    }
+
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
+    public ReviewResponse updateReview(Long reviewId, ReviewRequest request) {
+        Review review = lockReview(reviewId);
+        if (!review.getUser().getId().equals(getCurrentUser().getId())) {
+            throw new AccessDeniedException("You can only edit your own reviews");
+        }
+
+        Integer before = contribution(review);
+        review.setRating(request.getRating());
+        review.setComment(request.getComment());
+        Review updatedReview = reviewRepository.save(review);
+        applyRatingChange(review.getCourse().getId(), before, contribution(updatedReview));
+
+        return new ReviewResponse(updatedReview);
+    }
+
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
+    public void deleteReview(Long reviewId) {
+        Review review = lockReview(reviewId);
+        UserPrincipal currentUser = getCurrentUser();
+        if (currentUser.getRole() != Role.ADMIN && !review.getUser().getId().equals(currentUser.getId())) {
+            throw new AccessDeniedException("You can only delete your own reviews");
+        }
+
+        Integer before = contribution(review);
+        reviewRepository.delete(review);
+        applyRatingChange(review.getCourse().getId(), before, null);
+        logger.info("Review {} deleted", reviewId);
+    }
+
+    /**
+     * Moderation: approved reviews are listed and counted, others are hidden.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @Transactional
+    public ReviewResponse setApproved(Long reviewId, boolean approved) {
+        Review review = lockReview(reviewId);
+
+        Integer before = contribution(review);
+        if (approved) {
+            review.approve();
+        } else {
+            review.disapprove();
+        }
+        Review updatedReview = reviewRepository.save(review);
+        applyRatingChange(review.getCourse().getId(), before, contribution(updatedReview));
+        logger.info("Review {} {}", reviewId, approved ? "approved" : "hidden");
+
+        return new ReviewResponse(updatedReview);
+    }
+
+    /**
+     * Mark or unmark an approved review as helpful; repeating either is a no-op.
+     *
+     * @return whether the vote changed
+     */
+    @PreAuthorize("hasRole('STUDENT') or hasRole('INSTRUCTOR') or hasRole('ADMIN')")
+    @Transactional
+    public boolean setHelpful(Long reviewId, boolean helpful) {
+        Long userId = getCurrentUser().getId();
+        Review review = reviewRepository.findById(reviewId)
+            .filter(r -> Boolean.TRUE.equals(r.getIsApproved()))
+            .orElseThrow(() -> new ResourceNotFoundException("Review not found with ID: " + reviewId));
+        if (review.getUser().getId().equals(userId)) {
+            throw new IllegalArgumentException("You cannot vote on your own review");
+        }
+
+        int changed = helpful
+            ? jdbcTemplate.update("INSERT IGNORE INTO review_votes (review_id, user_id) VALUES (?, ?)", reviewId, userId)
+            : jdbcTemplate.update("DELETE FROM review_votes WHERE review_id = ? AND user_id = ?", reviewId, userId);
+        if (changed == 1) {
+            jdbcTemplate.update("UPDATE reviews SET helpful_count = helpful_count + ? WHERE id = ?",
+                helpful ? 1 : -1, reviewId);
+        }
+        return changed == 1;
+    }
+
+    // Helper methods
+
+    // The star a review adds to its course's histogram, or null when it is not counted
+    private static Integer contribution(Review review) {
+        return Boolean.TRUE.equals(review.getIsApproved()) ? review.getRating() : null;
+    }
+
+    private void applyRatingChange(Long courseId, Integer before, Integer after) {
+        if (before == null ? after == null : before.equals(after)) {
+            return;
+        }
+        long[] delta = new long[5];
+        if (before != null) {
+            delta[before - 1]--;
+        }
+        if (after != null) {
+            delta[after - 1]++;
+        }
+        jdbcTemplate.update(APPLY_RATING_DELTA_SQL, courseId, delta[0], delta[1], delta[2], delta[3], delta[4]);
+        catalogVersions.courseDetailsChanged(courseId);
+    }
+
+    private Review lockReview(Long reviewId) {
+        return reviewRepository.findByIdForUpdate(reviewId)
+            .orElseThrow(() -> new ResourceNotFoundException("Review not found with ID: " + reviewId));
+    }
+
+    // Cursor: "<id>" for recency, "<helpfulCount>:<id>" for helpfulness, base64url encoded
+    private static String encodeCursor(ReviewResponse last, ReviewSort sort) {
+        String key = sort == ReviewSort.HELPFUL ? last.getHelpfulCount() + ":" + last.getId() : String.valueOf(last.getId());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns {helpfulCount, id} strictly before which the page starts
+    private static long[] decodeCursor(String cursor, ReviewSort sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return new long[] {Integer.MAX_VALUE, Long.MAX_VALUE};
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (sort == ReviewSort.HELPFUL) {
+                int colon = key.indexOf(':');
+                return new long[] {Integer.parseInt(key.substring(0, colon)), Long.parseLong(key.substring(colon + 1))};
+            }
+            return new long[] {Integer.MAX_VALUE, Long.parseLong(key)};
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private UserPrincipal getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || !authentication.isAuthenticated() ||
+            !(authentication.getPrincipal() instanceof UserPrincipal)) {
+            throw new IllegalStateException("User not authenticated");
+        }
+
+        return (UserPrincipal) authentication.getPrincipal();
+    }
+}
@@ -0,0 +1,195 @@
+package com.edumaster.service;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SMTP Connection Pool
+ *
+ * Keeps authenticated SMTP connections open between email batches. Opening
+ * one costs a TCP and TLS handshake, STARTTLS and AUTH, several round trips
+ * before the first message; JavaMailSender.send pays that for every call.
+ *
+ * Key Features:
+ * - Connections are created from the spring.mail.* settings (host, port,
+ *   credentials, TLS and timeout properties) of the Boot mail sender
+ * - An idle connection is probed (NOOP) when borrowed and replaced when the
+ *   server has closed it
+ * - Connections are closed after max-messages-per-connection messages, since
+ *   many providers cap the messages per session, and after max-idle-seconds
+ *   unused
+ * - Not a limit on concurrency: each EmailDispatcher worker holds at most one
+ *   connection, so there are never more connections than workers
+ *
+ * @author EduMaster Team
+ */
+@Component
+public class SmtpConnectionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpConnectionPool.class);
+
+    @Autowired
+    private JavaMailSenderImpl mailSender;
+
+    @Value("${app.mail.pool.max-idle-connections:4}")
+    private int maxIdleConnections;
+
+    @Value("${app.mail.pool.max-idle-seconds:30}")
+    private long maxIdleSeconds;
+
+    @Value("${app.mail.pool.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<SmtpConnection> idle = new ArrayDeque<>();
+    private boolean closed;
+
+    /**
+     * An open connection, to be handed back with {@link #release} or {@link #discard}.
+     */
+    public SmtpConnection borrow() throws MessagingException {
+        SmtpConnection connection;
+        while ((connection = pollIdle()) != null) {
+            if (connection.transport.isConnected()) {
+                return connection;
+            }
+            close(connection);
+        }
+        return open();
+    }
+
+    /**
+     * Return a connection that is still usable; it is closed instead when it
+     * reached its message limit or the pool is full.
+     */
+    public void release(SmtpConnection connection) {
+        if (connection.messagesSent < maxMessagesPerConnection) {
+            connection.idleSince = System.nanoTime();
+            lock.lock();
+            try {
+                if (!closed && idle.size() < maxIdleConnections) {
+                    idle.push(connection);
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        close(connection);
+    }
+
+    /**
+     * Close a connection that failed, without returning it.
+     */
+    public void discard(SmtpConnection connection) {
+        close(connection);
+    }
+
+    /**
+     * Close connections unused for longer than max-idle-seconds.
+     *
+     * @return number of connections closed
+     */
+    public int evictIdle() {
+        long cutoff = System.nanoTime() - maxIdleSeconds * 1_000_000_000L;
+        List<SmtpConnection> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            // Most recently used first, so expired connections are at the tail
+            while (!idle.isEmpty() && idle.peekLast().idleSince - cutoff < 0) {
+                expired.add(idle.pollLast());
+            }
+        } finally {
+            lock.unlock();
+        }
+        expired.forEach(this::close);
+        return expired.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<SmtpConnection> connections;
+        lock.lock();
+        try {
+            closed = true;
+            connections = new ArrayList<>(idle);
+            idle.clear();
+        } finally {
+            lock.unlock();
+        }
+        connections.forEach(this::close);
+    }
+
+    // Helper methods
+
+    private SmtpConnection pollIdle() {
+        lock.lock();
+        try {
+            return idle.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SmtpConnection open() throws MessagingException {
+        Session session = mailSender.getSession();
+        Transport transport = session.getTransport(mailSender.getProtocol());
+        String username = mailSender.getUsername();
+        String password = mailSender.getPassword();
+        transport.connect(mailSender.getHost(), mailSender.getPort(),
+                          StringUtils.hasLength(username) ? username : null,
+                          StringUtils.hasLength(password) ? password : null);
+        logger.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return new SmtpConnection(session, transport);
+    }
+
+    private void close(SmtpConnection connection) {
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * One authenticated SMTP session; used by one thread at a time.
+     */
+    public static final class SmtpConnection {
+
+        private final Session session;
+        private final Transport transport;
+        private int messagesSent;
+        private long idleSince;
+
+        private SmtpConnection(Session session, Transport transport) {
+            this.session = session;
+            this.transport = transport;
+        }
+
+        public MimeMessage createMessage() {
+            return new MimeMessage(session);
+        }
+
+        public void send(MimeMessage message) throws MessagingException {
+            message.saveChanges();
+            messagesSent++;
+            transport.sendMessage(message, message.getAllRecipients());
+        }
+    }
+}
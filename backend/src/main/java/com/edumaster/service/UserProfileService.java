@@ -4,8 +4,10 @@ import com.edumaster.dto.ChangePasswordRequest;
 import com.edumaster.dto.UpdateProfileRequest;
 import com.edumaster.dto.UserProfileResponse;
 import com.edumaster.exception.ResourceNotFoundException;
+import com.edumaster.model.Role;
 import com.edumaster.model.User;
 import com.edumaster.repository.UserRepository;
+import com.edumaster.security.UserDetailsServiceImpl;
 import com.edumaster.security.UserPrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,6 +22,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 /**
  * User Profile Service
  * 
@@ -47,6 +52,15 @@ public class UserProfileService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private ImageProcessingService imageProcessingService;
+
     /**
      * Get current user's profile information
      * 
@@ -60,7 +74,7 @@ public class UserProfileService {
         User user = userRepository.findById(currentUser.getId())
             .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + currentUser.getId()));
 
-        UserProfileResponse response = new UserProfileResponse(user);
+        UserProfileResponse response = toResponse(user);
         
         // Add statistics based on user role
         populateUserStatistics(response, user);
@@ -82,7 +96,7 @@ public class UserProfileService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
-        UserProfileResponse response = new UserProfileResponse(user);
+        UserProfileResponse response = toResponse(user);
         populateUserStatistics(response, user);
         
         return response;
@@ -127,14 +141,51 @@ public class UserProfileService {
         }
 
         User updatedUser = userRepository.save(user);
+        userDetailsService.evictUser(updatedUser.getEmail());
+        if (updatedUser.getRole() != Role.STUDENT) {
+            // Public course responses show instructor details
+            catalogVersions.instructorChanged();
+        }
         logger.info("Profile updated successfully for user: {}", updatedUser.getEmail());
 
-        UserProfileResponse response = new UserProfileResponse(updatedUser);
+        UserProfileResponse response = toResponse(updatedUser);
         populateUserStatistics(response, updatedUser);
         
         return response;
     }
 
+    /**
+     * Replace current user's profile picture with an uploaded image
+     * Smaller sizes are generated in the background and listed in the
+     * profile once they exist.
+     *
+     * @param image Image content
+     * @param filename Original file name, for its extension
+     * @return Updated UserProfileResponse
+     */
+    public UserProfileResponse updateProfilePicture(InputStream image, String filename) throws IOException {
+        UserPrincipal currentUser = getCurrentUser();
+        logger.info("Updating profile picture for user: {}", currentUser.getEmail());
+
+        User user = userRepository.findById(currentUser.getId())
+            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + currentUser.getId()));
+
+        MediaStore.StoredMedia original = imageProcessingService.storeOriginal(image, filename);
+        user.setProfilePictureUrl(imageProcessingService.publicUrl(original.name()));
+
+        User updatedUser = userRepository.save(user);
+        userDetailsService.evictUser(updatedUser.getEmail());
+        if (updatedUser.getRole() != Role.STUDENT) {
+            catalogVersions.instructorChanged();
+        }
+        imageProcessingService.process(original.name(), ImageProcessingService.ImageKind.AVATAR, null);
+
+        UserProfileResponse response = toResponse(updatedUser);
+        populateUserStatistics(response, updatedUser);
+
+        return response;
+    }
+
     /**
      * Change current user's password
      * 
@@ -164,6 +215,7 @@ public class UserProfileService {
         // Update password
         user.setPassword(passwordEncoder.encode(changePasswordRequest.getNewPassword()));
         userRepository.save(user);
+        userDetailsService.evictUser(user.getEmail());
 
         logger.info("Password changed successfully for user: {}", user.getEmail());
         return "Password changed successfully";
@@ -184,6 +236,7 @@ public class UserProfileService {
         // Soft delete by setting inactive
         user.setIsActive(false);
         userRepository.save(user);
+        userDetailsService.evictUser(user.getEmail());
 
         logger.info("Account deactivated successfully for user: {}", user.getEmail());
         return "Account deactivated successfully";
@@ -204,6 +257,7 @@ public class UserProfileService {
 
         user.setIsActive(true);
         userRepository.save(user);
+        userDetailsService.evictUser(user.getEmail());
 
         logger.info("Account reactivated successfully for user: {}", user.getEmail());
         return "Account reactivated successfully";
@@ -222,7 +276,7 @@ public class UserProfileService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
-        UserProfileResponse response = new UserProfileResponse(user);
+        UserProfileResponse response = toResponse(user);
         populateUserStatistics(response, user);
         
         return response;
@@ -251,7 +305,7 @@ public class UserProfileService {
         }
 
         return users.map(user -> {
-            UserProfileResponse response = new UserProfileResponse(user);
+            UserProfileResponse response = toResponse(user);
             populateUserStatistics(response, user);
             return response;
         });
@@ -272,12 +326,19 @@ public class UserProfileService {
         Page<User> users = userRepository.findByRole(role, pageable);
         
         return users.map(user -> {
-            UserProfileResponse response = new UserProfileResponse(user);
+            UserProfileResponse response = toResponse(user);
             populateUserStatistics(response, user);
             return response;
         });
     }
 
+    private UserProfileResponse toResponse(User user) {
+        UserProfileResponse response = new UserProfileResponse(user);
+        response.setProfilePictureVariants(imageProcessingService.variantUrls(
+            user.getProfilePictureUrl(), ImageProcessingService.ImageKind.AVATAR));
+        return response;
+    }
+
     /**
      * Populate user statistics based on their role
      * 
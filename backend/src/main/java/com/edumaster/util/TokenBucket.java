@@ -0,0 +1,63 @@
+package com.edumaster.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token Bucket
+ *
+ * Rate limiter shared by several threads: permits are added continuously at a
+ * fixed rate up to a burst capacity, and each caller takes one.
+ *
+ * Key Features:
+ * - A caller that finds the bucket empty reserves the next permit and sleeps
+ *   outside the lock until it is due, so waiting threads are served in order
+ *   and never hold the lock while they wait
+ * - A rate of 0 or less disables limiting
+ *
+ * @author EduMaster Team
+ */
+public class TokenBucket {
+
+    private final double permitsPerNano;
+    private final double capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double available;
+    private long refilledAt = System.nanoTime();
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, burst);
+        this.available = capacity;
+    }
+
+    /**
+     * Take one permit, waiting until it is available.
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    // Helper methods
+
+    // Takes a permit, possibly one that is only due in the future, and returns how long until it is
+    private long reserve() {
+        if (permitsPerNano <= 0) {
+            return 0;
+        }
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            available = Math.min(capacity, available + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+            available -= 1;
+            return available >= 0 ? 0 : (long) Math.ceil(-available / permitsPerNano);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
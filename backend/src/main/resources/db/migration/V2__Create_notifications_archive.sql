@@ -0,0 +1,23 @@
+-- EduMaster Pro Database Schema
+-- Version 2.0 - Notification retention and archive
+
+-- Hot-path indexes: per-user listing sorted by date, and the retention scan
+CREATE INDEX idx_notifications_user_created ON notifications (user_id, created_at);
+CREATE INDEX idx_notifications_retention ON notifications (type, is_read, created_at);
+
+-- Archived Notifications Table (read notifications moved out of the hot table)
+CREATE TABLE notifications_archive (
+    id BIGINT PRIMARY KEY, -- same ID as the original notification
+    user_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    message TEXT NOT NULL,
+    type ENUM('INFO', 'SUCCESS', 'WARNING', 'ERROR') DEFAULT 'INFO',
+    related_entity_type VARCHAR(50),
+    related_entity_id BIGINT,
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    INDEX idx_notifications_archive_user_created (user_id, created_at),
+    INDEX idx_notifications_archive_archived (archived_at)
+);
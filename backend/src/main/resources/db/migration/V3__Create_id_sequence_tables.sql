@@ -0,0 +1,34 @@
+-- EduMaster Pro Database Schema
+-- Version 3.0 - Pooled id generation for high-volume insert tables
+
+-- MySQL has no sequences, so Hibernate keeps each sequence in a one-row table and
+-- reserves ids in blocks of 50 (allocationSize). A stored value V means the next
+-- block handed out is V-49..V. Seed every table past the highest existing id
+-- (including archived notifications) so new ids never collide with old rows.
+-- Rows inserted outside Hibernate must reserve their ids from the same table rather
+-- than rely on AUTO_INCREMENT (see NotificationFanoutService).
+
+CREATE TABLE notifications_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+INSERT INTO notifications_seq (next_val)
+SELECT GREATEST(COALESCE((SELECT MAX(id) FROM notifications), 0),
+                COALESCE((SELECT MAX(id) FROM notifications_archive), 0)) + 100;
+
+CREATE TABLE enrollments_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+INSERT INTO enrollments_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 100 FROM enrollments;
+
+CREATE TABLE course_progress_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+INSERT INTO course_progress_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 100 FROM course_progress;
+
+CREATE TABLE payments_seq (
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+INSERT INTO payments_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 100 FROM payments;
@@ -0,0 +1,41 @@
+-- EduMaster Pro Database Schema
+-- Version 4.0 - Review helpfulness and incrementally maintained rating aggregates
+
+-- Helpful votes, one per user and review; helpful_count is the denormalized total
+ALTER TABLE reviews ADD COLUMN helpful_count INT NOT NULL DEFAULT 0;
+
+CREATE TABLE review_votes (
+    review_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (review_id, user_id),
+    FOREIGN KEY (review_id) REFERENCES reviews(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+-- Keyset pagination of a course's approved reviews; InnoDB appends the id to each
+-- secondary index, so both orders (..., id DESC) are read straight from the index
+CREATE INDEX idx_reviews_course_recent ON reviews (course_id, is_approved);
+CREATE INDEX idx_reviews_course_helpful ON reviews (course_id, is_approved, helpful_count);
+
+-- Star histogram of approved reviews per course, updated in the same transaction as
+-- every review write (see ReviewService); averages and counts are derived from it
+CREATE TABLE course_rating_stats (
+    course_id BIGINT PRIMARY KEY,
+    stars_1 BIGINT NOT NULL DEFAULT 0,
+    stars_2 BIGINT NOT NULL DEFAULT 0,
+    stars_3 BIGINT NOT NULL DEFAULT 0,
+    stars_4 BIGINT NOT NULL DEFAULT 0,
+    stars_5 BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (course_id) REFERENCES courses(id) ON DELETE CASCADE
+);
+
+INSERT INTO course_rating_stats (course_id, stars_1, stars_2, stars_3, stars_4, stars_5)
+SELECT course_id,
+       SUM(rating = 1), SUM(rating = 2), SUM(rating = 3), SUM(rating = 4), SUM(rating = 5)
+FROM reviews
+WHERE is_approved = TRUE
+GROUP BY course_id;
@@ -0,0 +1,5 @@
+-- EduMaster Pro Database Schema
+-- Version 5.0 - Recent enrollments by course, for the trending part of the catalog feed
+
+-- Covers the trending scan: a range on enrollment_date, grouped by course_id, without touching the rows
+CREATE INDEX idx_enrollments_date_course ON enrollments (enrollment_date, course_id);
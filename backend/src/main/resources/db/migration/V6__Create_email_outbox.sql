@@ -0,0 +1,25 @@
+-- EduMaster Pro Database Schema
+-- Version 6.0 - Transactional outbox for email
+
+-- Emails are written here in the transaction of the change they report (registration,
+-- payment) and sent afterwards by EmailDispatcher, so no request waits on SMTP and no
+-- email goes out for a rolled back change. While a node sends a message, status is
+-- SENDING and next_attempt_at is the end of its lease; after that the row is reclaimed.
+CREATE TABLE email_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    kind VARCHAR(30) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_by VARCHAR(64),
+    last_error VARCHAR(500),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP NULL
+);
+
+-- Due messages in order, and expired leases, are both ranges on this index
+CREATE INDEX idx_email_outbox_due ON email_outbox (status, next_attempt_at);
+CREATE INDEX idx_email_outbox_claim ON email_outbox (claimed_by);
@@ -0,0 +1,76 @@
+package com.edumaster.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Read replica routing against two in-memory H2 databases, told apart by
+ * their database name.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "app.datasource.replica.enabled=true",
+    "app.datasource.replica.url=jdbc:h2:mem:replica;MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("h2")
+class ReadReplicaRoutingTest {
+
+    private static final String DATABASE_SQL = "SELECT DATABASE()";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(inTransaction(true, this::jdbcDatabase)).isEqualTo("REPLICA");
+        assertThat(inTransaction(false, this::jdbcDatabase)).isEqualTo("PRIMARY");
+        assertThat(jdbcDatabase()).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void openEntityManagerDoesNotKeepTheReplicaForLaterWrites() {
+        // As open-in-view does: one EntityManager for the whole request
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            Supplier<String> database = () ->
+                (String) entityManager.createNativeQuery(DATABASE_SQL).getSingleResult();
+
+            assertThat(inTransaction(true, database)).isEqualTo("REPLICA");
+            assertThat(inTransaction(false, database)).isEqualTo("PRIMARY");
+            assertThat(inTransaction(true, database)).isEqualTo("REPLICA");
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private String jdbcDatabase() {
+        return jdbcTemplate.queryForObject(DATABASE_SQL, String.class);
+    }
+
+    private String inTransaction(boolean readOnly, Supplier<String> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> work.get());
+    }
+}
@@ -0,0 +1,176 @@
+package com.edumaster.config;
+
+import com.edumaster.service.MediaStore;
+import com.edumaster.util.MediaUrlSigner;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement counts of the hot read endpoints, measured by
+ * {@link SqlStatementCounter} and checked against app.sql-budget.endpoints.
+ * The h2 profile runs the budget in FAIL mode, so a request over budget also
+ * fails outright instead of only being counted.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SqlBudgetIntegrationTest {
+
+    private static final String STATEMENTS_METRIC = "edumaster.http.sql.statements";
+    private static final int LESSONS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SqlBudget sqlBudget;
+
+    @Autowired
+    private MediaStore mediaStore;
+
+    @Autowired
+    private MediaUrlSigner mediaUrlSigner;
+
+    private long courseId;
+    private long studentId;
+    private String studentToken;
+
+    @BeforeAll
+    void seed() throws Exception {
+        long instructorId = register("instructor@budget.test", "INSTRUCTOR").path("id").asLong();
+        JsonNode student = register("student@budget.test", "STUDENT");
+        studentId = student.path("id").asLong();
+        studentToken = student.path("accessToken").asText();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO categories (name, created_at) VALUES ('Budget', ?)", now);
+        long categoryId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM categories", Long.class);
+        for (int c = 0; c < 3; c++) {
+            jdbcTemplate.update(
+                "INSERT INTO courses (title, description, price, instructor_id, category_id, status, level, " +
+                "language, duration_hours, created_at) VALUES (?, 'Statement budget course', 0, ?, ?, " +
+                "'PUBLISHED', 'BEGINNER', 'English', 4, ?)",
+                "Budget Course " + c, instructorId, categoryId, now);
+        }
+        courseId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM courses", Long.class);
+        for (int l = 0; l < LESSONS; l++) {
+            jdbcTemplate.update(
+                "INSERT INTO lessons (course_id, title, order_index, is_free_preview, created_at) VALUES (?, ?, ?, ?, ?)",
+                courseId, "Lesson " + (l + 1), l + 1, l == 0, now);
+        }
+        mockMvc.perform(post("/enrollments/free/{courseId}", courseId).param("userId", String.valueOf(studentId))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken))
+            .andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    void courseDetailStaysWithinBudget() throws Exception {
+        assertWithinBudget(get("/courses/public/{courseId}", courseId), "/courses/public/{courseId}");
+    }
+
+    @Test
+    void courseOutlineStaysWithinBudget() throws Exception {
+        assertWithinBudget(get("/lessons/course/{courseId}/outline", courseId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken),
+            "/lessons/course/{courseId}/outline");
+    }
+
+    @Test
+    void notificationCountStaysWithinBudget() throws Exception {
+        assertWithinBudget(get("/notifications/user/{userId}/count", studentId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken),
+            "/notifications/user/{userId}/count");
+    }
+
+    @Test
+    void feedStaysWithinBudget() throws Exception {
+        assertWithinBudget(get("/feed").header(HttpHeaders.AUTHORIZATION, "Bearer " + studentToken), "/feed");
+    }
+
+    @Test
+    void signedMediaRunsNoStatements() throws Exception {
+        MediaStore.StoredMedia media = mediaStore.store(
+            new ByteArrayInputStream("%PDF-1.4 budget test".getBytes()), "notes.pdf");
+        long expires = mediaUrlSigner.expiresAt();
+
+        long statements = statements(get("/media/{name}", media.name())
+                .param("expires", String.valueOf(expires))
+                .param("signature", mediaUrlSigner.sign(media.name(), expires)),
+            "/media/{name}");
+
+        assertThat(sqlBudget.budgetFor("GET", "/media/{name}")).isZero();
+        assertThat(statements).isZero();
+    }
+
+    // Helper methods
+
+    private void assertWithinBudget(MockHttpServletRequestBuilder request, String uriTemplate) throws Exception {
+        int budget = sqlBudget.budgetFor("GET", uriTemplate);
+        // Cold caches first, then the steady state
+        for (int i = 0; i < 2; i++) {
+            assertThat(statements(request, uriTemplate))
+                .as("statements of GET %s (request %d)", uriTemplate, i + 1)
+                .isBetween(0L, (long) budget);
+        }
+    }
+
+    // Runs the request and returns the statements it prepared, as recorded by RequestMetricsFilter
+    private long statements(MockHttpServletRequestBuilder request, String uriTemplate) throws Exception {
+        double before = totalStatements(uriTemplate);
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        return Math.round(totalStatements(uriTemplate) - before);
+    }
+
+    private double totalStatements(String uriTemplate) {
+        DistributionSummary summary = meterRegistry.find(STATEMENTS_METRIC)
+            .tags("method", "GET", "uri", uriTemplate)
+            .summary();
+        return summary != null ? summary.totalAmount() : 0;
+    }
+
+    private JsonNode register(String email, String role) throws Exception {
+        Map<String, String> body = Map.of(
+            "firstName", "Budget", "lastName", "Tester", "email", email,
+            "password", "password123", "confirmPassword", "password123", "role", role);
+        String response = mockMvc.perform(post("/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).path("data");
+    }
+}
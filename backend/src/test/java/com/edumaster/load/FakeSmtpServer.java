@@ -0,0 +1,275 @@
+package com.edumaster.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fake SMTP Server
+ *
+ * Local SMTP endpoint that accepts and counts messages without delivering
+ * them, used by the email outbox integration tests and to load test
+ * registration and payment flows with the email dispatcher running. For a
+ * load test, start it and run the backend with MAIL_HOST=localhost
+ * MAIL_PORT=2525 MAIL_SMTP_STARTTLS=false.
+ *
+ * Key Features:
+ * - EHLO/HELO, AUTH PLAIN and LOGIN (any credentials), MAIL, RCPT, DATA,
+ *   RSET, NOOP and QUIT; no TLS
+ * - Several messages per connection, as sent by the pooled dispatcher
+ * - Fixed simulated latency per accepted message (smtp.latency-millis)
+ * - Recipients at smtp.reject-domain are refused with 550, and every
+ *   smtp.fail-every-th message is deferred with 451, to exercise permanent
+ *   failures and retries; tests can also defer the next few messages
+ * - Connection and message counts logged every 1000 messages; the most
+ *   recent messages are kept for inspection
+ *
+ * Settings (system properties): smtp.port (2525), smtp.latency-millis (20),
+ * smtp.threads (32), smtp.fail-every (0 = never), smtp.reject-domain
+ * (invalid.test).
+ *
+ * @author EduMaster Team
+ */
+public class FakeSmtpServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(FakeSmtpServer.class);
+
+    private static final int RECENT_MESSAGES = 1000;
+
+    /**
+     * A message as received: envelope and raw DATA content.
+     */
+    public record ReceivedMessage(String from, List<String> recipients, String data) {
+    }
+
+    private final long latencyMillis;
+    private final int failEvery;
+    private final String rejectDomain;
+
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong transactions = new AtomicLong();
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong deferred = new AtomicLong();
+    private final AtomicInteger deferNext = new AtomicInteger();
+    private final BlockingQueue<ReceivedMessage> recent = new ArrayBlockingQueue<>(RECENT_MESSAGES);
+
+    private ServerSocket serverSocket;
+    private ExecutorService executor;
+
+    public FakeSmtpServer(long latencyMillis, int failEvery, String rejectDomain) {
+        this.latencyMillis = latencyMillis;
+        this.failEvery = failEvery;
+        this.rejectDomain = rejectDomain.toLowerCase(Locale.ROOT);
+    }
+
+    public static void main(String[] args) throws IOException {
+        FakeSmtpServer server = new FakeSmtpServer(
+            Long.getLong("smtp.latency-millis", 20),
+            Integer.getInteger("smtp.fail-every", 0),
+            System.getProperty("smtp.reject-domain", "invalid.test"));
+        server.start(Integer.getInteger("smtp.port", 2525), Integer.getInteger("smtp.threads", 32));
+    }
+
+    public void start(int port, int threads) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(port));
+        executor = Executors.newFixedThreadPool(threads + 1);
+        executor.execute(this::acceptLoop);
+        logger.info("Fake SMTP server listening on localhost:{} ({} ms per message)", getPort(), latencyMillis);
+    }
+
+    public void stop() throws IOException {
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getConnectionCount() {
+        return connections.get();
+    }
+
+    public long getMessageCount() {
+        return messages.get();
+    }
+
+    public long getDeferredCount() {
+        return deferred.get();
+    }
+
+    /**
+     * Defer the next messages with 451, whatever smtp.fail-every says.
+     */
+    public void deferNext(int count) {
+        deferNext.set(count);
+    }
+
+    /**
+     * @return the most recently accepted messages, oldest first
+     */
+    public List<ReceivedMessage> getRecentMessages() {
+        return new ArrayList<>(recent);
+    }
+
+    // Helper methods
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                executor.execute(() -> handle(socket));
+            } catch (SocketException e) {
+                return; // closed by stop()
+            } catch (IOException e) {
+                logger.warn("Accept failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost fake SMTP ready");
+
+            String from = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.substring(0, Math.min(4, line.length())).toUpperCase(Locale.ROOT);
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250-8BITMIME\r\n250-AUTH PLAIN LOGIN\r\n250 OK");
+                    case "HELO" -> reply(out, "250 localhost");
+                    case "AUTH" -> authenticate(line, in, out);
+                    case "MAIL" -> {
+                        from = address(line);
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        String recipient = address(line);
+                        if (recipient.toLowerCase(Locale.ROOT).endsWith("@" + rejectDomain)) {
+                            reply(out, "550 5.1.1 No such user: " + recipient);
+                        } else {
+                            recipients.add(recipient);
+                            reply(out, "250 OK");
+                        }
+                    }
+                    case "DATA" -> {
+                        if (recipients.isEmpty()) {
+                            reply(out, "554 No valid recipients");
+                            break;
+                        }
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        String data = readData(in);
+                        accept(out, new ReceivedMessage(from, List.copyOf(recipients), data));
+                        recipients.clear();
+                    }
+                    case "RSET" -> {
+                        from = null;
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "NOOP" -> reply(out, "250 OK");
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            logger.debug("Connection closed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void authenticate(String line, BufferedReader in, OutputStream out) throws IOException {
+        String[] parts = line.split(" ");
+        String mechanism = parts.length > 1 ? parts[1].toUpperCase(Locale.ROOT) : "";
+        if ("LOGIN".equals(mechanism)) {
+            if (parts.length < 3) {
+                reply(out, "334 VXNlcm5hbWU6"); // "Username:"
+                in.readLine();
+            }
+            reply(out, "334 UGFzc3dvcmQ6"); // "Password:"
+            in.readLine();
+        } else if ("PLAIN".equals(mechanism) && parts.length < 3) {
+            reply(out, "334 ");
+            in.readLine();
+        } else if (!"PLAIN".equals(mechanism)) {
+            reply(out, "504 Unrecognized authentication type");
+            return;
+        }
+        reply(out, "235 2.7.0 Authentication successful");
+    }
+
+    private void accept(OutputStream out, ReceivedMessage message) throws IOException, InterruptedException {
+        if (latencyMillis > 0) {
+            Thread.sleep(latencyMillis);
+        }
+        boolean deferNow = deferNext.getAndUpdate(count -> Math.max(0, count - 1)) > 0;
+        if (deferNow || failEvery > 0 && transactions.incrementAndGet() % failEvery == 0) {
+            deferred.incrementAndGet();
+            reply(out, "451 4.3.0 Try again later");
+            return;
+        }
+        long count = messages.incrementAndGet();
+
+        while (!recent.offer(message)) {
+            recent.poll();
+        }
+        reply(out, "250 OK queued as " + count);
+        if (count % 1000 == 0) {
+            logger.info("Fake SMTP server accepted {} messages over {} connections ({} deferred)",
+                       count, connections.get(), deferred.get());
+        }
+    }
+
+    private static String readData(BufferedReader in) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !".".equals(line)) {
+            // Undo dot-stuffing
+            data.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+        }
+        return data.toString();
+    }
+
+    private static String address(String line) {
+        int start = line.indexOf('<');
+        int end = line.indexOf('>', start + 1);
+        return start >= 0 && end > start ? line.substring(start + 1, end) : line.substring(line.indexOf(':') + 1).trim();
+    }
+
+    private static void reply(OutputStream out, String response) throws IOException {
+        out.write((response + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -0,0 +1,70 @@
+package com.edumaster.security;
+
+import com.edumaster.model.Role;
+import com.edumaster.model.User;
+import com.edumaster.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Principal caching in {@link UserDetailsServiceImpl} against user changes
+ * that commit while a lookup is loading the user.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class UserDetailsServiceImplTest {
+
+    private static final String EMAIL = "principal@cache.test";
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void principalLoadedBeforeAChangeIsNotServedAfterIt() {
+        User user = new User(EMAIL, "not-used", "Cache", "Tester", Role.STUDENT);
+        user.setIsActive(true);
+        user.setIsVerified(true);
+        userRepository.save(user);
+
+        // The user is deactivated after the lookup read the row but before it cached the principal
+        UserRepository repository = mock(UserRepository.class, delegatesTo(userRepository));
+        doAnswer(invocation -> {
+            Optional<User> stale = userRepository.findByEmail(EMAIL);
+            User deactivated = userRepository.findById(user.getId()).orElseThrow();
+            deactivated.setIsActive(false);
+            userRepository.save(deactivated);
+            userDetailsService.evictUser(EMAIL);
+            return stale;
+        }).doAnswer(invocation -> userRepository.findByEmail(EMAIL)).when(repository).findByEmail(EMAIL);
+        Object target = AopTestUtils.getTargetObject(userDetailsService);
+        ReflectionTestUtils.setField(target, "userRepository", repository);
+        try {
+            assertThat(userDetailsService.loadUserByUsername(EMAIL).isEnabled()).isTrue();
+            assertThat(userDetailsService.loadUserByUsername(EMAIL).isEnabled()).isFalse();
+
+            // Now cached at the current version
+            clearInvocations(repository);
+            assertThat(userDetailsService.loadUserByUsername(EMAIL).isEnabled()).isFalse();
+            verify(repository, never()).findByEmail(EMAIL);
+        } finally {
+            ReflectionTestUtils.setField(target, "userRepository", userRepository);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.edumaster.service;
+
+import com.edumaster.load.FakeSmtpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * The email outbox end to end: {@link EmailOutboxService} queues rows,
+ * {@link EmailDispatcher} claims and sends them to a {@link FakeSmtpServer}
+ * and records the outcome.
+ *
+ * Runs on its own in-memory database, so dispatchers of other cached test
+ * contexts cannot claim its rows.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:email-outbox;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.mail.host=localhost",
+    "spring.mail.username=",
+    "spring.mail.password=",
+    "spring.mail.properties.mail.smtp.auth=false",
+    "spring.mail.properties.mail.smtp.starttls.enable=false",
+    "app.mail.rate-per-second=1000",
+    "app.mail.retry-delay-seconds=1",
+    "app.mail.poll-interval-millis=200"
+})
+@ActiveProfiles("h2")
+class EmailOutboxIntegrationTest {
+
+    private static final String REJECTED_DOMAIN = "invalid.test";
+    private static final Duration TIMEOUT = Duration.ofSeconds(15);
+
+    private static final FakeSmtpServer SMTP = startSmtpServer();
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void smtpPort(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", SMTP::getPort);
+    }
+
+    @AfterAll
+    static void stopSmtpServer() throws IOException {
+        SMTP.stop();
+    }
+
+    @Test
+    void queuedEmailIsSent() {
+        enqueue("sent@outbox.test");
+
+        Map<String, Object> row = awaitStatus("sent@outbox.test", "SENT");
+        assertThat(row.get("attempts")).isEqualTo(1);
+        assertThat(row.get("sent_at")).isNotNull();
+        assertThat(SMTP.getRecentMessages())
+            .anySatisfy(message -> assertThat(message.recipients()).containsExactly("sent@outbox.test"));
+    }
+
+    @Test
+    void deferredEmailIsRetried() {
+        long deferredBefore = SMTP.getDeferredCount();
+        SMTP.deferNext(1);
+        enqueue("deferred@outbox.test");
+
+        Map<String, Object> row = awaitStatus("deferred@outbox.test", "SENT");
+        assertThat(row.get("attempts")).isEqualTo(2);
+        assertThat(SMTP.getDeferredCount()).isEqualTo(deferredBefore + 1);
+    }
+
+    @Test
+    void rejectedEmailFailsWithoutRetry() {
+        String recipient = "nobody@" + REJECTED_DOMAIN;
+        enqueue(recipient);
+
+        Map<String, Object> row = awaitStatus(recipient, "FAILED");
+        assertThat(row.get("attempts")).isEqualTo(1);
+        assertThat(row.get("last_error")).isNotNull();
+        assertThat(SMTP.getRecentMessages())
+            .noneSatisfy(message -> assertThat(message.recipients()).contains(recipient));
+    }
+
+    @Test
+    void emailOfRolledBackTransactionIsNeverQueued() {
+        transactionTemplate.executeWithoutResult(status -> {
+            emailOutboxService.enqueue(EmailOutboxService.EmailKind.VERIFICATION,
+                "rolled-back@outbox.test", "Subject", "Body");
+            status.setRollbackOnly();
+        });
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM email_outbox WHERE recipient = ?", Integer.class, "rolled-back@outbox.test"))
+            .isZero();
+    }
+
+    @Test
+    void expiredLeaseIsReclaimedAndSent() {
+        // Claimed by a node that stopped before recording the result
+        Timestamp past = Timestamp.valueOf(LocalDateTime.now().minusMinutes(1));
+        jdbcTemplate.update("INSERT INTO email_outbox (kind, recipient, subject, body, status, attempts, " +
+            "next_attempt_at, claimed_by, created_at) VALUES ('VERIFICATION', 'leased@outbox.test', 'Subject', " +
+            "'Body', 'SENDING', 1, ?, 'stopped-node-1', ?)", past, past);
+
+        emailDispatcher.runMaintenance();
+
+        Map<String, Object> row = awaitStatus("leased@outbox.test", "SENT");
+        assertThat(row.get("attempts")).isEqualTo(2);
+    }
+
+    // Helper methods
+
+    private void enqueue(String recipient) {
+        transactionTemplate.executeWithoutResult(status -> emailOutboxService.enqueue(
+            EmailOutboxService.EmailKind.VERIFICATION, recipient, "Confirm your address", "Hello"));
+    }
+
+    private Map<String, Object> awaitStatus(String recipient, String status) {
+        await().atMost(TIMEOUT).until(() -> status.equals(row(recipient).get("status")));
+        return row(recipient);
+    }
+
+    private Map<String, Object> row(String recipient) {
+        return jdbcTemplate.queryForMap(
+            "SELECT status, attempts, sent_at, last_error FROM email_outbox WHERE recipient = ?", recipient);
+    }
+
+    private static FakeSmtpServer startSmtpServer() {
+        FakeSmtpServer server = new FakeSmtpServer(0, 0, REJECTED_DOMAIN);
+        try {
+            server.start(0, 4);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return server;
+    }
+}
@@ -0,0 +1,102 @@
+package com.edumaster.service;
+
+import com.edumaster.model.Notification;
+import com.edumaster.model.User;
+import com.edumaster.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unread counts pushed over the notification stream, which are read from
+ * {@link NotificationCounterCache} in afterCommit callbacks and so must
+ * already include the committed write.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class NotificationPushIntegrationTest {
+
+    private static final Pattern UNREAD_COUNT_EVENT = Pattern.compile("event:unread-count\ndata:(\\d+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Test
+    void pushedUnreadCountIncludesTheNewNotification() throws Exception {
+        JsonNode account = register("push@notifications.test");
+        User user = userRepository.findById(account.path("id").asLong()).orElseThrow();
+
+        MockHttpServletResponse stream = mockMvc.perform(get("/notifications/stream")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + account.path("accessToken").asText()))
+            .andExpect(request().asyncStarted())
+            .andReturn().getResponse();
+        // The count sent on subscribe also caches the user's counters
+        awaitUnreadCounts(stream, List.of(0L));
+
+        notificationService.createNotification(user, "Welcome", "Glad to have you", Notification.NotificationType.INFO);
+        awaitUnreadCounts(stream, List.of(0L, 1L));
+
+        notificationService.createNotification(user, "Reminder", "Finish your profile", Notification.NotificationType.INFO);
+        awaitUnreadCounts(stream, List.of(0L, 1L, 2L));
+    }
+
+    // Helper methods
+
+    private void awaitUnreadCounts(MockHttpServletResponse stream, List<Long> expected) {
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() -> assertThat(unreadCounts(stream.getContentAsString())).isEqualTo(expected));
+    }
+
+    private static List<Long> unreadCounts(String events) {
+        List<Long> counts = new ArrayList<>();
+        Matcher matcher = UNREAD_COUNT_EVENT.matcher(events);
+        while (matcher.find()) {
+            counts.add(Long.valueOf(matcher.group(1)));
+        }
+        return counts;
+    }
+
+    private JsonNode register(String email) throws Exception {
+        Map<String, String> body = Map.of(
+            "firstName", "Push", "lastName", "Tester", "email", email,
+            "password", "password123", "confirmPassword", "password123", "role", "STUDENT");
+        String response = mockMvc.perform(post("/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).path("data");
+    }
+}
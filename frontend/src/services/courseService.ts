@@ -1,6 +1,7 @@
 import api from './api';
 import { 
   Course, 
+  CourseDetail, 
   CourseCreateRequest, 
   ApiResponse, 
   PaginatedResponse, 
@@ -34,7 +35,7 @@ export const courseService = {
   },
 
   // Get course by ID
-  getCourseById: async (courseId: number): Promise<ApiResponse<Course>> => {
+  getCourseById: async (courseId: number): Promise<ApiResponse<CourseDetail>> => {
     const response = await api.get(`/courses/public/${courseId}`);
     return response.data;
   },
@@ -1,10 +1,10 @@
 import { createSlice, createAsyncThunk, PayloadAction } from '@reduxjs/toolkit';
-import { Course, PaginatedResponse, CourseFilters, CourseCreateRequest } from '../../types';
+import { Course, CourseDetail, PaginatedResponse, CourseFilters, CourseCreateRequest } from '../../types';
 import { courseService } from '../../services/courseService';
 
 interface CoursesState {
   courses: Course[];
-  currentCourse: Course | null;
+  currentCourse: CourseDetail | null;
   totalPages: number;
   currentPage: number;
   totalElements: number;
@@ -116,7 +116,7 @@ const coursesSlice = createSlice({
         state.isLoading = true;
         state.error = null;
       })
-      .addCase(fetchCourseById.fulfilled, (state, action: PayloadAction<Course>) => {
+      .addCase(fetchCourseById.fulfilled, (state, action: PayloadAction<CourseDetail>) => {
         state.isLoading = false;
         state.currentCourse = action.payload;
         state.error = null;
@@ -92,6 +92,33 @@ export interface Course {
   isFree: boolean;
 }
 
+// Course detail page - flattened instructor and category (CourseResponse)
+export interface CourseDetail {
+  id: number;
+  title: string;
+  description: string;
+  shortDescription?: string;
+  price: number;
+  status: CourseStatus;
+  thumbnailUrl?: string;
+  durationHours?: number;
+  level: CourseLevel;
+  language: string;
+  requirements?: string;
+  learningOutcomes?: string;
+  createdAt: Date;
+  updatedAt: Date;
+  instructorId: number;
+  instructorName: string;
+  categoryId: number;
+  categoryName: string;
+  totalLessons: number;
+  totalEnrollments: number;
+  averageRating: number;
+  totalReviews: number;
+  isFree: boolean;
+}
+
 export enum CourseStatus {
   DRAFT = 'DRAFT',
   PENDING_APPROVAL = 'PENDING_APPROVAL',